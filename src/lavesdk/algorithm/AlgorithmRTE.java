@@ -19,13 +19,31 @@
 
 package lavesdk.algorithm;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Stack;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lavesdk.algorithm.AlgorithmExercise.ExamResult;
 import lavesdk.algorithm.enums.AlgorithmStartOption;
+import lavesdk.algorithm.enums.StateHistoryMode;
+import lavesdk.algorithm.enums.StepMetric;
+import lavesdk.algorithm.exceptions.IllegalInvocationException;
+import lavesdk.algorithm.exceptions.TraceDivergenceException;
 import lavesdk.algorithm.plugin.AlgorithmPlugin;
 import lavesdk.algorithm.plugin.PluginHost;
 import lavesdk.algorithm.plugin.security.HostSecurity;
@@ -38,6 +56,7 @@ import lavesdk.gui.EDT;
 import lavesdk.gui.GuiJob;
 import lavesdk.gui.GuiRequest;
 import lavesdk.logging.enums.LogType;
+import lavesdk.serialization.BufferPool;
 
 /**
  * The runtime environment of an algorithm.
@@ -53,6 +72,13 @@ import lavesdk.logging.enums.LogType;
  * Use {@link #setMinStepDwellTime(long)} to specify the execution time that a step should have at least. This prevents from overrunning
  * steps especially if the user steps back in the algorithm.
  * <br><br>
+ * The states that are necessary to step back in the algorithm are stored in a history. Use {@link #setStateHistoryMode(StateHistoryMode)} to reduce
+ * the memory usage of the history for algorithms with many steps, {@link #setAsyncStateFreezing(boolean)} to freeze the states in the background and
+ * {@link #setStateHistoryBudget(long)} to swap out the oldest states to a temporary file if the history exceeds a specific size.
+ * <br><br>
+ * The recorded steps form a timeline of the algorithm. Use {@link #seek(int)} to jump to any step of the timeline and a {@link TimelineListener}
+ * (see {@link #addTimelineListener(TimelineListener)}) to get notified about the current position in the timeline.
+ * <br><br>
  * <b>Listener</b>:<br>
  * Use {@link #addListener(RTEListener)} to add a {@link RTEListener} to listen to runtime events like:
  * <ul>
@@ -140,6 +166,14 @@ public abstract class AlgorithmRTE extends HostSecurity {
     private final AlgorithmState initialState;
     /** the listeners of the rte */
     private final List<RTEListener> listeners;
+    /** the listeners of the timeline */
+    private final List<TimelineListener> timelineListeners;
+    /** the listeners of the step metrics */
+    private final List<StepMetricsListener> metricsListeners;
+    /** the metrics of the steps (mapping of step id <-> metrics) */
+    private final Map<Integer, StepMetrics> metrics;
+    /** flag that indicates whether the metrics of the steps are measured */
+    private volatile boolean metricsEnabled;
     /** a custom exercise provider or <code>null</code> if there is no custom provider */
     private final AlgorithmExerciseProvider customExerciseProvider;
     
@@ -193,6 +227,10 @@ public abstract class AlgorithmRTE extends HostSecurity {
         this.rte = new RuntimeEnvironment(text);
         this.plugin = plugin;
         this.listeners = new ArrayList<RTEListener>();
+        this.timelineListeners = new ArrayList<TimelineListener>();
+        this.metricsListeners = new ArrayList<StepMetricsListener>();
+        this.metrics = new HashMap<Integer, StepMetrics>();
+        this.metricsEnabled = false;
         this.customExerciseProvider = provider;
         
         // create the initial state of the algorithm
@@ -232,6 +270,60 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	listeners.remove(listener);
     }
     
+    /**
+     * Adds a new listener to listen to position changes in the timeline of the algorithm.
+     * 
+     * @param listener the listener
+     * @since 1.6
+     */
+    public final void addTimelineListener(final TimelineListener listener) {
+    	synchronized(timelineListeners) {
+	    	if(listener == null || timelineListeners.contains(listener))
+	    		return;
+	    	
+	    	timelineListeners.add(listener);
+    	}
+    }
+    
+    /**
+     * Removes the timeline listener from the algorithm runtime environment.
+     * 
+     * @param listener the listener
+     * @since 1.6
+     */
+    public final void removeTimelineListener(final TimelineListener listener) {
+    	synchronized(timelineListeners) {
+    		timelineListeners.remove(listener);
+    	}
+    }
+    
+    /**
+     * Adds a new listener to listen to the metrics of the executed steps (see {@link #setMetricsEnabled(boolean)}).
+     * 
+     * @param listener the listener
+     * @since 1.6
+     */
+    public final void addMetricsListener(final StepMetricsListener listener) {
+    	synchronized(metricsListeners) {
+	    	if(listener == null || metricsListeners.contains(listener))
+	    		return;
+	    	
+	    	metricsListeners.add(listener);
+    	}
+    }
+    
+    /**
+     * Removes the metrics listener from the algorithm runtime environment.
+     * 
+     * @param listener the listener
+     * @since 1.6
+     */
+    public final void removeMetricsListener(final StepMetricsListener listener) {
+    	synchronized(metricsListeners) {
+    		metricsListeners.remove(listener);
+    	}
+    }
+    
     /**
      * Starts or resumes the execution of the algorithm.<br>
      * This triggers the {@link RTEListener#beforeStart(RTEvent)} or {@link RTEListener#beforeResume(RTEvent)} and the
@@ -276,8 +368,8 @@ public abstract class AlgorithmRTE extends HostSecurity {
     		return;
     	}
     	
-    	// rte is running? then break up
-        if(isRunning())
+    	// rte is running or the algorithm is executed headlessly? then break up
+        if(isRunning() || rte.isHeadless())
         	return;
         
         if(!isStarted()) {
@@ -285,8 +377,9 @@ public abstract class AlgorithmRTE extends HostSecurity {
         	if(!fireRuntimeEvent(RTEVENT_BEFORESTART))
         		return;
         	
-        	// we start from the beginning
-        	rte.restart(option);
+        	// we start from the beginning (break up if the algorithm is executed headlessly in the meantime)
+        	if(!rte.restart(option))
+        		return;
         	
         	// restore the initial data of the time of freezing
         	initialState.unfreeze();
@@ -421,6 +514,136 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	rte.goStepBack();
     }
     
+    /**
+     * Gets the number of steps in the timeline of the algorithm meaning the number of steps that are recorded in the state history.
+     * <br><br>
+     * The step that is currently in execution is the last step of the timeline so its position is <code>getHistorySize() - 1</code>.
+     * 
+     * @return the number of steps or <code>0</code> if the runtime environment is not started
+     * @since 1.6
+     */
+    public final int getHistorySize() {
+    	return rte.getHistorySize();
+    }
+    
+    /**
+     * Jumps to the step at the given position of the timeline. This is only possible if the runtime environment was started once
+     * and not stopped until yet.
+     * <br><br>
+     * If the position is smaller than the position of the current step then the states are popped from the history up to the state of
+     * the given position and the visualization is rendered only once when the target is reached. Seeking to the current position restarts the current step.<br>
+     * If the position is greater then the steps are replayed without sleeping and without rendering intermediate frames until the given
+     * position is reached or the algorithm terminates. Breakpoints are ignored during the replay.
+     * <br><br>
+     * The pause state of the runtime environment is not changed meaning that a paused algorithm is paused at the target step afterwards.
+     * <br><br>
+     * <b>Notice</b>:<br>
+	 * If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to seek.
+     * 
+     * @see #getHistorySize()
+     * @see TimelineListener
+     * @param position the position of the step in the timeline
+     * @throws IllegalArgumentException
+     * <ul>
+     * 		<li>if position is <code>< 0</code></li>
+     * </ul>
+     * @since 1.6
+     */
+    public final void seek(final int position) throws IllegalArgumentException {
+    	if(position < 0)
+    		throw new IllegalArgumentException("No valid argument!");
+    	
+    	// only the active plugin has permission to seek
+    	if(!isActivePlugin(plugin)) {
+    		writeLogMessage(plugin, "Plugin tries to seek in its algorithm runtime environment but is not active!", LogType.WARNING);
+    		return;
+    	}
+    	
+    	if(!isStarted())
+    		return;
+    	
+    	// jump to the position (this is only possible if the rte is not in exercise mode)
+    	rte.seek(position);
+    }
+    
+    /**
+     * Runs the algorithm to the next step that has a breakpoint. This is only possible if the runtime environment was started once
+     * and not stopped until yet.
+     * <br><br>
+     * The steps up to the breakpoint are executed without sleeping, without the animations of {@link RTTransition}s and without repainting the
+     * views of {@link #getViews()}. When the breakpoint is reached the views are refreshed once and the runtime environment is paused before the
+     * step with the breakpoint is executed. If the algorithm ends before a breakpoint is reached the views are refreshed at the end.
+     * <br><br>
+     * A paused runtime environment is resumed. Breakpoints are regarded even if they should be skipped (see {@link #setSkipBreakpoints(boolean)}).
+     * The run is canceled if the user pauses the runtime environment, goes to the previous step or seeks.
+     * <br><br>
+     * <b>Notice</b>:<br>
+	 * If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to run to a breakpoint.
+     * 
+     * @see #runToStep(int)
+     * @since 1.6
+     */
+    public final void runToBreakpoint() {
+    	runTo(RuntimeEnvironment.RUNTARGET_BREAKPOINT);
+    }
+    
+    /**
+     * Runs the algorithm to the next execution of the given step. This is only possible if the runtime environment was started once
+     * and not stopped until yet.
+     * <br><br>
+     * The steps up to the given step are executed without sleeping, without the animations of {@link RTTransition}s and without repainting
+     * the views of {@link #getViews()}. When the step is reached the views are refreshed once and the runtime environment is paused before the
+     * step is executed. The run stops earlier at a step with a breakpoint unless the breakpoints should be skipped (see {@link #setSkipBreakpoints(boolean)}).
+     * If the algorithm ends before the step is reached the views are refreshed at the end.
+     * <br><br>
+     * A paused runtime environment is resumed. If the given step is the current step the algorithm runs until the step is executed the next time.
+     * The run is canceled if the user pauses the runtime environment, goes to the previous step or seeks.
+     * <br><br>
+     * <b>Notice</b>:<br>
+	 * If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to run to a step.
+     * 
+     * @see #runToBreakpoint()
+     * @param stepID the id of the step
+     * @throws IllegalArgumentException
+     * <ul>
+     * 		<li>if there is no step with the given id</li>
+     * </ul>
+     * @since 1.6
+     */
+    public final void runToStep(final int stepID) throws IllegalArgumentException {
+    	if(stepID < 1 || rte.text.getStepByID(stepID) == null)
+    		throw new IllegalArgumentException("No valid argument!");
+    	
+    	runTo(stepID);
+    }
+    
+    /**
+     * Runs the algorithm to the given target.
+     * 
+     * @param target the id of the step or {@link RuntimeEnvironment#RUNTARGET_BREAKPOINT}
+     * @since 1.6
+     */
+    private void runTo(final int target) {
+    	// only the active plugin has permission to run to a target
+    	if(!isActivePlugin(plugin)) {
+    		writeLogMessage(plugin, "Plugin tries to run to a breakpoint or step in its algorithm runtime environment but is not active!", LogType.WARNING);
+    		return;
+    	}
+    	
+    	if(!isStarted() || isExerciseModeEnabled())
+    		return;
+    	
+    	// a paused rte is resumed so fire the runtime event and break up if the event is canceled
+    	final boolean resume = rte.isPaused();
+    	if(resume && !fireRuntimeEvent(RTEVENT_BEFORERESUME))
+    		return;
+    	
+    	rte.runTo(target);
+    	
+    	if(resume)
+    		fireRuntimeEvent(RTEVENT_ONRUNNING);
+    }
+    
     /**
      * Indicates if the runtime environment is started.
      * 
@@ -440,6 +663,138 @@ public abstract class AlgorithmRTE extends HostSecurity {
     public final boolean isRunning() {
         return isStarted() && !rte.isPaused();
     }
+    
+    /**
+     * Indicates whether the algorithm is currently executed headlessly (see {@link #runHeadless(boolean)}).
+     * 
+     * @return <code>true</code> if the algorithm is executed headlessly otherwise <code>false</code>
+     * @since 1.6
+     */
+    public final boolean isHeadless() {
+    	return rte.isHeadless();
+    }
+    
+    /**
+     * Executes the algorithm headlessly meaning that all steps are executed back-to-back in the calling thread.
+     * <br><br>
+     * The algorithm starts from its initial state (see {@link #createInitialState(AlgorithmState)}) and the steps are executed without
+     * sleeping ({@link #sleep(long)} and the frames of {@link RTTransition}s are skipped), without dispatching {@link GuiJob}s of the calling
+     * thread (see {@link EDT#setJobsDiscarded(boolean)}) and without repainting the views. Breakpoints, exercises and runtime events
+     * are ignored. This is useful to run an algorithm unattended on many inputs for example to precompute solutions or to validate exercises.
+     * <br><br>
+     * <b>Notice</b>:<br>
+     * The runtime environment must not be started. The headless run does not use the state history so it is not possible to go back.
+     * {@link GuiRequest}s of the steps are still performed synchronously in the event dispatch thread. The time that the steps wait
+     * for it is reported separately (see {@link HeadlessResult#getGuiWaitTime()}) and concurrent headless runs are serialized while
+     * they wait (see {@link BatchRunner}).
+     * 
+     * @see #runHeadless(boolean, int)
+     * @param captureStates <code>true</code> if the state of the algorithm should be captured before each step otherwise <code>false</code>
+     * @return the result of the run
+     * @throws IllegalInvocationException
+     * <ul>
+     * 		<li>if the runtime environment is started or the algorithm is already executed headlessly</li>
+     * </ul>
+     * @since 1.6
+     */
+    public final HeadlessResult runHeadless(final boolean captureStates) throws IllegalInvocationException {
+    	return rte.runHeadless(captureStates, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Executes the algorithm headlessly meaning that all steps are executed back-to-back in the calling thread.
+     * <br><br>
+     * The run ends when the algorithm is finished, a step fails or the maximum number of steps is reached (this prevents
+     * endless runs of faulty algorithms on unattended inputs).
+     * 
+     * @see #runHeadless(boolean)
+     * @param captureStates <code>true</code> if the state of the algorithm should be captured before each step otherwise <code>false</code>
+     * @param maxSteps the maximum number of steps that should be executed
+     * @return the result of the run
+     * @throws IllegalArgumentException
+     * <ul>
+     * 		<li>if maxSteps is <code>< 1</code></li>
+     * </ul>
+     * @throws IllegalInvocationException
+     * <ul>
+     * 		<li>if the runtime environment is started or the algorithm is already executed headlessly</li>
+     * </ul>
+     * @since 1.6
+     */
+    public final HeadlessResult runHeadless(final boolean captureStates, final int maxSteps) throws IllegalArgumentException, IllegalInvocationException {
+    	if(maxSteps < 1)
+    		throw new IllegalArgumentException("No valid argument!");
+    	
+    	return rte.runHeadless(captureStates, maxSteps);
+    }
+    
+    /**
+     * Gets the stream the execution traces of the runs are written to.
+     * 
+     * @see #setTraceOutput(OutputStream)
+     * @return the stream or <code>null</code> if the execution is not traced
+     * @since 1.6
+     */
+    public final OutputStream getTraceOutput() {
+    	return rte.getTraceOutput();
+    }
+    
+    /**
+     * Sets the stream the execution traces of the runs should be written to.
+     * <br><br>
+     * If a stream is set each run of the algorithm writes a compact binary trace of the executed steps, the hashes of the states before
+     * the steps, the restorations of states (going back in the timeline), the breakpoints and the solutions of exercises that are adopted by
+     * the algorithm. The hashes are computed from the states that are stored in the state history so in {@link StateHistoryMode#REPLAY} mode
+     * only the states at the checkpoints are hashed. The traces of several runs are appended to the stream which is flushed at the end of each run but never closed. A trace
+     * can be replayed headlessly with {@link #replayTrace(InputStream)} for example to reproduce a bug that a user reports or to verify that
+     * a modified algorithm still behaves like before.
+     * <br><br>
+     * <b>Notice</b>:<br>
+     * The setting takes effect the next time the algorithm is started. Errors of the stream do not affect the run, they are only logged.<br>
+     * The default value is <code>null</code>.
+     * 
+     * @param out the stream or <code>null</code> if the execution should not be traced
+     * @since 1.6
+     */
+    public final void setTraceOutput(final OutputStream out) {
+    	rte.setTraceOutput(out);
+    }
+    
+    /**
+     * Replays the execution trace of a run headlessly meaning that the recorded steps are executed back-to-back in the calling thread
+     * at full speed (see {@link #runHeadless(boolean)}).
+     * <br><br>
+     * The replay starts from the initial state of the algorithm and follows the recorded run step by step including the restorations of
+     * states and the adopted solutions of exercises. Before each step whose state is hashed in the trace the state of the algorithm is compared
+     * with the recorded hash and after each step the next step id is compared with the recorded one. If the replay diverges from the recorded run it stops and the result contains
+     * a {@link TraceDivergenceException} (see {@link HeadlessResult#getException()}). Breakpoints are ignored.
+     * <br><br>
+     * <b>Notice</b>:<br>
+     * The runtime environment must not be started. Only the next trace of the stream is replayed so that the traces of several runs can be
+     * replayed one after another. The states of the result are the states of the timeline at the end of the replay.
+     * 
+     * @param in the stream the trace is read from
+     * @return the result of the replay
+     * @throws IllegalArgumentException
+     * <ul>
+     * 		<li>if in is null</li>
+     * </ul>
+     * @throws IOException
+     * <ul>
+     * 		<li>if the trace could not be read</li>
+     * </ul>
+     * @throws IllegalInvocationException
+     * <ul>
+     * 		<li>if the runtime environment is started or the algorithm is already executed headlessly</li>
+     * </ul>
+     * @since 1.6
+     */
+    public final HeadlessResult replayTrace(final InputStream in) throws IllegalArgumentException, IOException, IllegalInvocationException {
+    	if(in == null)
+    		throw new IllegalArgumentException("No valid argument!");
+    	
+    	return rte.replayTrace(in);
+    }
 	
 	/**
 	 * Gets the execution speed factor of the rte.
@@ -549,6 +904,185 @@ public abstract class AlgorithmRTE extends HostSecurity {
 		rte.setPauseBeforeTerminate(pause);
 	}
 	
+	/**
+	 * Gets the mode of how the history of algorithm states is stored.
+	 * 
+	 * @return the mode of the state history
+	 * @since 1.6
+	 */
+	public final StateHistoryMode getStateHistoryMode() {
+		return rte.getStateHistoryMode();
+	}
+	
+	/**
+	 * Sets the mode of how the history of algorithm states is stored. The history is used to go back to previous steps.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Use {@link StateHistoryMode#DELTA} for algorithms with many steps and large states (like matrices) where only a small part of the
+	 * state changes from step to step. Use {@link StateHistoryMode#REPLAY} for algorithms with large states whose steps are cheap and deterministic
+	 * so that going back re-executes the steps from the nearest checkpoint instead of storing the state of each step. A subclass can select
+	 * its mode in the constructor. The mode takes effect the next time the algorithm is started.<br>
+	 * The default mode is {@link StateHistoryMode#FULL}.
+	 * 
+	 * @param mode the mode of the state history
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if mode is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public final void setStateHistoryMode(final StateHistoryMode mode) throws IllegalArgumentException {
+		rte.setStateHistoryMode(mode);
+	}
+	
+	/**
+	 * Gets the distance between two keyframes (states that are stored completely) in the {@link StateHistoryMode#DELTA} mode or two checkpoints
+	 * in the {@link StateHistoryMode#REPLAY} mode.
+	 * 
+	 * @return the keyframe interval
+	 * @since 1.6
+	 */
+	public final int getKeyframeInterval() {
+		return rte.getKeyframeInterval();
+	}
+	
+	/**
+	 * Sets the distance between two keyframes (states that are stored completely) in the {@link StateHistoryMode#DELTA} mode or two checkpoints
+	 * in the {@link StateHistoryMode#REPLAY} mode.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * A smaller interval increases the memory usage and a larger interval increases the time to go back to a previous step. The interval takes effect
+	 * the next time the algorithm is started.<br>
+	 * The default value is <code>16</code>.
+	 * 
+	 * @param interval the keyframe interval
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if interval is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public final void setKeyframeInterval(final int interval) throws IllegalArgumentException {
+		rte.setKeyframeInterval(interval);
+	}
+	
+	/**
+	 * Indicates whether the states of the history are frozen in the background.
+	 * 
+	 * @return <code>true</code> if the states are frozen in the background otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public final boolean isAsyncStateFreezing() {
+		return rte.isAsyncStateFreezing();
+	}
+	
+	/**
+	 * Sets whether the states of the history should be frozen in the background.
+	 * <br><br>
+	 * If enabled only a snapshot of the state that is stored with {@link #storeState(AlgorithmState)} is taken before a step is executed and
+	 * the snapshot is encoded by a background thread. Going back to a previous step waits only if the state is needed but not yet encoded.
+	 * This reduces the latency of the steps especially if the algorithm is executed from start to finish or with a short dwell time.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The background freezing is only used in the {@link StateHistoryMode#FULL} and {@link StateHistoryMode#REPLAY} mode and for states that contain predefined types only (states with custom
+	 * objects are frozen immediately). The setting takes effect the next time the algorithm is started.<br>
+	 * The default value is <code>false</code>.
+	 * 
+	 * @param async <code>true</code> if the states should be frozen in the background otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public final void setAsyncStateFreezing(final boolean async) {
+		rte.setAsyncStateFreezing(async);
+	}
+	
+	/**
+	 * Gets the maximum number of bytes of frozen state data that the history holds in the memory.
+	 * 
+	 * @return the budget in bytes or <code>0</code> if the memory usage of the history is unbounded
+	 * @since 1.6
+	 */
+	public final long getStateHistoryBudget() {
+		return rte.getStateHistoryBudget();
+	}
+	
+	/**
+	 * Sets the maximum number of bytes of frozen state data that the history should hold in the memory.
+	 * <br><br>
+	 * If the frozen data of the states exceeds the budget the oldest states are compressed and swapped out to a temporary file. Going back
+	 * to a swapped out step reads the state from the file so that long runs of algorithms with large states do not run out of memory.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The setting takes effect the next time the algorithm is started.<br>
+	 * The default value is <code>0</code> (unbounded).
+	 * 
+	 * @param bytes the budget in bytes or <code>0</code> if the memory usage of the history should be unbounded
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if bytes is <code>< 0</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public final void setStateHistoryBudget(final long bytes) throws IllegalArgumentException {
+		rte.setStateHistoryBudget(bytes);
+	}
+	
+	/**
+	 * Indicates whether the metrics of the steps are measured.
+	 * 
+	 * @return <code>true</code> if the metrics are measured otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public final boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+	
+	/**
+	 * Sets whether the metrics of the steps should be measured.
+	 * <br><br>
+	 * If enabled the runtime environment measures the {@link StepMetric}s of each step like the execution time, the time to freeze the state,
+	 * the size of the state, the time that is spent waiting for the GUI and the sleeping time. The metrics are summarized per step id
+	 * (see {@link #getMetrics()}) and the listeners are notified about each execution (see {@link #addMetricsListener(StepMetricsListener)}).
+	 * This is useful to profile slow algorithms without attaching a profiler. The metrics are kept until they are reset (see {@link #resetMetrics()}).
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Steps with an exercise are not measured because the execution includes the time the user needs to solve the exercise.<br>
+	 * The default value is <code>false</code>.
+	 * 
+	 * @param enabled <code>true</code> if the metrics should be measured otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public final void setMetricsEnabled(final boolean enabled) {
+		metricsEnabled = enabled;
+	}
+	
+	/**
+	 * Gets a snapshot of the metrics of the steps that are measured so far.
+	 * 
+	 * @return the mapping of step id <-> metrics ordered by the step ids (the snapshot is not changed by further measurements)
+	 * @since 1.6
+	 */
+	public final Map<Integer, StepMetrics> getMetrics() {
+		final Map<Integer, StepMetrics> snapshot = new TreeMap<Integer, StepMetrics>();
+		
+		synchronized(metrics) {
+			for(StepMetrics m : metrics.values())
+				snapshot.put(m.getStepID(), new StepMetrics(m));
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * Resets the metrics of the steps.
+	 * 
+	 * @since 1.6
+	 */
+	public final void resetMetrics() {
+		synchronized(metrics) {
+			metrics.clear();
+		}
+	}
+	
 	/**
 	 * Indicates whether the exercise mode of the runtime environment is enabled.
 	 * <br><br>
@@ -605,6 +1139,35 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	rte.sleep(millis);
     }
     
+    /**
+     * Gets the total time that the runtime environment was paused during the execution of steps.
+     * <br><br>
+     * <b>Attention</b>:<br>
+     * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+     * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+     * 
+     * @return the time in nanoseconds
+     * @since 1.6
+     */
+    final long getPauseTime() {
+    	return rte.pauseTime;
+    }
+    
+    /**
+     * Indicates whether the animations of {@link RTTransition}s are skipped meaning that only the last frame of a transition should be applied.
+     * This is the case if the algorithm is executed headlessly or runs to a breakpoint or step (see {@link #runToBreakpoint()}).
+     * <br><br>
+     * <b>Attention</b>:<br>
+     * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+     * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+     * 
+     * @return <code>true</code> if the animations are skipped otherwise <code>false</code>
+     * @since 1.6
+     */
+    final boolean areAnimationsSkipped() {
+    	return rte.isHeadless() || rte.isRunningToTarget();
+    }
+    
     /**
      * Executes a step of the algorithm.
      * <br><br>
@@ -897,6 +1460,23 @@ public abstract class AlgorithmRTE extends HostSecurity {
      */
     protected abstract View[] getViews();
     
+    /**
+     * Disables or enables the repaint mechanism of each view of {@link #getViews()}.
+     * 
+     * @param disabled <code>true</code> if the repaint mechanism should be disabled otherwise <code>false</code>
+     * @since 1.6
+     */
+    private void setViewsRepaintDisabled(final boolean disabled) {
+    	final View[] views = getViews();
+		
+		if(views != null) {
+			for(View view : views) {
+				if(view != null)
+					view.setRepaintDisabled(disabled);
+			}
+		}
+    }
+    
     @Override
     protected final void hostAccepted() {
     	// there is set a secured host system for the runtime environment? then set the exercise provider that should be used
@@ -975,6 +1555,99 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	return true;
     }
     
+    /**
+     * Records a value of a metric of a step.
+     * 
+     * @param stepID the id of the step
+     * @param metric the metric
+     * @param value the value
+     * @since 1.6
+     */
+    private void recordMetric(final int stepID, final StepMetric metric, final long value) {
+    	synchronized(metrics) {
+    		StepMetrics m = metrics.get(stepID);
+    		if(m == null) {
+    			m = new StepMetrics(stepID);
+    			metrics.put(stepID, m);
+    		}
+    		
+    		m.record(metric, value);
+    	}
+    }
+    
+    /**
+     * Records the metrics of an executed step and notifies the metrics listeners.
+     * 
+     * @param stepID the id of the step
+     * @param sample the mapping of metric <-> value
+     * @since 1.6
+     */
+    private void recordMetrics(final int stepID, final Map<StepMetric, Long> sample) {
+    	for(Map.Entry<StepMetric, Long> entry : sample.entrySet())
+    		recordMetric(stepID, entry.getKey(), entry.getValue());
+    	
+    	synchronized(metricsListeners) {
+    		if(metricsListeners.isEmpty())
+    			return;
+    	}
+    	
+    	// headless executions discard the gui jobs so notify the listeners directly
+    	if(isHeadless()) {
+    		fireStepMeasured(stepID, sample);
+    		return;
+    	}
+    	
+    	EDT.execute(new GuiJob(getClass().getSimpleName() + ".recordMetrics") {
+			@Override
+			protected void execute() throws Throwable {
+				fireStepMeasured(stepID, sample);
+			}
+		});
+    }
+    
+    /**
+     * Notifies the metrics listeners about the metrics of an executed step.
+     * 
+     * @param stepID the id of the step
+     * @param sample the mapping of metric <-> value
+     * @since 1.6
+     */
+    private void fireStepMeasured(final int stepID, final Map<StepMetric, Long> sample) {
+    	final StepMetricsListener[] listeners;
+    	synchronized(metricsListeners) {
+    		listeners = metricsListeners.toArray(new StepMetricsListener[metricsListeners.size()]);
+    	}
+    	
+    	for(StepMetricsListener l : listeners)
+    		l.stepMeasured(stepID, sample);
+    }
+    
+    /**
+     * Notifies the timeline listeners about the current position in the timeline.
+     * 
+     * @param position the position
+     * @since 1.6
+     */
+    private void fireTimelineEvent(final int position) {
+    	synchronized(timelineListeners) {
+    		if(timelineListeners.isEmpty())
+    			return;
+    	}
+    	
+    	EDT.execute(new GuiJob(getClass().getSimpleName() + ".fireTimelineEvent") {
+			@Override
+			protected void execute() throws Throwable {
+				final TimelineListener[] listeners;
+				synchronized(timelineListeners) {
+					listeners = timelineListeners.toArray(new TimelineListener[timelineListeners.size()]);
+				}
+				
+				for(TimelineListener l : listeners)
+					l.positionChanged(position);
+			}
+		});
+    }
+    
     /**
      * The runtime environment (rte) is responsible for controlling the schedule of an algorithm step-by-step.
 	 * <br><br>
@@ -988,12 +1661,26 @@ public abstract class AlgorithmRTE extends HostSecurity {
      */
     private final class RuntimeEnvironment implements Runnable, AlgorithmExerciseController {
     	
-    	/** monitor to lock for synchronization */
-    	private final Object monitor;
+    	/** the lock that guards the waiting of the rte thread (the rte sleeps, is paused or waits for a wake up) */
+    	private final ReentrantLock lock;
+    	/** the condition that is signaled when the rte thread should check whether it can continue its work */
+    	private final Condition signal;
         /** the algorithm text that is executed in the runtime environment */
         private final AlgorithmText text;
         /** the history of the algorithm states */
-        private final Stack<AlgorithmState> stateHistory;
+        private final AlgorithmStateHistory stateHistory;
+        /** the mode of the state history that is used the next time the rte is started */
+        private StateHistoryMode stateHistoryMode;
+        /** the keyframe interval of the state history that is used the next time the rte is started */
+        private int keyframeInterval;
+        /** flag that indicates whether the states of the history are frozen in the background the next time the rte is started */
+        private boolean asyncStateFreezing;
+        /** the memory budget of the state history in bytes that is used the next time the rte is started (<code>0</code> means unbounded) */
+        private long stateHistoryBudget;
+        /** the pool of the buffers that are used to freeze the states (the pool adapts to the size of the states of the algorithm) */
+        private final BufferPool bufferPool;
+        /** the executor that freezes the states in the background or <code>null</code> if it is not yet created */
+        private ThreadPoolExecutor freezeExecutor;
         /** the provider of the exercises or <code>null</code> */
         private AlgorithmExerciseProvider exerciseProvider;
         /** flag that indicates whether the exercise mode is enabled */
@@ -1003,13 +1690,25 @@ public abstract class AlgorithmRTE extends HostSecurity {
         /** the step id of the current step which is executed */
         private int executingStepID;
     	/** flag that indicates whether the rte is paused */
-        private boolean paused;
+        private volatile boolean paused;
     	/** a runtime-wide flag that indicates whether the rte should be terminated (this is done at the end of the step that is in execution at this time) */
-        private boolean terminateRTE;
+        private volatile boolean terminateRTE;
     	/** flag that indicates whether the step that is currently in execution should be skipped (see also {@link #enableSkipStepFlag()} and {@link #disableSkipStepFlag()}) */
-        private boolean skipCurrStep;
+        private volatile boolean skipCurrStep;
         /** flag that indicates whether the last step should be restored */
-        private boolean stepBack;
+        private volatile boolean stepBack;
+        /** the position in the timeline the rte should seek to or <code>-1</code> if there is no seek pending */
+        private volatile int seekTarget;
+        /** the id of the step the rte should run to, {@link #RUNTARGET_BREAKPOINT} or {@link #RUNTARGET_NONE} if there is no run pending */
+        private volatile int runTarget;
+        /** flag that indicates whether a wake up is pending that is not yet consumed by {@link #sleep()} (guarded by {@link #lock}) */
+        private boolean wakeUpPending;
+        /** the time in nanoseconds of the last signal (guarded by {@link #lock}) */
+        private long signalTime;
+        /** flag that indicates whether the rte was woken up by a signal whose latency is recorded when the next step starts (only used by the rte thread) */
+        private boolean wakeUpRecordPending;
+        /** the time in nanoseconds of the signal that woke up the rte (only used by the rte thread) */
+        private long wakeUpSignalTime;
         /** factor to increase or decrease the speeding of the rte */
         private float sleepFactor;
     	/** flag that indicates whether the breakpoints should be skipped */
@@ -1020,9 +1719,23 @@ public abstract class AlgorithmRTE extends HostSecurity {
         private AlgorithmStartOption currStartOpt;
         /** flag that indicates whether the schedule should be paused before it is terminated */
         private boolean pauseBeforeTerminate;
+        /** flag that indicates whether the algorithm is executed headlessly */
+        private volatile boolean headless;
+        /** the total time in nanoseconds that the rte has slept */
+        private long sleepTime;
+        /** the total time in nanoseconds that the rte was paused */
+        private long pauseTime;
+        /** the stream the execution traces of the next runs are written to or <code>null</code> if the execution should not be traced */
+        private OutputStream traceOutput;
+        /** the writer of the execution trace of the current run or <code>null</code> if the run is not traced */
+        private AlgorithmTrace trace;
         
         /** the step id of the initial state which is an invalid step id related to the algorithm steps and only be supposed to identify the initial algorithm state */
         private static final int INITIALSTATE_STEPID = -1;
+        /** the run target if there is no run to a breakpoint or step pending */
+        private static final int RUNTARGET_NONE = -1;
+        /** the run target if the rte should run to the next breakpoint */
+        private static final int RUNTARGET_BREAKPOINT = 0;
     	
     	/**
     	 * Creates a new rte based on the properties of the specified one.
@@ -1038,9 +1751,16 @@ public abstract class AlgorithmRTE extends HostSecurity {
     		if(text == null)
     			throw new IllegalArgumentException("No valid argument!");
     		
-    		this.monitor = new Object();
+    		this.lock = new ReentrantLock();
+    		this.signal = lock.newCondition();
     		this.text = text;
-    		this.stateHistory = new Stack<AlgorithmState>();
+    		this.stateHistory = new AlgorithmStateHistory();
+    		this.stateHistoryMode = StateHistoryMode.FULL;
+    		this.keyframeInterval = AlgorithmStateHistory.DEF_KEYFRAME_INTERVAL;
+    		this.asyncStateFreezing = false;
+    		this.stateHistoryBudget = 0;
+    		this.bufferPool = new BufferPool();
+    		this.freezeExecutor = null;
     		this.exerciseProvider = null;
     		this.exerciseModeEnabled = false;
     		this.started = false;
@@ -1049,11 +1769,21 @@ public abstract class AlgorithmRTE extends HostSecurity {
     		this.terminateRTE = false;
     		this.skipCurrStep = false;
     		this.stepBack = false;
+    		this.seekTarget = -1;
+    		this.runTarget = RUNTARGET_NONE;
+    		this.wakeUpPending = false;
+    		this.signalTime = 0;
+    		this.wakeUpRecordPending = false;
     		this.sleepFactor = 1.0f;
     		this.skipBreakpoints = false;
     		this.minDwellTime = 500;
     		this.currStartOpt = AlgorithmStartOption.NORMAL;
     		this.pauseBeforeTerminate = false;
+    		this.headless = false;
+    		this.sleepTime = 0;
+    		this.pauseTime = 0;
+    		this.traceOutput = null;
+    		this.trace = null;
             
             // currently there is no step in execution
             text.setExecutingStepID(executingStepID);
@@ -1061,14 +1791,19 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	
     	/**
     	 * Restarts the rte meaning that the rte is set to its initial state before the algorithm is executed.
+    	 * <br><br>
+    	 * <b>Notice</b>:<br>
+    	 * The started and the headless flag are checked and set under the same lock so that the rte cannot be started while the
+    	 * algorithm is executed headlessly and vice versa.
     	 * 
     	 * @param option the start option
+    	 * @return <code>true</code> if the rte is restarted or <code>false</code> if the rte is already started or the algorithm is executed headlessly
     	 * @since 1.0
     	 */
-    	public synchronized void restart(final AlgorithmStartOption option) {
-    		// already started? then break up
-    		if(started)
-    			return;
+    	public synchronized boolean restart(final AlgorithmStartOption option) {
+    		// already started or executed headlessly? then break up
+    		if(started || headless)
+    			return false;
     		
     		this.currStartOpt = !exerciseModeEnabled ? option : AlgorithmStartOption.NORMAL;
     		this.started = true;
@@ -1077,7 +1812,14 @@ public abstract class AlgorithmRTE extends HostSecurity {
     		this.terminateRTE = false;
     		this.skipCurrStep = false;
     		this.stepBack = false;
-    		this.stateHistory.clear();
+    		this.seekTarget = -1;
+    		this.runTarget = RUNTARGET_NONE;
+    		this.wakeUpPending = false;
+    		this.wakeUpRecordPending = false;
+    		this.trace = (traceOutput != null) ? new AlgorithmTrace(traceOutput) : null;
+    		this.stateHistory.reset(stateHistoryMode, keyframeInterval, asyncStateFreezing ? getFreezeExecutor() : null, stateHistoryBudget);
+    		
+    		return true;
     	}
     	
     	/**
@@ -1090,6 +1832,318 @@ public abstract class AlgorithmRTE extends HostSecurity {
     	public boolean isStarted() {
     		return started;
     	}
+    	
+    	/**
+    	 * Indicates whether the algorithm is executed headlessly.
+    	 * 
+    	 * @return <code>true</code> if the algorithm is executed headlessly otherwise <code>false</code>
+    	 * @since 1.6
+    	 */
+    	public boolean isHeadless() {
+    		return headless;
+    	}
+    	
+    	/**
+    	 * Executes the algorithm headlessly in the calling thread.
+    	 * 
+    	 * @param captureStates <code>true</code> if the state of the algorithm should be captured before each step otherwise <code>false</code>
+    	 * @param maxSteps the maximum number of steps that should be executed
+    	 * @return the result of the run
+    	 * @throws IllegalInvocationException
+    	 * <ul>
+    	 * 		<li>if the rte is started or the algorithm is already executed headlessly</li>
+    	 * </ul>
+    	 * @since 1.6
+    	 */
+    	public HeadlessResult runHeadless(final boolean captureStates, final int maxSteps) throws IllegalInvocationException {
+    		synchronized(this) {
+    			if(started || headless)
+    				throw new IllegalInvocationException("Runtime environment is started! Please stop it first.");
+    			headless = true;
+    		}
+    		
+    		final List<AlgorithmState> states = new ArrayList<AlgorithmState>();
+    		final boolean jobsDiscarded = EDT.areJobsDiscarded();
+    		final long start = System.nanoTime();
+    		long executionTime = 0;
+    		long guiWaitTime = 0;
+    		long captureTime = 0;
+    		long stepCaptureTime;
+    		long time;
+    		long waitTime;
+    		long sleepStart;
+    		int steps = 0;
+    		int stepID = text.getFirstStepID();
+    		Exception exception = null;
+    		
+    		// the visualization is not needed
+    		EDT.setJobsDiscarded(true);
+    		AlgorithmRTE.this.setViewsRepaintDisabled(true);
+    		
+    		try {
+    			// start from the initial state of the algorithm
+    			initialState.unfreeze();
+    			AlgorithmRTE.this.restoreState(initialState);
+    			
+    			while(stepID > 0 && steps < maxSteps) {
+    				final AlgorithmState state = new AlgorithmState(plugin, stepID);
+    				
+    				final int executedStepID = stepID;
+    				stepCaptureTime = 0;
+    				
+    				if(captureStates) {
+    					time = System.nanoTime();
+    					captureState(state);
+    					states.add(state);
+    					stepCaptureTime = System.nanoTime() - time;
+    					captureTime += stepCaptureTime;
+    				}
+    				
+    				sleepStart = sleepTime;
+    				waitTime = EDT.getWaitTime();
+    				time = System.nanoTime();
+    				try {
+    					stepID = AlgorithmRTE.this.executeStep(stepID, state);
+    				}
+    				catch(Exception e) {
+    					AlgorithmRTE.this.writeLogMessage(AlgorithmRTE.this.plugin, "execution of step id " + stepID + " failed", e, LogType.ERROR);
+    					exception = e;
+    					break;
+    				}
+    				finally {
+    					time = System.nanoTime() - time;
+    					waitTime = EDT.getWaitTime() - waitTime;
+    					executionTime += Math.max(0, time - waitTime);
+    					guiWaitTime += waitTime;
+    				}
+    				
+    				// only steps that are executed successfully are counted
+    				steps++;
+    				
+    				if(AlgorithmRTE.this.metricsEnabled)
+    					recordStepMetrics(executedStepID, null, stepCaptureTime, time - (sleepTime - sleepStart), waitTime, sleepTime - sleepStart);
+    			}
+    			
+    			final AlgorithmState finalState = new AlgorithmState(plugin, stepID);
+    			captureState(finalState);
+    			
+    			return new HeadlessResult(steps, exception == null && stepID <= 0, exception, states, finalState, System.nanoTime() - start, executionTime, guiWaitTime, captureTime);
+    		}
+    		finally {
+    			EDT.setJobsDiscarded(jobsDiscarded);
+    			AlgorithmRTE.this.setViewsRepaintDisabled(false);
+    			headless = false;
+    		}
+    	}
+    	
+    	/**
+    	 * Stores the current state of the algorithm in the given state as a snapshot that is independent of the further execution
+    	 * (the data is decoded when it is requested the first time).
+    	 * 
+    	 * @param state the state
+    	 * @since 1.6
+    	 */
+    	private void captureState(final AlgorithmState state) {
+    		state.setBufferPool(bufferPool);
+    		AlgorithmRTE.this.storeState(state);
+    		state.freeze();
+    		state.unfreeze();
+    	}
+    	
+    	/**
+    	 * Gets the stream the execution traces are written to.
+    	 * 
+    	 * @return the stream or <code>null</code> if the execution is not traced
+    	 * @since 1.6
+    	 */
+    	public synchronized OutputStream getTraceOutput() {
+    		return traceOutput;
+    	}
+    	
+    	/**
+    	 * Sets the stream the execution traces should be written to (takes effect the next time the rte is started).
+    	 * 
+    	 * @param out the stream or <code>null</code> if the execution should not be traced
+    	 * @since 1.6
+    	 */
+    	public synchronized void setTraceOutput(final OutputStream out) {
+    		traceOutput = out;
+    	}
+    	
+    	/**
+    	 * Replays the execution trace of a run headlessly in the calling thread.
+    	 * 
+    	 * @param in the stream the trace is read from
+    	 * @return the result of the replay
+    	 * @throws IOException
+    	 * <ul>
+    	 * 		<li>if the trace could not be read</li>
+    	 * </ul>
+    	 * @throws IllegalInvocationException
+    	 * <ul>
+    	 * 		<li>if the rte is started or the algorithm is already executed headlessly</li>
+    	 * </ul>
+    	 * @since 1.6
+    	 */
+    	public HeadlessResult replayTrace(final InputStream in) throws IOException, IllegalInvocationException {
+    		synchronized(this) {
+    			if(started || headless)
+    				throw new IllegalInvocationException("Runtime environment is started! Please stop it first.");
+    			headless = true;
+    		}
+    		
+    		final DataInputStream data = new DataInputStream(in);
+    		final List<AlgorithmState> states = new ArrayList<AlgorithmState>();
+    		final boolean jobsDiscarded = EDT.areJobsDiscarded();
+    		final long start = System.nanoTime();
+    		long executionTime = 0;
+    		long guiWaitTime = 0;
+    		long captureTime = 0;
+    		long time;
+    		long waitTime;
+    		int steps = 0;
+    		int records = 0;
+    		int stepID;
+    		boolean finished = false;
+    		Map<String, byte[]> adoptedEntries = null;
+    		Exception exception = null;
+    		
+    		try {
+    			AlgorithmTrace.readHeader(data);
+    			if(data.readUnsignedByte() != AlgorithmTrace.BEGIN)
+    				throw new IOException("Execution trace does not begin with a run!");
+    			stepID = AlgorithmTrace.readVarInt(data);
+    		}
+    		catch(IOException e) {
+    			headless = false;
+    			throw e;
+    		}
+    		
+    		// the visualization is not needed
+    		EDT.setJobsDiscarded(true);
+    		AlgorithmRTE.this.setViewsRepaintDisabled(true);
+    		
+    		try {
+    			// start from the initial state of the algorithm like the recorded run
+    			initialState.unfreeze();
+    			AlgorithmRTE.this.restoreState(initialState);
+    			
+    			if(stepID != text.getFirstStepID())
+    				exception = new TraceDivergenceException("Recorded run begins with step id " + stepID + " but the first step id is " + text.getFirstStepID(), records);
+    			
+    			while(exception == null) {
+    				final int type = data.readUnsignedByte();
+    				records++;
+    				
+    				if(type == AlgorithmTrace.END) {
+    					finished = data.readBoolean();
+    					break;
+    				}
+    				else if(type == AlgorithmTrace.STEP) {
+    					final int recordedStepID = AlgorithmTrace.readVarInt(data);
+    					final int recordedNextStepID = AlgorithmTrace.readVarInt(data);
+    					final boolean hashed = data.readBoolean();
+    					final int recordedHash = hashed ? data.readInt() : 0;
+    					final AlgorithmState state = new AlgorithmState(plugin, stepID);
+    					
+    					if(recordedStepID != stepID) {
+    						exception = new TraceDivergenceException("Recorded step id " + recordedStepID + " does not match the step id " + stepID, records);
+    						break;
+    					}
+    					
+    					// the captured states represent the timeline of the recorded run so that step backs can be replayed
+    					time = System.nanoTime();
+    					captureState(state);
+    					states.add(state);
+    					captureTime += System.nanoTime() - time;
+    					
+    					// only the states that are hashed by the recorded run can be verified (in replay mode only the checkpoints)
+    					final Map<String, byte[]> entries = hashed ? state.getFrozenDataEntries() : null;
+    					if(hashed && (entries == null || AlgorithmTrace.hash(entries) != recordedHash)) {
+    						exception = new TraceDivergenceException("State before step id " + stepID + " does not match the recorded state", records);
+    						break;
+    					}
+    					
+    					// the solution of an exercise is adopted before the step is executed
+    					if(adoptedEntries != null) {
+    						final AlgorithmState transferState = new AlgorithmState(plugin, stepID);
+    						transferState.unfreezeEntries(adoptedEntries);
+    						AlgorithmRTE.this.adoptState(stepID, transferState);
+    						adoptedEntries = null;
+    					}
+    					
+    					waitTime = EDT.getWaitTime();
+    					time = System.nanoTime();
+    					try {
+    						stepID = AlgorithmRTE.this.executeStep(stepID, state);
+    					}
+    					catch(Exception e) {
+    						AlgorithmRTE.this.writeLogMessage(AlgorithmRTE.this.plugin, "execution of step id " + stepID + " failed", e, LogType.ERROR);
+    						exception = e;
+    						break;
+    					}
+    					finally {
+    						waitTime = EDT.getWaitTime() - waitTime;
+    						executionTime += Math.max(0, System.nanoTime() - time - waitTime);
+    						guiWaitTime += waitTime;
+    					}
+    					
+    					// only steps that are executed successfully are counted
+    					steps++;
+    					
+    					if(stepID != recordedNextStepID)
+    						exception = new TraceDivergenceException("Next step id " + stepID + " does not match the recorded next step id " + recordedNextStepID, records);
+    				}
+    				else if(type == AlgorithmTrace.RESTORE) {
+    					final int position = AlgorithmTrace.readVarInt(data);
+    					final int recordedStepID = AlgorithmTrace.readVarInt(data);
+    					AlgorithmState state = null;
+    					int lastNextStepID = stepID;
+    					
+    					if(position < 0 || position > states.size()) {
+    						exception = new TraceDivergenceException("Recorded position " + position + " is not part of the timeline", records);
+    						break;
+    					}
+    					
+    					// roll back the steps in reverse order like the state history does
+    					while(states.size() > position) {
+    						state = states.remove(states.size() - 1);
+    						state.unfreeze();
+    						AlgorithmRTE.this.restoreState(state);
+    						AlgorithmRTE.this.rollBackStep(state.getStepID(), lastNextStepID);
+    						lastNextStepID = state.getStepID();
+    					}
+    					
+    					stepID = (state != null) ? state.getStepID() : text.getFirstStepID();
+    					if(stepID != recordedStepID)
+    						exception = new TraceDivergenceException("Restored step id " + stepID + " does not match the recorded step id " + recordedStepID, records);
+    				}
+    				else if(type == AlgorithmTrace.ADOPT) {
+    					final int recordedStepID = AlgorithmTrace.readVarInt(data);
+    					
+    					adoptedEntries = AlgorithmTrace.readEntries(data);
+    					if(recordedStepID != stepID)
+    						exception = new TraceDivergenceException("Adopted state of step id " + recordedStepID + " does not match the step id " + stepID, records);
+    				}
+    				else if(type == AlgorithmTrace.BREAKPOINT) {
+    					// breakpoints only paused the recorded run and do not affect the execution
+    					AlgorithmTrace.readVarInt(data);
+    				}
+    				else
+    					throw new IOException("Execution trace contains an unknown record!");
+    			}
+    			
+    			final AlgorithmState finalState = new AlgorithmState(plugin, stepID);
+    			captureState(finalState);
+    			
+    			return new HeadlessResult(steps, exception == null && finished, exception, states, finalState, System.nanoTime() - start, executionTime, guiWaitTime, captureTime);
+    		}
+    		finally {
+    			EDT.setJobsDiscarded(jobsDiscarded);
+    			AlgorithmRTE.this.setViewsRepaintDisabled(false);
+    			headless = false;
+    		}
+    	}
 		
 		/**
 		 * Resumes the work of the runtime environment but only if the rte was started previously and it is not enabled the exercise mode.
@@ -1113,7 +2167,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 				this.paused = false;
 			}
 			
-			wakeUp();
+			signalChange();
 		}
 		
 		/**
@@ -1121,13 +2175,41 @@ public abstract class AlgorithmRTE extends HostSecurity {
 		 * <br><br>
 		 * <b>Notice</b>:<br>
 		 * To resume the work of the rte please use {@link #resume(boolean)} instead of this method because this method is part of
-		 * the {@link AlgorithmExerciseController} and should only be used by exercises.
+		 * the {@link AlgorithmExerciseController} and should only be used by exercises.<br>
+		 * The wake up is not lost if the rte does not sleep yet, meaning that the next sleep of the rte returns immediately.
 		 * 
 		 * @since 1.0
 		 */
 		public void wakeUp() {
-			synchronized(monitor) {
-				monitor.notify();
+			lock.lock();
+			try {
+				wakeUpPending = true;
+				signal.signalAll();
+				signalTime = System.nanoTime();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		
+		/**
+		 * Signals the rte thread that one of the flags that control its execution is changed so that the rte checks whether it can continue
+		 * its work.
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * The flags have to be changed before this method is invoked. The rte always checks the flags while it holds the lock before it
+		 * waits so a signal cannot get lost.
+		 * 
+		 * @since 1.6
+		 */
+		private void signalChange() {
+			lock.lock();
+			try {
+				signal.signalAll();
+				signalTime = System.nanoTime();
+			}
+			finally {
+				lock.unlock();
 			}
 		}
 		
@@ -1166,6 +2248,8 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			if(exerciseModeEnabled)
 				return;
 			
+			// a pending run to a breakpoint or step is canceled
+			runTarget = RUNTARGET_NONE;
 			paused = true;
 		}
 		
@@ -1183,7 +2267,8 @@ public abstract class AlgorithmRTE extends HostSecurity {
 		 * Lets the runtime sleep for a specific amount of time.
 		 * <br><br>
 		 * <b>Notice</b>:<br>
-		 * If {@link #skipStep()} is invoked all sleep invocations are suppress for the current step in execution.
+		 * If {@link #skipStep()} is invoked all sleep invocations are suppress for the current step in execution. A sleep that is
+		 * in progress returns immediately.
 		 * 
 		 * @param millis time in milliseconds
 		 * @since 1.0
@@ -1193,12 +2278,25 @@ public abstract class AlgorithmRTE extends HostSecurity {
 				return;
 			
 			try {
-				// sleep if possible (notice: wait(0); does not have the effect that waiting is ignored (it needs
-				// also a notify()))
+				// sleep if possible (notice: the remaining time is tracked so that a spurious wake up does not shorten the sleep and
+				// a sleep time that is rounded down to zero does not wait at all)
 				if(sleepFactor > 0.0f) {
-					synchronized(monitor) {
-		                monitor.wait((long)(millis * sleepFactor));
-		            }
+					final long start = System.nanoTime();
+					long nanos = (long)(TimeUnit.MILLISECONDS.toNanos(millis) * sleepFactor);
+					
+					lock.lockInterruptibly();
+					try {
+						while(nanos > 0 && !skipCurrStep && !terminateRTE)
+							nanos = signal.awaitNanos(nanos);
+						
+						if(nanos > 0)
+							noteWakeUp(start);
+					}
+					finally {
+						lock.unlock();
+					}
+					
+					sleepTime += System.nanoTime() - start;
 				}
 				
 				// if rte is paused in the meanwhile wait after sleeping until rte is unpaused
@@ -1211,51 +2309,141 @@ public abstract class AlgorithmRTE extends HostSecurity {
 		}
 		
 		/**
-		 * Suppresses all sleep and pause invocations for the current run.
+		 * Suppresses all sleep and pause invocations for the current run.
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * {@link #wakeUp()} is invoked automatically to wake up the rte from its current state (sleep or pause).<br>
+		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to skip steps.</b>
+		 * 
+		 * @since 1.0
+		 */
+		public void skipStep() {
+			synchronized(this) {
+				// if the algorithm is in exercise mode then it is only possible to start and stop the algorithm,
+				// resume/pause/prevStep/nextStep are inactive
+				if(exerciseModeEnabled)
+					return;
+				
+				enableSkipStepFlag();
+			}
+			
+			// wake up the rte
+			signalChange();
+		}
+		
+		/**
+		 * Goes one step back in the execution of the algorithm and restores the step's state.
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * {@link #skipStep()} is automatically invoked which means additionally that {@link #wakeUp()} is also called
+		 * to wake up the rte from its current state (sleep or pause).<br>
+		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to step back.</b>
+		 * 
+		 * @since 1.0
+		 */
+		public void goStepBack() {
+			synchronized(this) {
+				// if the algorithm is in exercise mode then it is only possible to start and stop the algorithm,
+				// resume/pause/prevStep/nextStep are inactive
+				if(exerciseModeEnabled)
+					return;
+				
+				stepBack = true;
+				runTarget = RUNTARGET_NONE;
+			}
+			
+			// skip the current step and wake up the rte
+			skipStep();
+		}
+		
+		/**
+		 * Jumps to the given position in the timeline.
 		 * <br><br>
 		 * <b>Notice</b>:<br>
-		 * {@link #wakeUp()} is invoked automatically to wake up the rte from its current state (sleep or pause).<br>
-		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to skip steps.</b>
+		 * {@link #skipStep()} is automatically invoked which means additionally that {@link #wakeUp()} is also called
+		 * to wake up the rte from its current state (sleep or pause).<br>
+		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to seek.</b>
 		 * 
-		 * @since 1.0
+		 * @param position the position in the timeline
+		 * @since 1.6
 		 */
-		public void skipStep() {
+		public void seek(final int position) {
 			synchronized(this) {
 				// if the algorithm is in exercise mode then it is only possible to start and stop the algorithm,
-				// resume/pause/prevStep/nextStep are inactive
+				// resume/pause/prevStep/nextStep/seek are inactive
 				if(exerciseModeEnabled)
 					return;
 				
-				enableSkipStepFlag();
+				seekTarget = position;
+				runTarget = RUNTARGET_NONE;
 			}
 			
-			// wake up the rte
-			wakeUp();
+			// skip the current step and wake up the rte
+			skipStep();
 		}
 		
 		/**
-		 * Goes one step back in the execution of the algorithm and restores the step's state.
+		 * Gets the number of steps in the timeline.
+		 * 
+		 * @return the number of states in the history
+		 * @since 1.6
+		 */
+		public int getHistorySize() {
+			return stateHistory.size();
+		}
+		
+		/**
+		 * Runs to the given target and resumes the rte if it is paused.
 		 * <br><br>
 		 * <b>Notice</b>:<br>
 		 * {@link #skipStep()} is automatically invoked which means additionally that {@link #wakeUp()} is also called
 		 * to wake up the rte from its current state (sleep or pause).<br>
-		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to step back.</b>
+		 * <b>If the exercise mode is enabled ({@link #isExerciseModeEnabled()}) then it is not possible to run to a target.</b>
 		 * 
-		 * @since 1.0
+		 * @param target the id of the step or {@link #RUNTARGET_BREAKPOINT}
+		 * @since 1.6
 		 */
-		public void goStepBack() {
+		public void runTo(final int target) {
 			synchronized(this) {
 				// if the algorithm is in exercise mode then it is only possible to start and stop the algorithm,
-				// resume/pause/prevStep/nextStep are inactive
-				if(exerciseModeEnabled)
+				// resume/pause/prevStep/nextStep/seek/runTo are inactive
+				if(!started || exerciseModeEnabled)
 					return;
 				
-				stepBack = true;
+				runTarget = target;
+				paused = false;
 			}
 			
 			// skip the current step and wake up the rte
 			skipStep();
 		}
+		
+		/**
+		 * Indicates whether the rte runs to a breakpoint or step.
+		 * 
+		 * @return <code>true</code> if a run to a target is pending otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		public boolean isRunningToTarget() {
+			return runTarget != RUNTARGET_NONE;
+		}
+		
+		/**
+		 * Indicates whether the given step is the target of the pending run.
+		 * 
+		 * @param stepID the id of the step
+		 * @return <code>true</code> if the step is the target or has a breakpoint that stops the run otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		private boolean isRunTarget(final int stepID) {
+			final AlgorithmStep step = text.getStepByID(stepID);
+			final boolean breakpoint = step != null && step.hasBreakpoint();
+			
+			if(runTarget == RUNTARGET_BREAKPOINT)
+				return breakpoint;
+			else
+				return stepID == runTarget || (breakpoint && !skipBreakpoints);
+		}
     	
     	/**
     	 * Gets the identifier of the step that is currently in execution.
@@ -1379,6 +2567,132 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			pauseBeforeTerminate = pause;
 		}
 		
+		/**
+		 * Gets the mode of the state history.
+		 * 
+		 * @return the mode of the state history
+		 * @since 1.6
+		 */
+		public StateHistoryMode getStateHistoryMode() {
+			return stateHistoryMode;
+		}
+		
+		/**
+		 * Sets the mode of the state history that is used the next time the rte is started.
+		 * 
+		 * @param mode the mode of the state history
+		 * @throws IllegalArgumentException
+		 * <ul>
+		 * 		<li>if mode is null</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public synchronized void setStateHistoryMode(final StateHistoryMode mode) throws IllegalArgumentException {
+			if(mode == null)
+				throw new IllegalArgumentException("No valid argument!");
+			
+			stateHistoryMode = mode;
+		}
+		
+		/**
+		 * Gets the keyframe interval of the state history.
+		 * 
+		 * @return the keyframe interval
+		 * @since 1.6
+		 */
+		public int getKeyframeInterval() {
+			return keyframeInterval;
+		}
+		
+		/**
+		 * Sets the keyframe interval of the state history that is used the next time the rte is started.
+		 * 
+		 * @param interval the keyframe interval
+		 * @throws IllegalArgumentException
+		 * <ul>
+		 * 		<li>if interval is <code>< 1</code></li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public synchronized void setKeyframeInterval(final int interval) throws IllegalArgumentException {
+			if(interval < 1)
+				throw new IllegalArgumentException("No valid argument!");
+			
+			keyframeInterval = interval;
+		}
+		
+		/**
+		 * Indicates whether the states of the history are frozen in the background.
+		 * 
+		 * @return <code>true</code> if the states are frozen in the background otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		public boolean isAsyncStateFreezing() {
+			return asyncStateFreezing;
+		}
+		
+		/**
+		 * Sets whether the states of the history should be frozen in the background the next time the rte is started.
+		 * 
+		 * @param async <code>true</code> if the states should be frozen in the background otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		public synchronized void setAsyncStateFreezing(final boolean async) {
+			asyncStateFreezing = async;
+		}
+		
+		/**
+		 * Gets the memory budget of the state history.
+		 * 
+		 * @return the budget in bytes or <code>0</code> if the memory usage is unbounded
+		 * @since 1.6
+		 */
+		public long getStateHistoryBudget() {
+			return stateHistoryBudget;
+		}
+		
+		/**
+		 * Sets the memory budget of the state history that is used the next time the rte is started.
+		 * 
+		 * @param bytes the budget in bytes or <code>0</code> if the memory usage should be unbounded
+		 * @throws IllegalArgumentException
+		 * <ul>
+		 * 		<li>if bytes is <code>< 0</code></li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public synchronized void setStateHistoryBudget(final long bytes) throws IllegalArgumentException {
+			if(bytes < 0)
+				throw new IllegalArgumentException("No valid argument!");
+			
+			stateHistoryBudget = bytes;
+		}
+		
+		/**
+		 * Gets the executor that freezes the states in the background.
+		 * <br><br>
+		 * The executor uses one daemon thread that terminates if there is nothing to freeze for a while.
+		 * 
+		 * @return the executor
+		 * @since 1.6
+		 */
+		private Executor getFreezeExecutor() {
+			if(freezeExecutor == null) {
+				freezeExecutor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					
+					@Override
+					public Thread newThread(Runnable r) {
+						final Thread t = new Thread(r, "LAVESDK state freezer");
+						t.setDaemon(true);
+						return t;
+					}
+				});
+				freezeExecutor.allowCoreThreadTimeOut(true);
+			}
+			
+			return freezeExecutor;
+		}
+		
 		/**
 		 * Indicates whether the exercise mode of the rte is enabled.
 		 * <br><br>
@@ -1452,12 +2766,22 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			int nextStepID = -1;
 			long dwellTimeStart;
 			long dwellTime;
+			long freezeTime;
+			long execTime;
+			long execSleepTime;
+			long sleepStart;
+			long waitStart;
+			boolean stateHashed = false;
 			boolean processed = false;
 			AlgorithmExercise<?> exercise = null;
 			boolean playAndPauseAllowed = false;
 			
 			terminateRTE = false;
 			
+			// the trace of the run begins with the first step
+			if(trace != null)
+				trace.begin(executingStepID);
+			
 			// notify the exercise provider that the exam begins but only if the exercise mode is enabled
 			if(exerciseModeEnabled) {
 				EDT.execute(new GuiJob(getClass().getSimpleName() + ".run") {
@@ -1471,23 +2795,48 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			
 			while(!processed && !rteThread.isInterrupted()) {
 				try {
-					// set the step that is currently in execution
-					text.setExecutingStepID(executingStepID);
+					// set the step that is currently in execution (this is deferred until the target is reached if the rte runs to a target)
+					if(runTarget == RUNTARGET_NONE)
+						text.setExecutingStepID(executingStepID);
 					
 					// cache the state of the current executing step
-					pushStateHistory(executingStepID);
-					
-					// check for a breakpoint before the step is executed (if the step has a breakpoint then the rte is paused)
-					if(!checkBreakpoint(executingStepID)) {
-						// if a step has a breakpoint it is not necessary to pause again
+					freezeTime = System.nanoTime();
+					stateHashed = pushStateHistory(executingStepID) && trace != null;
+					freezeTime = System.nanoTime() - freezeTime;
 					
-						// if the play and pause start option is enabled then we pause the algorithm before the current step is executed
-						// meaning if the user presses play and pause the current step is executed and the next step is activated but not performed
-						// (play and pause is allowed after one step is executed otherwise the rte will pause before the first step is executed)
-						if(playAndPauseAllowed && currStartOpt == AlgorithmStartOption.PLAY_AND_PAUSE) {
+					if(seekTarget >= stateHistory.size()) {
+						// the step is replayed by a forward seek so it is executed without sleeping and rendering
+						enableSkipStepFlag();
+					}
+					else if(runTarget != RUNTARGET_NONE && !isRunTarget(executingStepID)) {
+						// the step is executed without sleeping, animations and rendering until the run reaches its target
+						enableSkipStepFlag();
+					}
+					else {
+						// a pending seek has reached its target
+						seekTarget = -1;
+						fireTimelineEvent(stateHistory.size() - 1);
+						
+						if(runTarget != RUNTARGET_NONE) {
+							// the run has reached its target so refresh the views once and pause before the step is executed
+							runTarget = RUNTARGET_NONE;
+							disableSkipStepFlag();
+							text.setExecutingStepID(executingStepID);
 							AlgorithmRTE.this.pause();
 							checkPause();
 						}
+						// check for a breakpoint before the step is executed (if the step has a breakpoint then the rte is paused)
+						else if(!checkBreakpoint(executingStepID)) {
+							// if a step has a breakpoint it is not necessary to pause again
+							
+							// if the play and pause start option is enabled then we pause the algorithm before the current step is executed
+							// meaning if the user presses play and pause the current step is executed and the next step is activated but not performed
+							// (play and pause is allowed after one step is executed otherwise the rte will pause before the first step is executed)
+							if(playAndPauseAllowed && currStartOpt == AlgorithmStartOption.PLAY_AND_PAUSE) {
+								AlgorithmRTE.this.pause();
+								checkPause();
+							}
+						}
 					}
 					
 					// if the current start option is "run until the algorithm ends" then enable the skip step flag before each step is executed
@@ -1497,23 +2846,42 @@ public abstract class AlgorithmRTE extends HostSecurity {
 					// get the exercise of the current step
 					exercise = getCurrentExercise();
 					
+					// the step starts now so the latency of a preceding wake up is complete
+					recordWakeUp(executingStepID);
+					
 					// execute the current step normally when the rte is not in exercise mode or the step does not have
 					// an exercise otherwise communicate with the exercise for execution
 					if(!exerciseModeEnabled || exercise == null) {
 						dwellTimeStart = System.currentTimeMillis();
+						sleepStart = sleepTime;
+						waitStart = EDT.getWaitTime();
+						execTime = System.nanoTime();
 						
 						// execute the current step
 						nextStepID = executeCurrentStep();
+						
+						execTime = System.nanoTime() - execTime;
+						execSleepTime = sleepTime - sleepStart;
 	
 						// measure the dwell time of the step
 						dwellTime = System.currentTimeMillis() - dwellTimeStart;
 						// step does not achieve the minimal dwell time? then sleep the remaining time
 						if(dwellTime < minDwellTime)
 							sleep(minDwellTime - dwellTime);
+						
+						if(AlgorithmRTE.this.metricsEnabled)
+							recordStepMetrics(executingStepID, stateHistory.peek(), freezeTime, execTime - execSleepTime, EDT.getWaitTime() - waitStart, sleepTime - sleepStart);
 					}
 					else
 						nextStepID = processExercise(exercise, text.getStepByID(executingStepID));
 					
+					if(trace != null) {
+						// the hash of the state before the step lets a replay of the trace verify that it does not diverge (the hash is computed
+						// from the frozen data of the history after the step so that a freezing in the background is not delayed)
+						final Map<String, byte[]> entries = stateHashed ? stateHistory.getTopEntries() : null;
+						trace.step(executingStepID, nextStepID, entries != null, (entries != null) ? AlgorithmTrace.hash(entries) : 0);
+					}
+					
 					// valid next step?
 					if(nextStepID > 0 && !terminateRTE) {
 						// pause the rte if necessary
@@ -1524,6 +2892,10 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			            	nextStepID = popStateHistory(executingStepID, nextStepID);
 			            	// the state is restored
 			            	stepBack = false;
+			            }
+			            else if(seekTarget >= 0 && seekTarget < stateHistory.size()) {
+			            	// go back to the state of the seek target (the seek is finished when the target step is pushed again)
+			            	nextStepID = rewindStateHistory(seekTarget, nextStepID);
 			            }
 					}
 					else
@@ -1533,14 +2905,28 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	            	terminateRTE = true;
 	            }
 	            
-	            // reset flags that are supposed to manipulate the current step in execution
-				disableSkipStepFlag();
+	            // a run to a target ends with the algorithm (the deferred executing step is set so that the text shows the last step)
+	            if((processed || terminateRTE) && runTarget != RUNTARGET_NONE) {
+	            	runTarget = RUNTARGET_NONE;
+	            	text.setExecutingStepID(executingStepID);
+	            }
+	            
+	            // reset flags that are supposed to manipulate the current step in execution (the views stay disabled if the rte
+	            // runs to a target so that they are not repainted after each step)
+	            if(runTarget == RUNTARGET_NONE)
+	            	disableSkipStepFlag();
 	            stepBack = false;
 
 	            // schedule is done?
 	            if(processed && !terminateRTE) {
 	            	exercise = text.getFinalExercise();
 	            	
+	            	// a forward seek beyond the end of the algorithm ends at the last step
+	            	if(seekTarget >= stateHistory.size()) {
+	            		seekTarget = -1;
+	            		fireTimelineEvent(stateHistory.size() - 1);
+	            	}
+	            	
 	            	try {
 		            	// if the exercise mode is enabled and there is a final exercise then
 	            		if(exerciseModeEnabled && exercise != null)
@@ -1550,7 +2936,9 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			            // (this has to be done after the skip step flag is reset otherwise it has no effect)
 		            	if(!exerciseModeEnabled && pauseBeforeTerminate) {
 			            	AlgorithmRTE.this.pause();
-			            	checkPause();
+			            	// do not wait if the user has already requested to seek back during the last step
+			            	if(seekTarget < 0)
+			            		checkPause();
 			            	
 			            	// give the user the possibility to step back from the end of the algorithm schedule
 			            	if(stepBack) {
@@ -1561,6 +2949,12 @@ public abstract class AlgorithmRTE extends HostSecurity {
 				            	stepBack = false;
 				            	processed = false;
 				            }
+			            	else if(seekTarget >= 0 && seekTarget < stateHistory.size()) {
+			            		// go back to the state of the seek target
+			            		nextStepID = rewindStateHistory(seekTarget, nextStepID);
+								disableSkipStepFlag();
+				            	processed = false;
+			            	}
 		            	}
 	            	}
 	            	catch(InterruptedException e) {
@@ -1593,6 +2987,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 				});
 			}
 	    	
+	    	endTrace(processed && !terminateRTE);
 	    	done();
 		}
 		
@@ -1662,8 +3057,10 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			
 			try {
 				do {
-					// a solution is requested and entered by the user while the rte sleeps
-					oldState.unfreeze();
+					// a solution is requested and entered by the user while the rte sleeps (a wake up that is pending from
+					// a previous request must not end the sleep of this request)
+					stateHistory.unfreeze(oldState);
+					discardWakeUp();
 					EDT.execute(new GuiJob() {
 						
 						@Override
@@ -1712,7 +3109,9 @@ public abstract class AlgorithmRTE extends HostSecurity {
 							final AlgorithmState transferState = new AlgorithmState(plugin, executingStepID);
 							exercise.transferSolution(transferState);
 							
-							// let the algorithm adopt the state
+							// let the algorithm adopt the state (the solution is part of the execution trace)
+							if(trace != null)
+								trace.adopt(executingStepID, transferState);
 							AlgorithmRTE.this.adoptState(executingStepID, transferState);
 							
 							// only execute the step if the exercise was solved correct
@@ -1734,7 +3133,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 						// if the exercise failed the state before the step must be restored and rolled back so that the exercise
 						// can be solved once again
 						if(examResult == ExamResult.FAILED && !exercise.isOmitted()) {
-							oldState.unfreeze();
+							stateHistory.unfreeze(oldState);
 							AlgorithmRTE.this.restoreState(oldState);
 							AlgorithmRTE.this.rollBackStep(executingStepID, nextStepID);
 						}
@@ -1771,14 +3170,22 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			if(exerciseModeEnabled || skipCurrStep || terminateRTE)
 				return false;
 			
-			// to set the monitor in synchronized mode costs time so do this only if
-        	// the flag is set
+			// to acquire the lock costs time so do this only if the flag is set
             if(paused) {
-                synchronized(monitor) {
+            	final long start = System.nanoTime();
+            	
+            	lock.lockInterruptibly();
+                try {
                 	// attention: pause could be suppressed although the paused flag is set so
                 	// the skip flag has to be checked each time too
                     while(paused && !skipCurrStep)
-                    	monitor.wait();
+                    	signal.await();
+                    
+                    noteWakeUp(start);
+                }
+                finally {
+                	lock.unlock();
+                	pauseTime += System.nanoTime() - start;
                 }
                 
                 return true;
@@ -1809,8 +3216,11 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			final AlgorithmStep step = text.getStepByID(stepID);
 			
 			// step has a breakpoint? then go into pause mode
-			if(step != null && step.hasBreakpoint())
+			if(step != null && step.hasBreakpoint()) {
 				AlgorithmRTE.this.pause();
+				if(trace != null)
+					trace.breakpoint(stepID);
+			}
 			
 			return checkPause();
 		}
@@ -1828,11 +3238,74 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			if(skipCurrStep || terminateRTE)
 				return;
 			
-			synchronized(monitor) {
-				monitor.wait();
+			final long start = System.nanoTime();
+			
+			lock.lockInterruptibly();
+			try {
+				while(!wakeUpPending && !skipCurrStep)
+					signal.await();
+				
+				// the wake up is consumed
+				wakeUpPending = false;
+				noteWakeUp(start);
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		
+		/**
+		 * Discards a pending wake up that is not yet consumed by {@link #sleep()}.
+		 * 
+		 * @since 1.6
+		 */
+		private void discardWakeUp() {
+			lock.lock();
+			try {
+				wakeUpPending = false;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		
+		/**
+		 * Notes the last signal as the cause of a wake up if the rte was signaled while it waited so that the latency can be recorded
+		 * when the next step starts (see {@link #recordWakeUp(int)}).
+		 * <br><br>
+		 * <b>Attention</b>:<br>
+		 * The lock must be held by the caller.
+		 * 
+		 * @param start the time in nanoseconds at which the rte began to wait
+		 * @since 1.6
+		 */
+		private void noteWakeUp(final long start) {
+			if(signalTime - start >= 0) {
+				wakeUpSignalTime = signalTime;
+				wakeUpRecordPending = true;
 			}
 		}
 		
+		/**
+		 * Records the latency from the signal that woke up the rte last until now if the metrics are enabled.
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * This has to be invoked when a step starts so that the latency covers the whole time from the request to continue (like
+		 * {@link #skipStep()} or {@link #resume(AlgorithmStartOption)}) until the next step is executed and not only the time until the rte
+		 * returns from waiting.
+		 * 
+		 * @param stepID the id of the step that starts
+		 * @since 1.6
+		 */
+		private void recordWakeUp(final int stepID) {
+			if(!wakeUpRecordPending)
+				return;
+			
+			wakeUpRecordPending = false;
+			if(AlgorithmRTE.this.metricsEnabled)
+				AlgorithmRTE.this.recordMetric(stepID, StepMetric.WAKE_UP, System.nanoTime() - wakeUpSignalTime);
+		}
+		
 		/**
 		 * Requests the current state of the algorithm.
 		 * <br><br>
@@ -1844,9 +3317,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 		 * @since 1.0
 		 */
 		private AlgorithmState requestState(final int stepID) {
-			// save the current state of the algorithm
-			final AlgorithmState state = new AlgorithmState(plugin, stepID);
-			AlgorithmRTE.this.storeState(state);
+			final AlgorithmState state = createState(stepID);
 			
 			// very important: freeze the state against changes after the state is queried
 			state.freeze();
@@ -1854,15 +3325,39 @@ public abstract class AlgorithmRTE extends HostSecurity {
 			return state;
 		}
 		
+		/**
+		 * Creates a state of the algorithm that is not frozen yet.
+		 * 
+		 * @param stepID the id of the current step
+		 * @return the state
+		 * @since 1.6
+		 */
+		private AlgorithmState createState(final int stepID) {
+			// save the current state of the algorithm
+			final AlgorithmState state = new AlgorithmState(plugin, stepID);
+			state.setBufferPool(bufferPool);
+			AlgorithmRTE.this.storeState(state);
+			
+			return state;
+		}
+		
 		/**
 	     * Stores the current algorithm state and pushes it to the history stack.
 	     * 
 	     * @param nextStepID the id of the next step which state is stored
+	     * @return <code>true</code> if the pushed state contains the data of the algorithm or <code>false</code> if it only records the step (replay mode)
 	     * @since 1.0
 	     */
-	    private void pushStateHistory(final int nextStepID) {
-			// save the current state of the algorithm add it to the stack
-			stateHistory.push(requestState(nextStepID));
+	    private boolean pushStateHistory(final int nextStepID) {
+	    	// in replay mode only the checkpoints and the states of exercises (that are needed to examine the exercises) must be stored
+	    	if(!stateHistory.isCheckpointDue() && getCurrentExercise() == null) {
+	    		stateHistory.push(new AlgorithmState(plugin, nextStepID));
+	    		return false;
+	    	}
+			
+			// save the current state of the algorithm add it to the stack (the history freezes the state depending on its mode)
+			stateHistory.push(createState(nextStepID));
+			return true;
 	    }
 	    
 	    /**
@@ -1876,6 +3371,25 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	     * @since 1.0
 	     */
 	    private int popStateHistory(final int stepID, final int nextStepID) {
+	    	final long start = System.nanoTime();
+	    	
+	    	if(stateHistory.getMode() == StateHistoryMode.REPLAY) {
+	    		boolean currStepFound = false;
+	    		int position = 0;
+	    		
+	    		// find the position of the predecessor step of the given step
+	    		for(int i = stateHistory.size() - 1; i >= 0; i--) {
+	    			final int id = stateHistory.get(i).getStepID();
+	    			currStepFound = currStepFound || (id == stepID);
+	    			if(currStepFound && id != stepID) {
+	    				position = i;
+	    				break;
+	    			}
+	    		}
+	    		
+	    		return measureRestore(replayStateHistory(position, nextStepID), start);
+	    	}
+	    	
 	    	AlgorithmState state = null;
 	    	boolean predStepFound = false;
 	    	boolean currStepFound = false;
@@ -1889,7 +3403,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	    		// and the current popped state has another id then the one from the given state
 	    		predStepFound = currStepFound && (state.getStepID() != stepID);
 	    		
-    			state.unfreeze();
+    			stateHistory.unfreeze(state);
     			AlgorithmRTE.this.restoreState(state);
     			AlgorithmRTE.this.rollBackStep(state.getStepID(), lastNextStepID);
     			lastNextStepID = state.getStepID();
@@ -1897,9 +3411,148 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	    	
 	    	// no valid state then execute the first step next
 	    	if(state == null)
-	    		return text.getFirstStepID();
+	    		return measureRestore(text.getFirstStepID(), start);
 	    	else
-	    		return state.getStepID();
+	    		return measureRestore(state.getStepID(), start);
+	    }
+	    
+	    /**
+	     * Restores the algorithm state at the specified position of the timeline and rolls back all steps up to the one that
+	     * is restored.
+	     * <br><br>
+	     * <b>Notice</b>:<br>
+	     * The steps are rolled back in reverse order and each step is rolled back with the state it had before it was executed
+	     * (see {@link AlgorithmRTE#rollBackStep(int, int)}). The views are repainted once the skip step flag is disabled.
+	     * 
+	     * @param position the position in the timeline of the state that should be restored
+	     * @param nextStepID the id of the next step
+	     * @return the id of the step that has to be executed next
+	     * @since 1.6
+	     */
+	    private int rewindStateHistory(final int position, final int nextStepID) {
+	    	final long start = System.nanoTime();
+	    	
+	    	if(stateHistory.getMode() == StateHistoryMode.REPLAY)
+	    		return measureRestore(replayStateHistory(position, nextStepID), start);
+	    	
+	    	AlgorithmState state = null;
+	    	int lastNextStepID = nextStepID;
+	    	
+	    	while(stateHistory.size() > position) {
+	    		state = stateHistory.pop();
+	    		
+	    		stateHistory.unfreeze(state);
+	    		AlgorithmRTE.this.restoreState(state);
+	    		AlgorithmRTE.this.rollBackStep(state.getStepID(), lastNextStepID);
+	    		lastNextStepID = state.getStepID();
+	    	}
+	    	
+	    	// no valid state then execute the first step next
+	    	return measureRestore((state != null) ? state.getStepID() : text.getFirstStepID(), start);
+	    }
+	    
+	    /**
+	     * Records the time to restore the state of a step if the metrics are enabled and writes the restoration to the execution
+	     * trace if the run is traced.
+	     * 
+	     * @param stepID the id of the step whose state is restored
+	     * @param start the start time of the restoration in nanoseconds
+	     * @return the given step id
+	     * @since 1.6
+	     */
+	    private int measureRestore(final int stepID, final long start) {
+	    	if(AlgorithmRTE.this.metricsEnabled)
+	    		AlgorithmRTE.this.recordMetric(stepID, StepMetric.RESTORE, System.nanoTime() - start);
+	    	if(trace != null)
+	    		trace.restore(stateHistory.size(), stepID);
+	    	
+	    	return stepID;
+	    }
+	    
+	    /**
+	     * Records the metrics of an executed step.
+	     * 
+	     * @param stepID the id of the step
+	     * @param state the stored state of the step or <code>null</code> if the size of the state should not be recorded
+	     * @param freezeTime the time in nanoseconds to store and freeze the state of the step
+	     * @param execTime the time in nanoseconds of the execution of the step without sleeping
+	     * @param guiWaitTime the time in nanoseconds that the step waits for the EDT
+	     * @param sleepTime the time in nanoseconds that the step sleeps including the dwell time
+	     * @since 1.6
+	     */
+	    private void recordStepMetrics(final int stepID, final AlgorithmState state, final long freezeTime, final long execTime, final long guiWaitTime, final long sleepTime) {
+	    	final Map<StepMetric, Long> sample = new EnumMap<StepMetric, Long>(StepMetric.class);
+	    	final long size = (state != null) ? state.getFrozenSize() : -1;
+	    	
+	    	sample.put(StepMetric.EXECUTION, Math.max(0, execTime - guiWaitTime));
+	    	sample.put(StepMetric.FREEZE, freezeTime);
+	    	if(size >= 0)
+	    		sample.put(StepMetric.STATE_SIZE, size);
+	    	sample.put(StepMetric.GUI_WAIT, guiWaitTime);
+	    	sample.put(StepMetric.SLEEP, sleepTime);
+	    	
+	    	AlgorithmRTE.this.recordMetrics(stepID, sample);
+	    }
+	    
+	    /**
+	     * Restores the algorithm state at the specified position of the history in {@link StateHistoryMode#REPLAY} mode and rolls back
+	     * all steps up to the one that is restored.
+	     * <br><br>
+	     * The states between two checkpoints are reconstructed by restoring the checkpoint and executing the recorded steps without sleeping
+	     * and rendering. The steps are rolled back segment by segment (from the top down to the nearest checkpoint) so that only the states of
+	     * one segment are held in the memory. Like in the other modes each step is rolled back with the state it had before it was executed.
+	     * 
+	     * @param position the position in the history of the state that should be restored
+	     * @param nextStepID the id of the next step
+	     * @return the id of the step that has to be executed next
+	     * @since 1.6
+	     */
+	    private int replayStateHistory(final int position, final int nextStepID) {
+	    	AlgorithmState state = null;
+	    	int lastNextStepID = nextStepID;
+	    	int end = stateHistory.size();
+	    	
+	    	// the steps are replayed without sleeping and rendering (the views are repainted once the skip step flag is disabled)
+	    	enableSkipStepFlag();
+	    	
+	    	while(end > position && !terminateRTE) {
+	    		final int checkpoint = stateHistory.findCheckpoint(end - 1);
+	    		final int start = Math.max(checkpoint, position);
+	    		final AlgorithmState[] segment = new AlgorithmState[end - start];
+	    		final AlgorithmState checkpointState = stateHistory.get(checkpoint);
+	    		
+	    		stateHistory.unfreeze(checkpointState);
+	    		AlgorithmRTE.this.restoreState(checkpointState);
+	    		
+	    		// execute the steps from the checkpoint on and record the states of the segment before their steps are executed
+	    		for(int i = checkpoint; i < end && !terminateRTE; i++) {
+	    			final AlgorithmState recorded = stateHistory.get(i);
+	    			
+	    			if(i >= start)
+	    				segment[i - start] = requestState(recorded.getStepID());
+	    			if(i < end - 1)
+	    				performStep(recorded.getStepID(), recorded);
+	    		}
+	    		
+	    		if(terminateRTE)
+	    			break;
+	    		
+	    		// roll back the steps of the segment in reverse order
+	    		for(int i = end - 1; i >= start; i--) {
+	    			state = segment[i - start];
+	    			
+	    			stateHistory.pop();
+	    			state.unfreeze();
+	    			AlgorithmRTE.this.restoreState(state);
+	    			AlgorithmRTE.this.rollBackStep(state.getStepID(), lastNextStepID);
+	    			lastNextStepID = state.getStepID();
+	    		}
+	    		
+	    		end = start;
+	    	}
+	    	
+	    	// no valid state then execute the first step next
+	    	return (state != null) ? state.getStepID() : text.getFirstStepID();
 	    }
 	    
 	    /**
@@ -1913,11 +3566,27 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	     * @since 1.0
 	     */
 	    private int executeCurrentStep() {
+	    	return performStep(executingStepID, stateHistory.peek());
+	    }
+	    
+	    /**
+	     * Executes the specified step.
+	     * <br><br>
+	     * <b>Notice</b>:<br>
+	     * This method invokes the {@link AlgorithmRTE#executeStep(int, AlgorithmStateAttachment)} method. If their occur an exception then this exception is logged
+	     * and the {@link #terminateRTE} flag is set.
+	     * 
+	     * @param stepID the id of the step
+	     * @param asa the attachment of the state of the step
+	     * @return the step id of the next step that has to be executed or <code>-1</code> if the algorithm is finished
+	     * @since 1.6
+	     */
+	    private int performStep(final int stepID, final AlgorithmStateAttachment asa) {
 			try {
-				return AlgorithmRTE.this.executeStep(executingStepID, stateHistory.peek());
+				return AlgorithmRTE.this.executeStep(stepID, asa);
 			}
 			catch(Exception e) {
-				AlgorithmRTE.this.writeLogMessage(AlgorithmRTE.this.plugin, "execution of step id " + executingStepID + " failed", e, LogType.ERROR);
+				AlgorithmRTE.this.writeLogMessage(AlgorithmRTE.this.plugin, "execution of step id " + stepID + " failed", e, LogType.ERROR);
 				terminateRTE = true;
 			}
 			
@@ -1942,6 +3611,24 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	    	return (step != null) ? step.getExercise() : null;
 	    }
 	    
+	    /**
+	     * Ends the execution trace of the run if the run is traced.
+	     * <br><br>
+	     * The stream of the trace is flushed but not closed so that the traces of further runs can be appended.
+	     * 
+	     * @param finished <code>true</code> if the algorithm is finished otherwise <code>false</code>
+	     * @since 1.6
+	     */
+	    private void endTrace(final boolean finished) {
+	    	if(trace == null)
+	    		return;
+	    	
+	    	trace.end(finished);
+	    	if(trace.getError() != null)
+	    		AlgorithmRTE.this.writeLogMessage(AlgorithmRTE.this.plugin, "execution trace could not be written", trace.getError(), LogType.ERROR);
+	    	trace = null;
+	    }
+	    
 	    /**
 	     * Indicates that the runtime job is done meaning that the rte is reset and {@link AlgorithmRTE#onStop()}
 	     * is invoked.
@@ -1950,6 +3637,7 @@ public abstract class AlgorithmRTE extends HostSecurity {
 	     */
 	    private void done() {
 	    	started = false;
+	    	runTarget = RUNTARGET_NONE;
 	    	skipCurrStep = false;
 	    	
 			// release the state history because the algorithm is finished
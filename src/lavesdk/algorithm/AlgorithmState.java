@@ -27,11 +27,19 @@ import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import lavesdk.algorithm.exceptions.IllegalInvocationException;
 import lavesdk.algorithm.plugin.AlgorithmPlugin;
 import lavesdk.algorithm.plugin.views.GraphScene;
+import lavesdk.math.CopyOnWriteMatrix;
 import lavesdk.math.Matrix;
+import lavesdk.math.NumericMatrix;
+import lavesdk.math.ObjectMatrix;
 import lavesdk.math.Set;
 import lavesdk.math.graph.Edge;
 import lavesdk.math.graph.Graph;
@@ -40,6 +48,9 @@ import lavesdk.math.graph.TrailByID;
 import lavesdk.math.graph.Vertex;
 import lavesdk.math.graph.WalkByID;
 import lavesdk.math.graph.matching.MatchingByID;
+import lavesdk.serialization.BufferPool;
+import lavesdk.serialization.CompactCodec;
+import lavesdk.serialization.DataCodec;
 import lavesdk.serialization.Serializer;
 
 /**
@@ -52,9 +63,15 @@ import lavesdk.serialization.Serializer;
  * <br><br>
  * To assign a state to an algorithm use the get methods ({@link #getInt(String, int)}/{@link #getSet(String, Set)}/...) and
  * assign the data to the algorithm variables.
+ * <br><br>
+ * The data of a state is frozen with a {@link CompactCodec} that stores the predefined types without the overhead of the Java serialization.
+ * Custom objects (see {@link #addObject(String, java.io.Serializable)}) are stored using the Java serialization.
+ * <br><br>
+ * Each data object is frozen separately and unfrozen when it is requested the first time so that restoring a state only costs the
+ * data objects that are actually used. Therefore references between different data objects of a state are not preserved.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class AlgorithmState extends Serializer implements AlgorithmStateAttachment {
@@ -65,10 +82,36 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	private final int stepID;
 	/** the byte array that holds the state data */
 	private byte[] state;
+	/** the task that freezes the state data in the background or <code>null</code> */
+	private transient FutureTask<byte[]> pendingState;
 	/** the map of attachment objects of an algorithm state  */
 	private final Map<String, Object> attachment;
+	/** the frozen data entries of the state if it is stored in a delta history (all entries of a keyframe or only the modified entries otherwise) */
+	private Map<String, byte[]> entries;
+	/** the keys of the data entries that are removed compared to the predecessor state in a delta history or <code>null</code> */
+	private String[] removedKeys;
+	/** flag that indicates whether the state is a keyframe in a delta history */
+	private boolean keyframe;
+	/** flag that indicates whether the frozen data of the state is swapped out to the spill file of a history */
+	private boolean spilled;
+	/** the pool of the buffers that are used to freeze the state or <code>null</code> */
+	private transient BufferPool bufferPool;
+	
+	/** the codec that is used to freeze the data of states */
+	private static final CompactCodec CODEC = new CompactCodec();
 	
 	private static final long serialVersionUID = 1L;
+	
+	static {
+		CODEC.register(Set.class, Set.COMPACT_HANDLER);
+		CODEC.register(ObjectMatrix.class, ObjectMatrix.COMPACT_HANDLER);
+		CODEC.register(NumericMatrix.class, NumericMatrix.COMPACT_HANDLER);
+		CODEC.register(CopyOnWriteMatrix.class, CopyOnWriteMatrix.COMPACT_HANDLER);
+		CODEC.register(WalkByID.class, WalkByID.COMPACT_HANDLER);
+		CODEC.register(PathByID.class, PathByID.COMPACT_HANDLER);
+		CODEC.register(TrailByID.class, TrailByID.COMPACT_HANDLER);
+		CODEC.register(MatchingByID.class, MatchingByID.COMPACT_HANDLER);
+	}
 
 	/**
 	 * Creates a new state.
@@ -89,7 +132,13 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 		this.plugin = plugin;
 		this.stepID = stepID;
 		this.state = null;
+		this.pendingState = null;
 		this.attachment = new HashMap<String, Object>();
+		this.entries = null;
+		this.removedKeys = null;
+		this.keyframe = false;
+		this.spilled = false;
+		this.bufferPool = null;
 	}
 	
 	/**
@@ -139,7 +188,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <E extends Serializable> Set<E> getSet(final String key, final Set<E> defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -191,7 +240,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <E extends Serializable> Matrix<E> getMatrix(final String key, final Matrix<E> defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -243,7 +292,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <K, V> Map<K, V> getMap(final String key, final Map<K, V> defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -305,7 +354,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <V extends Vertex, E extends Edge> MatchingByID<E> getMatching(final String key, final Graph<V, E> graph, final MatchingByID<E> defValue) throws IllegalArgumentException {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -368,7 +417,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <V extends Vertex, E extends Edge> WalkByID<V> getWalk(final String key, final Graph<V, E> graph, final WalkByID<V> defValue) throws IllegalArgumentException {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -431,7 +480,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <V extends Vertex, E extends Edge> PathByID<V> getPath(final String key, final Graph<V, E> graph, final PathByID<V> defValue) throws IllegalArgumentException {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -494,7 +543,7 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	public final <V extends Vertex, E extends Edge> TrailByID<V> getTrail(final String key, final Graph<V, E> graph, final TrailByID<V> defValue) throws IllegalArgumentException {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -619,12 +668,75 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 		 * the step id must not be frozen because it is final which means immutable.
 		 */
 		final StringBuilder err = new StringBuilder();
-		state = freezeData();
+		cancelFreeze();
+		state = freezeKeyedData(err);
 		
 		if(state == null)
 			System.err.println("Algorithm state could not be frozen!\n" + err.toString());
 	}
 	
+	/**
+	 * Freezes the current data of the state in the background.
+	 * <br><br>
+	 * Only a snapshot of the data is taken immediately, the encoding of the snapshot is done by the given executor. {@link #unfreeze()} waits
+	 * until the encoding is finished. If the state contains objects that cannot be copied for a snapshot (see {@link CompactCodec#snapshot(Object)})
+	 * the state is frozen immediately like with {@link #freeze()}.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param executor the executor that encodes the snapshot or <code>null</code> to freeze the state immediately
+	 * @since 1.6
+	 */
+	@SuppressWarnings("unchecked")
+	final void freeze(final Executor executor) {
+		if(executor == null) {
+			freeze();
+			return;
+		}
+		
+		final Map<String, Object> snapshot;
+		try {
+			resolveData();
+			snapshot = (Map<String, Object>)CODEC.snapshot(data);
+		}
+		catch(UnsupportedOperationException e) {
+			// the state contains custom objects that can only be frozen using the Java serialization
+			freeze();
+			return;
+		}
+		
+		final FutureTask<byte[]> task = new FutureTask<byte[]>(new Callable<byte[]>() {
+			
+			@Override
+			public byte[] call() throws Exception {
+				return encodeKeyedData(snapshot);
+			}
+		});
+		
+		cancelFreeze();
+		state = null;
+		pendingState = task;
+		executor.execute(task);
+	}
+	
+	/**
+	 * Cancels the freezing of the state in the background if it is not yet started.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @since 1.6
+	 */
+	final void cancelFreeze() {
+		if(pendingState != null) {
+			pendingState.cancel(false);
+			pendingState = null;
+		}
+	}
+	
 	/**
 	 * Unfreezes the data of the state that means the data is restored from the time of freezing.
 	 * <br><br>
@@ -642,15 +754,309 @@ public class AlgorithmState extends Serializer implements AlgorithmStateAttachme
 	 * @since 1.0
 	 */
 	final void unfreeze() throws IllegalInvocationException {
+		if(pendingState != null)
+			awaitFreeze();
+		
 		if(state == null)
 			throw new IllegalInvocationException("State is unfrozen! Please invoke freeze() first.");
 		
 		final StringBuilder err = new StringBuilder();
 		
-		if(!unfreezeData(state, err))
+		if(!unfreezeKeyedData(state, err))
 			System.err.println("Algorithm state could not be unfrozen!\n" + err.toString());
 	}
 	
+	/**
+	 * Unfreezes the data of the state from the given frozen data meaning data of the state that is swapped out of the memory.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param data the frozen data (see {@link #getFrozenData()})
+	 * @since 1.6
+	 */
+	final void unfreeze(final byte[] data) {
+		final StringBuilder err = new StringBuilder();
+		
+		if(!unfreezeKeyedData(data, err))
+			System.err.println("Algorithm state could not be unfrozen!\n" + err.toString());
+	}
+	
+	/**
+	 * Waits until the freezing of the state in the background is finished.
+	 * 
+	 * @since 1.6
+	 */
+	private void awaitFreeze() {
+		boolean interrupted = false;
+		
+		try {
+			// the encoding takes a short time so wait although the thread is interrupted
+			while(true) {
+				try {
+					state = pendingState.get();
+					break;
+				}
+				catch(InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		catch(ExecutionException e) {
+			System.err.println("Algorithm state could not be frozen!\n" + e.getCause());
+		}
+		catch(CancellationException e) {
+			System.err.println("Algorithm state could not be frozen!\n" + e.toString());
+		}
+		finally {
+			pendingState = null;
+			if(interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Freezes the current data of the state entry by entry.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the mapping of data key <-> serialized data object (empty if the data could not be frozen)
+	 * @since 1.6
+	 */
+	final Map<String, byte[]> freezeEntries() {
+		final StringBuilder err = new StringBuilder();
+		final Map<String, byte[]> frozen = freezeEntries(err);
+		
+		if(frozen == null) {
+			System.err.println("Algorithm state could not be frozen!\n" + err.toString());
+			return new HashMap<String, byte[]>();
+		}
+		
+		return frozen;
+	}
+	
+	/**
+	 * Unfreezes the data of the state from the given entries.
+	 * <br><br>
+	 * The entries are decoded when they are requested the first time.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param entries the mapping of data key <-> serialized data object
+	 * @since 1.6
+	 */
+	final void unfreezeEntries(final Map<String, byte[]> entries) {
+		unfreezeEntriesLazily(entries);
+	}
+	
+	/**
+	 * Sets the frozen entries of the state in a delta history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param entries all entries of a keyframe or the modified entries compared to the predecessor state
+	 * @param removedKeys the keys that are removed compared to the predecessor state or <code>null</code>
+	 * @param keyframe <code>true</code> if the state is a keyframe otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	final void setFrozenEntries(final Map<String, byte[]> entries, final String[] removedKeys, final boolean keyframe) {
+		this.entries = entries;
+		this.removedKeys = removedKeys;
+		this.keyframe = keyframe;
+	}
+	
+	/**
+	 * Gets the frozen entries of the state in a delta history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return all entries of a keyframe or the modified entries compared to the predecessor state or <code>null</code> if the state is not part of a delta history
+	 * @since 1.6
+	 */
+	final Map<String, byte[]> getFrozenEntries() {
+		return entries;
+	}
+	
+	/**
+	 * Gets the keys that are removed compared to the predecessor state in a delta history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the removed keys or <code>null</code>
+	 * @since 1.6
+	 */
+	final String[] getRemovedKeys() {
+		return removedKeys;
+	}
+	
+	/**
+	 * Indicates whether the state is a keyframe in a delta history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return <code>true</code> if the state is a keyframe otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	final boolean isKeyframe() {
+		return keyframe;
+	}
+	
+	/**
+	 * Gets the frozen data of the state (waits if the state is frozen in the background).
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the frozen data or <code>null</code> if the state is not frozen completely
+	 * @since 1.6
+	 */
+	final byte[] getFrozenData() {
+		if(pendingState != null)
+			awaitFreeze();
+		
+		return state;
+	}
+	
+	/**
+	 * Gets the frozen data of the state split into its entries (waits if the state is frozen in the background).
+	 * <br><br>
+	 * The entries are equal to the entries of {@link #freezeEntries()} at the time of freezing but the data is not encoded again.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the mapping of data key <-> serialized data object or <code>null</code> if the state is not frozen completely
+	 * @since 1.6
+	 */
+	final Map<String, byte[]> getFrozenDataEntries() {
+		final byte[] data = getFrozenData();
+		if(data == null)
+			return null;
+		
+		try {
+			return splitKeyedData(data);
+		}
+		catch(IOException e) {
+			System.err.println("Algorithm state could not be unfrozen!\n" + e.toString());
+			return null;
+		}
+	}
+	
+	/**
+	 * Gets the number of bytes of the frozen data that the state holds in the memory.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the number of bytes or <code>-1</code> if the state is currently frozen in the background
+	 * @since 1.6
+	 */
+	final long getFrozenSize() {
+		if(pendingState != null) {
+			if(!pendingState.isDone())
+				return -1;
+			awaitFreeze();
+		}
+		
+		long size = (state != null) ? state.length : 0;
+		if(entries != null)
+			for(byte[] data : entries.values())
+				size += data.length;
+		
+		return size;
+	}
+	
+	/**
+	 * Indicates whether the frozen data of the state is swapped out to the spill file of a history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return <code>true</code> if the data is swapped out otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	final boolean isSpilled() {
+		return spilled;
+	}
+	
+	/**
+	 * Releases the frozen data of the state after it is swapped out to the spill file of a history.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @since 1.6
+	 */
+	final void spill() {
+		state = null;
+		entries = null;
+		spilled = true;
+	}
+	
+	/**
+	 * Restores the frozen data of the state that was swapped out.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param data the frozen data of the complete state or <code>null</code>
+	 * @param entries the frozen data entries of the state in a delta history or <code>null</code>
+	 * @since 1.6
+	 */
+	final void unspill(final byte[] data, final Map<String, byte[]> entries) {
+		this.state = data;
+		this.entries = entries;
+		this.spilled = false;
+	}
+	
+	/**
+	 * Sets the pool of the buffers that are used to freeze the state.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param pool the pool or <code>null</code>
+	 * @since 1.6
+	 */
+	final void setBufferPool(final BufferPool pool) {
+		bufferPool = pool;
+	}
+	
+	@Override
+	protected DataCodec getCodec() {
+		return CODEC;
+	}
+	
+	@Override
+	protected BufferPool getBufferPool() {
+		return bufferPool;
+	}
+	
+	@Override
+	protected void entryUnfreezeFailed(String key, Exception e) {
+		System.err.println("Algorithm state could not be unfrozen!\n" + e.toString());
+	}
+	
 	@Override
 	protected ObjectInputStream createObjectInputStream(ByteArrayInputStream bais) throws IOException {
 		return new StateInputStream(plugin.getClass().getClassLoader(), bais);
@@ -0,0 +1,717 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import lavesdk.algorithm.enums.StateHistoryMode;
+
+/**
+ * The history of the algorithm states of the runtime environment.
+ * <br><br>
+ * The history is a stack meaning that the state of the current step is pushed before the step is executed and the states are popped
+ * when the user goes back to previous steps. Depending on the {@link StateHistoryMode} a state is frozen completely ({@link StateHistoryMode#FULL})
+ * or only the data entries that are modified compared to the predecessor state are stored ({@link StateHistoryMode#DELTA}). In delta mode
+ * each n-th state is a keyframe that stores all entries and a state is reconstructed by applying the modifications from the nearest keyframe on.
+ * A modified entry is stored as a patch that only contains the bytes between the unchanged prefix and suffix of the frozen data so that
+ * a large object whose encoding changes only in a small region (like a {@link lavesdk.math.CopyOnWriteMatrix} with a few modified rows)
+ * only occupies the size of the modified region.
+ * In {@link StateHistoryMode#REPLAY} mode only each n-th state (checkpoint) contains the data of the algorithm and the other states only record
+ * the executed steps (see {@link #isCheckpointDue()}). The runtime environment reconstructs these states by executing the steps from the nearest
+ * checkpoint on (see {@link #findCheckpoint(int)}).
+ * <br><br>
+ * In {@link StateHistoryMode#FULL} and {@link StateHistoryMode#REPLAY} mode the states can be frozen in the background by an executor (see {@link AlgorithmState#freeze(Executor)}).
+ * The delta mode always freezes the states immediately because the frozen entries are needed to determine the modifications.
+ * <br><br>
+ * The memory usage of the history can be bounded by a budget. If the frozen data of the states exceeds the budget the oldest states are
+ * compressed and swapped out to a temporary file (see {@link StateSpillFile}). The swapped out states are the bottom of the stack and
+ * an index of their records allows to access them randomly.
+ * <br><br>
+ * <b>Attention</b>:<br>
+ * Use {@link #unfreeze(AlgorithmState)} instead of {@link AlgorithmState#unfreeze()} to restore the data of a state of the history!
+ * 
+ * @author jdornseifer
+ * @version 1.1
+ * @since 1.6
+ */
+final class AlgorithmStateHistory {
+	
+	/** the states of the history (the last one is the top of the stack) */
+	private final List<AlgorithmState> states;
+	/** the mode of the history */
+	private StateHistoryMode mode;
+	/** the distance between two keyframes in delta mode or two checkpoints in replay mode */
+	private int keyframeInterval;
+	/** the executor that freezes the states in the background in full or replay mode or <code>null</code> */
+	private Executor executor;
+	/** the index of the last keyframe in delta mode or <code>-1</code> */
+	private int lastKeyframe;
+	/** all frozen entries of the top state in delta mode or <code>null</code> if they must be reconstructed */
+	private Map<String, byte[]> head;
+	/** the state that was popped last in delta mode or <code>null</code> */
+	private AlgorithmState popped;
+	/** all frozen entries of the state that was popped last in delta mode or <code>null</code> */
+	private Map<String, byte[]> poppedEntries;
+	/** the maximum number of bytes of frozen data that the history holds in the memory or <code>0</code> if the memory usage is unbounded */
+	private long budget;
+	/** the spill file or <code>null</code> if no state is swapped out yet */
+	private StateSpillFile spillFile;
+	/** the records of the swapped out states in the spill file (the states at the indices <code>0</code> to <code>spillRecords.size() - 1</code> are swapped out) */
+	private final List<long[]> spillRecords;
+	/** the number of bytes of frozen data of the states in the memory whose size is already determined */
+	private long residentBytes;
+	/** the number of states from the bottom of the stack whose size is determined (the size of states that are frozen in the background is determined later) */
+	private int accounted;
+	
+	/** an empty frozen entry that is the base of the patch of a new entry */
+	private static final byte[] EMPTY = new byte[0];
+	
+	/** the default distance between two keyframes */
+	public static final int DEF_KEYFRAME_INTERVAL = 16;
+	
+	/**
+	 * Creates a new empty history in {@link StateHistoryMode#FULL} mode.
+	 * 
+	 * @since 1.6
+	 */
+	public AlgorithmStateHistory() {
+		this.states = new ArrayList<AlgorithmState>();
+		this.mode = StateHistoryMode.FULL;
+		this.keyframeInterval = DEF_KEYFRAME_INTERVAL;
+		this.executor = null;
+		this.lastKeyframe = -1;
+		this.head = null;
+		this.popped = null;
+		this.poppedEntries = null;
+		this.budget = 0;
+		this.spillFile = null;
+		this.spillRecords = new ArrayList<long[]>();
+		this.residentBytes = 0;
+		this.accounted = 0;
+	}
+	
+	/**
+	 * Gets the mode of the history.
+	 * 
+	 * @return the mode
+	 * @since 1.6
+	 */
+	public StateHistoryMode getMode() {
+		return mode;
+	}
+	
+	/**
+	 * Gets the distance between two keyframes in delta mode or two checkpoints in replay mode.
+	 * 
+	 * @return the keyframe interval
+	 * @since 1.6
+	 */
+	public int getKeyframeInterval() {
+		return keyframeInterval;
+	}
+	
+	/**
+	 * Gets the maximum number of bytes of frozen data that the history holds in the memory.
+	 * 
+	 * @return the budget or <code>0</code> if the memory usage is unbounded
+	 * @since 1.6
+	 */
+	public long getBudget() {
+		return budget;
+	}
+	
+	/**
+	 * Clears the history and sets its configuration.
+	 * 
+	 * @param mode the mode of the history
+	 * @param keyframeInterval the distance between two keyframes in delta mode or two checkpoints in replay mode
+	 * @param executor the executor that freezes the states in the background in full or replay mode or <code>null</code> to freeze the states immediately
+	 * @param budget the maximum number of bytes of frozen data that the history holds in the memory or <code>0</code> if the memory usage is unbounded
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if mode is null</li>
+	 * 		<li>if keyframeInterval is <code>< 1</code></li>
+	 * 		<li>if budget is <code>< 0</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void reset(final StateHistoryMode mode, final int keyframeInterval, final Executor executor, final long budget) throws IllegalArgumentException {
+		if(mode == null || keyframeInterval < 1 || budget < 0)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		clear();
+		this.mode = mode;
+		this.keyframeInterval = keyframeInterval;
+		this.executor = executor;
+		this.budget = budget;
+	}
+	
+	/**
+	 * Removes all states from the history.
+	 * 
+	 * @since 1.6
+	 */
+	public void clear() {
+		// states that are not yet frozen in the background are not needed anymore
+		if(executor != null)
+			for(AlgorithmState state : states)
+				state.cancelFreeze();
+		
+		states.clear();
+		lastKeyframe = -1;
+		head = null;
+		popped = null;
+		poppedEntries = null;
+		spillRecords.clear();
+		residentBytes = 0;
+		accounted = 0;
+		
+		if(spillFile != null) {
+			spillFile.close();
+			spillFile = null;
+		}
+	}
+	
+	/**
+	 * Gets the number of states in the history.
+	 * 
+	 * @return the number of states
+	 * @since 1.6
+	 */
+	public int size() {
+		return states.size();
+	}
+	
+	/**
+	 * Gets the state at the given position of the history.
+	 * 
+	 * @param index the index of the state (<code>0</code> is the bottom of the stack)
+	 * @return the state
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if index is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public AlgorithmState get(final int index) throws IndexOutOfBoundsException {
+		return states.get(index);
+	}
+	
+	/**
+	 * Indicates whether the state that is pushed next must contain the data of the algorithm.
+	 * <br><br>
+	 * In replay mode only the checkpoints must contain the data, the other states only record the step that is executed.
+	 * 
+	 * @return <code>true</code> if the next state must contain the data otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public boolean isCheckpointDue() {
+		return mode != StateHistoryMode.REPLAY || states.size() % keyframeInterval == 0;
+	}
+	
+	/**
+	 * Finds the nearest state at or before the given index that contains the data of the algorithm.
+	 * 
+	 * @param index the index of the state
+	 * @return the index of the checkpoint in replay mode or the given index otherwise
+	 * @since 1.6
+	 */
+	public int findCheckpoint(final int index) {
+		return (mode == StateHistoryMode.REPLAY) ? index - index % keyframeInterval : index;
+	}
+	
+	/**
+	 * Freezes the given state and pushes it onto the history.
+	 * 
+	 * @param state the state that is recorded but not yet frozen
+	 * @since 1.6
+	 */
+	public void push(final AlgorithmState state) {
+		if(mode != StateHistoryMode.DELTA) {
+			// in replay mode the states between the checkpoints are empty and only record the step
+			state.freeze(executor);
+			states.add(state);
+			enforceBudget();
+			return;
+		}
+		
+		final Map<String, byte[]> current = state.freezeEntries();
+		final Map<String, byte[]> prev = getHead();
+		
+		popped = null;
+		poppedEntries = null;
+		
+		if(prev == null || states.size() - lastKeyframe >= keyframeInterval) {
+			// share the frozen data of unmodified entries with the predecessor
+			if(prev != null) {
+				for(Map.Entry<String, byte[]> entry : current.entrySet()) {
+					final byte[] prevData = prev.get(entry.getKey());
+					if(prevData != null && Arrays.equals(prevData, entry.getValue()))
+						entry.setValue(prevData);
+				}
+			}
+			
+			state.setFrozenEntries(current, null, true);
+			lastKeyframe = states.size();
+		}
+		else {
+			final Map<String, byte[]> modified = new HashMap<String, byte[]>();
+			final List<String> removed = new ArrayList<String>();
+			
+			for(Map.Entry<String, byte[]> entry : current.entrySet()) {
+				final byte[] prevData = prev.get(entry.getKey());
+				if(prevData != null && Arrays.equals(prevData, entry.getValue()))
+					entry.setValue(prevData);
+				else
+					modified.put(entry.getKey(), createPatch((prevData != null) ? prevData : EMPTY, entry.getValue()));
+			}
+			for(String key : prev.keySet())
+				if(!current.containsKey(key))
+					removed.add(key);
+			
+			state.setFrozenEntries(modified, removed.isEmpty() ? null : removed.toArray(new String[removed.size()]), false);
+		}
+		
+		states.add(state);
+		head = current;
+		enforceBudget();
+	}
+	
+	/**
+	 * Gets the top state of the history without removing it.
+	 * 
+	 * @return the top state or <code>null</code> if the history is empty
+	 * @since 1.6
+	 */
+	public AlgorithmState peek() {
+		return states.isEmpty() ? null : states.get(states.size() - 1);
+	}
+	
+	/**
+	 * Gets all frozen entries of the top state.
+	 * <br><br>
+	 * In delta mode these are the entries the top state is compared with when the next state is pushed. In the other modes the
+	 * frozen data of the top state is split into its entries (this waits if the state is frozen in the background). In both cases
+	 * the data of the state is not encoded again.
+	 * 
+	 * @return the entries or <code>null</code> if the history is empty or the top state could not be frozen
+	 * @since 1.6
+	 */
+	public Map<String, byte[]> getTopEntries() {
+		if(states.isEmpty())
+			return null;
+		
+		return (mode == StateHistoryMode.DELTA) ? getHead() : states.get(states.size() - 1).getFrozenDataEntries();
+	}
+	
+	/**
+	 * Removes the top state from the history.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The data of the popped state can be restored with {@link #unfreeze(AlgorithmState)} until the next state is pushed.
+	 * 
+	 * @return the top state or <code>null</code> if the history is empty
+	 * @since 1.6
+	 */
+	public AlgorithmState pop() {
+		if(states.isEmpty())
+			return null;
+		
+		if(mode == StateHistoryMode.DELTA) {
+			// the frozen entries of the popped state are kept until the next state is pushed so that the popped state can be unfrozen
+			poppedEntries = getHead();
+			head = null;
+		}
+		
+		final int index = states.size() - 1;
+		final AlgorithmState state = states.remove(index);
+		
+		if(index < spillRecords.size()) {
+			// restore the data of the swapped out state so that it can be unfrozen and discard its record
+			final long[] record = spillRecords.remove(index);
+			final byte[] data = readRecord(record);
+			
+			if(mode != StateHistoryMode.DELTA)
+				state.unspill(data, null);
+			else
+				state.unspill(null, decodeEntries(data));
+			spillFile.truncate(record);
+		}
+		else if(index < accounted)
+			residentBytes -= state.getFrozenSize();
+		accounted = Math.min(accounted, states.size());
+		
+		if(mode == StateHistoryMode.DELTA) {
+			popped = state;
+			if(lastKeyframe >= states.size())
+				lastKeyframe = findKeyframe(states.size() - 1);
+		}
+		
+		return state;
+	}
+	
+	/**
+	 * Restores the data of the given state.
+	 * 
+	 * @param state the state of the history (or the state that was popped last)
+	 * @since 1.6
+	 */
+	public void unfreeze(final AlgorithmState state) {
+		if(mode != StateHistoryMode.DELTA && state.isSpilled()) {
+			final int index = indexOf(state);
+			final byte[] data = (index >= 0 && index < spillRecords.size()) ? readRecord(spillRecords.get(index)) : null;
+			if(data != null)
+				state.unfreeze(data);
+			return;
+		}
+		else if(mode != StateHistoryMode.DELTA || (state.getFrozenEntries() == null && !state.isSpilled())) {
+			state.unfreeze();
+			return;
+		}
+		
+		if(state == popped && poppedEntries != null) {
+			state.unfreezeEntries(poppedEntries);
+			return;
+		}
+		
+		final int index = indexOf(state);
+		if(index < 0) {
+			// the state is not part of the history anymore so only a keyframe can be restored
+			if(state.isKeyframe() && state.getFrozenEntries() != null)
+				state.unfreezeEntries(state.getFrozenEntries());
+			return;
+		}
+		
+		state.unfreezeEntries((index == states.size() - 1) ? getHead() : reconstruct(index));
+	}
+	
+	/**
+	 * Gets all frozen entries of the top state.
+	 * 
+	 * @return the entries or <code>null</code> if the history is empty
+	 * @since 1.6
+	 */
+	private Map<String, byte[]> getHead() {
+		if(head == null && !states.isEmpty())
+			head = reconstruct(states.size() - 1);
+		
+		return head;
+	}
+	
+	/**
+	 * Reconstructs all frozen entries of the state at the given index by applying the modifications from the nearest keyframe on.
+	 * 
+	 * @param index the index of the state
+	 * @return the entries
+	 * @since 1.6
+	 */
+	private Map<String, byte[]> reconstruct(final int index) {
+		final int k = Math.max(findKeyframe(index), 0);
+		final Map<String, byte[]> entries = new HashMap<String, byte[]>(getEntries(k));
+		
+		for(int i = k + 1; i <= index; i++) {
+			final String[] removedKeys = states.get(i).getRemovedKeys();
+			
+			if(removedKeys != null)
+				for(String key : removedKeys)
+					entries.remove(key);
+			for(Map.Entry<String, byte[]> entry : getEntries(i).entrySet()) {
+				final byte[] prevData = entries.get(entry.getKey());
+				entries.put(entry.getKey(), applyPatch((prevData != null) ? prevData : EMPTY, entry.getValue()));
+			}
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Gets the frozen entries of the state at the given index in delta mode (all entries of a keyframe or only the patches of the modified entries otherwise).
+	 * 
+	 * @param index the index of the state
+	 * @return the entries
+	 * @since 1.6
+	 */
+	private Map<String, byte[]> getEntries(final int index) {
+		return (index < spillRecords.size()) ? decodeEntries(readRecord(spillRecords.get(index))) : states.get(index).getFrozenEntries();
+	}
+	
+	/**
+	 * Swaps out the oldest states to the spill file as long as the frozen data of the states in the memory exceeds the budget.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The top state is always held in the memory. If a state could not be swapped out the budget is ignored for the rest of the run.
+	 * 
+	 * @since 1.6
+	 */
+	private void enforceBudget() {
+		if(budget <= 0)
+			return;
+		
+		// determine the sizes of the states that are frozen meanwhile
+		while(accounted < states.size()) {
+			final long size = states.get(accounted).getFrozenSize();
+			if(size < 0)
+				break;
+			residentBytes += size;
+			accounted++;
+		}
+		
+		while(residentBytes > budget && spillRecords.size() < accounted && spillRecords.size() < states.size() - 1) {
+			final AlgorithmState state = states.get(spillRecords.size());
+			final long size = state.getFrozenSize();
+			final byte[] data = (mode != StateHistoryMode.DELTA) ? state.getFrozenData() : encodeEntries(state.getFrozenEntries());
+			
+			try {
+				if(spillFile == null)
+					spillFile = new StateSpillFile();
+				spillRecords.add(spillFile.write((data != null) ? data : new byte[0]));
+			}
+			catch(IOException e) {
+				System.err.println("Algorithm states could not be swapped out!\n" + e.toString());
+				budget = 0;
+				return;
+			}
+			
+			state.spill();
+			residentBytes -= size;
+		}
+	}
+	
+	/**
+	 * Reads a record of the spill file.
+	 * 
+	 * @param record the record
+	 * @return the data of the record or <code>null</code> if the record is empty or could not be read
+	 * @since 1.6
+	 */
+	private byte[] readRecord(final long[] record) {
+		try {
+			final byte[] data = spillFile.read(record);
+			return (data.length > 0) ? data : null;
+		}
+		catch(IOException e) {
+			System.err.println("Algorithm state could not be restored!\n" + e.toString());
+			return null;
+		}
+	}
+	
+	/**
+	 * Encodes the frozen entries of a state in delta mode to store them in the spill file.
+	 * 
+	 * @param entries the entries
+	 * @return the encoded entries
+	 * @since 1.6
+	 */
+	private static byte[] encodeEntries(final Map<String, byte[]> entries) {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final DataOutputStream dos = new DataOutputStream(baos);
+		
+		try {
+			dos.writeInt(entries.size());
+			for(Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				dos.writeUTF(entry.getKey());
+				dos.writeInt(entry.getValue().length);
+				dos.write(entry.getValue());
+			}
+			dos.close();
+		}
+		catch(IOException e) {
+			// a byte array stream does not throw I/O exceptions
+		}
+		
+		return baos.toByteArray();
+	}
+	
+	/**
+	 * Decodes the frozen entries of a state that are encoded with {@link #encodeEntries(Map)}.
+	 * 
+	 * @param data the encoded entries or <code>null</code>
+	 * @return the entries (empty if the entries could not be decoded)
+	 * @since 1.6
+	 */
+	private static Map<String, byte[]> decodeEntries(final byte[] data) {
+		final Map<String, byte[]> entries = new HashMap<String, byte[]>();
+		if(data == null)
+			return entries;
+		
+		final DataInputStream dis = new DataInputStream(new ByteArrayInputStream(data));
+		
+		try {
+			final int size = dis.readInt();
+			for(int i = 0; i < size; i++) {
+				final String key = dis.readUTF();
+				final byte[] value = new byte[dis.readInt()];
+				dis.readFully(value);
+				entries.put(key, value);
+			}
+		}
+		catch(IOException e) {
+			System.err.println("Algorithm state could not be restored!\n" + e.toString());
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Creates a patch that converts the frozen data of an entry of the predecessor state into the frozen data of the entry of the current state.
+	 * <br><br>
+	 * The patch consists of the length of the unchanged prefix, the length of the unchanged suffix (both as variable-length integers) and
+	 * the modified bytes in between.
+	 * 
+	 * @param prev the frozen data of the predecessor
+	 * @param data the frozen data of the current state
+	 * @return the patch
+	 * @since 1.6
+	 */
+	private static byte[] createPatch(final byte[] prev, final byte[] data) {
+		final int max = Math.min(prev.length, data.length);
+		int prefix = 0;
+		int suffix = 0;
+		
+		while(prefix < max && prev[prefix] == data[prefix])
+			prefix++;
+		while(suffix < max - prefix && prev[prev.length - 1 - suffix] == data[data.length - 1 - suffix])
+			suffix++;
+		
+		final int length = data.length - prefix - suffix;
+		final byte[] patch = new byte[getVarIntSize(prefix) + getVarIntSize(suffix) + length];
+		final int pos = writeVarInt(patch, writeVarInt(patch, 0, prefix), suffix);
+		System.arraycopy(data, prefix, patch, pos, length);
+		
+		return patch;
+	}
+	
+	/**
+	 * Applies a patch that is created with {@link #createPatch(byte[], byte[])}.
+	 * 
+	 * @param prev the frozen data of the predecessor
+	 * @param patch the patch
+	 * @return the frozen data of the current state
+	 * @since 1.6
+	 */
+	private static byte[] applyPatch(final byte[] prev, final byte[] patch) {
+		final int[] pos = new int[1];
+		final int prefix = readVarInt(patch, pos);
+		final int suffix = readVarInt(patch, pos);
+		final int length = patch.length - pos[0];
+		final byte[] data = new byte[prefix + length + suffix];
+		
+		System.arraycopy(prev, 0, data, 0, prefix);
+		System.arraycopy(patch, pos[0], data, prefix, length);
+		System.arraycopy(prev, prev.length - suffix, data, prefix + length, suffix);
+		
+		return data;
+	}
+	
+	/**
+	 * Gets the number of bytes of a non-negative variable-length integer.
+	 * 
+	 * @param value the value
+	 * @return the number of bytes
+	 * @since 1.6
+	 */
+	private static int getVarIntSize(int value) {
+		int size = 1;
+		while((value >>>= 7) != 0)
+			size++;
+		return size;
+	}
+	
+	/**
+	 * Writes a non-negative variable-length integer.
+	 * 
+	 * @param buffer the buffer
+	 * @param pos the position to write the value
+	 * @param value the value
+	 * @return the position after the value
+	 * @since 1.6
+	 */
+	private static int writeVarInt(final byte[] buffer, int pos, int value) {
+		while((value & ~0x7F) != 0) {
+			buffer[pos++] = (byte)((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[pos++] = (byte)value;
+		return pos;
+	}
+	
+	/**
+	 * Reads a non-negative variable-length integer.
+	 * 
+	 * @param buffer the buffer
+	 * @param pos the position to read the value (is set to the position after the value)
+	 * @return the value
+	 * @since 1.6
+	 */
+	private static int readVarInt(final byte[] buffer, final int[] pos) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		
+		do {
+			b = buffer[pos[0]++];
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0);
+		
+		return value;
+	}
+	
+	/**
+	 * Finds the nearest keyframe at or before the given index.
+	 * 
+	 * @param index the index
+	 * @return the index of the keyframe or <code>-1</code> if there is no keyframe
+	 * @since 1.6
+	 */
+	private int findKeyframe(final int index) {
+		for(int i = index; i >= 0; i--)
+			if(states.get(i).isKeyframe())
+				return i;
+		
+		return -1;
+	}
+	
+	/**
+	 * Gets the index of the given state in the history.
+	 * 
+	 * @param state the state
+	 * @return the index or <code>-1</code> if the state is not part of the history
+	 * @since 1.6
+	 */
+	private int indexOf(final AlgorithmState state) {
+		for(int i = states.size() - 1; i >= 0; i--)
+			if(states.get(i) == state)
+				return i;
+		
+		return -1;
+	}
+
+}
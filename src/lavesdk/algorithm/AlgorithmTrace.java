@@ -0,0 +1,346 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes and reads the execution trace of an algorithm run in a compact binary format.
+ * <br><br>
+ * A trace consists of the header (magic number and version) followed by the records of the run:
+ * <ul>
+ * 		<li>{@link #BEGIN}: the id of the first step</li>
+ * 		<li>{@link #STEP}: the id of the executed step, the id of the next step, whether the state before the step is hashed and the hash of the state</li>
+ * 		<li>{@link #RESTORE}: the position in the timeline that is restored (step back or seek) and the id of the next step</li>
+ * 		<li>{@link #BREAKPOINT}: the id of the step that paused the execution</li>
+ * 		<li>{@link #ADOPT}: the id of the step and the state that is adopted from the solution of an exercise</li>
+ * 		<li>{@link #END}: whether the algorithm is finished</li>
+ * </ul>
+ * Integers are written as variable-length numbers so that most records only need a few bytes. The state before a step is only hashed
+ * if the runtime environment has stored the data of the state in its history anyway (in {@link lavesdk.algorithm.enums.StateHistoryMode#REPLAY}
+ * mode only at the checkpoints) so that recording a trace does not cost an additional capture of the state.
+ * <br><br>
+ * The writer does not throw exceptions during the run. The first error is stored and can be requested with {@link #getError()}.
+ * <br><br>
+ * <b>Attention</b>:<br>
+ * This class may only be used by classes of the LAVESDK or more precisely from the inside of this package!<br>
+ * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS CLASS</i>!
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+final class AlgorithmTrace {
+	
+	/** the stream the trace is written to */
+	private final DataOutputStream out;
+	/** the first error that occurred during the writing or <code>null</code> */
+	private IOException error;
+	
+	/** the magic number of a trace ("LVTR") */
+	static final int MAGIC = 0x4C565452;
+	/** the version of the trace format */
+	static final int VERSION = 2;
+	/** the record type that marks the end of a run */
+	static final int END = 0;
+	/** the record type that marks the begin of a run */
+	static final int BEGIN = 1;
+	/** the record type of an executed step */
+	static final int STEP = 2;
+	/** the record type of a restored state */
+	static final int RESTORE = 3;
+	/** the record type of a breakpoint */
+	static final int BREAKPOINT = 4;
+	/** the record type of an adopted state */
+	static final int ADOPT = 5;
+	
+	/**
+	 * Creates a new trace writer.
+	 * 
+	 * @param out the stream the trace is written to
+	 * @since 1.6
+	 */
+	AlgorithmTrace(final OutputStream out) {
+		this.out = new DataOutputStream(out);
+		this.error = null;
+	}
+	
+	/**
+	 * Gets the first error that occurred during the writing.
+	 * 
+	 * @return the error or <code>null</code> if the trace is written without errors
+	 * @since 1.6
+	 */
+	IOException getError() {
+		return error;
+	}
+	
+	/**
+	 * Writes the header and the begin of a run.
+	 * 
+	 * @param firstStepID the id of the first step
+	 * @since 1.6
+	 */
+	void begin(final int firstStepID) {
+		try {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeByte(BEGIN);
+			writeVarInt(out, firstStepID);
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Writes an executed step.
+	 * 
+	 * @param stepID the id of the executed step
+	 * @param nextStepID the id of the next step
+	 * @param hashed <code>true</code> if the state before the step is hashed otherwise <code>false</code>
+	 * @param stateHash the hash of the state before the step (see {@link #hash(Map)}) that is only written if the state is hashed
+	 * @since 1.6
+	 */
+	void step(final int stepID, final int nextStepID, final boolean hashed, final int stateHash) {
+		try {
+			out.writeByte(STEP);
+			writeVarInt(out, stepID);
+			writeVarInt(out, nextStepID);
+			out.writeBoolean(hashed);
+			if(hashed)
+				out.writeInt(stateHash);
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Writes a restored state.
+	 * 
+	 * @param position the position in the timeline that is restored
+	 * @param nextStepID the id of the next step
+	 * @since 1.6
+	 */
+	void restore(final int position, final int nextStepID) {
+		try {
+			out.writeByte(RESTORE);
+			writeVarInt(out, position);
+			writeVarInt(out, nextStepID);
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Writes a breakpoint.
+	 * 
+	 * @param stepID the id of the step that has the breakpoint
+	 * @since 1.6
+	 */
+	void breakpoint(final int stepID) {
+		try {
+			out.writeByte(BREAKPOINT);
+			writeVarInt(out, stepID);
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Writes a state that is adopted from the solution of an exercise.
+	 * 
+	 * @param stepID the id of the step
+	 * @param state the adopted state
+	 * @since 1.6
+	 */
+	void adopt(final int stepID, final AlgorithmState state) {
+		final Map<String, byte[]> entries = state.freezeEntries();
+		
+		try {
+			out.writeByte(ADOPT);
+			writeVarInt(out, stepID);
+			writeVarInt(out, entries.size());
+			for(Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				out.writeUTF(entry.getKey());
+				writeVarInt(out, entry.getValue().length);
+				out.write(entry.getValue());
+			}
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Writes the end of a run and flushes the stream.
+	 * 
+	 * @param finished <code>true</code> if the algorithm is finished otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	void end(final boolean finished) {
+		try {
+			out.writeByte(END);
+			out.writeBoolean(finished);
+			out.flush();
+		}
+		catch(IOException e) {
+			fail(e);
+		}
+	}
+	
+	/**
+	 * Stores the first error.
+	 * 
+	 * @param e the error
+	 * @since 1.6
+	 */
+	private void fail(final IOException e) {
+		if(error == null)
+			error = e;
+	}
+	
+	/**
+	 * Computes the hash of the frozen data of a state.
+	 * <br><br>
+	 * The entries are hashed in the order of their keys so the hash does not depend on the order in which the data is added.
+	 * 
+	 * @param entries the frozen entries of the state (see {@link AlgorithmState#freezeEntries()})
+	 * @return the hash
+	 * @since 1.6
+	 */
+	static int hash(final Map<String, byte[]> entries) {
+		final String[] keys = entries.keySet().toArray(new String[entries.size()]);
+		final CRC32 crc = new CRC32();
+		
+		Arrays.sort(keys);
+		for(String key : keys) {
+			final byte[] value = entries.get(key);
+			crc.update(key.getBytes(StandardCharsets.UTF_8));
+			crc.update(value, 0, value.length);
+		}
+		
+		return (int)crc.getValue();
+	}
+	
+	/**
+	 * Reads the header of a trace.
+	 * 
+	 * @param in the stream
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the stream does not contain a trace or the version is not supported</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static void readHeader(final DataInputStream in) throws IOException {
+		if(in.readInt() != MAGIC)
+			throw new IOException("Stream does not contain an execution trace!");
+		if(in.readUnsignedByte() != VERSION)
+			throw new IOException("Version of the execution trace is not supported!");
+	}
+	
+	/**
+	 * Reads the entries of an adopted state.
+	 * 
+	 * @param in the stream
+	 * @return the mapping of data key <-> serialized data object
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the entries could not be read</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static Map<String, byte[]> readEntries(final DataInputStream in) throws IOException {
+		final int count = readVarInt(in);
+		final Map<String, byte[]> entries = new HashMap<String, byte[]>();
+		
+		for(int i = 0; i < count; i++) {
+			final String key = in.readUTF();
+			final byte[] value = new byte[readVarInt(in)];
+			in.readFully(value);
+			entries.put(key, value);
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Writes an integer as a variable-length number (zigzag encoded so that small negative numbers are compact too).
+	 * 
+	 * @param out the stream
+	 * @param value the integer
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the integer could not be written</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static void writeVarInt(final DataOutputStream out, final int value) throws IOException {
+		int v = (value << 1) ^ (value >> 31);
+		
+		while((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.writeByte(v);
+	}
+	
+	/**
+	 * Reads an integer that is written as a variable-length number.
+	 * 
+	 * @param in the stream
+	 * @return the integer
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the integer could not be read</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static int readVarInt(final InputStream in) throws IOException {
+		int v = 0;
+		int shift = 0;
+		int b;
+		
+		do {
+			b = in.read();
+			if(b < 0)
+				throw new EOFException();
+			v |= (b & 0x7F) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0 && shift < 35);
+		
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+}
@@ -0,0 +1,283 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes independent runtime environments of algorithms concurrently (see {@link AlgorithmRTE#runHeadless(boolean, int)}).
+ * <br><br>
+ * Each input is executed by its own runtime environment that is created by a {@link Factory} so that the runs do not share the state
+ * of a plugin. The runs are executed by a bounded pool of threads (one thread per processor by default). This is useful for example to
+ * grade the solutions of many inputs or to generate exercise instances in a batch.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final BatchRunner runner = new BatchRunner();
+ * final List&lt;HeadlessResult&gt; results = runner.run(graphs, new BatchRunner.Factory&lt;Graph&lt;Vertex, Edge&gt;&gt;() {
+ *     public AlgorithmRTE create(Graph&lt;Vertex, Edge&gt; graph) {
+ *         // create a new plugin instance for each input so that the runs are independent
+ *         return new MyRTE(new MyPlugin(), graph);
+ *     }
+ * });
+ * </pre>
+ * <b>Notice</b>:<br>
+ * The runtime environments must not share mutable objects (like static fields of a plugin) because the steps are executed in parallel.
+ * The {@link lavesdk.gui.GuiRequest}s of the steps are still performed synchronously in the event dispatch thread so the runs are
+ * serialized while they wait for it (see {@link HeadlessResult#getGuiWaitTime()}). Algorithms that request data from the GUI in their
+ * steps therefore do not scale with the number of threads.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class BatchRunner {
+	
+	/** the maximum number of runs that are executed in parallel */
+	private final int parallelism;
+	/** flag that indicates whether the states of the algorithms are captured before each step */
+	private boolean captureStates;
+	/** the maximum number of steps of a run */
+	private int maxSteps;
+	
+	/**
+	 * Creates a new runner that executes one run per available processor in parallel.
+	 * 
+	 * @since 1.6
+	 */
+	public BatchRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new runner.
+	 * 
+	 * @param parallelism the maximum number of runs that should be executed in parallel
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if parallelism is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public BatchRunner(final int parallelism) throws IllegalArgumentException {
+		if(parallelism < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.parallelism = parallelism;
+		this.captureStates = false;
+		this.maxSteps = Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Gets the maximum number of runs that are executed in parallel.
+	 * 
+	 * @return the parallelism
+	 * @since 1.6
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Indicates whether the states of the algorithms are captured before each step.
+	 * 
+	 * @return <code>true</code> if the states are captured otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public boolean getCaptureStates() {
+		return captureStates;
+	}
+	
+	/**
+	 * Sets whether the states of the algorithms should be captured before each step (see {@link HeadlessResult#getStates()}).
+	 * <br><br>
+	 * The default value is <code>false</code>.
+	 * 
+	 * @param capture <code>true</code> if the states should be captured otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public void setCaptureStates(final boolean capture) {
+		captureStates = capture;
+	}
+	
+	/**
+	 * Gets the maximum number of steps of a run.
+	 * 
+	 * @return the maximum number of steps
+	 * @since 1.6
+	 */
+	public int getMaxSteps() {
+		return maxSteps;
+	}
+	
+	/**
+	 * Sets the maximum number of steps of a run.
+	 * <br><br>
+	 * The default value is {@link Integer#MAX_VALUE}.
+	 * 
+	 * @param maxSteps the maximum number of steps
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if maxSteps is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setMaxSteps(final int maxSteps) throws IllegalArgumentException {
+		if(maxSteps < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.maxSteps = maxSteps;
+	}
+	
+	/**
+	 * Executes a run for each of the given inputs and waits until all runs are finished.
+	 * <br><br>
+	 * If the runtime environment of an input could not be created the result of the input contains the exception of the factory
+	 * (see {@link HeadlessResult#getException()}) and no final state.
+	 * 
+	 * @param inputs the inputs
+	 * @param factory the factory that creates a runtime environment for an input
+	 * @return the results of the runs in the order of the inputs
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if inputs is null</li>
+	 * 		<li>if factory is null</li>
+	 * </ul>
+	 * @throws InterruptedException
+	 * <ul>
+	 * 		<li>if the calling thread is interrupted while it waits for the runs (the runs that are not yet started are cancelled)</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public <I> List<HeadlessResult> run(final List<I> inputs, final Factory<I> factory) throws IllegalArgumentException, InterruptedException {
+		if(inputs == null || factory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final boolean capture = captureStates;
+		final int steps = maxSteps;
+		final ThreadPoolExecutor executor = createExecutor(Math.max(1, Math.min(parallelism, inputs.size())));
+		final List<Future<HeadlessResult>> futures = new ArrayList<Future<HeadlessResult>>(inputs.size());
+		final List<HeadlessResult> results = new ArrayList<HeadlessResult>(inputs.size());
+		
+		try {
+			for(final I input : inputs) {
+				futures.add(executor.submit(new Callable<HeadlessResult>() {
+					
+					@Override
+					public HeadlessResult call() throws Exception {
+						final long start = System.nanoTime();
+						final AlgorithmRTE rte;
+						
+						try {
+							rte = factory.create(input);
+							if(rte == null)
+								throw new IllegalArgumentException("No runtime environment is created!");
+						}
+						catch(Exception e) {
+							return new HeadlessResult(0, false, e, Collections.<AlgorithmState>emptyList(), null, System.nanoTime() - start, 0, 0, 0);
+						}
+						
+						return rte.runHeadless(capture, steps);
+					}
+				}));
+			}
+			
+			for(Future<HeadlessResult> future : futures) {
+				try {
+					results.add(future.get());
+				}
+				catch(ExecutionException e) {
+					// the run throws an error or a runtime environment is used for several inputs
+					final Throwable cause = e.getCause();
+					if(cause instanceof Error)
+						throw (Error)cause;
+					results.add(new HeadlessResult(0, false, (cause instanceof Exception) ? (Exception)cause : e, Collections.<AlgorithmState>emptyList(), null, 0, 0, 0, 0));
+				}
+			}
+		}
+		finally {
+			// cancel the runs that are not yet started if the waiting is interrupted
+			executor.shutdownNow();
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Creates the executor of the runs.
+	 * 
+	 * @param threads the number of threads
+	 * @return the executor
+	 * @since 1.6
+	 */
+	private static ThreadPoolExecutor createExecutor(final int threads) {
+		final AtomicInteger counter = new AtomicInteger();
+		
+		return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVESDK batch runner " + counter.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Creates the runtime environment of an input of a {@link BatchRunner}.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 * @param <I> the type of an input
+	 */
+	public interface Factory<I> {
+		
+		/**
+		 * Creates a new runtime environment that executes the algorithm on the given input.
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * This method is invoked concurrently. Each invocation must create a new runtime environment (and plugin instance) so that
+		 * the runs are independent.
+		 * 
+		 * @param input the input
+		 * @return the runtime environment
+		 * @throws Exception
+		 * <ul>
+		 * 		<li>if the runtime environment could not be created</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public AlgorithmRTE create(final I input) throws Exception;
+	
+	}
+
+}
@@ -0,0 +1,186 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a headless run of an algorithm (see {@link AlgorithmRTE#runHeadless(boolean)}).
+ * <br><br>
+ * The result contains the number of executed steps, the final state of the algorithm, the states before each step (if they are captured)
+ * and the timings of the run. All times are measured in <b>nanoseconds</b>.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class HeadlessResult {
+	
+	/** the number of executed steps */
+	private final int steps;
+	/** flag that indicates whether the algorithm is finished */
+	private final boolean finished;
+	/** the exception that is thrown by a step or <code>null</code> */
+	private final Exception exception;
+	/** the states before each step or an empty list if the states are not captured */
+	private final List<AlgorithmState> states;
+	/** the state of the algorithm after the run or <code>null</code> */
+	private final AlgorithmState finalState;
+	/** the total time of the run */
+	private final long totalTime;
+	/** the time that is spent in the execution of the steps without the time waiting for the event dispatch thread */
+	private final long executionTime;
+	/** the time that the steps wait for the event dispatch thread */
+	private final long guiWaitTime;
+	/** the time that is spent to capture the states */
+	private final long captureTime;
+	
+	/**
+	 * Creates a new result.
+	 * 
+	 * @param steps the number of executed steps
+	 * @param finished <code>true</code> if the algorithm is finished otherwise <code>false</code>
+	 * @param exception the exception that is thrown by a step or <code>null</code>
+	 * @param states the states before each step or an empty list if the states are not captured
+	 * @param finalState the state of the algorithm after the run or <code>null</code>
+	 * @param totalTime the total time of the run
+	 * @param executionTime the time that is spent in the execution of the steps without the time waiting for the event dispatch thread
+	 * @param guiWaitTime the time that the steps wait for the event dispatch thread
+	 * @param captureTime the time that is spent to capture the states
+	 * @since 1.6
+	 */
+	HeadlessResult(final int steps, final boolean finished, final Exception exception, final List<AlgorithmState> states, final AlgorithmState finalState, final long totalTime, final long executionTime, final long guiWaitTime, final long captureTime) {
+		this.steps = steps;
+		this.finished = finished;
+		this.exception = exception;
+		this.states = Collections.unmodifiableList(states);
+		this.finalState = finalState;
+		this.totalTime = totalTime;
+		this.executionTime = executionTime;
+		this.guiWaitTime = guiWaitTime;
+		this.captureTime = captureTime;
+	}
+	
+	/**
+	 * Gets the number of steps that are executed successfully (a step that fails with an exception is not counted).
+	 * 
+	 * @return the number of executed steps
+	 * @since 1.6
+	 */
+	public int getStepCount() {
+		return steps;
+	}
+	
+	/**
+	 * Indicates whether the algorithm is finished meaning that the last step returned no following step.
+	 * 
+	 * @return <code>true</code> if the algorithm is finished otherwise <code>false</code> if a step failed or the maximum number of steps is reached
+	 * @since 1.6
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+	
+	/**
+	 * Gets the exception that is thrown by a step of the algorithm.
+	 * 
+	 * @return the exception or <code>null</code> if no step failed
+	 * @since 1.6
+	 */
+	public Exception getException() {
+		return exception;
+	}
+	
+	/**
+	 * Gets the states of the algorithm before each step is executed.
+	 * <br><br>
+	 * The states are snapshots that are independent of the further execution of the algorithm and their data is decoded when it is requested
+	 * the first time. {@link AlgorithmState#getStepID()} identifies the step that is executed after the state is captured.
+	 * 
+	 * @return an unmodifiable list of the states in the order of execution or an empty list if the states are not captured
+	 * @since 1.6
+	 */
+	public List<AlgorithmState> getStates() {
+		return states;
+	}
+	
+	/**
+	 * Gets the state of the algorithm after the run.
+	 * 
+	 * @return the final state or <code>null</code> if the runtime environment of a {@link BatchRunner} could not be created
+	 * @since 1.6
+	 */
+	public AlgorithmState getFinalState() {
+		return finalState;
+	}
+	
+	/**
+	 * Gets the total time of the run.
+	 * 
+	 * @return the time in nanoseconds
+	 * @since 1.6
+	 */
+	public long getTotalTime() {
+		return totalTime;
+	}
+	
+	/**
+	 * Gets the time that is spent in the execution of the steps (see {@link AlgorithmRTE#executeStep(int, AlgorithmStateAttachment)})
+	 * without the time that the steps wait for the event dispatch thread (see {@link #getGuiWaitTime()}).
+	 * 
+	 * @return the time in nanoseconds
+	 * @since 1.6
+	 */
+	public long getExecutionTime() {
+		return executionTime;
+	}
+	
+	/**
+	 * Gets the time that the steps wait for the event dispatch thread to perform {@link lavesdk.gui.GuiRequest}s.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Only {@link lavesdk.gui.GuiJob}s are discarded in a headless run. Requests are still performed synchronously in the event dispatch
+	 * thread meaning that concurrent headless runs (see {@link BatchRunner}) are serialized while they wait for the event dispatch thread.
+	 * A high wait time compared to {@link #getExecutionTime()} indicates that the runs are limited by the event dispatch thread.
+	 * 
+	 * @return the time in nanoseconds
+	 * @since 1.6
+	 */
+	public long getGuiWaitTime() {
+		return guiWaitTime;
+	}
+	
+	/**
+	 * Gets the time that is spent to capture the states.
+	 * 
+	 * @return the time in nanoseconds (<code>0</code> if the states are not captured)
+	 * @since 1.6
+	 */
+	public long getCaptureTime() {
+		return captureTime;
+	}
+	
+	@Override
+	public String toString() {
+		return "HeadlessResult[steps=" + steps + ", finished=" + finished + ", totalTime=" + totalTime + ", executionTime=" + executionTime + ", guiWaitTime=" + guiWaitTime + ", captureTime=" + captureTime + "]";
+	}
+
+}
@@ -0,0 +1,177 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+/**
+ * A histogram of the values of a metric (see {@link StepMetrics}).
+ * <br><br>
+ * The values are counted in buckets whose bounds are the powers of two meaning that the bucket <code>i</code> counts the values
+ * in <code>[2<sup>i-1</sup>, 2<sup>i</sup>)</code> and the bucket <code>0</code> counts the value <code>0</code>. The histogram has a constant size
+ * and the percentiles are estimated with a relative error of at most factor two.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class MetricHistogram {
+	
+	/** the counters of the buckets */
+	private final long[] buckets;
+	/** the number of values */
+	private long count;
+	/** the sum of the values */
+	private long sum;
+	/** the minimum value */
+	private long min;
+	/** the maximum value */
+	private long max;
+	
+	/** the number of buckets */
+	private static final int BUCKETS = 64;
+	
+	/**
+	 * Creates a new empty histogram.
+	 * 
+	 * @since 1.6
+	 */
+	MetricHistogram() {
+		this.buckets = new long[BUCKETS];
+		this.count = 0;
+		this.sum = 0;
+		this.min = 0;
+		this.max = 0;
+	}
+	
+	/**
+	 * Creates a copy of the given histogram.
+	 * 
+	 * @param h the histogram
+	 * @since 1.6
+	 */
+	MetricHistogram(final MetricHistogram h) {
+		this.buckets = h.buckets.clone();
+		this.count = h.count;
+		this.sum = h.sum;
+		this.min = h.min;
+		this.max = h.max;
+	}
+	
+	/**
+	 * Records a value.
+	 * 
+	 * @param value the value (negative values are counted as <code>0</code>)
+	 * @since 1.6
+	 */
+	void record(final long value) {
+		final long v = Math.max(value, 0);
+		
+		buckets[Math.min(64 - Long.numberOfLeadingZeros(v), BUCKETS - 1)]++;
+		min = (count == 0) ? v : Math.min(min, v);
+		max = Math.max(max, v);
+		sum += v;
+		count++;
+	}
+	
+	/**
+	 * Gets the number of recorded values.
+	 * 
+	 * @return the number of values
+	 * @since 1.6
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Gets the sum of the recorded values.
+	 * 
+	 * @return the sum
+	 * @since 1.6
+	 */
+	public long getSum() {
+		return sum;
+	}
+	
+	/**
+	 * Gets the minimum of the recorded values.
+	 * 
+	 * @return the minimum or <code>0</code> if there are no values
+	 * @since 1.6
+	 */
+	public long getMin() {
+		return min;
+	}
+	
+	/**
+	 * Gets the maximum of the recorded values.
+	 * 
+	 * @return the maximum or <code>0</code> if there are no values
+	 * @since 1.6
+	 */
+	public long getMax() {
+		return max;
+	}
+	
+	/**
+	 * Gets the mean of the recorded values.
+	 * 
+	 * @return the mean or <code>0</code> if there are no values
+	 * @since 1.6
+	 */
+	public double getMean() {
+		return (count > 0) ? (double)sum / count : 0.0;
+	}
+	
+	/**
+	 * Estimates a percentile of the recorded values.
+	 * 
+	 * @param p the percentile in <code>[0, 100]</code> (like <code>50</code> for the median or <code>99</code>)
+	 * @return the upper bound of the bucket that contains the percentile (at most the maximum) or <code>0</code> if there are no values
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if p is not in <code>[0, 100]</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public long getPercentile(final double p) throws IllegalArgumentException {
+		if(p < 0.0 || p > 100.0)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		if(count == 0)
+			return 0;
+		
+		final long rank = Math.max(1, (long)Math.ceil(p / 100.0 * count));
+		long n = 0;
+		
+		for(int i = 0; i < BUCKETS; i++) {
+			n += buckets[i];
+			if(n >= rank)
+				return (i == 0) ? 0 : Math.min(max, (i < 63) ? (1L << i) - 1 : Long.MAX_VALUE);
+		}
+		
+		return max;
+	}
+	
+	@Override
+	public String toString() {
+		return "count=" + count + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(50) + ", p99=" + getPercentile(99) + ", max=" + max;
+	}
+
+}
@@ -19,7 +19,10 @@
 
 package lavesdk.algorithm;
 
+import java.util.concurrent.TimeUnit;
+
 import lavesdk.algorithm.transitions.ColorTransition;
+import lavesdk.algorithm.transitions.Easing;
 import lavesdk.algorithm.transitions.LinearPositionTransition;
 
 /**
@@ -35,11 +38,22 @@ import lavesdk.algorithm.transitions.LinearPositionTransition;
  * </pre>
  * <b>Attention</b>:<br>
  * Do not forget to invoke the {@link #run()} method on the transition!
+ * <br><br>
+ * <b>Scheduling</b>:<br>
+ * The frames are scheduled on the timeline of the transition meaning that the step that is applied is determined by the elapsed time and
+ * not by the number of frames that are already applied. The time that is needed to apply a step (like repainting a view) does not extend
+ * the duration of the transition. If the application of a step takes longer than a frame the outdated steps are skipped but the last
+ * step is always applied. The timeline follows the execution speed of the runtime environment and stands still while the runtime
+ * environment is paused. The mapping of the timeline to the steps can be changed with an {@link Easing} function
+ * (see {@link #setEasing(Easing)}).
+ * <br><br>
+ * Use a {@link RTTransitionGroup} to animate many transitions simultaneously.
  * 
  * @see ColorTransition
  * @see LinearPositionTransition
+ * @see RTTransitionGroup
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.2
  */
 public abstract class RTTransition<T> {
@@ -53,6 +67,11 @@ public abstract class RTTransition<T> {
 	/** the duration of an animation frame meaning <code>frame = duration / steps;</code> */
 	protected final long frame;
 	
+	/** the duration of an animation frame in nanoseconds (more precise than {@link #frame}) */
+	private final long frameNanos;
+	/** the easing function that maps the timeline to the steps */
+	private Easing easing;
+	
 	/** a default duration */
 	public static final long DEF_DURATION = 300;
 	/** a default step size */
@@ -96,24 +115,136 @@ public abstract class RTTransition<T> {
 		this.duration = duration;
 		this.steps = steps;
 		this.frame = duration / steps;
+		this.frameNanos = TimeUnit.MILLISECONDS.toNanos(duration) / steps;
+		this.easing = Easing.LINEAR;
+	}
+	
+	/**
+	 * Gets the easing function of the transition.
+	 * 
+	 * @return the easing function
+	 * @since 1.6
+	 */
+	public Easing getEasing() {
+		return easing;
+	}
+	
+	/**
+	 * Sets the easing function of the transition.
+	 * <br><br>
+	 * The easing function maps the elapsed time of the transition to the step that is applied. The default is {@link Easing#LINEAR}.
+	 * Because the steps are discrete a transition with an easing function should have a sufficient number of steps.
+	 * 
+	 * @param easing the easing function
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if easing is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setEasing(final Easing easing) throws IllegalArgumentException {
+		if(easing == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.easing = easing;
 	}
 	
 	/**
 	 * Runs the transition.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * If the algorithm is executed headlessly (see {@link AlgorithmRTE#runHeadless(boolean)}) or runs to a breakpoint or step (see {@link AlgorithmRTE#runToBreakpoint()})
+	 * only the last step of the transition is applied.
 	 * 
 	 * @since 1.0
 	 */
 	public final void run() {
 		beforeRun();
 		
-		for(int i = 1; i < steps; i++) {
-			apply(runStep(i));
-			rte.sleep(frame);
+		// a headless run or a run to a target does not need the animation so only the last frame is applied
+		if(rte.areAnimationsSkipped()) {
+			apply(runStep(steps - 1));
+			afterRun();
+			return;
+		}
+		
+		final TransitionClock clock = new TransitionClock(rte);
+		final int frames = getFrameCount();
+		long elapsed;
+		int frame = 0;
+		int applied = 0;
+		int step;
+		
+		while(frame < frames) {
+			// apply the step of the current frame if it changes
+			step = getStep(frame);
+			if(step != applied) {
+				apply(runStep(step));
+				applied = step;
+			}
+			
+			// sleep until the current frame ends on the timeline of the transition
+			elapsed = clock.sleepUntil((frame + 1) * frameNanos);
+			
+			// skip the frames that are outdated but always show the last frame
+			if(frame < frames - 1)
+				frame = Math.min(frames - 1, Math.max(frame + 1, (int)(elapsed / frameNanos)));
+			else
+				frame = frames;
 		}
 		
 		afterRun();
 	}
 	
+	/**
+	 * Gets the number of frames of the transition meaning <code>steps - 1</code>.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the number of frames
+	 * @since 1.6
+	 */
+	final int getFrameCount() {
+		return steps - 1;
+	}
+	
+	/**
+	 * Gets the duration of an animation frame in nanoseconds.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @return the duration of a frame
+	 * @since 1.6
+	 */
+	final long getFrameNanos() {
+		return frameNanos;
+	}
+	
+	/**
+	 * Gets the step that is applied in the given frame of the transition with respect to the easing function.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param frame the frame (zero-based and smaller {@link #getFrameCount()})
+	 * @return the step (one-based and smaller {@link #steps})
+	 * @since 1.6
+	 */
+	final int getStep(final int frame) {
+		final int last = steps - 2;
+		if(last <= 0)
+			return 1;
+		
+		// the first frame shows the first step and the last frame the last step
+		final int step = 1 + Math.round(easing.ease(frame / (float)last) * last);
+		return Math.max(1, Math.min(steps - 1, step));
+	}
+	
 	/**
 	 * Runs a step of the transition.
 	 * 
@@ -0,0 +1,308 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lavesdk.algorithm.plugin.views.View;
+import lavesdk.algorithm.transitions.ColorTransition;
+import lavesdk.algorithm.transitions.Easing;
+
+/**
+ * A group of transitions that are animated simultaneously in a single frame loop.
+ * <br><br>
+ * Running many transitions one after another with {@link RTTransition#run()} takes the sum of their durations. A group advances all
+ * its transitions together on one timeline so the group only takes as long as its longest transition. In each frame the steps of all
+ * transitions that changed are applied as one batch and the views of the algorithm (see {@link AlgorithmRTE#getViews()}) are repainted
+ * only once after the batch, no matter how often the transitions repaint the views in {@link RTTransition#apply(Object)}.
+ * <br><br>
+ * The transitions keep their own duration, step count and {@link Easing} function and can be started with a delay to stagger them.
+ * Like a single transition the timeline of the group follows the execution speed of the runtime environment and stands still while
+ * the runtime environment is paused.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final RTTransitionGroup group = new RTTransitionGroup(rte);
+ * for(Vertex v : graph) {
+ *     group.add(new ColorTransition(rte, Color.white, Color.red) {
+ *         protected void apply(Color o) {
+ *             graphView.getVisualVertex(v).setBackground(o);
+ *             graphView.repaint();
+ *         }
+ *     });
+ * }
+ * group.run();
+ * </pre>
+ * <b>Attention</b>:<br>
+ * Do not invoke {@link RTTransition#run()} on the transitions of a group. Invoke {@link #run()} on the group instead!
+ * 
+ * @see RTTransition
+ * @see ColorTransition
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class RTTransitionGroup {
+	
+	/** the runtime environment of the related algorithm that is used to animate the transitions */
+	private final AlgorithmRTE rte;
+	/** the duration of a frame of the group in nanoseconds */
+	private final long frameNanos;
+	/** the transitions of the group */
+	private final List<Entry> entries;
+	
+	/**
+	 * Creates a new transition group.
+	 * <br><br>
+	 * It is used a default frame duration of <code>{@link RTTransition#DEF_DURATION} / {@link RTTransition#DEF_STEPS}</code> milliseconds.
+	 * 
+	 * @param rte the runtime environment of the related algorithm
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if rte is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public RTTransitionGroup(final AlgorithmRTE rte) throws IllegalArgumentException {
+		this(rte, RTTransition.DEF_DURATION / RTTransition.DEF_STEPS);
+	}
+	
+	/**
+	 * Creates a new transition group.
+	 * 
+	 * @param rte the runtime environment of the related algorithm
+	 * @param frame the duration of a frame of the group in <b>milliseconds</b> meaning the interval in which the steps of the transitions are applied
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if rte is null</li>
+	 * 		<li>if frame is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public RTTransitionGroup(final AlgorithmRTE rte, final long frame) throws IllegalArgumentException {
+		if(rte == null || frame < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.rte = rte;
+		this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frame);
+		this.entries = new ArrayList<Entry>();
+	}
+	
+	/**
+	 * Adds a transition to the group that starts together with the group.
+	 * 
+	 * @param transition the transition
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if transition is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void add(final RTTransition<?> transition) throws IllegalArgumentException {
+		add(transition, 0);
+	}
+	
+	/**
+	 * Adds a transition to the group that starts after the given delay.
+	 * 
+	 * @param transition the transition
+	 * @param delay the delay in <b>milliseconds</b> after the start of the group until the transition starts
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if transition is null</li>
+	 * 		<li>if delay is <code>< 0</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void add(final RTTransition<?> transition, final long delay) throws IllegalArgumentException {
+		if(transition == null || delay < 0)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		entries.add(new Entry(transition, TimeUnit.MILLISECONDS.toNanos(delay)));
+	}
+	
+	/**
+	 * Gets the number of transitions in the group.
+	 * 
+	 * @return the number of transitions
+	 * @since 1.6
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+	
+	/**
+	 * Runs all transitions of the group simultaneously.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * If the algorithm is executed headlessly (see {@link AlgorithmRTE#runHeadless(boolean)}) or runs to a breakpoint or step (see {@link AlgorithmRTE#runToBreakpoint()})
+	 * only the last step of each transition is applied.
+	 * 
+	 * @since 1.6
+	 */
+	public void run() {
+		long end = 0;
+		
+		for(Entry e : entries) {
+			e.applied = 0;
+			e.state = Entry.WAITING;
+			end = Math.max(end, e.start + e.transition.getFrameCount() * e.transition.getFrameNanos());
+		}
+		
+		// a headless run or a run to a target does not need the animation so only the last frame is applied
+		if(rte.areAnimationsSkipped()) {
+			applyFrame(end);
+			return;
+		}
+		
+		final TransitionClock clock = new TransitionClock(rte);
+		long elapsed = 0;
+		long frame = 0;
+		
+		while(true) {
+			applyFrame(elapsed);
+			if(elapsed >= end)
+				break;
+			
+			// sleep until the current frame ends on the timeline of the group and skip the frames that are outdated
+			elapsed = Math.min(end, clock.sleepUntil(Math.min(end, (frame + 1) * frameNanos)));
+			frame = Math.max(frame + 1, elapsed / frameNanos);
+		}
+	}
+	
+	/**
+	 * Applies the steps of all transitions that change at the given time as one batch and repaints the views of the algorithm once.
+	 * 
+	 * @param time the time on the timeline of the group in nanoseconds
+	 * @since 1.6
+	 */
+	private void applyFrame(final long time) {
+		final View[] views = rte.getViews();
+		final List<View> disabledViews = new ArrayList<View>();
+		
+		// disable the repaint mechanism of the views during the batch (views that are already disabled because the step is skipped
+		// are not touched)
+		if(views != null) {
+			for(View view : views) {
+				if(view != null && !view.isRepaintDisabled()) {
+					view.setRepaintDisabled(true);
+					disabledViews.add(view);
+				}
+			}
+		}
+		
+		try {
+			for(Entry e : entries)
+				e.advance(time);
+		}
+		finally {
+			// enable the repaint mechanism of the views meaning that they are repainted automatically
+			for(View view : disabledViews)
+				view.setRepaintDisabled(false);
+		}
+	}
+	
+	/**
+	 * A transition of the group.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class Entry {
+		
+		/** the transition */
+		public final RTTransition<?> transition;
+		/** the start time of the transition on the timeline of the group in nanoseconds */
+		public final long start;
+		/** the step that is applied at last or <code>0</code> if no step is applied yet */
+		public int applied;
+		/** the state of the transition ({@link #WAITING}, {@link #RUNNING} or {@link #FINISHED}) */
+		public int state;
+		
+		/** the transition is not started yet */
+		public static final int WAITING = 0;
+		/** the transition is started */
+		public static final int RUNNING = 1;
+		/** the transition is finished */
+		public static final int FINISHED = 2;
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param transition the transition
+		 * @param start the start time of the transition on the timeline of the group in nanoseconds
+		 * @since 1.6
+		 */
+		public Entry(final RTTransition<?> transition, final long start) {
+			this.transition = transition;
+			this.start = start;
+			this.applied = 0;
+			this.state = WAITING;
+		}
+		
+		/**
+		 * Advances the transition to the given time meaning that the step of the transition at this time is applied if it changes.
+		 * 
+		 * @param time the time on the timeline of the group in nanoseconds
+		 * @since 1.6
+		 */
+		public void advance(final long time) {
+			if(state == FINISHED || time < start)
+				return;
+			
+			if(state == WAITING) {
+				transition.beforeRun();
+				state = RUNNING;
+			}
+			
+			final int frames = transition.getFrameCount();
+			final long local = time - start;
+			final int frame = (int)Math.min(frames - 1, local / transition.getFrameNanos());
+			
+			applyStep(transition, transition.getStep(frame));
+			
+			// the last frame is shown for a whole frame duration like in a single transition
+			if(local >= frames * transition.getFrameNanos()) {
+				transition.afterRun();
+				state = FINISHED;
+			}
+		}
+		
+		/**
+		 * Applies a step of the transition if it is not already applied.
+		 * 
+		 * @param t the transition
+		 * @param step the step
+		 * @since 1.6
+		 */
+		private <T> void applyStep(final RTTransition<T> t, final int step) {
+			if(step == applied)
+				return;
+			
+			t.apply(t.runStep(step));
+			applied = step;
+		}
+	
+	}
+
+}
@@ -0,0 +1,195 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A temporary file that takes up the compressed data of algorithm states which are swapped out of the memory.
+ * <br><br>
+ * The file is used like a stack meaning that records are appended at the end and the file can be truncated to the beginning
+ * of a record when the record is not needed anymore. Each record is compressed with a {@link Deflater} and can be read
+ * randomly using its position (see {@link #write(byte[])}).
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+final class StateSpillFile {
+	
+	/** the temporary file */
+	private final File file;
+	/** the file access */
+	private final RandomAccessFile raf;
+	/** the channel of the file */
+	private final FileChannel channel;
+	/** the compressor */
+	private final Deflater deflater;
+	/** the decompressor */
+	private final Inflater inflater;
+	/** the buffer for compressed data */
+	private byte[] buffer;
+	/** the end of the used area of the file */
+	private long end;
+	
+	/**
+	 * Creates a new temporary spill file.
+	 * 
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be created</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public StateSpillFile() throws IOException {
+		file = File.createTempFile("lavesdk-states", ".tmp");
+		file.deleteOnExit();
+		raf = new RandomAccessFile(file, "rw");
+		channel = raf.getChannel();
+		deflater = new Deflater(Deflater.BEST_SPEED);
+		inflater = new Inflater();
+		buffer = new byte[8192];
+		end = 0;
+	}
+	
+	/**
+	 * Appends the given data as a new record at the end of the file.
+	 * 
+	 * @param data the data
+	 * @return the position of the record meaning the offset in the file (index <code>0</code>), the length of the compressed data (index <code>1</code>)
+	 * and the length of the data (index <code>2</code>)
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public long[] write(final byte[] data) throws IOException {
+		deflater.reset();
+		deflater.setInput(data);
+		deflater.finish();
+		
+		int length = 0;
+		while(!deflater.finished()) {
+			if(length == buffer.length)
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			length += deflater.deflate(buffer, length, buffer.length - length);
+		}
+		
+		final ByteBuffer bb = ByteBuffer.wrap(buffer, 0, length);
+		long pos = end;
+		while(bb.hasRemaining())
+			pos += channel.write(bb, pos);
+		
+		final long[] record = new long[] { end, length, data.length };
+		end = pos;
+		
+		return record;
+	}
+	
+	/**
+	 * Reads a record.
+	 * 
+	 * @param record the position of the record (see {@link #write(byte[])})
+	 * @return the data of the record
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * 		<li>if the record is corrupted</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public byte[] read(final long[] record) throws IOException {
+		final int length = (int)record[1];
+		if(buffer.length < length)
+			buffer = new byte[length];
+		
+		final ByteBuffer bb = ByteBuffer.wrap(buffer, 0, length);
+		long pos = record[0];
+		while(bb.hasRemaining()) {
+			final int n = channel.read(bb, pos);
+			if(n < 0)
+				throw new IOException("unexpected end of file");
+			pos += n;
+		}
+		
+		final byte[] data = new byte[(int)record[2]];
+		inflater.reset();
+		inflater.setInput(buffer, 0, length);
+		
+		try {
+			int n = 0;
+			while(n < data.length && !inflater.finished()) {
+				final int inflated = inflater.inflate(data, n, data.length - n);
+				if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new IOException("corrupted record");
+				n += inflated;
+			}
+		}
+		catch(DataFormatException e) {
+			throw new IOException(e);
+		}
+		
+		return data;
+	}
+	
+	/**
+	 * Truncates the file to the beginning of the given record meaning that the record and all records that are written
+	 * after the record are discarded.
+	 * 
+	 * @param record the position of the record (see {@link #write(byte[])})
+	 * @since 1.6
+	 */
+	public void truncate(final long[] record) {
+		end = Math.min(end, record[0]);
+	}
+	
+	/**
+	 * Gets the number of bytes of the file that are in use.
+	 * 
+	 * @return the number of bytes
+	 * @since 1.6
+	 */
+	public long getSize() {
+		return end;
+	}
+	
+	/**
+	 * Closes and deletes the file.
+	 * 
+	 * @since 1.6
+	 */
+	public void close() {
+		deflater.end();
+		inflater.end();
+		try { channel.close(); } catch(IOException e) {}
+		try { raf.close(); } catch(IOException e) {}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,131 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import lavesdk.algorithm.enums.StepMetric;
+
+/**
+ * The metrics of a step of an algorithm that are measured by the runtime environment (see {@link AlgorithmRTE#getMetrics()}).
+ * <br><br>
+ * The metrics contain a {@link MetricHistogram} for each {@link StepMetric} that summarizes the values of all executions of the step.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class StepMetrics {
+	
+	/** the id of the step */
+	private final int stepID;
+	/** the histograms of the metrics */
+	private final Map<StepMetric, MetricHistogram> histograms;
+	
+	/**
+	 * Creates new empty metrics.
+	 * 
+	 * @param stepID the id of the step
+	 * @since 1.6
+	 */
+	StepMetrics(final int stepID) {
+		this.stepID = stepID;
+		this.histograms = new EnumMap<StepMetric, MetricHistogram>(StepMetric.class);
+		
+		for(StepMetric metric : StepMetric.values())
+			histograms.put(metric, new MetricHistogram());
+	}
+	
+	/**
+	 * Creates a copy of the given metrics.
+	 * 
+	 * @param m the metrics
+	 * @since 1.6
+	 */
+	StepMetrics(final StepMetrics m) {
+		this.stepID = m.stepID;
+		this.histograms = new EnumMap<StepMetric, MetricHistogram>(StepMetric.class);
+		
+		for(Map.Entry<StepMetric, MetricHistogram> entry : m.histograms.entrySet())
+			histograms.put(entry.getKey(), new MetricHistogram(entry.getValue()));
+	}
+	
+	/**
+	 * Records a value of a metric.
+	 * 
+	 * @param metric the metric
+	 * @param value the value
+	 * @since 1.6
+	 */
+	void record(final StepMetric metric, final long value) {
+		histograms.get(metric).record(value);
+	}
+	
+	/**
+	 * Gets the id of the step.
+	 * 
+	 * @return the step id
+	 * @since 1.6
+	 */
+	public int getStepID() {
+		return stepID;
+	}
+	
+	/**
+	 * Gets the number of executions of the step.
+	 * 
+	 * @return the number of executions
+	 * @since 1.6
+	 */
+	public long getExecutionCount() {
+		return histograms.get(StepMetric.EXECUTION).getCount();
+	}
+	
+	/**
+	 * Gets the histogram of a metric.
+	 * 
+	 * @param metric the metric
+	 * @return the histogram
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if metric is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public MetricHistogram getHistogram(final StepMetric metric) throws IllegalArgumentException {
+		if(metric == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		return histograms.get(metric);
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder s = new StringBuilder("step " + stepID + ":");
+		
+		for(Map.Entry<StepMetric, MetricHistogram> entry : histograms.entrySet())
+			if(entry.getValue().getCount() > 0)
+				s.append(" " + entry.getKey() + "[" + entry.getValue() + "]");
+		
+		return s.toString();
+	}
+
+}
@@ -0,0 +1,56 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.Map;
+
+import lavesdk.algorithm.enums.StepMetric;
+
+/**
+ * Listener to get notified by the algorithm runtime environment about the metrics of each executed step if the metrics are enabled
+ * (see {@link AlgorithmRTE#setMetricsEnabled(boolean)}).
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * All events are executed in the event dispatch thread. That means you should not perform time-consuming tasks but it is ensured
+ * that you can make any changes to the graphical user interface (GUI) without producing thread interference. If the algorithm
+ * is executed headlessly (see {@link AlgorithmRTE#runHeadless(boolean)}) the events are executed in the thread of the execution
+ * instead.
+ * 
+ * @see AlgorithmRTE#addMetricsListener(StepMetricsListener)
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public interface StepMetricsListener {
+	
+	/**
+	 * Indicates that a step is executed and its metrics are measured.
+	 * <br><br>
+	 * The sample contains the values of the metrics of this execution. {@link StepMetric#STATE_SIZE} is only contained if the size of the state
+	 * is already known. {@link StepMetric#RESTORE} and {@link StepMetric#WAKE_UP} are never contained because they are measured when the user
+	 * goes back or when the runtime environment is woken up.
+	 * 
+	 * @param stepID the id of the executed step
+	 * @param sample the mapping of metric <-> value
+	 * @since 1.6
+	 */
+	public void stepMeasured(final int stepID, final Map<StepMetric, Long> sample);
+
+}
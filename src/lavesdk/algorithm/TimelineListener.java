@@ -0,0 +1,51 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+/**
+ * Listener to get notified by the algorithm runtime environment about changes of the position in the timeline of an algorithm.
+ * <br><br>
+ * The timeline consists of the steps that are recorded in the state history meaning the position <code>0</code> is the first step that was
+ * executed and the position <code>size - 1</code> is the step that is currently in execution. Use the listener to keep a scrubbing control
+ * (like a slider) in sync with the runtime environment and {@link AlgorithmRTE#seek(int)} to jump to a position of the timeline.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * All events are executed in the event dispatch thread. That means you should not perform time-consuming tasks but it is ensured
+ * that you can make any changes to the graphical user interface (GUI) without producing thread interference.
+ * 
+ * @see AlgorithmRTE#addTimelineListener(TimelineListener)
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public interface TimelineListener {
+	
+	/**
+	 * Indicates that the runtime environment has entered a step of the timeline.
+	 * <br><br>
+	 * The step that is entered is always the last step of the timeline meaning that the timeline has <code>position + 1</code> steps.
+	 * The event is not fired for the steps that are replayed during a forward seek but only for the step where the seek ends.
+	 * 
+	 * @param position the position of the step in the timeline
+	 * @since 1.6
+	 */
+	public void positionChanged(final int position);
+
+}
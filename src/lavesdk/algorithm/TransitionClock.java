@@ -0,0 +1,105 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The clock of a running transition that measures the time on the timeline of the transition.
+ * <br><br>
+ * The timeline advances by the real time that is elapsed scaled by the execution speed factor of the runtime environment and stands
+ * still while the runtime environment is paused. All times are measured in <b>nanoseconds</b>.
+ * 
+ * @see RTTransition
+ * @see RTTransitionGroup
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+final class TransitionClock {
+	
+	/** the runtime environment of the related algorithm */
+	private final AlgorithmRTE rte;
+	/** the elapsed time on the timeline */
+	private long elapsed;
+	/** the real time at which the timeline was advanced the last time */
+	private long time;
+	/** the pause time of the rte at which the timeline was advanced the last time */
+	private long pauseTime;
+	
+	/**
+	 * Creates a new clock and starts it.
+	 * 
+	 * @param rte the runtime environment of the related algorithm
+	 * @since 1.6
+	 */
+	TransitionClock(final AlgorithmRTE rte) {
+		this.rte = rte;
+		this.elapsed = 0;
+		this.time = System.nanoTime();
+		this.pauseTime = rte.getPauseTime();
+	}
+	
+	/**
+	 * Gets the elapsed time on the timeline.
+	 * 
+	 * @return the elapsed time
+	 * @since 1.6
+	 */
+	long getElapsed() {
+		advance();
+		return elapsed;
+	}
+	
+	/**
+	 * Lets the runtime environment sleep until the timeline reaches the given deadline.
+	 * <br><br>
+	 * The sleep time is rounded up to full milliseconds but that does not accumulate because the timeline is measured.
+	 * 
+	 * @param deadline the deadline on the timeline
+	 * @return the elapsed time on the timeline after sleeping
+	 * @since 1.6
+	 */
+	long sleepUntil(final long deadline) {
+		advance();
+		
+		if(elapsed < deadline) {
+			rte.sleep((deadline - elapsed + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1));
+			advance();
+		}
+		
+		return elapsed;
+	}
+	
+	/**
+	 * Advances the timeline by the real time that is elapsed since the last advance without the time the rte was paused.
+	 * 
+	 * @since 1.6
+	 */
+	private void advance() {
+		final long now = System.nanoTime();
+		final long currPauseTime = rte.getPauseTime();
+		
+		elapsed += Math.max(0, (long)((now - time - (currPauseTime - pauseTime)) * rte.getExecSpeedFactor()));
+		time = now;
+		pauseTime = currPauseTime;
+	}
+
+}
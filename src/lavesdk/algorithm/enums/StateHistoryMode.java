@@ -0,0 +1,55 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm.enums;
+
+/**
+ * The modes of how the runtime environment stores the history of algorithm states that is used to go back to previous steps.
+ * <br><br>
+ * <b>Available modes</b>:
+ * <ul>
+ * 		<li>{@link #FULL}</li>
+ * 		<li>{@link #DELTA}</li>
+ * 		<li>{@link #REPLAY}</li>
+ * </ul>
+ * 
+ * @author jdornseifer
+ * @version 1.1
+ * @since 1.6
+ */
+public enum StateHistoryMode {
+	
+	/** the default mode meaning the complete state is frozen and stored before each step */
+	FULL,
+	
+	/**
+	 * only every n-th state is stored completely (keyframe), the states in between store only the data entries that are modified compared to their
+	 * predecessor and a state is reconstructed from the nearest keyframe (the data entries are frozen separately meaning that references between
+	 * different entries of a state are not preserved)
+	 */
+	DELTA,
+	
+	/**
+	 * only every n-th state is stored completely (checkpoint) and the history records the sequence of the executed steps, a previous state
+	 * is reconstructed by restoring the nearest checkpoint and executing the steps from there on without sleeping and rendering (this trades
+	 * CPU time for memory and requires that the steps are deterministic meaning that the execution of a step only depends on the restored state)
+	 */
+	REPLAY
+
+}
@@ -0,0 +1,66 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm.enums;
+
+/**
+ * The metrics that the runtime environment measures for each step of an algorithm if the metrics are enabled.
+ * <br><br>
+ * <b>Available metrics</b>:
+ * <ul>
+ * 		<li>{@link #EXECUTION}</li>
+ * 		<li>{@link #FREEZE}</li>
+ * 		<li>{@link #STATE_SIZE}</li>
+ * 		<li>{@link #RESTORE}</li>
+ * 		<li>{@link #GUI_WAIT}</li>
+ * 		<li>{@link #SLEEP}</li>
+ * 		<li>{@link #WAKE_UP}</li>
+ * </ul>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public enum StepMetric {
+	
+	/** the time in nanoseconds that the execution of a step takes without the time that is spent in sleeping and waiting for the GUI */
+	EXECUTION,
+	
+	/** the time in nanoseconds that it takes to store and freeze the state before a step is executed */
+	FREEZE,
+	
+	/** the size in bytes of the frozen state that is stored in the history before a step is executed (only if the size is already known) */
+	STATE_SIZE,
+	
+	/** the time in nanoseconds that it takes to restore the state of a step when the user goes back */
+	RESTORE,
+	
+	/** the time in nanoseconds that a step waits for the completion of actions in the event dispatch thread (like GUI requests) */
+	GUI_WAIT,
+	
+	/** the time in nanoseconds that a step sleeps to visualize the step including the minimal dwell time */
+	SLEEP,
+	
+	/**
+	 * the time in nanoseconds from a request to continue (like resume, next step, previous step or a wake up of an exercise) until the
+	 * next step starts if the runtime environment was paused or sleeping (the value is recorded for the step that starts)
+	 */
+	WAKE_UP
+
+}
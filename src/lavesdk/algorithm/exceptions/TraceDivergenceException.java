@@ -0,0 +1,60 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm.exceptions;
+
+/**
+ * Exception that indicates that the replay of an execution trace diverges from the recorded execution meaning that the algorithm
+ * does not behave deterministically or that the trace was recorded with another version of the algorithm.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class TraceDivergenceException extends Exception {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** the number of the record in the trace where the replay diverges */
+	private final int record;
+	
+	/**
+	 * Creates a new exception.
+	 * 
+	 * @param msg message of the exception
+	 * @param record the number of the record in the trace where the replay diverges
+	 * @since 1.6
+	 */
+	public TraceDivergenceException(final String msg, final int record) {
+		super(msg + " (record " + record + ")");
+		
+		this.record = record;
+	}
+	
+	/**
+	 * Gets the number of the record in the trace where the replay diverges.
+	 * 
+	 * @return the zero-based number of the record
+	 * @since 1.6
+	 */
+	public int getRecord() {
+		return record;
+	}
+
+}
@@ -52,6 +52,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.imageio.ImageIO;
 import javax.swing.JButton;
@@ -197,6 +198,10 @@ import lavesdk.utils.PopupWindow;
  * You can save and load a configuration of the graph view by using {@link #saveConfiguration(Configuration)} and {@link #loadConfiguration(Configuration)}.
  * It is saved or restored the visibility of the view, the toolbar orientation, the zoom value, the selection color and the edge tool color
  * of the graph view. This makes it possible that you can store the state of the view persistent.
+ * <br><br>
+ * <b>Asynchronous queries</b>:<br>
+ * The most frequently used getters have asynchronous variants (like {@link #getVisualVertexAsync(Vertex)}) that return a {@link CompletableFuture}
+ * instead of waiting for the event dispatch thread. So an algorithm can query the view while it continues its computation.
  * 
  * @see GraphScene
  * @see GraphLayout
@@ -204,7 +209,7 @@ import lavesdk.utils.PopupWindow;
  * @see DefaultGraphView
  * @see DefaultNetworkView
  * @author jdornseifer
- * @version 1.3
+ * @version 1.4
  * @since 1.0
  * @param <V> the type of vertex that should be used in the graph view
  * @param <E> the type of edge that should be used in the graph view
@@ -1062,6 +1067,24 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the current zoom value in percent (integral values) without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getZoom()
+	 * @return the future zoom
+	 * @since 1.6
+	 */
+	public CompletableFuture<Integer> getZoomAsync() {
+		return EDT.executeAsync(new GuiRequest<Integer>() {
+			@Override
+			protected Integer execute() throws Throwable {
+				return zoom;
+			}
+		});
+	}
+	
 	/**
 	 * Sets the current zoom value in percent.
 	 * <br><br>
@@ -1453,6 +1476,24 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the number of vertices that are shown in the graph view without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualVertexCount()
+	 * @return the future number of vertices
+	 * @since 1.6
+	 */
+	public final CompletableFuture<Integer> getVisualVertexCountAsync() {
+		return EDT.executeAsync(new GuiRequest<Integer>() {
+			@Override
+			protected Integer execute() throws Throwable {
+				return visualVertices.size();
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual vertex at the given index.
 	 * <br><br>
@@ -1478,6 +1519,25 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the visual vertex at the given index without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualVertex(int)
+	 * @param index the index
+	 * @return the future vertex (completed exceptionally with an {@link IndexOutOfBoundsException} if the index is out of range)
+	 * @since 1.6
+	 */
+	public final CompletableFuture<VisualVertex> getVisualVertexAsync(final int index) {
+		return EDT.executeAsync(new GuiRequest<VisualVertex>() {
+			@Override
+			protected VisualVertex execute() throws Throwable {
+				return visualVertices.get(index);
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual vertex of a given vertex.
 	 * <br><br>
@@ -1499,6 +1559,25 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the visual vertex of a given vertex without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualVertex(Vertex)
+	 * @param v the vertex its visual component is searched
+	 * @return the future visual vertex or <code>null</code> if the graph view has no visual vertex for the specified one
+	 * @since 1.6
+	 */
+	public final CompletableFuture<VisualVertex> getVisualVertexAsync(final Vertex v) {
+		return EDT.executeAsync(new GuiRequest<VisualVertex>() {
+			@Override
+			protected VisualVertex execute() throws Throwable {
+				return (v != null) ? getVisualVertexByID(v.getID()) : null;
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual vertex of a given vertex id.
 	 * <br><br>
@@ -1606,6 +1685,24 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the number of edges that are shown in the graph view without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualEdgeCount()
+	 * @return the future number of edges
+	 * @since 1.6
+	 */
+	public final CompletableFuture<Integer> getVisualEdgeCountAsync() {
+		return EDT.executeAsync(new GuiRequest<Integer>() {
+			@Override
+			protected Integer execute() throws Throwable {
+				return visualEdges.size();
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual edge at the given index.
 	 * <br><br>
@@ -1631,6 +1728,25 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the visual edge at the given index without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualEdge(int)
+	 * @param index the index
+	 * @return the future edge (completed exceptionally with an {@link IndexOutOfBoundsException} if the index is out of range)
+	 * @since 1.6
+	 */
+	public final CompletableFuture<VisualEdge> getVisualEdgeAsync(final int index) {
+		return EDT.executeAsync(new GuiRequest<VisualEdge>() {
+			@Override
+			protected VisualEdge execute() throws Throwable {
+				return visualEdges.get(index);
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual edge of a given edge.
 	 * <br><br>
@@ -1652,6 +1768,25 @@ public class GraphView<V extends Vertex, E extends Edge> extends View implements
 			});
 	}
 	
+	/**
+	 * Gets the visual edge of a given edge without waiting for the event dispatch thread.
+	 * <br><br>
+	 * <b>This method is thread-safe!</b>
+	 * 
+	 * @see #getVisualEdge(Edge)
+	 * @param e the edge its visual component is searched
+	 * @return the future visual edge or <code>null</code> if the graph view has no visual edge for the specified one
+	 * @since 1.6
+	 */
+	public final CompletableFuture<VisualEdge> getVisualEdgeAsync(final Edge e) {
+		return EDT.executeAsync(new GuiRequest<VisualEdge>() {
+			@Override
+			protected VisualEdge execute() throws Throwable {
+				return (e != null) ? getVisualEdgeByID(e.getID()) : null;
+			}
+		});
+	}
+	
 	/**
 	 * Gets the visual edge of a given edge id.
 	 * <br><br>
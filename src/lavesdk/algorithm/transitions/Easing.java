@@ -0,0 +1,93 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.algorithm.transitions;
+
+import lavesdk.algorithm.RTTransition;
+import lavesdk.algorithm.RTTransitionGroup;
+
+/**
+ * An easing function that maps the progress of a transition in time to the progress of the animated value.
+ * <br><br>
+ * The function receives the elapsed time of the transition as a fraction between <code>0.0f</code> (start) and <code>1.0f</code> (end)
+ * and returns the fraction of the transition that should be shown. It should return <code>0.0f</code> for <code>0.0f</code> and
+ * <code>1.0f</code> for <code>1.0f</code>.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final ColorTransition t = new ColorTransition(rte, 600, 30, Color.white, Color.red) { ... };
+ * t.setEasing(Easing.EASE_IN_OUT);
+ * t.run();
+ * </pre>
+ * 
+ * @see RTTransition#setEasing(Easing)
+ * @see RTTransitionGroup
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public interface Easing {
+	
+	/** the progress of the value is proportional to the time */
+	public static final Easing LINEAR = new Easing() {
+		@Override
+		public float ease(float t) {
+			return t;
+		}
+	};
+	
+	/** the transition starts slowly and accelerates (cubic) */
+	public static final Easing EASE_IN = new Easing() {
+		@Override
+		public float ease(float t) {
+			return t * t * t;
+		}
+	};
+	
+	/** the transition starts fast and decelerates (cubic) */
+	public static final Easing EASE_OUT = new Easing() {
+		@Override
+		public float ease(float t) {
+			final float u = 1.0f - t;
+			return 1.0f - u * u * u;
+		}
+	};
+	
+	/** the transition accelerates in the first half and decelerates in the second half (cubic) */
+	public static final Easing EASE_IN_OUT = new Easing() {
+		@Override
+		public float ease(float t) {
+			if(t < 0.5f)
+				return 4.0f * t * t * t;
+			
+			final float u = 2.0f - 2.0f * t;
+			return 1.0f - u * u * u / 2.0f;
+		}
+	};
+	
+	/**
+	 * Eases the progress of a transition.
+	 * 
+	 * @param t the elapsed time of the transition as a fraction between <code>0.0f</code> and <code>1.0f</code>
+	 * @return the progress of the transition (normally between <code>0.0f</code> and <code>1.0f</code>)
+	 * @since 1.6
+	 */
+	public float ease(final float t);
+
+}
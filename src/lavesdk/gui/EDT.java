@@ -20,6 +20,10 @@
 package lavesdk.gui;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.SwingUtilities;
 
@@ -27,17 +31,109 @@ import javax.swing.SwingUtilities;
  * Provides methods to execute {@link GuiJob}s or {@link GuiRequest}s (<b>thread-safe</b>) in the event dispatch thread (EDT) of a graphical
  * user interface (GUI) from any other thread or the EDT itself.
  * <br><br>
- * Use {@link #execute(GuiJob)} to perform a {@link GuiJob} or use {@link #execute(GuiRequest)} to perform a {@link GuiRequest}.
+ * Use {@link #execute(GuiJob)} to perform a {@link GuiJob} or use {@link #execute(GuiRequest)} to perform a {@link GuiRequest}. A request
+ * can also be performed without waiting for its result using {@link #executeAsync(GuiRequest)}.
+ * <br><br>
+ * A thread that runs without a graphical user interface (like a headless run of an algorithm) can discard its {@link GuiJob}s
+ * (see {@link #setJobsDiscarded(boolean)}).
+ * <br><br>
+ * <b>Coalescing</b>:<br>
+ * {@link GuiJob}s that do not wait for their completion are queued and the queue is drained by a single event in the EDT. So if many
+ * jobs are executed in a short time (like in an algorithm step that modifies many visual objects) the EDT only has to process one event
+ * instead of one event per job. The jobs are always executed in the order of their execution and before {@link GuiRequest}s or jobs
+ * that wait for their completion that are executed afterwards.
+ * <br><br>
+ * <b>Batches</b>:<br>
+ * Each {@link GuiRequest} that is executed from another thread than the EDT needs a round-trip to the EDT. Use {@link #batch(GuiRequest)}
+ * to perform many reads and writes in one round-trip.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class EDT {
 	
+	/** flag per thread that indicates whether the {@link GuiJob}s of the thread are discarded */
+	private static final ThreadLocal<Boolean> jobsDiscarded = new ThreadLocal<Boolean>() {
+		
+		@Override
+		protected Boolean initialValue() {
+			return Boolean.FALSE;
+		}
+	
+	};
+	
+	/** the total time in nanoseconds per thread that the thread has waited for the completion of actions in the EDT */
+	private static final ThreadLocal<long[]> waitTime = new ThreadLocal<long[]>() {
+		
+		@Override
+		protected long[] initialValue() {
+			return new long[1];
+		}
+	
+	};
+	
+	/** the queue of the jobs that are executed asynchronously in the EDT */
+	private static final Queue<GuiAction<?>> queue = new ConcurrentLinkedQueue<GuiAction<?>>();
+	/** flag that indicates whether a drain of the queue is scheduled in the EDT */
+	private static final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+	/** the drainer that executes the queued jobs in the EDT */
+	private static final Runnable drainer = new Runnable() {
+		
+		@Override
+		public void run() {
+			// reset the flag before the queue is drained so that a job that is queued after the last poll schedules a new drain
+			drainScheduled.set(false);
+			
+			GuiAction<?> action;
+			while((action = queue.poll()) != null)
+				action.run();
+		}
+	
+	};
+	
 	private EDT() {
 	}
 	
+	/**
+	 * Sets whether the {@link GuiJob}s that are executed by the current thread should be discarded.
+	 * <br><br>
+	 * This is useful if a thread performs work without a graphical user interface meaning that the visualization is not needed. {@link GuiRequest}s
+	 * are always executed because their results are needed.
+	 * 
+	 * @param discarded <code>true</code> if the jobs of the current thread should be discarded otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public static void setJobsDiscarded(final boolean discarded) {
+		if(discarded)
+			jobsDiscarded.set(Boolean.TRUE);
+		else
+			jobsDiscarded.remove();
+	}
+	
+	/**
+	 * Indicates whether the {@link GuiJob}s that are executed by the current thread are discarded.
+	 * 
+	 * @return <code>true</code> if the jobs of the current thread are discarded otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public static boolean areJobsDiscarded() {
+		return jobsDiscarded.get();
+	}
+	
+	/**
+	 * Gets the total time that the current thread has waited for the completion of actions in the event dispatch thread
+	 * (like {@link GuiRequest}s or {@link GuiJob}s that wait for their completion).
+	 * <br><br>
+	 * This is useful to measure how long a task waits for the GUI by the difference of the time before and after the task.
+	 * 
+	 * @return the time in nanoseconds
+	 * @since 1.6
+	 */
+	public static long getWaitTime() {
+		return waitTime.get()[0];
+	}
+	
 	/**
 	 * Indicates whether an action is executed in the event dispatch thread (EDT).
 	 * 
@@ -50,6 +146,9 @@ public class EDT {
 	
 	/**
 	 * Executes the specified job in the event dispatch thread of a graphical user interface.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The job is discarded if the jobs of the current thread are discarded (see {@link #setJobsDiscarded(boolean)}).
 	 * 
 	 * @param job the job
 	 * @throws RuntimeException
@@ -60,6 +159,10 @@ public class EDT {
 	 * @since 1.0
 	 */
 	public static void execute(final GuiJob job) throws RuntimeException {
+		// the current thread does not need the visualization
+		if(job != null && jobsDiscarded.get())
+			return;
+		
 		perform(job);
 	}
 	
@@ -79,6 +182,106 @@ public class EDT {
 		return perform(request);
 	}
 	
+	/**
+	 * Executes the specified request in the event dispatch thread of a graphical user interface without waiting for its result.
+	 * <br><br>
+	 * The request is queued like a {@link GuiJob} that does not wait for its completion meaning that it is performed after all jobs that
+	 * are executed before. The returned future is completed in the EDT with the result of the request or completed exceptionally with the
+	 * exception that occurred during the performance of the request. If the current thread is the EDT the request is performed directly.
+	 * <br><br>
+	 * This makes it possible to pipeline requests with other work instead of waiting for the EDT (like while it paints a large view).
+	 * Requests are never discarded (see {@link #setJobsDiscarded(boolean)}).
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The dependent actions of the future (like {@link CompletableFuture#thenApply(java.util.function.Function)}) are executed in the EDT if
+	 * the future is not yet completed when they are attached.
+	 * 
+	 * @param request the request
+	 * @return the future result of the request
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if request is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <T> CompletableFuture<T> executeAsync(final GuiRequest<T> request) throws IllegalArgumentException {
+		if(request == null)
+			throw new IllegalArgumentException("Invalid request (request == null)! Cannot be executed in the EDT.");
+		
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		
+		// the result is passed by the future and not by the request so the same request can be executed several times concurrently
+		perform(new GuiJob(request.name) {
+			
+			@Override
+			protected void execute() throws Throwable {
+				try {
+					future.complete(request.execute());
+				}
+				catch(Throwable t) {
+					future.completeExceptionally(t);
+				}
+			}
+		
+		});
+		
+		return future;
+	}
+	
+	/**
+	 * Executes the specified request as a batch in the event dispatch thread of a graphical user interface.
+	 * <br><br>
+	 * All {@link GuiJob}s and {@link GuiRequest}s that are executed inside of the batch (like the getters and setters of the views) are
+	 * performed directly in the EDT meaning that the batch needs only one round-trip to the EDT. If the jobs of the current thread are
+	 * discarded (see {@link #setJobsDiscarded(boolean)}) the jobs inside of the batch are discarded too.
+	 * <br><br>
+	 * <b>Example</b>:
+	 * <pre>
+	 * final int sum = EDT.batch(new GuiRequest&lt;Integer&gt;() {
+	 *     protected Integer execute() throws Throwable {
+	 *         int sum = 0;
+	 *         for(int i = 0; i &lt; graphView.getVisualVertexCount(); i++) {
+	 *             final GraphView&lt;Vertex, Edge&gt;.VisualVertex vv = graphView.getVisualVertex(i);
+	 *             vv.setBackground(Color.white);
+	 *             sum += vv.getX();
+	 *         }
+	 *         return sum;
+	 *     }
+	 * });
+	 * </pre>
+	 * 
+	 * @param request the request that performs the reads and writes
+	 * @return the result of the request or <code>null</code>
+	 * @throws RuntimeException
+	 * <ul>
+	 * 		<li>if request is null</li>
+	 * 		<li>if a runtime exception occurred during the performance of the request</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <T> T batch(final GuiRequest<T> request) throws RuntimeException {
+		if(request == null || !jobsDiscarded.get() || isExecutedInEDT())
+			return perform(request);
+		
+		// the EDT adopts the discarded jobs of the current thread during the batch
+		return perform(new GuiRequest<T>(request.name) {
+			
+			@Override
+			protected T execute() throws Throwable {
+				final boolean discarded = jobsDiscarded.get();
+				
+				setJobsDiscarded(true);
+				try {
+					return request.execute();
+				}
+				finally {
+					setJobsDiscarded(discarded);
+				}
+			}
+		
+		});
+	}
+	
 	/**
 	 * Performs the execution of the specified action in the event dispatch thread.
 	 *  
@@ -107,6 +310,7 @@ public class EDT {
 			// no, then shift the GUI action to the event dispatch thread (EDT)
 			if(action.hasResult()) {
 				// if the action has a result then we have to wait until the action is done by the EDT
+				final long start = System.nanoTime();
 				try {
 					// this should only be done by threads unlike the EDT otherwise this results in a dead lock
 					// (is avoided because of the first execution condition that checks whether the action is performed
@@ -114,10 +318,12 @@ public class EDT {
 					SwingUtilities.invokeAndWait(action);
 				} catch (InvocationTargetException | InterruptedException e) {
 					action.reset();
+				} finally {
+					waitTime.get()[0] += System.nanoTime() - start;
 				}
 			}
 			else
-				SwingUtilities.invokeLater(action);
+				enqueue(action);
 		}
 		
 		// it has occurred an exception during the performance of the action? then rethrow it to show the point of failure
@@ -132,5 +338,19 @@ public class EDT {
 		
 		return result;
 	}
+	
+	/**
+	 * Queues the specified action to be executed asynchronously in the event dispatch thread and schedules a drain of the queue if
+	 * there is no drain pending.
+	 * 
+	 * @param action the action
+	 * @since 1.6
+	 */
+	private static void enqueue(final GuiAction<?> action) {
+		queue.add(action);
+		
+		if(drainScheduled.compareAndSet(false, true))
+			SwingUtilities.invokeLater(drainer);
+	}
 
 }
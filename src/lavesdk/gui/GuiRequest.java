@@ -19,6 +19,8 @@
 
 package lavesdk.gui;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Performs a request in the event dispatch thread (EDT) of a graphical user interface (GUI).
  * <br><br>
@@ -27,8 +29,8 @@ package lavesdk.gui;
  * time-consuming tasks) without hazard the consequences of unpredictable behavior.<br>
  * Therefore you should use a {@link GuiRequest} or a {@link GuiJob} (if you do not need to request data) to perform <b>thread-safe</b>
  * tasks in the graphical user interface (in a safe way from a worker thread).<br>
- * A request is always executed <b>synchronously</b> in the EDT meaning that the request waits for completion (until all pending
- * events in the EDT are processed).
+ * A request is executed <b>synchronously</b> in the EDT meaning that the request waits for completion (until all pending
+ * events in the EDT are processed). Use {@link #executeAsync()} to execute a request without waiting for its result.
  * <br><br>
  * <b>Example</b>:<br>
  * <pre>
@@ -41,7 +43,7 @@ package lavesdk.gui;
  * 
  * @see EDT
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  * @param <T> the type of the result of the request
  */
@@ -71,6 +73,18 @@ public abstract class GuiRequest<T> extends GuiAction<T> {
 		return execute();
 	}
 	
+	/**
+	 * Executes the request in the event dispatch thread without waiting for its result.
+	 * <br><br>
+	 * This is the same as <code>EDT.executeAsync(this)</code> (see {@link EDT#executeAsync(GuiRequest)}).
+	 * 
+	 * @return the future result of the request
+	 * @since 1.6
+	 */
+	public final CompletableFuture<T> executeAsync() {
+		return EDT.executeAsync(this);
+	}
+	
 	/**
 	 * Executes the request.
 	 * <br><br>
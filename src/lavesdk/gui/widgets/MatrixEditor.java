@@ -404,6 +404,9 @@ public class MatrixEditor<T> extends BaseComponent {
 	 * The matrix is cloned meaning that modifications to the specified matrix do not have an effect on the display of
 	 * the matrix. Therefore you have to set the modified matrix to visualize the changes.
 	 * <br><br>
+	 * Views like {@link lavesdk.math.SubMatrix}, {@link lavesdk.math.TransposedMatrix} or {@link lavesdk.math.MaskedMatrix} can be displayed too
+	 * (only the visible elements are copied).
+	 * <br><br>
 	 * The matrix editor is automatically repainted using {@link #repaint()}.
 	 * <br><br>
 	 * <b>This method is thread-safe!</b><br>
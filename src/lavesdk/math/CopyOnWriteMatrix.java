@@ -0,0 +1,449 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import lavesdk.serialization.CompactCodec;
+
+/**
+ * Represents a matrix whose rows are shared between copies (copy-on-write).
+ * <br><br>
+ * {@link #clone()} and {@link #snapshot()} do not copy the elements of the matrix. Instead the copy and the original share
+ * their rows and a row is only copied when it is modified for the first time afterwards. That means creating a copy of a
+ * <code>n</code> x <code>m</code> matrix costs <code>O(n)</code> and modifying a cell costs at most <code>O(m)</code> once per row
+ * and copy. This makes the matrix well-suited to be added to the {@link lavesdk.algorithm.AlgorithmState} in each step of an
+ * algorithm like Floyd-Warshall where only some rows change from step to step.
+ * <br><br>
+ * <b>Encoding</b>:<br>
+ * The matrix is stored with a {@link CompactCodec} row by row (see {@link #COMPACT_HANDLER}). The encoding of a row whose elements are
+ * immutable (like {@link Float}s or {@link String}s) is cached as long as the row is shared so that the versions of the matrix only encode
+ * the rows that are modified in between. The delta mode of the state history stores only the modified part of an encoding (see
+ * {@link lavesdk.algorithm.enums.StateHistoryMode#DELTA}).
+ * <br><br>
+ * <b>Dirty rows</b>:<br>
+ * The matrix tracks the rows that are modified since the last snapshot (see {@link #getDirtyRows()}). Use {@link #snapshot()} to get an
+ * unchangeable version of the current state which resets the dirty rows, for example:
+ * <pre>
+ * final CopyOnWriteMatrix&lt;Float&gt; d = new CopyOnWriteMatrix&lt;Float&gt;(n, n, Float.POSITIVE_INFINITY);
+ * ...
+ * // in each step
+ * d.set(i, j, d.get(i, k) + d.get(k, j));
+ * state.addMatrix("d", d.snapshot());
+ * </pre>
+ * <b>Notice</b>:<br>
+ * The matrix itself is not thread-safe. Different copies may be modified concurrently because they never write to a shared row.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ * @param <T> the type of a matrix element
+ */
+public class CopyOnWriteMatrix<T> extends Matrix<T> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * The handler to store copy-on-write matrices with a {@link CompactCodec}.
+	 * <br><br>
+	 * Each row is written as a separate encoding which is cached and reused by all versions of the matrix that share the row.
+	 * A snapshot for an encoding in the background shares the rows too and copies only the mutable elements.
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<CopyOnWriteMatrix<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<CopyOnWriteMatrix<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, CopyOnWriteMatrix<?> a) throws IOException {
+			out.writeVarInt(a.n);
+			out.writeVarInt(a.m);
+			for(int i = 0; i < a.n; i++)
+				out.writeEncoded(a.encodeRow(out, i));
+		}
+		
+		@Override
+		public CopyOnWriteMatrix<?> read(CompactCodec.Reader in) throws IOException {
+			final int n = in.readVarInt();
+			final int m = in.readVarInt();
+			final CopyOnWriteMatrix<Object> a = new CopyOnWriteMatrix<Object>(n, m);
+			
+			for(int i = 0; i < n; i++) {
+				final Object row = in.readEncoded();
+				if(!(row instanceof List) || ((List<?>)row).size() != m)
+					throw new StreamCorruptedException("invalid row");
+				
+				a.rows[i] = ((List<?>)row).toArray();
+				a.owned[i] = true;
+			}
+			
+			return a;
+		}
+		
+		@Override
+		public CopyOnWriteMatrix<?> copy(CompactCodec.Copier c, CopyOnWriteMatrix<?> a) {
+			return a.copyFor(c);
+		}
+	
+	};
+	
+	/** the rows of the matrix (may be shared with other copies) */
+	private final Object[][] rows;
+	/** the flags that indicate whether a row is exclusively owned by this copy meaning that it can be modified in place */
+	private transient boolean[] owned;
+	/** the rows that are modified since the last snapshot */
+	private final BitSet dirty;
+	/** the cached encodings of the shared rows (the cache is shared by all copies and a row is removed when it is not referenced anymore) */
+	private transient Map<Object[], byte[]> encodedRows;
+	
+	/**
+	 * Creates a new copy-on-write matrix of size <code>n</code> x <code>m</code> and a default element value of <code>null</code>.
+	 * 
+	 * @param n the number of rows
+	 * @param m the number of columns
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if n <code>< 1</code></li>
+	 * 		<li>if m <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public CopyOnWriteMatrix(final int n, final int m) throws IllegalArgumentException {
+		this(n, m, null);
+	}
+	
+	/**
+	 * Creates a new copy-on-write matrix of size <code>n</code> x <code>m</code>.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * All rows initially share the same (immutable) default row so that the creation of the matrix costs <code>O(n + m)</code>.
+	 * 
+	 * @param n the number of rows
+	 * @param m the number of columns
+	 * @param defValue the default element value
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if n <code>< 1</code></li>
+	 * 		<li>if m <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public CopyOnWriteMatrix(final int n, final int m, final T defValue) throws IllegalArgumentException {
+		super(n, m, null, false);
+		
+		final Object[] defRow = new Object[m];
+		Arrays.fill(defRow, defValue);
+		
+		this.rows = new Object[n][];
+		this.owned = new boolean[n];
+		this.dirty = new BitSet(n);
+		this.encodedRows = createCache();
+		
+		Arrays.fill(rows, defRow);
+	}
+	
+	/**
+	 * Creates a new copy-on-write matrix with the elements of the given matrix.
+	 * 
+	 * @param matrix the matrix whose elements should be copied
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if matrix is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public CopyOnWriteMatrix(final Matrix<T> matrix) throws IllegalArgumentException {
+		super(checkMatrix(matrix).getRowCount(), matrix.getColumnCount(), null, false);
+		
+		this.rows = new Object[n][m];
+		this.owned = new boolean[n];
+		this.dirty = new BitSet(n);
+		this.encodedRows = createCache();
+		
+		for(int i = 0; i < n; i++) {
+			for(int j = 0; j < m; j++)
+				rows[i][j] = matrix.get(i, j);
+			owned[i] = true;
+		}
+	}
+	
+	/**
+	 * Creates a copy of the given matrix that shares all rows.
+	 * 
+	 * @param matrix the matrix
+	 * @since 1.6
+	 */
+	private CopyOnWriteMatrix(final CopyOnWriteMatrix<T> matrix) {
+		super(matrix.n, matrix.m, null, false);
+		
+		this.rows = matrix.rows.clone();
+		this.owned = new boolean[n];
+		this.dirty = new BitSet(n);
+		this.encodedRows = matrix.encodedRows;
+		
+		// the rows are now shared meaning that the original has to copy a row before it can be modified
+		Arrays.fill(matrix.owned, false);
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(final int i, final int j) throws IndexOutOfBoundsException {
+		if(j < 0 || j >= m)
+			throw new IndexOutOfBoundsException();
+		
+		return (T)rows[i][j];
+	}
+	
+	@Override
+	public void set(final int i, final int j, final T value) throws IndexOutOfBoundsException {
+		if(j < 0 || j >= m)
+			throw new IndexOutOfBoundsException();
+		
+		Object[] row = rows[i];
+		
+		if(row[j] == value)
+			return;
+		
+		if(!owned[i]) {
+			row = row.clone();
+			rows[i] = row;
+			owned[i] = true;
+		}
+		
+		row[j] = value;
+		dirty.set(i);
+	}
+	
+	/**
+	 * Indicates whether the specified row is modified since the last snapshot (or since the creation of the matrix).
+	 * 
+	 * @param i the index of the row
+	 * @return <code>true</code> if the row is dirty otherwise <code>false</code>
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public boolean isDirty(final int i) throws IndexOutOfBoundsException {
+		if(i < 0 || i >= n)
+			throw new IndexOutOfBoundsException();
+		
+		return dirty.get(i);
+	}
+	
+	/**
+	 * Gets the indices of the rows that are modified since the last snapshot (or since the creation of the matrix).
+	 * 
+	 * @return the indices of the dirty rows in ascending order
+	 * @since 1.6
+	 */
+	public int[] getDirtyRows() {
+		return dirty.stream().toArray();
+	}
+	
+	/**
+	 * Gets the number of rows that are modified since the last snapshot (or since the creation of the matrix).
+	 * 
+	 * @return the number of dirty rows
+	 * @since 1.6
+	 */
+	public int getDirtyRowCount() {
+		return dirty.cardinality();
+	}
+	
+	/**
+	 * Indicates whether this matrix and the given matrix share the specified row meaning that the row is unchanged between both versions.
+	 * 
+	 * @param matrix the other version of the matrix
+	 * @param i the index of the row
+	 * @return <code>true</code> if both matrices share the row otherwise <code>false</code>
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public boolean sharesRow(final CopyOnWriteMatrix<?> matrix, final int i) throws IndexOutOfBoundsException {
+		if(i < 0 || i >= n)
+			throw new IndexOutOfBoundsException();
+		
+		return matrix != null && i < matrix.n && rows[i] == matrix.rows[i];
+	}
+	
+	/**
+	 * Creates a snapshot of the current state of the matrix and resets the dirty rows.
+	 * <br><br>
+	 * The snapshot shares all rows with this matrix meaning that the snapshot costs <code>O(n)</code> and not <code>O(n * m)</code>.
+	 * Subsequent modifications of this matrix do not affect the snapshot.
+	 * 
+	 * @return the snapshot
+	 * @since 1.6
+	 */
+	public CopyOnWriteMatrix<T> snapshot() {
+		final CopyOnWriteMatrix<T> copy = new CopyOnWriteMatrix<T>(this);
+		dirty.clear();
+		
+		return copy;
+	}
+	
+	/**
+	 * Clones the matrix meaning that it is returned a shallow copy of <code>this</code> {@link Matrix} instance
+	 * (the elements themselves are not copied/cloned).
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The copy shares all rows with this matrix so that cloning costs <code>O(n)</code>. In contrast to {@link #snapshot()}
+	 * the dirty rows are not reset.
+	 * 
+	 * @return a new instance of the matrix with the same elements as <code>this</code> matrix
+	 * @since 1.6
+	 */
+	@Override
+	public CopyOnWriteMatrix<T> clone() {
+		return new CopyOnWriteMatrix<T>(this);
+	}
+	
+	/**
+	 * Reads the matrix from the given stream.
+	 * 
+	 * @param in the input stream
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 * @since 1.6
+	 */
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		
+		// rows that are shared in the stream are still shared after deserialization so copy-on-write is necessary for each row
+		owned = new boolean[n];
+		encodedRows = createCache();
+	}
+	
+	/**
+	 * Gets the encoding of the specified row.
+	 * <br><br>
+	 * A row that is not owned by this copy is never modified again so its encoding is cached if the elements of the row are immutable.
+	 * 
+	 * @param out the writer of the matrix
+	 * @param i the index of the row
+	 * @return the encoding of the row
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the row could not be encoded</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private byte[] encodeRow(final CompactCodec.Writer out, final int i) throws IOException {
+		final Object[] row = rows[i];
+		final boolean shared = !owned[i];
+		byte[] data = shared ? encodedRows.get(row) : null;
+		
+		if(data == null) {
+			data = out.encode(new ArrayList<Object>(Arrays.asList(row)));
+			if(shared && isImmutable(row))
+				encodedRows.put(row, data);
+		}
+		
+		return data;
+	}
+	
+	/**
+	 * Copies the matrix for a snapshot of a {@link CompactCodec} (see {@link #COMPACT_HANDLER}).
+	 * <br><br>
+	 * The copy shares the rows with immutable elements and only the rows with mutable elements are copied.
+	 * 
+	 * @param c the copier
+	 * @return the copy
+	 * @throws UnsupportedOperationException
+	 * <ul>
+	 * 		<li>if an element could not be copied</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private CopyOnWriteMatrix<T> copyFor(final CompactCodec.Copier c) throws UnsupportedOperationException {
+		final CopyOnWriteMatrix<T> copy = new CopyOnWriteMatrix<T>(this);
+		
+		for(int i = 0; i < n; i++) {
+			final Object[] row = copy.rows[i];
+			
+			if(!encodedRows.containsKey(row) && !isImmutable(row)) {
+				final Object[] rowCopy = new Object[m];
+				for(int j = 0; j < m; j++)
+					rowCopy[j] = c.copy(row[j]);
+				copy.rows[i] = rowCopy;
+			}
+		}
+		
+		return copy;
+	}
+	
+	/**
+	 * Indicates whether all elements of the given row are immutable.
+	 * 
+	 * @param row the row
+	 * @return <code>true</code> if the elements are immutable otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	private static boolean isImmutable(final Object[] row) {
+		for(Object o : row)
+			if(!CompactCodec.isImmutable(o))
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * Creates the cache of the encoded rows.
+	 * 
+	 * @return the cache
+	 * @since 1.6
+	 */
+	private static Map<Object[], byte[]> createCache() {
+		// arrays use the identity for equals and hashCode so the rows are identified by reference
+		return Collections.synchronizedMap(new WeakHashMap<Object[], byte[]>());
+	}
+	
+	/**
+	 * Checks whether the given matrix is valid.
+	 * 
+	 * @param matrix the matrix
+	 * @return the matrix
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if matrix is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static <T> Matrix<T> checkMatrix(final Matrix<T> matrix) throws IllegalArgumentException {
+		if(matrix == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		return matrix;
+	}
+
+}
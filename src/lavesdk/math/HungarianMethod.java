@@ -0,0 +1,654 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Solves the (linear) assignment problem using the Hungarian method.
+ * <br><br>
+ * The solver works on a primitive cost array <code>c</code> of size <code>n</code> x <code>m</code> with <code>n <= m</code> (if <code>n > m</code>
+ * the problem is solved on the transposed array) and assigns each row to exactly one column so that the sum of the costs is minimal.
+ * It is implemented as a shortest augmenting path algorithm (Jonker-Volgenant) with dual potentials which needs <code>O(n^2 * m)</code>
+ * operations.
+ * <br><br>
+ * <b>Forbidden assignments</b>:<br>
+ * Set the cost of an assignment that is not allowed to {@link Double#POSITIVE_INFINITY}. If there is no feasible assignment at all
+ * the solver throws an {@link IllegalArgumentException}.
+ * <br><br>
+ * <b>Steps</b>:<br>
+ * Use {@link #solve(double[][], boolean)} to record the sequence of reduction, cover and augmentation steps (see {@link Step}) that
+ * lead to the optimal solution. A visualization can replay these steps (for example by use of the strikeouts and masks of a
+ * {@link lavesdk.gui.widgets.MatrixEditor}) without recomputing the solution.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final HungarianMethod.Result r = HungarianMethod.solve(new double[][] {{4, 1, 3}, {2, 0, 5}, {3, 2, 2}});
+ * // r.getAssignment() is {1, 0, 2} and r.getCost() is 5.0
+ * </pre>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class HungarianMethod {
+	
+	private HungarianMethod() {
+	}
+	
+	/**
+	 * Solves the assignment problem of the specified numeric matrix.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Elements that are <code>null</code> are interpreted as forbidden assignments.
+	 * 
+	 * @param costs the cost matrix
+	 * @return the optimal solution
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if costs is null</li>
+	 * 		<li>if costs contains {@link Double#NaN} or {@link Double#NEGATIVE_INFINITY} values</li>
+	 * 		<li>if there is no feasible assignment</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static Result solve(final NumericMatrix<? extends Number> costs) throws IllegalArgumentException {
+		if(costs == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		return solve(NumericMatrix.toArray(costs, Double.POSITIVE_INFINITY), false);
+	}
+	
+	/**
+	 * Solves the assignment problem of the specified cost array.
+	 * 
+	 * @param costs the cost array of size <code>n</code> x <code>m</code>
+	 * @return the optimal solution
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if costs is null or empty</li>
+	 * 		<li>if costs is not rectangular</li>
+	 * 		<li>if costs contains {@link Double#NaN} or {@link Double#NEGATIVE_INFINITY} values</li>
+	 * 		<li>if there is no feasible assignment</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static Result solve(final double[][] costs) throws IllegalArgumentException {
+		return solve(costs, false);
+	}
+	
+	/**
+	 * Solves the assignment problem of the specified cost array.
+	 * 
+	 * @param costs the cost array of size <code>n</code> x <code>m</code>
+	 * @param recordSteps <code>true</code> if the steps of the method should be recorded (see {@link Result#getSteps()}) otherwise <code>false</code>
+	 * @return the optimal solution
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if costs is null or empty</li>
+	 * 		<li>if costs is not rectangular</li>
+	 * 		<li>if costs contains {@link Double#NaN} or {@link Double#NEGATIVE_INFINITY} values</li>
+	 * 		<li>if there is no feasible assignment</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static Result solve(final double[][] costs, final boolean recordSteps) throws IllegalArgumentException {
+		if(costs == null || costs.length < 1 || costs[0] == null || costs[0].length < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final int rows = costs.length;
+		final int cols = costs[0].length;
+		
+		for(int i = 0; i < rows; i++) {
+			if(costs[i] == null || costs[i].length != cols)
+				throw new IllegalArgumentException("cost array is not rectangular");
+			for(int j = 0; j < cols; j++)
+				if(Double.isNaN(costs[i][j]) || costs[i][j] == Double.NEGATIVE_INFINITY)
+					throw new IllegalArgumentException("cost array contains an invalid cost at (" + i + ", " + j + "): " + costs[i][j] + " (only finite costs and Double.POSITIVE_INFINITY are allowed)");
+		}
+		
+		// the method needs n <= m so solve the transposed problem if there are more rows than columns
+		final boolean transposed = rows > cols;
+		final int n = transposed ? cols : rows;
+		final int m = transposed ? rows : cols;
+		final double[] a = new double[n * m];
+		
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j++)
+				a[transposed ? j * m + i : i * m + j] = costs[i][j];
+		
+		final Solver solver = new Solver(a, n, m, recordSteps ? new ArrayList<Step>() : null, transposed);
+		solver.run();
+		
+		// map the solution back to the original problem
+		final int[] assignment = new int[rows];
+		final double[] u = new double[rows];
+		final double[] v = new double[cols];
+		double cost = 0.0;
+		
+		for(int i = 0; i < rows; i++)
+			assignment[i] = -1;
+		
+		for(int j = 1; j <= m; j++) {
+			final int i = solver.p[j];
+			if(i == 0)
+				continue;
+			
+			if(transposed)
+				assignment[j - 1] = i - 1;
+			else
+				assignment[i - 1] = j - 1;
+			cost += a[(i - 1) * m + (j - 1)];
+		}
+		
+		for(int i = 1; i <= n; i++) {
+			if(transposed)
+				v[i - 1] = solver.u[i];
+			else
+				u[i - 1] = solver.u[i];
+		}
+		for(int j = 1; j <= m; j++) {
+			if(transposed)
+				u[j - 1] = solver.v[j];
+			else
+				v[j - 1] = solver.v[j];
+		}
+		
+		if(Double.isInfinite(cost))
+			throw new IllegalArgumentException("there is no feasible assignment");
+		
+		return new Result(assignment, cost, u, v, solver.steps);
+	}
+	
+	/**
+	 * The solution of an assignment problem.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Result {
+		
+		/** the assignment (row -> column) */
+		private final int[] assignment;
+		/** the total cost */
+		private final double cost;
+		/** the dual potentials of the rows */
+		private final double[] u;
+		/** the dual potentials of the columns */
+		private final double[] v;
+		/** the recorded steps or <code>null</code> */
+		private final List<Step> steps;
+		
+		/**
+		 * Creates a new result.
+		 * 
+		 * @param assignment the assignment
+		 * @param cost the total cost
+		 * @param u the row potentials
+		 * @param v the column potentials
+		 * @param steps the recorded steps or <code>null</code>
+		 * @since 1.6
+		 */
+		private Result(final int[] assignment, final double cost, final double[] u, final double[] v, final List<Step> steps) {
+			this.assignment = assignment;
+			this.cost = cost;
+			this.u = u;
+			this.v = v;
+			this.steps = (steps != null) ? Collections.unmodifiableList(steps) : Collections.<Step>emptyList();
+		}
+		
+		/**
+		 * Gets the assignment.
+		 * 
+		 * @return an array where the i-th element is the (zero-based) column that is assigned to row i or <code>-1</code> if row i is unassigned (only possible if there are more rows than columns)
+		 * @since 1.6
+		 */
+		public int[] getAssignment() {
+			return assignment.clone();
+		}
+		
+		/**
+		 * Gets the column that is assigned to the specified row.
+		 * 
+		 * @param row the (zero-based) row index
+		 * @return the column index or <code>-1</code> if the row is unassigned
+		 * @throws IndexOutOfBoundsException
+		 * <ul>
+		 * 		<li>if row is out of bounds</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public int getColumn(final int row) throws IndexOutOfBoundsException {
+			return assignment[row];
+		}
+		
+		/**
+		 * Gets the total cost of the assignment.
+		 * 
+		 * @return the cost
+		 * @since 1.6
+		 */
+		public double getCost() {
+			return cost;
+		}
+		
+		/**
+		 * Gets the dual potentials of the rows.
+		 * <br><br>
+		 * The potentials <code>u</code> and <code>v</code> satisfy <code>u[i] + v[j] <= c[i][j]</code> with equality for each assigned pair <code>(i, j)</code>.
+		 * 
+		 * @return the row potentials
+		 * @since 1.6
+		 */
+		public double[] getRowPotentials() {
+			return u.clone();
+		}
+		
+		/**
+		 * Gets the dual potentials of the columns.
+		 * <br><br>
+		 * The potentials <code>u</code> and <code>v</code> satisfy <code>u[i] + v[j] <= c[i][j]</code> with equality for each assigned pair <code>(i, j)</code>.
+		 * 
+		 * @return the column potentials
+		 * @since 1.6
+		 */
+		public double[] getColumnPotentials() {
+			return v.clone();
+		}
+		
+		/**
+		 * Gets the recorded steps of the method.
+		 * 
+		 * @return an unmodifiable list of the steps (the list is empty if the steps are not recorded)
+		 * @since 1.6
+		 */
+		public List<Step> getSteps() {
+			return steps;
+		}
+	
+	}
+	
+	/**
+	 * A step of the Hungarian method.
+	 * <br><br>
+	 * All indices are zero-based and relate to the original cost array. The types of steps are:
+	 * <ul>
+	 * 		<li>{@link StepType#ROW_REDUCTION}: the minimum of each row is subtracted from the row, {@link #getValues()} contains the minimum of each row</li>
+	 * 		<li>{@link StepType#COLUMN_REDUCTION}: the minimum of each column is subtracted from the column, {@link #getValues()} contains the minimum of each column</li>
+	 * 		<li>{@link StepType#COVER}: the smallest uncovered element {@link #getDelta()} is subtracted from the uncovered elements and added to the elements
+	 * 		that are covered twice, {@link #getRows()} and {@link #getColumns()} are the covered rows and columns</li>
+	 * 		<li>{@link StepType#AUGMENTATION}: the assignment is extended along an alternating path, {@link #getRows()} and {@link #getColumns()} are
+	 * 		the pairs that are assigned now (pair k is <code>(getRows()[k], getColumns()[k])</code>)</li>
+	 * </ul>
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Step {
+		
+		/** the type of the step */
+		private final StepType type;
+		/** the reduction values */
+		private final double[] values;
+		/** the delta of a cover step */
+		private final double delta;
+		/** the row indices */
+		private final int[] rows;
+		/** the column indices */
+		private final int[] columns;
+		
+		/**
+		 * Creates a new step.
+		 * 
+		 * @param type the type
+		 * @param values the reduction values or <code>null</code>
+		 * @param delta the delta
+		 * @param rows the row indices or <code>null</code>
+		 * @param columns the column indices or <code>null</code>
+		 * @since 1.6
+		 */
+		private Step(final StepType type, final double[] values, final double delta, final int[] rows, final int[] columns) {
+			this.type = type;
+			this.values = (values != null) ? values : new double[0];
+			this.delta = delta;
+			this.rows = (rows != null) ? rows : new int[0];
+			this.columns = (columns != null) ? columns : new int[0];
+		}
+		
+		/**
+		 * Gets the type of the step.
+		 * 
+		 * @return the type
+		 * @since 1.6
+		 */
+		public StepType getType() {
+			return type;
+		}
+		
+		/**
+		 * Gets the values of a reduction step.
+		 * 
+		 * @return the reduction values or an empty array if the step is not a reduction
+		 * @since 1.6
+		 */
+		public double[] getValues() {
+			return values.clone();
+		}
+		
+		/**
+		 * Gets the smallest uncovered element of a cover step.
+		 * 
+		 * @return the delta or <code>0.0</code> if the step is not a cover step
+		 * @since 1.6
+		 */
+		public double getDelta() {
+			return delta;
+		}
+		
+		/**
+		 * Gets the row indices of the step.
+		 * 
+		 * @return the row indices (the covered rows or the rows of the assigned pairs)
+		 * @since 1.6
+		 */
+		public int[] getRows() {
+			return rows.clone();
+		}
+		
+		/**
+		 * Gets the column indices of the step.
+		 * 
+		 * @return the column indices (the covered columns or the columns of the assigned pairs)
+		 * @since 1.6
+		 */
+		public int[] getColumns() {
+			return columns.clone();
+		}
+		
+		@Override
+		public String toString() {
+			return type + "[delta=" + delta + ", rows=" + java.util.Arrays.toString(rows) + ", columns=" + java.util.Arrays.toString(columns) + "]";
+		}
+	
+	}
+	
+	/**
+	 * The type of a {@link Step}.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public enum StepType {
+		
+		/** the rows are reduced by their minimum */
+		ROW_REDUCTION,
+		
+		/** the columns are reduced by their minimum */
+		COLUMN_REDUCTION,
+		
+		/** the uncovered elements are reduced by the smallest uncovered element */
+		COVER,
+		
+		/** the assignment is extended along an alternating path */
+		AUGMENTATION
+	
+	}
+	
+	/**
+	 * The solver of the method that works on one-based indices with <code>n <= m</code>.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class Solver {
+		
+		/** the flat cost array (row-major, zero-based) */
+		private final double[] a;
+		/** the number of rows */
+		private final int n;
+		/** the number of columns */
+		private final int m;
+		/** the potentials of the rows */
+		private final double[] u;
+		/** the potentials of the columns */
+		private final double[] v;
+		/** the row that is assigned to a column (<code>0</code> means unassigned) */
+		private final int[] p;
+		/** the predecessor column of a column in the alternating path */
+		private final int[] way;
+		/** the recorded steps or <code>null</code> */
+		private final List<Step> steps;
+		/** flag that indicates whether the problem is transposed */
+		private final boolean transposed;
+		
+		/**
+		 * Creates a new solver.
+		 * 
+		 * @param a the flat cost array
+		 * @param n the number of rows
+		 * @param m the number of columns
+		 * @param steps the list of steps or <code>null</code>
+		 * @param transposed <code>true</code> if the problem is transposed
+		 * @since 1.6
+		 */
+		public Solver(final double[] a, final int n, final int m, final List<Step> steps, final boolean transposed) {
+			this.a = a;
+			this.n = n;
+			this.m = m;
+			this.u = new double[n + 1];
+			this.v = new double[m + 1];
+			this.p = new int[m + 1];
+			this.way = new int[m + 1];
+			this.steps = steps;
+			this.transposed = transposed;
+		}
+		
+		/**
+		 * Runs the solver.
+		 * 
+		 * @throws IllegalArgumentException
+		 * <ul>
+		 * 		<li>if there is no feasible assignment</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public void run() throws IllegalArgumentException {
+			reduce();
+			
+			final double[] minv = new double[m + 1];
+			final boolean[] used = new boolean[m + 1];
+			
+			for(int i = 1; i <= n; i++) {
+				// the current row is the root of the alternating tree (column 0 is a virtual column)
+				p[0] = i;
+				int j0 = 0;
+				
+				for(int j = 0; j <= m; j++) {
+					minv[j] = Double.POSITIVE_INFINITY;
+					used[j] = false;
+				}
+				
+				// grow the tree until an unassigned column is reached
+				do {
+					used[j0] = true;
+					final int i0 = p[j0];
+					final int row = (i0 - 1) * m - 1;
+					final double ui0 = u[i0];
+					double delta = Double.POSITIVE_INFINITY;
+					int j1 = 0;
+					
+					for(int j = 1; j <= m; j++) {
+						if(!used[j]) {
+							final double cur = a[row + j] - ui0 - v[j];
+							if(cur < minv[j]) {
+								minv[j] = cur;
+								way[j] = j0;
+							}
+							if(minv[j] < delta) {
+								delta = minv[j];
+								j1 = j;
+							}
+						}
+					}
+					
+					if(j1 == 0 || Double.isInfinite(delta))
+						throw new IllegalArgumentException("there is no feasible assignment");
+					
+					// adjust the potentials: the covered lines are the columns of the tree and the rows that are not in the tree
+					if(delta != 0.0)
+						recordCover(delta, used);
+					
+					for(int j = 0; j <= m; j++) {
+						if(used[j]) {
+							u[p[j]] += delta;
+							v[j] -= delta;
+						}
+						else
+							minv[j] -= delta;
+					}
+					
+					j0 = j1;
+				} while(p[j0] != 0);
+				
+				// augment the assignment along the alternating path
+				final int start = j0;
+				do {
+					final int j1 = way[j0];
+					p[j0] = p[j1];
+					j0 = j1;
+				} while(j0 != 0);
+				
+				recordAugmentation(start);
+			}
+		}
+		
+		/**
+		 * Performs the row and the column reduction which results in feasible initial potentials.
+		 * 
+		 * @since 1.6
+		 */
+		private void reduce() {
+			for(int i = 1; i <= n; i++) {
+				double min = Double.POSITIVE_INFINITY;
+				final int row = (i - 1) * m;
+				for(int j = 0; j < m; j++)
+					if(a[row + j] < min)
+						min = a[row + j];
+				
+				u[i] = Double.isInfinite(min) ? 0.0 : min;
+			}
+			
+			// the column reduction is only valid for square problems because the potential of a column that remains unassigned must be zero
+			for(int j = 1; j <= m && n == m; j++) {
+				double min = Double.POSITIVE_INFINITY;
+				for(int i = 1; i <= n; i++) {
+					final double cur = a[(i - 1) * m + (j - 1)] - u[i];
+					if(cur < min)
+						min = cur;
+				}
+				
+				v[j] = Double.isInfinite(min) ? 0.0 : min;
+			}
+			
+			if(steps != null) {
+				final double[] rowValues = new double[n];
+				final double[] colValues = new double[m];
+				System.arraycopy(u, 1, rowValues, 0, n);
+				System.arraycopy(v, 1, colValues, 0, m);
+				
+				// the first reduction is always done along the shorter dimension of the original problem
+				steps.add(new Step(transposed ? StepType.COLUMN_REDUCTION : StepType.ROW_REDUCTION, rowValues, 0.0, null, null));
+				if(n == m)
+					steps.add(new Step(transposed ? StepType.ROW_REDUCTION : StepType.COLUMN_REDUCTION, colValues, 0.0, null, null));
+			}
+		}
+		
+		/**
+		 * Records a cover step.
+		 * 
+		 * @param delta the smallest uncovered element
+		 * @param used the columns of the alternating tree
+		 * @since 1.6
+		 */
+		private void recordCover(final double delta, final boolean[] used) {
+			if(steps == null)
+				return;
+			
+			final boolean[] treeRow = new boolean[n + 1];
+			int treeRows = 0;
+			int treeCols = 0;
+			
+			for(int j = 0; j <= m; j++) {
+				if(used[j]) {
+					treeRow[p[j]] = true;
+					treeRows++;
+					if(j > 0)
+						treeCols++;
+				}
+			}
+			
+			final int[] coveredRows = new int[n - treeRows];
+			final int[] coveredCols = new int[treeCols];
+			int k = 0;
+			for(int i = 1; i <= n; i++)
+				if(!treeRow[i])
+					coveredRows[k++] = i - 1;
+			k = 0;
+			for(int j = 1; j <= m; j++)
+				if(used[j])
+					coveredCols[k++] = j - 1;
+			
+			steps.add(new Step(StepType.COVER, null, delta, transposed ? coveredCols : coveredRows, transposed ? coveredRows : coveredCols));
+		}
+		
+		/**
+		 * Records an augmentation step.
+		 * 
+		 * @param start the unassigned column where the alternating path ends
+		 * @since 1.6
+		 */
+		private void recordAugmentation(final int start) {
+			if(steps == null)
+				return;
+			
+			final List<Integer> path = new ArrayList<Integer>();
+			// the columns of the alternating path are already updated so follow the path using the way array
+			for(int j = start; j != 0; j = way[j])
+				path.add(j);
+			
+			final int[] rows = new int[path.size()];
+			final int[] cols = new int[path.size()];
+			for(int k = 0; k < path.size(); k++) {
+				rows[k] = p[path.get(k)] - 1;
+				cols[k] = path.get(k) - 1;
+			}
+			
+			steps.add(new Step(StepType.AUGMENTATION, null, 0.0, transposed ? cols : rows, transposed ? rows : cols));
+		}
+	
+	}
+
+}
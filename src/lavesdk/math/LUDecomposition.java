@@ -0,0 +1,587 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+/**
+ * Represents the LU decomposition of a square matrix with partial pivoting meaning that <code>PA = LU</code> where <code>P</code> is a
+ * permutation matrix, <code>L</code> is a unit lower triangular matrix and <code>U</code> is an upper triangular matrix.
+ * <br><br>
+ * The decomposition is computed once on a primitive <code>double</code> array when the object is created. Afterwards the object can be
+ * used to solve any number of linear systems <code>Ax = b</code> with costs of <code>O(n^2)</code> per system. The determinant and the inverse
+ * are computed on demand and cached. That means you should keep the decomposition as long as the matrix does not change, for example:
+ * <pre>
+ * final LUDecomposition lu = new LUDecomposition(a);
+ * if(!lu.isSingular()) {
+ *     final double[] x1 = lu.solve(b1);
+ *     final double[] x2 = lu.solve(b2);
+ * }
+ * </pre>
+ * Matrices with at least {@value #BLOCK_THRESHOLD} rows are decomposed blockwise so that the pivot rows of a block are reused while they are
+ * in the cache. The result is the same as of the unblocked algorithm.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class LUDecomposition {
+	
+	/** the dimension of the matrix */
+	private final int n;
+	/** the factors L (below the diagonal, unit diagonal not stored) and U (on and above the diagonal) in row-major order */
+	private final double[] lu;
+	/** the row permutation meaning that row <code>i</code> of <code>PA</code> is row <code>perm[i]</code> of <code>A</code> */
+	private final int[] perm;
+	/** the sign of the permutation (<code>+1</code> or <code>-1</code>) */
+	private final int permSign;
+	/** flag that indicates whether the matrix is singular */
+	private final boolean singular;
+	/** the cached determinant or {@link Double#NaN} if it is not computed yet */
+	private double det;
+	/** the cached inverse or <code>null</code> if it is not computed yet */
+	private double[][] inverse;
+	
+	/** the minimum dimension of a matrix that is decomposed blockwise */
+	public static final int BLOCK_THRESHOLD = 64;
+	/** the size of a block */
+	private static final int BLOCK_SIZE = 32;
+	
+	/**
+	 * Creates the LU decomposition of the given matrix.
+	 * 
+	 * @param a the square matrix (is not modified)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if a is not square</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public LUDecomposition(final double[][] a) throws IllegalArgumentException {
+		this(flatten(a), (a != null) ? a.length : 0);
+	}
+	
+	/**
+	 * Creates the LU decomposition of the given matrix.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Elements that are <code>null</code> are interpreted as <code>0</code>.
+	 * 
+	 * @param a the square matrix (is not modified)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if a is not square</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public LUDecomposition(final Matrix<? extends Number> a) throws IllegalArgumentException {
+		this((a != null && a.isSquare()) ? NumericMatrix.toArray(a, 0.0) : null);
+	}
+	
+	/**
+	 * Creates the LU decomposition of the given matrix.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The given array is not copied and is overwritten by the factors (DO NOT REMOVE, the basis factorization of the {@link RevisedSimplex} uses this
+	 * constructor to avoid additional copies).
+	 * 
+	 * @param a the row-major <code>n</code> x <code>n</code> matrix
+	 * @param n the dimension
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if the length of a is unequal <code>n * n</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	LUDecomposition(final double[] a, final int n) throws IllegalArgumentException {
+		if(a == null || n < 0 || a.length != n * n)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.n = n;
+		this.lu = a;
+		this.perm = new int[n];
+		this.det = Double.NaN;
+		this.inverse = null;
+		
+		for(int i = 0; i < n; i++)
+			perm[i] = i;
+		
+		this.permSign = (n >= BLOCK_THRESHOLD) ? decomposeBlocked() : decompose();
+		this.singular = hasNegligiblePivot();
+	}
+	
+	/**
+	 * Gets the dimension of the decomposed matrix.
+	 * 
+	 * @return the number of rows (and columns)
+	 * @since 1.6
+	 */
+	public int getDimension() {
+		return n;
+	}
+	
+	/**
+	 * Indicates whether the decomposed matrix is (numerically) singular.
+	 * <br><br>
+	 * A matrix is singular if a diagonal element of <code>U</code> is <code>0</code> or negligible compared to the largest element of <code>U</code>.
+	 * 
+	 * @return <code>true</code> if the matrix is singular otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+	
+	/**
+	 * Indicates whether a diagonal element of <code>U</code> is negligible compared to the largest element of <code>U</code>.
+	 * 
+	 * @return <code>true</code> if there is a negligible pivot otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	private boolean hasNegligiblePivot() {
+		double max = 0.0;
+		for(int i = 0; i < n; i++)
+			for(int j = i; j < n; j++)
+				max = Math.max(max, Math.abs(lu[i * n + j]));
+		
+		final double tol = n * Math.ulp(max);
+		for(int i = 0; i < n; i++)
+			if(Math.abs(lu[i * n + i]) <= tol)
+				return true;
+		
+		return false;
+	}
+	
+	/**
+	 * Gets the smallest absolute value of the diagonal elements of <code>U</code> (the pivots).
+	 * 
+	 * @return the smallest pivot
+	 * @since 1.6
+	 */
+	public double getMinimumPivot() {
+		double min = Double.POSITIVE_INFINITY;
+		for(int i = 0; i < n; i++)
+			min = Math.min(min, Math.abs(lu[i * n + i]));
+		
+		return min;
+	}
+	
+	/**
+	 * Gets the determinant of the decomposed matrix.
+	 * 
+	 * @return the determinant
+	 * @since 1.6
+	 */
+	public double getDeterminant() {
+		if(Double.isNaN(det)) {
+			double d = permSign;
+			for(int i = 0; i < n; i++)
+				d *= lu[i * n + i];
+			det = d;
+		}
+		
+		return det;
+	}
+	
+	/**
+	 * Gets the unit lower triangular factor <code>L</code>.
+	 * 
+	 * @return a copy of <code>L</code>
+	 * @since 1.6
+	 */
+	public double[][] getL() {
+		final double[][] l = new double[n][n];
+		for(int i = 0; i < n; i++) {
+			for(int j = 0; j < i; j++)
+				l[i][j] = lu[i * n + j];
+			l[i][i] = 1.0;
+		}
+		
+		return l;
+	}
+	
+	/**
+	 * Gets the upper triangular factor <code>U</code>.
+	 * 
+	 * @return a copy of <code>U</code>
+	 * @since 1.6
+	 */
+	public double[][] getU() {
+		final double[][] u = new double[n][n];
+		for(int i = 0; i < n; i++)
+			for(int j = i; j < n; j++)
+				u[i][j] = lu[i * n + j];
+		
+		return u;
+	}
+	
+	/**
+	 * Gets the row permutation.
+	 * 
+	 * @return the permutation meaning that row <code>i</code> of <code>PA</code> is row <code>getPivot()[i]</code> of <code>A</code>
+	 * @since 1.6
+	 */
+	public int[] getPivot() {
+		return perm.clone();
+	}
+	
+	/**
+	 * Solves the linear system <code>Ax = b</code>.
+	 * 
+	 * @param b the right-hand side (is not modified)
+	 * @return the solution <code>x</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if b is null or its length is unequal the dimension of the matrix</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the matrix is singular</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double[] solve(final double[] b) throws IllegalArgumentException, IllegalStateException {
+		if(b == null || b.length != n)
+			throw new IllegalArgumentException("No valid argument!");
+		if(isSingular())
+			throw new IllegalStateException("Matrix is singular!");
+		
+		final double[] x = b.clone();
+		solveInPlace(x);
+		return x;
+	}
+	
+	/**
+	 * Solves the linear system <code>A^T x = b</code>.
+	 * 
+	 * @param b the right-hand side (is not modified)
+	 * @return the solution <code>x</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if b is null or its length is unequal the dimension of the matrix</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the matrix is singular</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double[] solveTransposed(final double[] b) throws IllegalArgumentException, IllegalStateException {
+		if(b == null || b.length != n)
+			throw new IllegalArgumentException("No valid argument!");
+		if(isSingular())
+			throw new IllegalStateException("Matrix is singular!");
+		
+		final double[] x = b.clone();
+		solveTransposedInPlace(x);
+		return x;
+	}
+	
+	/**
+	 * Solves the linear systems <code>AX = B</code>.
+	 * 
+	 * @param b the right-hand sides as the columns of a <code>n</code> x <code>k</code> matrix (is not modified)
+	 * @return the solutions as the columns of a <code>n</code> x <code>k</code> matrix
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if b is null or its number of rows is unequal the dimension of the matrix</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the matrix is singular</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double[][] solve(final double[][] b) throws IllegalArgumentException, IllegalStateException {
+		if(b == null || b.length != n)
+			throw new IllegalArgumentException("No valid argument!");
+		if(isSingular())
+			throw new IllegalStateException("Matrix is singular!");
+		
+		final int k = (n > 0) ? b[0].length : 0;
+		final double[][] x = new double[n][k];
+		final double[] column = new double[n];
+		
+		for(int c = 0; c < k; c++) {
+			for(int i = 0; i < n; i++)
+				column[i] = b[i][c];
+			solveInPlace(column);
+			for(int i = 0; i < n; i++)
+				x[i][c] = column[i];
+		}
+		
+		return x;
+	}
+	
+	/**
+	 * Gets the inverse of the decomposed matrix.
+	 * <br><br>
+	 * The inverse is computed only once.
+	 * 
+	 * @return a copy of the inverse
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the matrix is singular</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double[][] getInverse() throws IllegalStateException {
+		if(inverse == null) {
+			final double[][] identity = new double[n][n];
+			for(int i = 0; i < n; i++)
+				identity[i][i] = 1.0;
+			inverse = solve(identity);
+		}
+		
+		final double[][] copy = new double[n][];
+		for(int i = 0; i < n; i++)
+			copy[i] = inverse[i].clone();
+		
+		return copy;
+	}
+	
+	/**
+	 * Solves <code>Ax = b</code> in place without checking the arguments.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * DO NOT REMOVE, the basis factorization of the {@link RevisedSimplex} uses this method to avoid additional copies.
+	 * 
+	 * @param b the right-hand side that is replaced by the solution
+	 * @since 1.6
+	 */
+	void solveInPlace(final double[] b) {
+		final double[] y = new double[n];
+		for(int i = 0; i < n; i++)
+			y[i] = b[perm[i]];
+		
+		// L y = Pb
+		for(int i = 0; i < n; i++) {
+			double sum = y[i];
+			final int row = i * n;
+			for(int k = 0; k < i; k++)
+				sum -= lu[row + k] * y[k];
+			y[i] = sum;
+		}
+		
+		// U x = y
+		for(int i = n - 1; i >= 0; i--) {
+			double sum = y[i];
+			final int row = i * n;
+			for(int j = i + 1; j < n; j++)
+				sum -= lu[row + j] * y[j];
+			y[i] = sum / lu[row + i];
+		}
+		
+		System.arraycopy(y, 0, b, 0, n);
+	}
+	
+	/**
+	 * Solves <code>A^T x = b</code> in place without checking the arguments.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * DO NOT REMOVE, the basis factorization of the {@link RevisedSimplex} uses this method to avoid additional copies.
+	 * 
+	 * @param b the right-hand side that is replaced by the solution
+	 * @since 1.6
+	 */
+	void solveTransposedInPlace(final double[] b) {
+		final double[] z = b.clone();
+		
+		// U^T z = b
+		for(int i = 0; i < n; i++) {
+			double sum = z[i];
+			for(int k = 0; k < i; k++)
+				sum -= lu[k * n + i] * z[k];
+			z[i] = sum / lu[i * n + i];
+		}
+		
+		// L^T w = z
+		for(int i = n - 1; i >= 0; i--) {
+			double sum = z[i];
+			for(int k = i + 1; k < n; k++)
+				sum -= lu[k * n + i] * z[k];
+			z[i] = sum;
+		}
+		
+		// x = P^T w
+		for(int i = 0; i < n; i++)
+			b[perm[i]] = z[i];
+	}
+	
+	/**
+	 * Decomposes the matrix using the right-looking algorithm.
+	 * 
+	 * @return the sign of the permutation
+	 * @since 1.6
+	 */
+	private int decompose() {
+		int sign = 1;
+		
+		for(int k = 0; k < n; k++) {
+			if(pivot(k))
+				sign = -sign;
+			eliminate(k, k + 1, n, k + 1, n, true);
+		}
+		
+		return sign;
+	}
+	
+	/**
+	 * Decomposes the matrix blockwise.
+	 * <br><br>
+	 * Each block of {@link #BLOCK_SIZE} columns is factorized first (panel), then the corresponding rows of <code>U</code> are computed and
+	 * finally the remaining submatrix is updated by all pivot rows of the block at once.
+	 * 
+	 * @return the sign of the permutation
+	 * @since 1.6
+	 */
+	private int decomposeBlocked() {
+		int sign = 1;
+		
+		for(int k0 = 0; k0 < n; k0 += BLOCK_SIZE) {
+			final int k1 = Math.min(k0 + BLOCK_SIZE, n);
+			
+			// factorize the panel (the rows are swapped completely so that the remaining columns are permuted too)
+			for(int k = k0; k < k1; k++) {
+				if(pivot(k))
+					sign = -sign;
+				eliminate(k, k + 1, n, k + 1, k1, true);
+			}
+			
+			// compute the block row of U
+			for(int k = k0; k < k1; k++)
+				eliminate(k, k + 1, k1, k1, n, false);
+			
+			// update the trailing submatrix with all pivot rows of the block
+			for(int i = k1; i < n; i++) {
+				final int row = i * n;
+				for(int k = k0; k < k1; k++) {
+					final double l = lu[row + k];
+					if(l == 0.0)
+						continue;
+					
+					final int pivotRow = k * n;
+					for(int j = k1; j < n; j++)
+						lu[row + j] -= l * lu[pivotRow + j];
+				}
+			}
+		}
+		
+		return sign;
+	}
+	
+	/**
+	 * Searches the pivot of the given column and swaps the pivot row with row <code>k</code>.
+	 * 
+	 * @param k the column
+	 * @return <code>true</code> if rows are swapped otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	private boolean pivot(final int k) {
+		int p = k;
+		double max = Math.abs(lu[k * n + k]);
+		for(int i = k + 1; i < n; i++) {
+			final double v = Math.abs(lu[i * n + k]);
+			if(v > max) {
+				max = v;
+				p = i;
+			}
+		}
+		
+		if(p == k)
+			return false;
+		
+		final int rowK = k * n;
+		final int rowP = p * n;
+		for(int j = 0; j < n; j++) {
+			final double tmp = lu[rowK + j];
+			lu[rowK + j] = lu[rowP + j];
+			lu[rowP + j] = tmp;
+		}
+		
+		final int tmp = perm[k];
+		perm[k] = perm[p];
+		perm[p] = tmp;
+		
+		return true;
+	}
+	
+	/**
+	 * Eliminates the entries of column <code>k</code> in the given rows and updates the given columns of these rows.
+	 * 
+	 * @param k the pivot row and column
+	 * @param fromRow the first row (inclusive)
+	 * @param toRow the last row (exclusive)
+	 * @param fromCol the first column to update (inclusive)
+	 * @param toCol the last column to update (exclusive)
+	 * @param computeMultipliers <code>true</code> if the multipliers (the entries of <code>L</code>) have to be computed or <code>false</code> if they are already computed
+	 * @since 1.6
+	 */
+	private void eliminate(final int k, final int fromRow, final int toRow, final int fromCol, final int toCol, final boolean computeMultipliers) {
+		final int pivotRow = k * n;
+		final double pivot = lu[pivotRow + k];
+		
+		for(int i = fromRow; i < toRow; i++) {
+			final int row = i * n;
+			double l = lu[row + k];
+			if(computeMultipliers) {
+				if(pivot == 0.0)
+					continue;
+				l /= pivot;
+				lu[row + k] = l;
+			}
+			
+			if(l == 0.0)
+				continue;
+			
+			for(int j = fromCol; j < toCol; j++)
+				lu[row + j] -= l * lu[pivotRow + j];
+		}
+	}
+	
+	/**
+	 * Converts the given matrix into a row-major array.
+	 * 
+	 * @param a the square matrix
+	 * @return the row-major array
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if a is not square</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static double[] flatten(final double[][] a) throws IllegalArgumentException {
+		if(a == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final int n = a.length;
+		final double[] flat = new double[n * n];
+		for(int i = 0; i < n; i++) {
+			if(a[i] == null || a[i].length != n)
+				throw new IllegalArgumentException("No valid argument!");
+			System.arraycopy(a[i], 0, flat, i * n, n);
+		}
+		
+		return flat;
+	}
+
+}
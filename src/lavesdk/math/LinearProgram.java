@@ -0,0 +1,343 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a linear program (LP) of the form
+ * <pre>
+ * min (or max) c^T x
+ * s.t.         a_i^T x (<=, =, >=) b_i   for each constraint i
+ *              l <= x <= u
+ * </pre>
+ * that can be solved by use of the {@link RevisedSimplex}.
+ * <br><br>
+ * By default each variable has a lower bound of <code>0</code> and an upper bound of {@link Double#POSITIVE_INFINITY}. Use
+ * {@link #setBounds(int, double, double)} to change the bounds of a variable (infinite bounds are allowed so that a variable can be free).
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * // max 3x1 + 5x2 s.t. x1 <= 4, 2x2 <= 12, 3x1 + 2x2 <= 18
+ * final LinearProgram lp = new LinearProgram(2);
+ * lp.setObjective(new double[] { 3, 5 }, true);
+ * lp.addConstraint(new double[] { 1, 0 }, Relation.LESS_EQUAL, 4);
+ * lp.addConstraint(new double[] { 0, 2 }, Relation.LESS_EQUAL, 12);
+ * lp.addConstraint(new double[] { 3, 2 }, Relation.LESS_EQUAL, 18);
+ * 
+ * final RevisedSimplex.Result r = new RevisedSimplex(lp).solve();
+ * // r.getObjectiveValue() is 36.0 and r.getSolution() is {2, 6}
+ * </pre>
+ * 
+ * @see RevisedSimplex
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class LinearProgram {
+	
+	/** the number of variables */
+	private final int n;
+	/** the objective coefficients */
+	private final double[] c;
+	/** flag that indicates whether the objective should be maximized */
+	private boolean maximize;
+	/** the lower bounds of the variables */
+	private final double[] lower;
+	/** the upper bounds of the variables */
+	private final double[] upper;
+	/** the coefficients of the constraints */
+	private final List<double[]> rows;
+	/** the relations of the constraints */
+	private final List<Relation> relations;
+	/** the right-hand sides of the constraints */
+	private final List<Double> rhs;
+	
+	/**
+	 * Creates a new linear program.
+	 * 
+	 * @param n the number of variables
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if n <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public LinearProgram(final int n) throws IllegalArgumentException {
+		if(n < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.n = n;
+		this.c = new double[n];
+		this.maximize = false;
+		this.lower = new double[n];
+		this.upper = new double[n];
+		this.rows = new ArrayList<double[]>();
+		this.relations = new ArrayList<Relation>();
+		this.rhs = new ArrayList<Double>();
+		
+		for(int j = 0; j < n; j++)
+			upper[j] = Double.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Gets the number of variables.
+	 * 
+	 * @return the number of variables
+	 * @since 1.6
+	 */
+	public int getVariableCount() {
+		return n;
+	}
+	
+	/**
+	 * Gets the number of constraints.
+	 * 
+	 * @return the number of constraints
+	 * @since 1.6
+	 */
+	public int getConstraintCount() {
+		return rows.size();
+	}
+	
+	/**
+	 * Sets the objective function.
+	 * 
+	 * @param c the objective coefficients
+	 * @param maximize <code>true</code> if the objective should be maximized or <code>false</code> if it should be minimized
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if c is null</li>
+	 * 		<li>if the length of c is unequal the number of variables</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setObjective(final double[] c, final boolean maximize) throws IllegalArgumentException {
+		if(c == null || c.length != n)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		System.arraycopy(c, 0, this.c, 0, n);
+		this.maximize = maximize;
+	}
+	
+	/**
+	 * Gets the coefficient of a variable in the objective function.
+	 * 
+	 * @param j the index of the variable
+	 * @return the coefficient
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if j is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double getObjective(final int j) throws IndexOutOfBoundsException {
+		return c[j];
+	}
+	
+	/**
+	 * Indicates whether the objective is maximized.
+	 * 
+	 * @return <code>true</code> if the objective is maximized otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public boolean isMaximize() {
+		return maximize;
+	}
+	
+	/**
+	 * Sets the bounds of a variable.
+	 * 
+	 * @param j the index of the variable
+	 * @param lower the lower bound (may be {@link Double#NEGATIVE_INFINITY})
+	 * @param upper the upper bound (may be {@link Double#POSITIVE_INFINITY})
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if j is out of bounds</li>
+	 * </ul>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if lower is greater than upper</li>
+	 * 		<li>if lower or upper is {@link Double#NaN}</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setBounds(final int j, final double lower, final double upper) throws IndexOutOfBoundsException, IllegalArgumentException {
+		if(j < 0 || j >= n)
+			throw new IndexOutOfBoundsException();
+		if(Double.isNaN(lower) || Double.isNaN(upper) || lower > upper || lower == Double.POSITIVE_INFINITY || upper == Double.NEGATIVE_INFINITY)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.lower[j] = lower;
+		this.upper[j] = upper;
+	}
+	
+	/**
+	 * Gets the lower bound of a variable.
+	 * 
+	 * @param j the index of the variable
+	 * @return the lower bound
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if j is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double getLowerBound(final int j) throws IndexOutOfBoundsException {
+		return lower[j];
+	}
+	
+	/**
+	 * Gets the upper bound of a variable.
+	 * 
+	 * @param j the index of the variable
+	 * @return the upper bound
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if j is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double getUpperBound(final int j) throws IndexOutOfBoundsException {
+		return upper[j];
+	}
+	
+	/**
+	 * Adds a constraint.
+	 * 
+	 * @param a the coefficients of the constraint
+	 * @param relation the relation between the left-hand side and the right-hand side
+	 * @param b the right-hand side
+	 * @return the index of the constraint
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if the length of a is unequal the number of variables</li>
+	 * 		<li>if relation is null</li>
+	 * 		<li>if b is not a finite number</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int addConstraint(final double[] a, final Relation relation, final double b) throws IllegalArgumentException {
+		if(a == null || a.length != n || relation == null || Double.isNaN(b) || Double.isInfinite(b))
+			throw new IllegalArgumentException("No valid argument!");
+		
+		rows.add(a.clone());
+		relations.add(relation);
+		rhs.add(b);
+		
+		return rows.size() - 1;
+	}
+	
+	/**
+	 * Adds a constraint for each row of the given matrix.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Elements that are <code>null</code> are interpreted as <code>0</code>.
+	 * 
+	 * @param a the coefficient matrix (the number of columns must be equal to the number of variables)
+	 * @param relation the relation of all constraints
+	 * @param b the right-hand sides (one for each row of the matrix)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * 		<li>if the number of columns of a is unequal the number of variables</li>
+	 * 		<li>if relation is null</li>
+	 * 		<li>if b is null or its length is unequal the number of rows of a</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void addConstraints(final Matrix<? extends Number> a, final Relation relation, final double[] b) throws IllegalArgumentException {
+		if(a == null || a.getColumnCount() != n || relation == null || b == null || b.length != a.getRowCount())
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final double[][] array = NumericMatrix.toArray(a, 0.0);
+		for(int i = 0; i < array.length; i++)
+			addConstraint(array[i], relation, b[i]);
+	}
+	
+	/**
+	 * Gets a coefficient of a constraint.
+	 * 
+	 * @param i the index of the constraint
+	 * @param j the index of the variable
+	 * @return the coefficient
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i or j is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double getCoefficient(final int i, final int j) throws IndexOutOfBoundsException {
+		return rows.get(i)[j];
+	}
+	
+	/**
+	 * Gets the relation of a constraint.
+	 * 
+	 * @param i the index of the constraint
+	 * @return the relation
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public Relation getRelation(final int i) throws IndexOutOfBoundsException {
+		return relations.get(i);
+	}
+	
+	/**
+	 * Gets the right-hand side of a constraint.
+	 * 
+	 * @param i the index of the constraint
+	 * @return the right-hand side
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public double getRightHandSide(final int i) throws IndexOutOfBoundsException {
+		return rhs.get(i);
+	}
+	
+	/**
+	 * The relation between the left-hand side and the right-hand side of a constraint.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public enum Relation {
+		
+		/** <code>a^T x <= b</code> */
+		LESS_EQUAL,
+		
+		/** <code>a^T x = b</code> */
+		EQUAL,
+		
+		/** <code>a^T x >= b</code> */
+		GREATER_EQUAL
+	
+	}
+
+}
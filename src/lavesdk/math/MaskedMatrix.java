@@ -0,0 +1,165 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+/**
+ * Represents a view on a matrix where specific rows and columns are struck out.
+ * <br><br>
+ * This is useful for algorithms that remove rows or columns step by step like the reduction of an assignment problem or
+ * the northwest corner rule of a transportation table. The elements are not copied (see {@link ViewMatrix}). Use
+ * {@link #getSourceRow(int)} and {@link #getSourceColumn(int)} to map the indices of the view to the indices of the source matrix.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * // strike out row 1 and the columns 0 and 3 of a
+ * final MaskedMatrix&lt;Float&gt; view = new MaskedMatrix&lt;Float&gt;(a, new int[] { 1 }, new int[] { 0, 3 });
+ * </pre>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ * @param <T> the type of a matrix element
+ */
+public class MaskedMatrix<T> extends ViewMatrix<T> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** the source row indices of the visible rows */
+	private final int[] rows;
+	/** the source column indices of the visible columns */
+	private final int[] cols;
+	
+	/**
+	 * Creates a new masked view.
+	 * 
+	 * @param source the source matrix
+	 * @param hiddenRows the indices of the rows of the source matrix that should be struck out or <code>null</code>
+	 * @param hiddenColumns the indices of the columns of the source matrix that should be struck out or <code>null</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if all rows or all columns are struck out</li>
+	 * </ul>
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if a hidden row or column is out of the dimension of the source matrix</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public MaskedMatrix(final Matrix<T> source, final int[] hiddenRows, final int[] hiddenColumns) throws IllegalArgumentException, IndexOutOfBoundsException {
+		this(source, new int[][] { visible((source != null) ? source.getRowCount() : 0, hiddenRows), visible((source != null) ? source.getColumnCount() : 0, hiddenColumns) });
+	}
+	
+	/**
+	 * Creates a new masked view.
+	 * 
+	 * @param source the source matrix
+	 * @param visible the visible rows (index <code>0</code>) and the visible columns (index <code>1</code>)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if there are no visible rows or columns</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private MaskedMatrix(final Matrix<T> source, final int[][] visible) throws IllegalArgumentException {
+		super(source, visible[0].length, visible[1].length);
+		
+		this.rows = visible[0];
+		this.cols = visible[1];
+	}
+	
+	/**
+	 * Gets the index of the row in the source matrix.
+	 * 
+	 * @param i the row index of the view
+	 * @return the row index of the source matrix
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if i is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int getSourceRow(final int i) throws IndexOutOfBoundsException {
+		return rows[i];
+	}
+	
+	/**
+	 * Gets the index of the column in the source matrix.
+	 * 
+	 * @param j the column index of the view
+	 * @return the column index of the source matrix
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if j is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int getSourceColumn(final int j) throws IndexOutOfBoundsException {
+		return cols[j];
+	}
+	
+	@Override
+	protected int toSourceRow(int i, int j) {
+		return rows[i];
+	}
+	
+	@Override
+	protected int toSourceColumn(int i, int j) {
+		return cols[j];
+	}
+	
+	/**
+	 * Determines the visible indices.
+	 * 
+	 * @param count the number of indices in the source matrix
+	 * @param hidden the hidden indices or <code>null</code>
+	 * @return the visible indices in ascending order
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if a hidden index is out of bounds</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static int[] visible(final int count, final int[] hidden) throws IndexOutOfBoundsException {
+		final boolean[] isHidden = new boolean[count];
+		int hiddenCount = 0;
+		
+		if(hidden != null) {
+			for(int k : hidden) {
+				if(k < 0 || k >= count)
+					throw new IndexOutOfBoundsException();
+				if(!isHidden[k]) {
+					isHidden[k] = true;
+					hiddenCount++;
+				}
+			}
+		}
+		
+		final int[] indices = new int[count - hiddenCount];
+		int pos = 0;
+		for(int k = 0; k < count; k++)
+			if(!isHidden[k])
+				indices[pos++] = k;
+		
+		return indices;
+	}
+
+}
@@ -75,17 +75,41 @@ public abstract class Matrix<T> implements Serializable {
 	 * @since 1.0
 	 */
 	public Matrix(final int n, final int m, final T defValue) throws IllegalArgumentException {
+		this(n, m, defValue, true);
+	}
+	
+	/**
+	 * Creates a new matrix of size <code>n</code> x <code>m</code>.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Matrices that manage their elements on their own (like the {@link CopyOnWriteMatrix}) do not allocate the default data structure
+	 * and therefore have to override {@link #get(int, int)} and {@link #set(int, int, Object)}.
+	 * 
+	 * @param n the number of rows
+	 * @param m the number of columns
+	 * @param defValue the default element value
+	 * @param allocate <code>true</code> if the default data structure should be created otherwise <code>false</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if n <code>< 1</code></li>
+	 * 		<li>if m <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	Matrix(final int n, final int m, final T defValue, final boolean allocate) throws IllegalArgumentException {
 		if(n < 1 || m < 1)
 			throw new IllegalArgumentException("No valid argument!");
 		
-		this.a = new ArrayList<List<T>>(n);
+		this.a = allocate ? new ArrayList<List<T>>(n) : null;
 		this.n = n;
 		this.m = m;
 		
-		for(int i = 0; i < n; i++) {
-			this.a.add(new ArrayList<T>(m));
-			for(int j = 0; j < m; j++)
-				this.a.get(i).add(defValue);
+		if(allocate) {
+			for(int i = 0; i < n; i++) {
+				this.a.add(new ArrayList<T>(m));
+				for(int j = 0; j < m; j++)
+					this.a.get(i).add(defValue);
+			}
 		}
 	}
 	
@@ -230,7 +254,26 @@ public abstract class Matrix<T> implements Serializable {
 	 * @since 1.0
 	 */
 	public boolean equals(Matrix<?> matrix) {
-		return (matrix != null) ? this.a.equals(matrix.a) : false;
+		if(matrix == null)
+			return false;
+		else if(this.a != null && matrix.a != null)
+			return this.a.equals(matrix.a);
+		else if(n != matrix.n || m != matrix.m)
+			return false;
+		
+		Object o1;
+		Object o2;
+		
+		for(int i = 0; i < n; i++) {
+			for(int j = 0; j < m; j++) {
+				o1 = get(i, j);
+				o2 = matrix.get(i, j);
+				if(o1 == null ? o2 != null : !o1.equals(o2))
+					return false;
+			}
+		}
+		
+		return true;
 	}
 	
 	@Override
@@ -19,6 +19,10 @@
 
 package lavesdk.math;
 
+import java.io.IOException;
+
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents a numeric matrix.
  * <br><br>
@@ -31,6 +35,8 @@ package lavesdk.math;
  * 		<li>{@link #transpose(NumericMatrix, Number)}</li>
  * 		<li>{@link #multiply(NumericMatrix, NumericMatrix)}</li>
  * </ul>
+ * Use {@link #toArray(NumericMatrix, double)} and {@link #fromArray(double[][])} to convert a numeric matrix into a primitive array and vice versa
+ * (for example to use the matrix with the {@link HungarianMethod}).
  * 
  * @author jdornseifer
  * @version 1.0
@@ -40,6 +46,48 @@ package lavesdk.math;
 public class NumericMatrix<T extends Number> extends Matrix<T> {
 
 	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * The handler to store numeric matrices with a {@link CompactCodec}.
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<NumericMatrix<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<NumericMatrix<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, NumericMatrix<?> a) throws IOException {
+			out.writeVarInt(a.n);
+			out.writeVarInt(a.m);
+			for(int i = 0; i < a.n; i++)
+				for(int j = 0; j < a.m; j++)
+					out.writeObject(a.get(i, j));
+		}
+		
+		@Override
+		public NumericMatrix<?> read(CompactCodec.Reader in) throws IOException {
+			final int n = in.readVarInt();
+			final int m = in.readVarInt();
+			final NumericMatrix<Number> a = new NumericMatrix<Number>(n, m);
+			
+			for(int i = 0; i < n; i++)
+				for(int j = 0; j < m; j++)
+					a.set(i, j, (Number)in.readObject());
+			
+			return a;
+		}
+		
+		@Override
+		public NumericMatrix<?> copy(CompactCodec.Copier c, NumericMatrix<?> a) {
+			final NumericMatrix<Number> copy = new NumericMatrix<Number>(a.n, a.m);
+			
+			for(int i = 0; i < a.n; i++)
+				for(int j = 0; j < a.m; j++)
+					copy.set(i, j, (Number)c.copy(a.get(i, j)));
+			
+			return copy;
+		}
+	
+	};
 
 	/**
 	 * Creates a new numeric matrix of size <code>n</code> x <code>m</code> and a default element value of <code>null</code>.
@@ -218,5 +266,60 @@ public class NumericMatrix<T extends Number> extends Matrix<T> {
 		
 		return m;
 	}
+	
+	/**
+	 * Converts the given matrix into a primitive two-dimensional array.
+	 * 
+	 * @param a the n-by-m matrix
+	 * @param nullValue the value of elements that are <code>null</code>
+	 * @return the n-by-m array
+	 * @throws NullPointerException
+	 * <ul>
+	 * 		<li>if a is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static double[][] toArray(final Matrix<? extends Number> a, final double nullValue) throws NullPointerException {
+		final double[][] array = new double[a.getRowCount()][a.getColumnCount()];
+		Number e;
+		
+		for(int i = 0; i < array.length; i++) {
+			for(int j = 0; j < array[i].length; j++) {
+				e = a.get(i, j);
+				array[i][j] = (e != null) ? e.doubleValue() : nullValue;
+			}
+		}
+		
+		return array;
+	}
+	
+	/**
+	 * Converts the given primitive two-dimensional array into a numeric matrix.
+	 * 
+	 * @param array the n-by-m array
+	 * @return the n-by-m matrix
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if array is null or empty</li>
+	 * 		<li>if array is not rectangular</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static NumericMatrix<Double> fromArray(final double[][] array) throws IllegalArgumentException {
+		if(array == null || array.length < 1 || array[0] == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final NumericMatrix<Double> m = new NumericMatrix<Double>(array.length, array[0].length);
+		
+		for(int i = 0; i < array.length; i++) {
+			if(array[i] == null || array[i].length != m.getColumnCount())
+				throw new IllegalArgumentException("array is not rectangular");
+			
+			for(int j = 0; j < array[i].length; j++)
+				m.set(i, j, array[i][j]);
+		}
+		
+		return m;
+	}
 
 }
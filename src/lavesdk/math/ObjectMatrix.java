@@ -19,6 +19,10 @@
 
 package lavesdk.math;
 
+import java.io.IOException;
+
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents an object matrix.
  * <br><br>
@@ -32,6 +36,48 @@ package lavesdk.math;
 public class ObjectMatrix<T> extends Matrix<T> {
 
 	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * The handler to store object matrices with a {@link CompactCodec}.
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<ObjectMatrix<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<ObjectMatrix<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, ObjectMatrix<?> a) throws IOException {
+			out.writeVarInt(a.n);
+			out.writeVarInt(a.m);
+			for(int i = 0; i < a.n; i++)
+				for(int j = 0; j < a.m; j++)
+					out.writeObject(a.get(i, j));
+		}
+		
+		@Override
+		public ObjectMatrix<?> read(CompactCodec.Reader in) throws IOException {
+			final int n = in.readVarInt();
+			final int m = in.readVarInt();
+			final ObjectMatrix<Object> a = new ObjectMatrix<Object>(n, m);
+			
+			for(int i = 0; i < n; i++)
+				for(int j = 0; j < m; j++)
+					a.set(i, j, in.readObject());
+			
+			return a;
+		}
+		
+		@Override
+		public ObjectMatrix<?> copy(CompactCodec.Copier c, ObjectMatrix<?> a) {
+			final ObjectMatrix<Object> copy = new ObjectMatrix<Object>(a.n, a.m);
+			
+			for(int i = 0; i < a.n; i++)
+				for(int j = 0; j < a.m; j++)
+					copy.set(i, j, c.copy(a.get(i, j)));
+			
+			return copy;
+		}
+	
+	};
 
 	/**
 	 * Creates a new object matrix of size <code>n</code> x <code>m</code> and a default element value of <code>null</code>.
@@ -0,0 +1,1200 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+import java.util.Arrays;
+
+/**
+ * Solves a {@link LinearProgram} using the bounded revised simplex method.
+ * <br><br>
+ * Each constraint <code>i</code> is extended by a slack variable <code>s_i</code> (whose bounds reflect the relation of the constraint) so that
+ * the solver works on the equality system <code>Ax + s = b</code>. Nonbasic variables are kept at one of their bounds which means that
+ * (finite) upper bounds are handled implicitly without additional constraints. A feasible basis is determined in a first phase that minimizes
+ * the sum of artificial variables.
+ * <br><br>
+ * The basis matrix is factorized by an {@link LUDecomposition} with partial pivoting on primitive <code>double</code> arrays. Basis changes
+ * are applied as eta matrices (product form) and the basis is refactorized periodically (see {@link #setRefactorizationInterval(int)}).
+ * <br><br>
+ * <b>Pricing</b>:<br>
+ * The entering variable is chosen according to the {@link Pricing} rule (see {@link #setPricing(Pricing)}). {@link Pricing#BLAND} never cycles,
+ * {@link Pricing#DANTZIG} and {@link Pricing#STEEPEST_EDGE} switch temporarily to Bland's rule if the method stalls on a degenerate vertex.
+ * <br><br>
+ * <b>Tableau</b>:<br>
+ * Use {@link #setTableauListener(TableauListener)} to get the simplex tableau of each iteration, for example to display the didactic
+ * tableau view of a linear programming plugin. The tableau is only computed if there is a listener so that large programs can be solved without
+ * this overhead.
+ * 
+ * @see LinearProgram
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class RevisedSimplex {
+	
+	/** the linear program */
+	private final LinearProgram lp;
+	/** the pricing rule */
+	private Pricing pricing;
+	/** the maximum number of iterations or <code>0</code> if there is no limit */
+	private int maxIterations;
+	/** the number of basis updates after which the basis is refactorized */
+	private int refactorInterval;
+	/** the listener that gets the tableau of each iteration or <code>null</code> */
+	private TableauListener listener;
+	
+	/** the tolerance of feasibility and optimality checks */
+	private static final double EPS = 1e-9;
+	/** the smallest absolute value of a pivot element */
+	private static final double PIVOT_EPS = 1e-11;
+	/** the state of a basic variable */
+	private static final byte BASIC = 0;
+	/** the state of a nonbasic variable at its lower bound */
+	private static final byte AT_LOWER = 1;
+	/** the state of a nonbasic variable at its upper bound */
+	private static final byte AT_UPPER = 2;
+	/** the state of a nonbasic free variable (with value zero) */
+	private static final byte AT_ZERO = 3;
+	
+	/**
+	 * Creates a new solver.
+	 * 
+	 * @param lp the linear program
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if lp is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public RevisedSimplex(final LinearProgram lp) throws IllegalArgumentException {
+		if(lp == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.lp = lp;
+		this.pricing = Pricing.DANTZIG;
+		this.maxIterations = 0;
+		this.refactorInterval = 64;
+		this.listener = null;
+	}
+	
+	/**
+	 * Gets the pricing rule.
+	 * 
+	 * @return the pricing rule
+	 * @since 1.6
+	 */
+	public Pricing getPricing() {
+		return pricing;
+	}
+	
+	/**
+	 * Sets the pricing rule.
+	 * <br><br>
+	 * The default rule is {@link Pricing#DANTZIG}.
+	 * 
+	 * @param pricing the pricing rule
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if pricing is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setPricing(final Pricing pricing) throws IllegalArgumentException {
+		if(pricing == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.pricing = pricing;
+	}
+	
+	/**
+	 * Sets the maximum number of iterations.
+	 * 
+	 * @param max the maximum number of iterations or <code>0</code> if the number of iterations should not be limited (default)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if max is <code>< 0</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setMaxIterations(final int max) throws IllegalArgumentException {
+		if(max < 0)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.maxIterations = max;
+	}
+	
+	/**
+	 * Sets the number of basis updates after which the basis is refactorized.
+	 * <br><br>
+	 * The default value is <code>64</code>.
+	 * 
+	 * @param interval the refactorization interval
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if interval is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void setRefactorizationInterval(final int interval) throws IllegalArgumentException {
+		if(interval < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.refactorInterval = interval;
+	}
+	
+	/**
+	 * Sets the listener that gets the simplex tableau of each iteration.
+	 * 
+	 * @param listener the listener or <code>null</code> if the tableau should not be exported
+	 * @since 1.6
+	 */
+	public void setTableauListener(final TableauListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Solves the linear program.
+	 * 
+	 * @return the result
+	 * @since 1.6
+	 */
+	public Result solve() {
+		final Solver solver = new Solver();
+		return solver.run();
+	}
+	
+	/**
+	 * The rules to select the entering variable.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public enum Pricing {
+		
+		/** the variable with the smallest index that improves the objective enters the basis (prevents cycling) */
+		BLAND,
+		
+		/** the variable with the largest reduced cost enters the basis */
+		DANTZIG,
+		
+		/** the variable with the largest reduced cost relative to the norm of its edge direction enters the basis (Goldfarb-Reid reference weights) */
+		STEEPEST_EDGE
+	
+	}
+	
+	/**
+	 * The status of a solved linear program.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public enum Status {
+		
+		/** an optimal solution is found */
+		OPTIMAL,
+		
+		/** the linear program has no feasible solution */
+		INFEASIBLE,
+		
+		/** the objective of the linear program is unbounded */
+		UNBOUNDED,
+		
+		/** the maximum number of iterations is reached */
+		ITERATION_LIMIT,
+		
+		/** the basis became numerically singular */
+		NUMERICAL_FAILURE
+	
+	}
+	
+	/**
+	 * Listener to get the simplex tableau of each iteration.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public interface TableauListener {
+		
+		/**
+		 * Is invoked with the initial tableau of each phase and after each iteration of the method.
+		 * 
+		 * @param tableau the current tableau
+		 * @since 1.6
+		 */
+		public void iteration(final Tableau tableau);
+	
+	}
+	
+	/**
+	 * The simplex tableau of an iteration.
+	 * <br><br>
+	 * The columns of the tableau are the variables <code>x_0, ..., x_n-1</code> of the linear program followed by the slack variables
+	 * <code>s_0, ..., s_m-1</code> of the constraints. That means the column of slack variable <code>s_i</code> has the index <code>n + i</code>.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Tableau {
+		
+		/** the iteration */
+		private final int iteration;
+		/** the phase */
+		private final int phase;
+		/** the variables of the basis (one for each row) */
+		private final int[] basis;
+		/** the entering variable or <code>-1</code> */
+		private final int entering;
+		/** the leaving variable or <code>-1</code> */
+		private final int leaving;
+		/** the tableau <code>B^-1 A</code> */
+		private final double[][] matrix;
+		/** the values of the basic variables */
+		private final double[] values;
+		/** the reduced costs */
+		private final double[] reducedCosts;
+		/** the objective value of the phase */
+		private final double objectiveValue;
+		
+		/**
+		 * Creates a new tableau.
+		 * 
+		 * @param iteration the iteration
+		 * @param phase the phase
+		 * @param basis the basic variables
+		 * @param entering the entering variable or <code>-1</code>
+		 * @param leaving the leaving variable or <code>-1</code>
+		 * @param matrix the tableau
+		 * @param values the values of the basic variables
+		 * @param reducedCosts the reduced costs
+		 * @param objectiveValue the objective value
+		 * @since 1.6
+		 */
+		private Tableau(final int iteration, final int phase, final int[] basis, final int entering, final int leaving, final double[][] matrix, final double[] values, final double[] reducedCosts, final double objectiveValue) {
+			this.iteration = iteration;
+			this.phase = phase;
+			this.basis = basis;
+			this.entering = entering;
+			this.leaving = leaving;
+			this.matrix = matrix;
+			this.values = values;
+			this.reducedCosts = reducedCosts;
+			this.objectiveValue = objectiveValue;
+		}
+		
+		/**
+		 * Gets the iteration of the method.
+		 * 
+		 * @return the iteration (<code>0</code> is the initial tableau)
+		 * @since 1.6
+		 */
+		public int getIteration() {
+			return iteration;
+		}
+		
+		/**
+		 * Gets the phase of the method.
+		 * 
+		 * @return <code>1</code> if a feasible basis is searched or <code>2</code> if the objective of the linear program is optimized
+		 * @since 1.6
+		 */
+		public int getPhase() {
+			return phase;
+		}
+		
+		/**
+		 * Gets the basic variables.
+		 * 
+		 * @return the index of the basic variable of each row (an index <code>>= n + m</code> denotes an artificial variable of phase 1)
+		 * @since 1.6
+		 */
+		public int[] getBasis() {
+			return basis.clone();
+		}
+		
+		/**
+		 * Gets the variable that entered the basis in this iteration.
+		 * 
+		 * @return the index of the entering variable or <code>-1</code> for the initial tableau
+		 * @since 1.6
+		 */
+		public int getEntering() {
+			return entering;
+		}
+		
+		/**
+		 * Gets the variable that left the basis in this iteration.
+		 * 
+		 * @return the index of the leaving variable or <code>-1</code> for the initial tableau or if the entering variable switched its bound
+		 * @since 1.6
+		 */
+		public int getLeaving() {
+			return leaving;
+		}
+		
+		/**
+		 * Gets the tableau <code>B^-1 A</code>.
+		 * 
+		 * @return a copy of the m-by-(n+m) tableau
+		 * @since 1.6
+		 */
+		public double[][] getMatrix() {
+			final double[][] copy = new double[matrix.length][];
+			for(int i = 0; i < matrix.length; i++)
+				copy[i] = matrix[i].clone();
+			return copy;
+		}
+		
+		/**
+		 * Gets the tableau <code>B^-1 A</code> as a numeric matrix that can be displayed for example in a {@link lavesdk.algorithm.plugin.views.MatrixView}.
+		 * 
+		 * @return the m-by-(n+m) tableau
+		 * @since 1.6
+		 */
+		public NumericMatrix<Double> toMatrix() {
+			return NumericMatrix.fromArray(matrix);
+		}
+		
+		/**
+		 * Gets the values of the basic variables.
+		 * 
+		 * @return the value of the basic variable of each row
+		 * @since 1.6
+		 */
+		public double[] getValues() {
+			return values.clone();
+		}
+		
+		/**
+		 * Gets the reduced costs of the variables in the current phase.
+		 * 
+		 * @return the reduced costs of the n+m columns
+		 * @since 1.6
+		 */
+		public double[] getReducedCosts() {
+			return reducedCosts.clone();
+		}
+		
+		/**
+		 * Gets the objective value of the current phase (phase 1: the sum of the artificial variables, phase 2: the objective of the linear program).
+		 * 
+		 * @return the objective value
+		 * @since 1.6
+		 */
+		public double getObjectiveValue() {
+			return objectiveValue;
+		}
+	
+	}
+	
+	/**
+	 * The result of a solved linear program.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Result {
+		
+		/** the status */
+		private final Status status;
+		/** the objective value */
+		private final double objectiveValue;
+		/** the values of the variables */
+		private final double[] x;
+		/** the dual values of the constraints */
+		private final double[] duals;
+		/** the reduced costs of the variables */
+		private final double[] reducedCosts;
+		/** the number of iterations */
+		private final int iterations;
+		
+		/**
+		 * Creates a new result.
+		 * 
+		 * @param status the status
+		 * @param objectiveValue the objective value
+		 * @param x the values of the variables
+		 * @param duals the dual values
+		 * @param reducedCosts the reduced costs
+		 * @param iterations the number of iterations
+		 * @since 1.6
+		 */
+		private Result(final Status status, final double objectiveValue, final double[] x, final double[] duals, final double[] reducedCosts, final int iterations) {
+			this.status = status;
+			this.objectiveValue = objectiveValue;
+			this.x = x;
+			this.duals = duals;
+			this.reducedCosts = reducedCosts;
+			this.iterations = iterations;
+		}
+		
+		/**
+		 * Gets the status of the solved linear program.
+		 * 
+		 * @return the status
+		 * @since 1.6
+		 */
+		public Status getStatus() {
+			return status;
+		}
+		
+		/**
+		 * Gets the objective value.
+		 * 
+		 * @return the objective value (only meaningful if the status is {@link Status#OPTIMAL})
+		 * @since 1.6
+		 */
+		public double getObjectiveValue() {
+			return objectiveValue;
+		}
+		
+		/**
+		 * Gets the values of the variables.
+		 * 
+		 * @return the values of the variables (only meaningful if the status is {@link Status#OPTIMAL})
+		 * @since 1.6
+		 */
+		public double[] getSolution() {
+			return x.clone();
+		}
+		
+		/**
+		 * Gets the dual values (shadow prices) of the constraints.
+		 * 
+		 * @return the dual values (only meaningful if the status is {@link Status#OPTIMAL})
+		 * @since 1.6
+		 */
+		public double[] getDuals() {
+			return duals.clone();
+		}
+		
+		/**
+		 * Gets the reduced costs of the variables.
+		 * 
+		 * @return the reduced costs (only meaningful if the status is {@link Status#OPTIMAL})
+		 * @since 1.6
+		 */
+		public double[] getReducedCosts() {
+			return reducedCosts.clone();
+		}
+		
+		/**
+		 * Gets the number of iterations of both phases.
+		 * 
+		 * @return the number of iterations
+		 * @since 1.6
+		 */
+		public int getIterations() {
+			return iterations;
+		}
+	
+	}
+	
+	/**
+	 * The factorization of the basis matrix.
+	 * <br><br>
+	 * The basis <code>B_0</code> is factorized as <code>PB_0 = LU</code> and each basis change <code>k</code> is stored as an eta matrix <code>E_k</code>
+	 * so that <code>B^-1 = E_k ... E_1 B_0^-1</code>.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class BasisFactor {
+		
+		/** the dimension */
+		private final int m;
+		/** the LU decomposition of the basis when it was factorized the last time */
+		private LUDecomposition lu;
+		/** the pivot rows of the eta matrices */
+		private final int[] etaRow;
+		/** the row indices of the eta columns */
+		private final int[][] etaIdx;
+		/** the values of the eta columns */
+		private final double[][] etaVal;
+		/** the number of eta matrices */
+		private int etaCount;
+		
+		/**
+		 * Creates a new basis factorization.
+		 * 
+		 * @param m the dimension
+		 * @param maxUpdates the maximum number of updates before a refactorization
+		 * @since 1.6
+		 */
+		public BasisFactor(final int m, final int maxUpdates) {
+			this.m = m;
+			this.lu = null;
+			this.etaRow = new int[maxUpdates];
+			this.etaIdx = new int[maxUpdates][];
+			this.etaVal = new double[maxUpdates][];
+			this.etaCount = 0;
+		}
+		
+		/**
+		 * Factorizes the basis.
+		 * 
+		 * @param basis the basic variables
+		 * @param colIdx the row indices of the columns
+		 * @param colVal the values of the columns
+		 * @return <code>true</code> if the basis could be factorized or <code>false</code> if it is singular
+		 * @since 1.6
+		 */
+		public boolean factorize(final int[] basis, final int[][] colIdx, final double[][] colVal) {
+			final double[] b = new double[m * m];
+			for(int k = 0; k < m; k++) {
+				final int j = basis[k];
+				for(int t = 0; t < colIdx[j].length; t++)
+					b[colIdx[j][t] * m + k] = colVal[j][t];
+			}
+			
+			etaCount = 0;
+			lu = new LUDecomposition(b, m);
+			return lu.getMinimumPivot() >= PIVOT_EPS;
+		}
+		
+		/**
+		 * Indicates whether the factorization cannot store further updates.
+		 * 
+		 * @return <code>true</code> if a refactorization is necessary otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		public boolean isFull() {
+			return etaCount >= etaRow.length;
+		}
+		
+		/**
+		 * Computes <code>B^-1 v</code> in place.
+		 * 
+		 * @param v the vector
+		 * @since 1.6
+		 */
+		public void ftran(final double[] v) {
+			if(lu == null)
+				return;
+			
+			lu.solveInPlace(v);
+			
+			for(int k = 0; k < etaCount; k++) {
+				final int r = etaRow[k];
+				final double vr = v[r];
+				if(vr == 0.0)
+					continue;
+				
+				final int[] idx = etaIdx[k];
+				final double[] val = etaVal[k];
+				for(int t = 0; t < idx.length; t++) {
+					if(idx[t] == r)
+						v[r] = val[t] * vr;
+					else
+						v[idx[t]] += val[t] * vr;
+				}
+			}
+		}
+		
+		/**
+		 * Computes <code>B^-T v</code> in place.
+		 * 
+		 * @param v the vector
+		 * @since 1.6
+		 */
+		public void btran(final double[] v) {
+			if(lu == null)
+				return;
+			
+			for(int k = etaCount - 1; k >= 0; k--) {
+				final int[] idx = etaIdx[k];
+				final double[] val = etaVal[k];
+				double sum = 0.0;
+				for(int t = 0; t < idx.length; t++)
+					sum += val[t] * v[idx[t]];
+				v[etaRow[k]] = sum;
+			}
+			
+			lu.solveTransposedInPlace(v);
+		}
+		
+		/**
+		 * Updates the factorization after a basis change.
+		 * 
+		 * @param r the pivot row
+		 * @param alpha the column <code>B^-1 a_q</code> of the entering variable
+		 * @since 1.6
+		 */
+		public void update(final int r, final double[] alpha) {
+			final double pivot = alpha[r];
+			int nz = 0;
+			for(int i = 0; i < m; i++)
+				if(alpha[i] != 0.0 || i == r)
+					nz++;
+			
+			final int[] idx = new int[nz];
+			final double[] val = new double[nz];
+			int t = 0;
+			for(int i = 0; i < m; i++) {
+				if(i == r) {
+					idx[t] = i;
+					val[t++] = 1.0 / pivot;
+				}
+				else if(alpha[i] != 0.0) {
+					idx[t] = i;
+					val[t++] = -alpha[i] / pivot;
+				}
+			}
+			
+			etaRow[etaCount] = r;
+			etaIdx[etaCount] = idx;
+			etaVal[etaCount] = val;
+			etaCount++;
+		}
+		
+	}
+	
+	/**
+	 * The state of a single run of the method.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private class Solver {
+		
+		/** the number of constraints */
+		private final int m;
+		/** the number of structural variables */
+		private final int n;
+		/** the number of variables (structural, slack and artificial) */
+		private final int nt;
+		/** the row indices of the columns */
+		private final int[][] colIdx;
+		/** the values of the columns */
+		private final double[][] colVal;
+		/** the right-hand side */
+		private final double[] b;
+		/** the lower bounds */
+		private final double[] lo;
+		/** the upper bounds */
+		private final double[] up;
+		/** the costs of the current phase */
+		private final double[] cost;
+		/** the values of the variables */
+		private final double[] x;
+		/** the states of the variables */
+		private final byte[] state;
+		/** the basic variable of each row */
+		private final int[] basis;
+		/** the reduced costs */
+		private final double[] d;
+		/** the reference weights of the steepest edge pricing */
+		private final double[] weights;
+		/** the factorization of the basis */
+		private final BasisFactor factor;
+		/** the current phase */
+		private int phase;
+		/** the number of iterations */
+		private int iterations;
+		
+		/**
+		 * Creates a new run.
+		 * 
+		 * @since 1.6
+		 */
+		public Solver() {
+			m = lp.getConstraintCount();
+			n = lp.getVariableCount();
+			nt = n + 2 * m;
+			colIdx = new int[nt][];
+			colVal = new double[nt][];
+			b = new double[m];
+			lo = new double[nt];
+			up = new double[nt];
+			cost = new double[nt];
+			x = new double[nt];
+			state = new byte[nt];
+			basis = new int[m];
+			d = new double[nt];
+			weights = new double[nt];
+			factor = new BasisFactor(m, refactorInterval);
+			phase = 1;
+			iterations = 0;
+			
+			// structural columns
+			final int[] tmpIdx = new int[m];
+			final double[] tmpVal = new double[m];
+			for(int j = 0; j < n; j++) {
+				int nz = 0;
+				for(int i = 0; i < m; i++) {
+					final double a = lp.getCoefficient(i, j);
+					if(a != 0.0) {
+						tmpIdx[nz] = i;
+						tmpVal[nz++] = a;
+					}
+				}
+				colIdx[j] = Arrays.copyOf(tmpIdx, nz);
+				colVal[j] = Arrays.copyOf(tmpVal, nz);
+				lo[j] = lp.getLowerBound(j);
+				up[j] = lp.getUpperBound(j);
+			}
+			
+			// slack columns
+			for(int i = 0; i < m; i++) {
+				final int j = n + i;
+				colIdx[j] = new int[] { i };
+				colVal[j] = new double[] { 1.0 };
+				b[i] = lp.getRightHandSide(i);
+				
+				switch(lp.getRelation(i)) {
+					case LESS_EQUAL:
+						lo[j] = 0.0;
+						up[j] = Double.POSITIVE_INFINITY;
+						break;
+					case GREATER_EQUAL:
+						lo[j] = Double.NEGATIVE_INFINITY;
+						up[j] = 0.0;
+						break;
+					default:
+						lo[j] = 0.0;
+						up[j] = 0.0;
+						break;
+				}
+			}
+		}
+		
+		/**
+		 * Runs the method.
+		 * 
+		 * @return the result
+		 * @since 1.6
+		 */
+		public Result run() {
+			// the nonbasic variables are placed at one of their bounds
+			for(int j = 0; j < n + m; j++) {
+				if(lo[j] > Double.NEGATIVE_INFINITY) {
+					state[j] = AT_LOWER;
+					x[j] = lo[j];
+				}
+				else if(up[j] < Double.POSITIVE_INFINITY) {
+					state[j] = AT_UPPER;
+					x[j] = up[j];
+				}
+				else {
+					state[j] = AT_ZERO;
+					x[j] = 0.0;
+				}
+			}
+			
+			// residual of the constraints
+			final double[] r = b.clone();
+			for(int j = 0; j < n; j++)
+				if(x[j] != 0.0)
+					for(int t = 0; t < colIdx[j].length; t++)
+						r[colIdx[j][t]] -= colVal[j][t] * x[j];
+			
+			// the initial basis consists of a slack variable if the residual is within the bounds of the slack otherwise of an artificial variable
+			for(int i = 0; i < m; i++) {
+				final int s = n + i;
+				final int a = n + m + i;
+				final double rs = r[i];
+				
+				colIdx[a] = new int[] { i };
+				lo[a] = 0.0;
+				
+				if(rs >= lo[s] - EPS && rs <= up[s] + EPS) {
+					colVal[a] = new double[] { 1.0 };
+					up[a] = 0.0;
+					state[a] = AT_LOWER;
+					x[a] = 0.0;
+					state[s] = BASIC;
+					x[s] = rs;
+					basis[i] = s;
+				}
+				else {
+					colVal[a] = new double[] { (rs - x[s] >= 0.0) ? 1.0 : -1.0 };
+					up[a] = Double.POSITIVE_INFINITY;
+					state[a] = BASIC;
+					x[a] = Math.abs(rs - x[s]);
+					basis[i] = a;
+					cost[a] = 1.0;
+				}
+			}
+			
+			if(m > 0 && !factor.factorize(basis, colIdx, colVal))
+				return createResult(Status.NUMERICAL_FAILURE);
+			
+			initWeights();
+			
+			// phase 1: find a feasible basis
+			Status status = iterate();
+			if(status != Status.OPTIMAL)
+				return createResult(status);
+			if(objective() > Math.sqrt(EPS))
+				return createResult(Status.INFEASIBLE);
+			
+			// phase 2: fix the artificial variables and optimize the objective of the linear program
+			phase = 2;
+			for(int j = n + m; j < nt; j++) {
+				cost[j] = 0.0;
+				up[j] = 0.0;
+				if(state[j] != BASIC) {
+					state[j] = AT_LOWER;
+					x[j] = 0.0;
+				}
+			}
+			for(int j = 0; j < n; j++)
+				cost[j] = lp.isMaximize() ? -lp.getObjective(j) : lp.getObjective(j);
+			
+			status = iterate();
+			return createResult(status);
+		}
+		
+		/**
+		 * Performs simplex iterations until the current phase is optimal or another stopping criterion is satisfied.
+		 * 
+		 * @return the status of the phase
+		 * @since 1.6
+		 */
+		private Status iterate() {
+			final double[] alpha = new double[m];
+			final double[] y = new double[m];
+			int degenerateSteps = 0;
+			
+			computeReducedCosts(y);
+			notifyListener(-1, -1);
+			
+			while(true) {
+				if(maxIterations > 0 && iterations >= maxIterations)
+					return Status.ITERATION_LIMIT;
+				
+				// fall back to Bland's rule if the method stalls on a degenerate vertex
+				final boolean bland = pricing == Pricing.BLAND || degenerateSteps > 2 * m + 10;
+				final int q = price(bland);
+				if(q < 0)
+					return Status.OPTIMAL;
+				
+				// direction of the entering variable (+1 increases, -1 decreases)
+				final double dir = (d[q] < 0.0) ? 1.0 : -1.0;
+				
+				Arrays.fill(alpha, 0.0);
+				for(int t = 0; t < colIdx[q].length; t++)
+					alpha[colIdx[q][t]] = colVal[q][t];
+				factor.ftran(alpha);
+				
+				// ratio test
+				double step = up[q] - lo[q];
+				int r = -1;
+				for(int i = 0; i < m; i++) {
+					final double a = dir * alpha[i];
+					if(Math.abs(alpha[i]) < PIVOT_EPS)
+						continue;
+					
+					final int j = basis[i];
+					final double ratio;
+					if(a > 0.0)
+						ratio = (lo[j] > Double.NEGATIVE_INFINITY) ? Math.max(x[j] - lo[j], 0.0) / a : Double.POSITIVE_INFINITY;
+					else
+						ratio = (up[j] < Double.POSITIVE_INFINITY) ? Math.max(up[j] - x[j], 0.0) / -a : Double.POSITIVE_INFINITY;
+					
+					if(ratio < step - EPS || (ratio <= step + EPS && r >= 0 && (bland ? j < basis[r] : Math.abs(alpha[i]) > Math.abs(alpha[r])))) {
+						step = ratio;
+						r = i;
+					}
+				}
+				
+				if(Double.isInfinite(step))
+					return Status.UNBOUNDED;
+				
+				degenerateSteps = (step <= EPS) ? degenerateSteps + 1 : 0;
+				iterations++;
+				
+				// update the values of the variables
+				if(step != 0.0) {
+					for(int i = 0; i < m; i++)
+						x[basis[i]] -= dir * step * alpha[i];
+					x[q] += dir * step;
+				}
+				
+				if(r < 0) {
+					// the entering variable switches its bound, the basis does not change
+					state[q] = (dir > 0.0) ? AT_UPPER : AT_LOWER;
+					x[q] = (dir > 0.0) ? up[q] : lo[q];
+					computeReducedCosts(y);
+					notifyListener(q, -1);
+					continue;
+				}
+				
+				final int p = basis[r];
+				final boolean leavesAtLower = dir * alpha[r] > 0.0;
+				updateWeights(q, r, alpha);
+				
+				// the leaving variable is placed at the bound it reached
+				state[p] = leavesAtLower ? AT_LOWER : AT_UPPER;
+				x[p] = leavesAtLower ? lo[p] : up[p];
+				if(Double.isInfinite(x[p])) {
+					state[p] = AT_ZERO;
+					x[p] = 0.0;
+				}
+				state[q] = BASIC;
+				basis[r] = q;
+				
+				if(factor.isFull()) {
+					if(!factor.factorize(basis, colIdx, colVal))
+						return Status.NUMERICAL_FAILURE;
+					recomputeBasicValues();
+				}
+				else
+					factor.update(r, alpha);
+				
+				computeReducedCosts(y);
+				notifyListener(q, p);
+			}
+		}
+		
+		/**
+		 * Selects the entering variable.
+		 * 
+		 * @param bland <code>true</code> if Bland's rule should be used
+		 * @return the entering variable or <code>-1</code> if the current basis is optimal
+		 * @since 1.6
+		 */
+		private int price(final boolean bland) {
+			int q = -1;
+			double best = 0.0;
+			
+			for(int j = 0; j < nt; j++) {
+				if(state[j] == BASIC || lo[j] == up[j])
+					continue;
+				
+				final double dj = d[j];
+				final boolean eligible;
+				switch(state[j]) {
+					case AT_LOWER:
+						eligible = dj < -EPS;
+						break;
+					case AT_UPPER:
+						eligible = dj > EPS;
+						break;
+					default:
+						eligible = Math.abs(dj) > EPS;
+						break;
+				}
+				
+				if(!eligible)
+					continue;
+				if(bland)
+					return j;
+				
+				final double score = (pricing == Pricing.STEEPEST_EDGE) ? dj * dj / weights[j] : Math.abs(dj);
+				if(score > best) {
+					best = score;
+					q = j;
+				}
+			}
+			
+			return q;
+		}
+		
+		/**
+		 * Computes the simplex multipliers and the reduced costs of the nonbasic variables.
+		 * 
+		 * @param y the array for the simplex multipliers
+		 * @since 1.6
+		 */
+		private void computeReducedCosts(final double[] y) {
+			for(int i = 0; i < m; i++)
+				y[i] = cost[basis[i]];
+			if(m > 0)
+				factor.btran(y);
+			
+			for(int j = 0; j < nt; j++) {
+				if(state[j] == BASIC) {
+					d[j] = 0.0;
+					continue;
+				}
+				
+				double dj = cost[j];
+				for(int t = 0; t < colIdx[j].length; t++)
+					dj -= y[colIdx[j][t]] * colVal[j][t];
+				d[j] = dj;
+			}
+		}
+		
+		/**
+		 * Initializes the reference weights of the steepest edge pricing for the initial basis.
+		 * 
+		 * @since 1.6
+		 */
+		private void initWeights() {
+			if(pricing != Pricing.STEEPEST_EDGE)
+				return;
+			
+			// the initial basis is a diagonal matrix with entries +-1 so the edge directions are the columns themselves
+			for(int j = 0; j < nt; j++) {
+				double w = 1.0;
+				for(int t = 0; t < colVal[j].length; t++)
+					w += colVal[j][t] * colVal[j][t];
+				weights[j] = w;
+			}
+		}
+		
+		/**
+		 * Updates the reference weights of the steepest edge pricing (Goldfarb-Reid).
+		 * 
+		 * @param q the entering variable
+		 * @param r the pivot row
+		 * @param alpha the column of the entering variable
+		 * @since 1.6
+		 */
+		private void updateWeights(final int q, final int r, final double[] alpha) {
+			if(pricing != Pricing.STEEPEST_EDGE)
+				return;
+			
+			final double ar = alpha[r];
+			double gq = 1.0;
+			for(int i = 0; i < m; i++)
+				gq += alpha[i] * alpha[i];
+			
+			// rho = B^-T e_r (row r of B^-1) and w = B^-T alpha
+			final double[] rho = new double[m];
+			rho[r] = 1.0;
+			factor.btran(rho);
+			final double[] w = alpha.clone();
+			factor.btran(w);
+			
+			for(int j = 0; j < nt; j++) {
+				if(state[j] == BASIC || j == q)
+					continue;
+				
+				double arj = 0.0;
+				double ajw = 0.0;
+				for(int t = 0; t < colIdx[j].length; t++) {
+					arj += rho[colIdx[j][t]] * colVal[j][t];
+					ajw += w[colIdx[j][t]] * colVal[j][t];
+				}
+				if(arj == 0.0)
+					continue;
+				
+				final double ratio = arj / ar;
+				weights[j] = Math.max(weights[j] - 2.0 * ratio * ajw + ratio * ratio * gq, 1.0 + ratio * ratio);
+			}
+			
+			weights[basis[r]] = Math.max(gq / (ar * ar), 1.0);
+		}
+		
+		/**
+		 * Recomputes the values of the basic variables (<code>x_B = B^-1 (b - N x_N)</code>) to avoid an accumulation of rounding errors.
+		 * 
+		 * @since 1.6
+		 */
+		private void recomputeBasicValues() {
+			final double[] r = b.clone();
+			for(int j = 0; j < nt; j++)
+				if(state[j] != BASIC && x[j] != 0.0)
+					for(int t = 0; t < colIdx[j].length; t++)
+						r[colIdx[j][t]] -= colVal[j][t] * x[j];
+			
+			factor.ftran(r);
+			for(int i = 0; i < m; i++)
+				x[basis[i]] = r[i];
+		}
+		
+		/**
+		 * Gets the objective value of the current phase.
+		 * 
+		 * @return the objective value
+		 * @since 1.6
+		 */
+		private double objective() {
+			double z = 0.0;
+			for(int j = 0; j < nt; j++)
+				z += cost[j] * x[j];
+			return z;
+		}
+		
+		/**
+		 * Notifies the tableau listener.
+		 * 
+		 * @param entering the entering variable or <code>-1</code>
+		 * @param leaving the leaving variable or <code>-1</code>
+		 * @since 1.6
+		 */
+		private void notifyListener(final int entering, final int leaving) {
+			if(listener == null)
+				return;
+			
+			final int cols = n + m;
+			final double[][] matrix = new double[m][cols];
+			final double[] column = new double[m];
+			for(int j = 0; j < cols; j++) {
+				Arrays.fill(column, 0.0);
+				for(int t = 0; t < colIdx[j].length; t++)
+					column[colIdx[j][t]] = colVal[j][t];
+				factor.ftran(column);
+				for(int i = 0; i < m; i++)
+					matrix[i][j] = column[i];
+			}
+			
+			final double[] values = new double[m];
+			for(int i = 0; i < m; i++)
+				values[i] = x[basis[i]];
+			
+			double z = objective();
+			if(phase == 2 && lp.isMaximize())
+				z = -z;
+			
+			listener.iteration(new Tableau(iterations, phase, basis.clone(), entering, leaving, matrix, values, Arrays.copyOf(d, cols), z));
+		}
+		
+		/**
+		 * Creates the result of the run.
+		 * 
+		 * @param status the status
+		 * @return the result
+		 * @since 1.6
+		 */
+		private Result createResult(final Status status) {
+			final double sign = lp.isMaximize() ? -1.0 : 1.0;
+			final double[] solution = Arrays.copyOf(x, n);
+			final double[] duals = new double[m];
+			final double[] reducedCosts = new double[n];
+			double z = 0.0;
+			
+			for(int j = 0; j < n; j++)
+				z += lp.getObjective(j) * solution[j];
+			
+			if(phase == 2) {
+				for(int i = 0; i < m; i++)
+					duals[i] = cost[basis[i]];
+				if(m > 0)
+					factor.btran(duals);
+				for(int i = 0; i < m; i++)
+					duals[i] *= sign;
+				for(int j = 0; j < n; j++)
+					reducedCosts[j] = sign * d[j];
+			}
+			
+			return new Result(status, z, solution, duals, reducedCosts, iterations);
+		}
+	
+	}
+
+}
@@ -19,6 +19,7 @@
 
 package lavesdk.math;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.text.NumberFormat;
 import java.text.ParseException;
@@ -27,6 +28,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents a mathematical set of elements which means it is not permissible that the set of elements contains:
  * <ul>
@@ -57,6 +60,44 @@ public class Set<E> implements java.util.Set<E>, Cloneable, Serializable {
 	/** the set as a list */
 	private final List<E> set;
 	
+	/**
+	 * The handler to store sets with a {@link CompactCodec}.
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<Set<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<Set<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, Set<?> s) throws IOException {
+			out.writeVarInt(s.set.size());
+			for(Object e : s.set)
+				out.writeObject(e);
+		}
+		
+		@Override
+		public Set<?> read(CompactCodec.Reader in) throws IOException {
+			final int size = in.readVarInt();
+			final Set<Object> s = new Set<Object>(size);
+			
+			// the elements are unique so they can be added without a check
+			for(int i = 0; i < size; i++)
+				s.set.add(in.readObject());
+			
+			return s;
+		}
+		
+		@Override
+		public Set<?> copy(CompactCodec.Copier c, Set<?> s) {
+			final Set<Object> copy = new Set<Object>(s.set.size());
+			
+			for(Object e : s.set)
+				copy.set.add(c.copy(e));
+			
+			return copy;
+		}
+	
+	};
+	
 	/**
 	 * Creates an empty set with an initial capacity of ten.
 	 * 
@@ -0,0 +1,116 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+/**
+ * Represents a view on a rectangular region of a matrix.
+ * <br><br>
+ * The element <code>a(i j)</code> of the view is the element <code>a(rowOffset + i * rowStride, colOffset + j * colStride)</code>
+ * of the source matrix. A stride of <code>1</code> means a contiguous block, larger strides skip rows or columns. The elements are not
+ * copied (see {@link ViewMatrix}).
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * // the third row of a as a 1 x m matrix
+ * final SubMatrix&lt;Float&gt; row = new SubMatrix&lt;Float&gt;(a, 2, 0, 1, a.getColumnCount());
+ * // each second column of a
+ * final SubMatrix&lt;Float&gt; cols = new SubMatrix&lt;Float&gt;(a, 0, 0, a.getRowCount(), (a.getColumnCount() + 1) / 2, 1, 2);
+ * </pre>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ * @param <T> the type of a matrix element
+ */
+public class SubMatrix<T> extends ViewMatrix<T> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** the row offset */
+	private final int rowOffset;
+	/** the column offset */
+	private final int colOffset;
+	/** the row stride */
+	private final int rowStride;
+	/** the column stride */
+	private final int colStride;
+	
+	/**
+	 * Creates a new contiguous submatrix view.
+	 * 
+	 * @param source the source matrix
+	 * @param rowOffset the index of the first row in the source matrix
+	 * @param colOffset the index of the first column in the source matrix
+	 * @param n the number of rows of the view
+	 * @param m the number of columns of the view
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if n <code>< 1</code> or m <code>< 1</code></li>
+	 * 		<li>if the region exceeds the dimension of the source matrix</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public SubMatrix(final Matrix<T> source, final int rowOffset, final int colOffset, final int n, final int m) throws IllegalArgumentException {
+		this(source, rowOffset, colOffset, n, m, 1, 1);
+	}
+	
+	/**
+	 * Creates a new submatrix view.
+	 * 
+	 * @param source the source matrix
+	 * @param rowOffset the index of the first row in the source matrix
+	 * @param colOffset the index of the first column in the source matrix
+	 * @param n the number of rows of the view
+	 * @param m the number of columns of the view
+	 * @param rowStride the distance between two consecutive rows of the view in the source matrix
+	 * @param colStride the distance between two consecutive columns of the view in the source matrix
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if n <code>< 1</code> or m <code>< 1</code></li>
+	 * 		<li>if rowStride <code>< 1</code> or colStride <code>< 1</code></li>
+	 * 		<li>if the region exceeds the dimension of the source matrix</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public SubMatrix(final Matrix<T> source, final int rowOffset, final int colOffset, final int n, final int m, final int rowStride, final int colStride) throws IllegalArgumentException {
+		super(source, n, m);
+		
+		if(rowStride < 1 || colStride < 1 || !source.isInDimension(rowOffset, colOffset) || !source.isInDimension(rowOffset + (n - 1) * rowStride, colOffset + (m - 1) * colStride))
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.rowOffset = rowOffset;
+		this.colOffset = colOffset;
+		this.rowStride = rowStride;
+		this.colStride = colStride;
+	}
+	
+	@Override
+	protected int toSourceRow(int i, int j) {
+		return rowOffset + i * rowStride;
+	}
+	
+	@Override
+	protected int toSourceColumn(int i, int j) {
+		return colOffset + j * colStride;
+	}
+
+}
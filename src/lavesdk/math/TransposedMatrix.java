@@ -0,0 +1,61 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+/**
+ * Represents the transposed view of a matrix meaning that the element <code>a(i j)</code> of the view is the element
+ * <code>a(j i)</code> of the source matrix.
+ * <br><br>
+ * In contrast to {@link NumericMatrix#transpose(NumericMatrix, Number)} the elements are not copied (see {@link ViewMatrix}).
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ * @param <T> the type of a matrix element
+ */
+public class TransposedMatrix<T> extends ViewMatrix<T> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Creates a new transposed view.
+	 * 
+	 * @param source the source matrix
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TransposedMatrix(final Matrix<T> source) throws IllegalArgumentException {
+		super(source, (source != null) ? source.getColumnCount() : 0, (source != null) ? source.getRowCount() : 0);
+	}
+	
+	@Override
+	protected int toSourceRow(int i, int j) {
+		return j;
+	}
+	
+	@Override
+	protected int toSourceColumn(int i, int j) {
+		return i;
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.math;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Represents the base of a view on another matrix (the source matrix).
+ * <br><br>
+ * A view does not copy the elements of its source. Each {@link #get(int, int)} and {@link #set(int, int, Object)} is
+ * mapped to the corresponding element of the source matrix meaning that modifications of the source are visible in the
+ * view and vice versa. A view is a {@link Matrix} so it can be used anywhere a matrix is expected, for example it can be
+ * displayed in a {@link lavesdk.gui.widgets.MatrixEditor}.
+ * <br><br>
+ * <b>Available views</b>:<br>
+ * <ul>
+ * 		<li>{@link TransposedMatrix}</li>
+ * 		<li>{@link SubMatrix}</li>
+ * 		<li>{@link MaskedMatrix}</li>
+ * </ul>
+ * Views can be nested, for example <code>new TransposedMatrix&lt;T&gt;(new MaskedMatrix&lt;T&gt;(a, rows, null))</code>.
+ * <br><br>
+ * <b>Serialization</b>:<br>
+ * A view is serialized as a detached {@link ObjectMatrix} with the visible elements (see {@link #clone()}) so that the source matrix
+ * is not written too. This means that a deserialized view is an independent matrix and not a view anymore.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ * @param <T> the type of a matrix element
+ */
+public abstract class ViewMatrix<T> extends Matrix<T> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** the source matrix */
+	protected final Matrix<T> source;
+	
+	/**
+	 * Creates a new view.
+	 * 
+	 * @param source the source matrix
+	 * @param n the number of rows of the view
+	 * @param m the number of columns of the view
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if n <code>< 1</code></li>
+	 * 		<li>if m <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	ViewMatrix(final Matrix<T> source, final int n, final int m) throws IllegalArgumentException {
+		super(n, m, null, false);
+		
+		if(source == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.source = source;
+	}
+	
+	/**
+	 * Gets the source matrix of the view.
+	 * 
+	 * @return the source matrix
+	 * @since 1.6
+	 */
+	public final Matrix<T> getSource() {
+		return source;
+	}
+	
+	/**
+	 * Gets the row index of the source matrix that is displayed at the given row of the view.
+	 * 
+	 * @param i the row index of the view
+	 * @param j the column index of the view
+	 * @return the row index of the source matrix
+	 * @since 1.6
+	 */
+	protected abstract int toSourceRow(final int i, final int j);
+	
+	/**
+	 * Gets the column index of the source matrix that is displayed at the given column of the view.
+	 * 
+	 * @param i the row index of the view
+	 * @param j the column index of the view
+	 * @return the column index of the source matrix
+	 * @since 1.6
+	 */
+	protected abstract int toSourceColumn(final int i, final int j);
+	
+	@Override
+	public T get(final int i, final int j) throws IndexOutOfBoundsException {
+		if(!isInDimension(i, j))
+			throw new IndexOutOfBoundsException();
+		
+		return source.get(toSourceRow(i, j), toSourceColumn(i, j));
+	}
+	
+	@Override
+	public void set(final int i, final int j, final T value) throws IndexOutOfBoundsException {
+		if(!isInDimension(i, j))
+			throw new IndexOutOfBoundsException();
+		
+		source.set(toSourceRow(i, j), toSourceColumn(i, j), value);
+	}
+	
+	/**
+	 * Clones the view meaning that it is returned a detached {@link ObjectMatrix} with the elements that are currently visible in the view
+	 * (the elements themselves are not copied/cloned).
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The copy does not read through to the source matrix anymore. Use the constructor of the specific view to create another view on the
+	 * same source.
+	 * 
+	 * @return a new matrix with the same elements as <code>this</code> view
+	 * @since 1.6
+	 */
+	@Override
+	public Matrix<T> clone() {
+		final ObjectMatrix<T> copy = new ObjectMatrix<T>(n, m);
+		copy(this, copy);
+		
+		return copy;
+	}
+	
+	/**
+	 * Replaces the view by a detached matrix with the visible elements when the view is serialized.
+	 * 
+	 * @return the detached matrix
+	 * @throws ObjectStreamException
+	 * @since 1.6
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		return clone();
+	}
+
+}
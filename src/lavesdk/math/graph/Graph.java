@@ -66,7 +66,7 @@ import lavesdk.utils.GraphUtils;
  * @see Path
  * @see Trail
  * @author jdornseifer
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  * @param <V> the type of vertex that should be used in the graph
  * @param <E> the type of edge that should be used in the graph
@@ -79,6 +79,8 @@ public class Graph<V extends Vertex, E extends Edge> {
 	private final List<V> vertices;
 	/** the set of vertices which are mapped onto their identifiers */
 	private final Map<Integer, V> verticesByID;
+	/** the set of vertices which are mapped onto their captions */
+	private final Map<String, V> verticesByCaption;
 	/** the set of edges */
 	private final List<E> edges;
 	/** the set of edges which are mapped onto their identifiers */
@@ -102,6 +104,7 @@ public class Graph<V extends Vertex, E extends Edge> {
 		this.adjacencyMatrix = new AdjacencyMatrix<V, E>();
 		this.vertices = new ArrayList<V>();
 		this.verticesByID = new HashMap<Integer, V>();
+		this.verticesByCaption = new HashMap<String, V>();
 		this.edges = new ArrayList<E>();
 		this.edgesByID = new HashMap<Integer, E>();
 		this.type = type;
@@ -153,11 +156,7 @@ public class Graph<V extends Vertex, E extends Edge> {
 	 * @since 1.0
 	 */
 	public final V getVertexByCaption(final String caption) {
-		for(V v : vertices)
-			if(v.getCaption().equals(caption))
-				return v;
-		
-		return null;
+		return verticesByCaption.get(caption);
 	}
 	
 	/**
@@ -317,8 +316,9 @@ public class Graph<V extends Vertex, E extends Edge> {
 		// the index of the vertex is the current size of the vertex list
 		vertex.setIndex(vertices.size());
 		
-		// put vertex mapping
+		// put vertex mappings
 		verticesByID.put(vertex.getID(), vertex);
+		verticesByCaption.put(vertex.getCaption(), vertex);
 		
 		if(vertices.add(vertex)) {
 			afterVertexAdded(vertex);
@@ -347,8 +347,9 @@ public class Graph<V extends Vertex, E extends Edge> {
 		// clear graph reference
 		vertex.setGraph(null);
 		
-		// remove vertex mapping
+		// remove vertex mappings
 		verticesByID.remove(vertex.getID());
+		verticesByCaption.remove(vertex.getCaption());
 		
 		if(vertices.remove(vertex)) {
 			// adjust the indices of the vertices (but only the indices behind the removed vertex because of performance issues)
@@ -648,11 +649,25 @@ public class Graph<V extends Vertex, E extends Edge> {
 	 * @since 1.0
 	 */
 	boolean existVertexCaption(final String caption) {
-		for(V v : vertices)
-			if(v.getCaption().equals(caption))
-				return true;
+		return verticesByCaption.containsKey(caption);
+	}
+	
+	/**
+	 * Updates the caption mapping of the specified vertex after its caption has changed.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param oldCaption the old caption of the vertex
+	 * @param newCaption the new caption of the vertex
+	 * @since 1.6
+	 */
+	void modifyVertexCaption(final String oldCaption, final String newCaption) {
+		final V vertex = verticesByCaption.remove(oldCaption);
 		
-		return false;
+		if(vertex != null)
+			verticesByCaption.put(newCaption, vertex);
 	}
 	
 	/**
@@ -838,6 +853,18 @@ public class Graph<V extends Vertex, E extends Edge> {
 	 * @since 1.0
 	 */
 	protected int containsEdge(final E edge) {
+		// if both vertices are part of the graph then an equal edge can only be stored in the row of the predecessor
+		// (captions are unique so equal vertices are the same objects and undirected edges are stored in both rows)
+		if(existVertices(edge)) {
+			final List<E> candidates = adjacencyMatrix.getAll(edge.getPredecessor().getID(), edge.getSuccessor().getID());
+			if(candidates != null)
+				for(E e : candidates)
+					if(e.equalsIgnoreWeight(edge))
+						return e.getIndex();
+			
+			return -1;
+		}
+		
 		// edges can be compared with equalsIgnoreWeight(...) because this method is final so it cannot be modified
 		for(int i = 0; i < edges.size(); i++)
 			if(edges.get(i).equalsIgnoreWeight(edge))
@@ -1006,22 +1033,8 @@ public class Graph<V extends Vertex, E extends Edge> {
 	 * @since 1.0
 	 */
 	private boolean existVertices(final E edge) {
-		boolean predecessorExists = false;
-		boolean successorExists = false;
-		
-		for(V v : vertices) {
-			// check if graph has a reference of the predecessor and successor vertex
-			if(!predecessorExists && edge.getPredecessor() == v)
-				predecessorExists = true;
-			// ATTENTION: no "else if" because a loop has predecessor == successor!
-			if(!successorExists && edge.getSuccessor() == v)
-				successorExists = true;
-			
-			if(predecessorExists && successorExists)
-				break;
-		}
-		
-		return predecessorExists && successorExists;
+		// check if graph has a reference of the predecessor and successor vertex
+		return verticesByID.get(edge.getPredecessor().getID()) == edge.getPredecessor() && verticesByID.get(edge.getSuccessor().getID()) == edge.getSuccessor();
 	}
 
 }
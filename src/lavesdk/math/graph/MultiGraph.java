@@ -30,7 +30,7 @@ import lavesdk.utils.GraphUtils;
  * @see Graph
  * @see GraphUtils
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class MultiGraph<V extends Vertex, E extends Edge> extends Graph<V, E> {
@@ -48,12 +48,10 @@ public class MultiGraph<V extends Vertex, E extends Edge> extends Graph<V, E> {
 	@Override
 	protected final int containsEdge(E edge) {
 		// check for reference because you can have multiple edges between two vertices that have
-		// equal attributes
-		for(int i = 0; i < getSize(); i++)
-			if(getEdge(i) == edge)
-				return i;
+		// equal attributes (the index of an edge is the position in the list of edges as long as it is part of the graph)
+		final int index = edge.getIndex();
 		
-		return -1;
+		return (index >= 0 && index < getSize() && getEdge(index) == edge) ? index : -1;
 	}
 
 }
@@ -19,8 +19,12 @@
 
 package lavesdk.math.graph;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents a path in a {@link Graph} using the identifiers of the vertices.
  * <br><br>
@@ -47,6 +51,36 @@ public class PathByID<V extends Vertex> extends WalkByID<V> {
 	/** indicates whether the path is closed */
 	private boolean closed;
 	
+	/**
+	 * The handler to store paths with a {@link CompactCodec}.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The associated graph is not stored (see {@link #setGraph(Graph)}).
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<PathByID<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<PathByID<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, PathByID<?> p) throws IOException {
+			writeVertices(out, p);
+			out.writeBoolean(p.closed);
+		}
+		
+		@Override
+		public PathByID<?> read(CompactCodec.Reader in) throws IOException {
+			final List<Integer> vertices = readIDs(in);
+			final float weight = in.readFloat();
+			return new PathByID<Vertex>(vertices, weight, in.readBoolean());
+		}
+		
+		@Override
+		public PathByID<?> copy(CompactCodec.Copier c, PathByID<?> p) {
+			return new PathByID<Vertex>(new ArrayList<Integer>(p.vertices), p.getWeight(), p.closed);
+		}
+	
+	};
+	
 	/**
 	 * Creates an empty path.
 	 * 
@@ -93,6 +127,20 @@ public class PathByID<V extends Vertex> extends WalkByID<V> {
 		super(graph, path);
 	}
 	
+	/**
+	 * Creates a path without an associated graph from its stored data.
+	 * 
+	 * @param vertices the list of identifiers of the vertices of the path
+	 * @param weight the weight of the path
+	 * @param closed <code>true</code> if the path is closed otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	private PathByID(final List<Integer> vertices, final float weight, final boolean closed) {
+		super(vertices, weight);
+		
+		this.closed = closed;
+	}
+	
 	/**
 	 * Adds a new vertex to the path.
 	 * 
@@ -19,9 +19,12 @@
 
 package lavesdk.math.graph;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents a trail in a {@link Graph} using the identifiers of the vertices.
  * <br><br>
@@ -49,6 +52,36 @@ public class TrailByID<V extends Vertex> extends WalkByID<V> {
 	/** list of edge identifiers to detect already existing edges */
 	private final List<Integer> edges;
 	
+	/**
+	 * The handler to store trails with a {@link CompactCodec}.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The associated graph is not stored (see {@link #setGraph(Graph)}).
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<TrailByID<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<TrailByID<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, TrailByID<?> t) throws IOException {
+			writeVertices(out, t);
+			writeIDs(out, t.edges);
+		}
+		
+		@Override
+		public TrailByID<?> read(CompactCodec.Reader in) throws IOException {
+			final List<Integer> vertices = readIDs(in);
+			final float weight = in.readFloat();
+			return new TrailByID<Vertex>(vertices, weight, readIDs(in));
+		}
+		
+		@Override
+		public TrailByID<?> copy(CompactCodec.Copier c, TrailByID<?> t) {
+			return new TrailByID<Vertex>(new ArrayList<Integer>(t.vertices), t.getWeight(), new ArrayList<Integer>(t.edges));
+		}
+	
+	};
+	
 	/**
 	 * Creates an empty trail.
 	 * 
@@ -103,6 +136,20 @@ public class TrailByID<V extends Vertex> extends WalkByID<V> {
 				add(v);
 	}
 	
+	/**
+	 * Creates a trail without an associated graph from its stored data.
+	 * 
+	 * @param vertices the list of identifiers of the vertices of the trail
+	 * @param weight the weight of the trail
+	 * @param edges the list of identifiers of the edges of the trail
+	 * @since 1.6
+	 */
+	private TrailByID(final List<Integer> vertices, final float weight, final List<Integer> edges) {
+		super(vertices, weight);
+		
+		this.edges = edges;
+	}
+	
 	/**
 	 * Adds a new vertex to the path.
 	 * 
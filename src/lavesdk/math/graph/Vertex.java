@@ -49,7 +49,7 @@ import lavesdk.serialization.Serializer;
  * @see Graph
  * @see Serializable
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class Vertex implements Serializable {
@@ -150,6 +150,8 @@ public class Vertex implements Serializable {
 		if(graph != null && graph.existVertexCaption(caption))
 			return;
 		
+		if(graph != null)
+			graph.modifyVertexCaption(this.caption, caption);
 		this.caption = caption;
 	}
 	
@@ -324,8 +326,11 @@ public class Vertex implements Serializable {
 		// only change the caption if the deserialized caption is valid otherwise retain the old one
 		// a caption is valid if the vertex is not added to a graph yet or if there is no other vertex
 		// in the related graph with this caption
-		if(graph == null || !graph.existVertexCaption(caption))
+		if(graph == null || !graph.existVertexCaption(caption)) {
+			if(graph != null)
+				graph.modifyVertexCaption(this.caption, caption);
 			this.caption = caption;
+		}
 	}
 	
 	/**
@@ -19,10 +19,13 @@
 
 package lavesdk.math.graph;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import lavesdk.serialization.CompactCodec;
+
 /**
  * Represents a walk in a {@link Graph} using the identifiers of the vertices.
  * <br><br>
@@ -54,6 +57,34 @@ public class WalkByID<V extends Vertex> implements Cloneable, Serializable {
 	/** the weight of the walk */
 	private float weight;
 	
+	/**
+	 * The handler to store walks with a {@link CompactCodec}.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The associated graph is not stored (see {@link #setGraph(Graph)}).
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<WalkByID<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<WalkByID<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, WalkByID<?> w) throws IOException {
+			writeVertices(out, w);
+		}
+		
+		@Override
+		public WalkByID<?> read(CompactCodec.Reader in) throws IOException {
+			final List<Integer> vertices = readIDs(in);
+			return new WalkByID<Vertex>(vertices, in.readFloat());
+		}
+		
+		@Override
+		public WalkByID<?> copy(CompactCodec.Copier c, WalkByID<?> w) {
+			return new WalkByID<Vertex>(new ArrayList<Integer>(w.vertices), w.weight);
+		}
+	
+	};
+	
 	/**
 	 * Creates an empty walk.
 	 * 
@@ -110,6 +141,23 @@ public class WalkByID<V extends Vertex> implements Cloneable, Serializable {
 				add(v);
 	}
 	
+	/**
+	 * Creates a walk without an associated graph from its stored data.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS CONSTRUCTOR</i>!
+	 * 
+	 * @param vertices the list of identifiers of the vertices of the walk
+	 * @param weight the weight of the walk
+	 * @since 1.6
+	 */
+	WalkByID(final List<Integer> vertices, final float weight) {
+		this.vertices = vertices;
+		this.graph = null;
+		this.weight = weight;
+	}
+	
 	/**
 	 * Sets the associated graph of the walk.
 	 * <br><br>
@@ -447,6 +495,52 @@ public class WalkByID<V extends Vertex> implements Cloneable, Serializable {
 			
 	}
 	
+	/**
+	 * Writes the vertices and the weight of the given walk.
+	 * 
+	 * @param out the writer
+	 * @param w the walk
+	 * @since 1.6
+	 */
+	static void writeVertices(final CompactCodec.Writer out, final WalkByID<?> w) {
+		writeIDs(out, w.vertices);
+		out.writeFloat(w.weight);
+	}
+	
+	/**
+	 * Writes a list of identifiers.
+	 * 
+	 * @param out the writer
+	 * @param ids the identifiers
+	 * @since 1.6
+	 */
+	static void writeIDs(final CompactCodec.Writer out, final List<Integer> ids) {
+		out.writeVarInt(ids.size());
+		for(Integer id : ids)
+			out.writeInt(id.intValue());
+	}
+	
+	/**
+	 * Reads a list of identifiers that is written with {@link #writeIDs(CompactCodec.Writer, List)}.
+	 * 
+	 * @param in the reader
+	 * @return the identifiers
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data is corrupted</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static List<Integer> readIDs(final CompactCodec.Reader in) throws IOException {
+		final int size = in.readVarInt();
+		final List<Integer> ids = new ArrayList<Integer>(size);
+		
+		for(int i = 0; i < size; i++)
+			ids.add(in.readInt());
+		
+		return ids;
+	}
+	
 	/**
 	 * Updates the weight of the walk.
 	 * <br><br>
@@ -19,6 +19,7 @@
 
 package lavesdk.math.graph.matching;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -28,6 +29,7 @@ import lavesdk.math.Set;
 import lavesdk.math.graph.Edge;
 import lavesdk.math.graph.Graph;
 import lavesdk.math.graph.Vertex;
+import lavesdk.serialization.CompactCodec;
 
 /**
  * Represents a matching using the identifiers of {@link Edge}s.
@@ -56,6 +58,48 @@ public class MatchingByID<E extends Edge> extends Set<Integer> implements Serial
 	/** the associated graph (may not be serialized) */
 	private transient Graph<? extends Vertex, E> graph;
 	
+	/**
+	 * The handler to store matchings with a {@link CompactCodec}.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The associated graph is not stored (see {@link #setGraph(Graph)}).
+	 * 
+	 * @since 1.6
+	 */
+	public static final CompactCodec.TypeHandler<MatchingByID<?>> COMPACT_HANDLER = new CompactCodec.TypeHandler<MatchingByID<?>>() {
+		
+		@Override
+		public void write(CompactCodec.Writer out, MatchingByID<?> m) throws IOException {
+			out.writeVarInt(m.size());
+			for(Integer id : m)
+				out.writeInt(id.intValue());
+			out.writeVarInt(m.vertices.size());
+			for(Integer id : m.vertices)
+				out.writeInt(id.intValue());
+		}
+		
+		@Override
+		public MatchingByID<?> read(CompactCodec.Reader in) throws IOException {
+			final int edgeCount = in.readVarInt();
+			final List<Integer> edges = new ArrayList<Integer>(edgeCount);
+			for(int i = 0; i < edgeCount; i++)
+				edges.add(in.readInt());
+			
+			final int vertexCount = in.readVarInt();
+			final List<Integer> vertices = new ArrayList<Integer>(vertexCount);
+			for(int i = 0; i < vertexCount; i++)
+				vertices.add(in.readInt());
+			
+			return new MatchingByID<Edge>(edges, vertices);
+		}
+		
+		@Override
+		public MatchingByID<?> copy(CompactCodec.Copier c, MatchingByID<?> m) {
+			return new MatchingByID<Edge>(new ArrayList<Integer>(m), new ArrayList<Integer>(m.vertices));
+		}
+	
+	};
+	
 	/**
 	 * Creates an empty matching.
 	 * 
@@ -90,6 +134,23 @@ public class MatchingByID<E extends Edge> extends Set<Integer> implements Serial
 			add(id);
 	}
 	
+	/**
+	 * Creates a matching without an associated graph from its stored data.
+	 * 
+	 * @param edges the identifiers of the edges of the matching
+	 * @param vertices the identifiers of the saturated vertices
+	 * @since 1.6
+	 */
+	private MatchingByID(final List<Integer> edges, final List<Integer> vertices) {
+		super(edges.size());
+		
+		this.vertices = vertices;
+		this.graph = null;
+		
+		for(Integer id : edges)
+			super.add(id);
+	}
+	
 	/**
 	 * Sets the associated graph of the matching.
 	 * <br><br>
@@ -0,0 +1,275 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pool of reusable byte buffers that are used to freeze the data of {@link Serializer}s.
+ * <br><br>
+ * Freezing the data with a new {@link ByteArrayOutputStream} each time means that the buffer grows by doubling and copying
+ * until it can take up the data. If many serializers of similar size are frozen one after another (like the states of an algorithm)
+ * a pool avoids this allocation churn. The pool tracks the size of the recent encodings as a slowly decaying maximum and uses it as the
+ * initial capacity of a new buffer so that threads with differently sized encodings that share a pool do not let the size flip between
+ * them. Buffers that are much larger than the recent encodings are not returned to the pool so that the memory usage adapts to the
+ * data.
+ * <br><br>
+ * A serializer uses a pool if it overrides {@link Serializer#getBufferPool()}. The pool is thread-safe.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class BufferPool {
+	
+	/** the buffers that are currently not in use */
+	private final List<byte[]> buffers;
+	/** the maximum number of buffers that are kept */
+	private final int maxBuffers;
+	/** the maximum size of the recent encodings (decays slowly if the encodings become smaller) */
+	private int sizeHint;
+	
+	/** the minimum size of a buffer */
+	private static final int MIN_SIZE = 256;
+	/** the factor a buffer may exceed the size hint before it is discarded */
+	private static final int SHRINK_FACTOR = 4;
+	/** the shift of the difference between the size hint and a smaller encoding by which the size hint decays */
+	private static final int DECAY_SHIFT = 4;
+	
+	/**
+	 * Creates a new pool that keeps up to two buffers.
+	 * 
+	 * @since 1.6
+	 */
+	public BufferPool() {
+		this(2);
+	}
+	
+	/**
+	 * Creates a new pool.
+	 * 
+	 * @param maxBuffers the maximum number of buffers that are kept (the number of threads that freeze data concurrently)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if maxBuffers is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public BufferPool(final int maxBuffers) throws IllegalArgumentException {
+		if(maxBuffers < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.buffers = new ArrayList<byte[]>(maxBuffers);
+		this.maxBuffers = maxBuffers;
+		this.sizeHint = 0;
+	}
+	
+	/**
+	 * Gets the maximum size of the recent encodings that were released to the pool.
+	 * 
+	 * @return the size in bytes
+	 * @since 1.6
+	 */
+	public synchronized int getSizeHint() {
+		return sizeHint;
+	}
+	
+	/**
+	 * Acquires a buffer that can take up at least the size of the recent encodings.
+	 * <br><br>
+	 * The smallest pooled buffer that is large enough is used. Buffers that are too small remain in the pool for smaller encodings.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Release the buffer with {@link #release(byte[], int)} when the encoding is done.
+	 * 
+	 * @return the buffer
+	 * @since 1.6
+	 */
+	public byte[] acquire() {
+		final int size;
+		
+		synchronized(this) {
+			// a quarter more than the last encoding so that slightly growing data does not need to grow the buffer
+			size = Math.max(MIN_SIZE, sizeHint + (sizeHint >> 2));
+			
+			int best = -1;
+			for(int i = 0; i < buffers.size(); i++)
+				if(buffers.get(i).length >= size && (best < 0 || buffers.get(i).length < buffers.get(best).length))
+					best = i;
+			
+			if(best >= 0)
+				return buffers.remove(best);
+		}
+		
+		return new byte[size];
+	}
+	
+	/**
+	 * Releases a buffer that was acquired with {@link #acquire()}. The buffer must not be used afterwards.
+	 * 
+	 * @param buffer the buffer (this can be a grown copy of the acquired buffer)
+	 * @param used the number of bytes of the encoding
+	 * @since 1.6
+	 */
+	public synchronized void release(final byte[] buffer, final int used) {
+		if(buffer == null)
+			return;
+		
+		// a larger encoding raises the hint immediately whereas a smaller one only lets it decay slowly
+		if(used >= sizeHint)
+			sizeHint = used;
+		else
+			sizeHint -= (sizeHint - Math.max(0, used)) >> DECAY_SHIFT;
+		
+		// discard buffers that are much larger than the recent encodings
+		if(buffer.length > SHRINK_FACTOR * Math.max(MIN_SIZE, sizeHint))
+			return;
+		
+		if(buffers.size() < maxBuffers) {
+			buffers.add(buffer);
+			return;
+		}
+		
+		// the pool is full so the buffer replaces the smallest buffer if it is larger
+		int smallest = 0;
+		for(int i = 1; i < buffers.size(); i++)
+			if(buffers.get(i).length < buffers.get(smallest).length)
+				smallest = i;
+		
+		if(buffers.get(smallest).length < buffer.length)
+			buffers.set(smallest, buffer);
+	}
+	
+	/**
+	 * Opens a byte array stream whose buffer is acquired from the pool.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Release the stream with {@link #release(ByteArrayOutputStream)} when the encoding is done.
+	 * 
+	 * @return the stream
+	 * @since 1.6
+	 */
+	public ByteArrayOutputStream openStream() {
+		return new PooledStream(acquire());
+	}
+	
+	/**
+	 * Opens a stream whose buffer can be accessed by the codecs of the LAVESDK so that several encodings can be written to one buffer.
+	 * <br><br>
+	 * <b>Attention</b>:<br>
+	 * This is only possible from the inside of the LAVESDK or more precisely from the inside of this package!<br>
+	 * <i>DO NOT REMOVE THE PACKAGE VISIBILITY OF THIS METHOD</i>!
+	 * 
+	 * @param pool the pool the buffer is acquired from or <code>null</code> if the stream should not use a pool
+	 * @return the stream (release it with {@link #release(ByteArrayOutputStream)} if a pool is used)
+	 * @since 1.6
+	 */
+	static PooledStream openStream(final BufferPool pool) {
+		return new PooledStream((pool != null) ? pool.acquire() : new byte[MIN_SIZE]);
+	}
+	
+	/**
+	 * Releases the buffer of a stream that was opened with {@link #openStream()}. The stream must not be used afterwards.
+	 * <br><br>
+	 * If the stream is reset in between the size hint of the pool is updated with the largest content of the stream.
+	 * 
+	 * @param stream the stream (streams that are not opened by a pool are ignored)
+	 * @since 1.6
+	 */
+	public void release(final ByteArrayOutputStream stream) {
+		if(stream instanceof PooledStream)
+			release(((PooledStream)stream).getBuffer(), Math.max(((PooledStream)stream).maxCount, stream.size()));
+	}
+	
+	/**
+	 * A byte array stream that writes to a buffer of the pool.
+	 * <br><br>
+	 * The codecs of this package write their encodings directly into the buffer of the stream (see {@link #getBuffer()} and
+	 * {@link #setBuffer(byte[], int)}).
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	static class PooledStream extends ByteArrayOutputStream {
+		
+		/** the largest content of the stream before it was reset */
+		private int maxCount;
+		
+		/**
+		 * Creates a new stream.
+		 * 
+		 * @param buffer the initial buffer
+		 * @since 1.6
+		 */
+		public PooledStream(final byte[] buffer) {
+			super(0);
+			
+			buf = buffer;
+			maxCount = 0;
+		}
+		
+		@Override
+		public synchronized void reset() {
+			maxCount = Math.max(maxCount, count);
+			super.reset();
+		}
+		
+		/**
+		 * Gets the current buffer of the stream.
+		 * 
+		 * @return the buffer
+		 * @since 1.6
+		 */
+		byte[] getBuffer() {
+			return buf;
+		}
+		
+		/**
+		 * Sets the buffer of the stream after bytes are written directly into it.
+		 * 
+		 * @param buffer the buffer (this can be a grown copy of the current buffer)
+		 * @param count the number of valid bytes in the buffer
+		 * @since 1.6
+		 */
+		void setBuffer(final byte[] buffer, final int count) {
+			this.buf = buffer;
+			this.count = count;
+		}
+		
+		/**
+		 * Overwrites an integer that is already written to the stream (like {@link java.io.DataOutputStream#writeInt(int)}).
+		 * 
+		 * @param pos the position of the integer
+		 * @param v the value
+		 * @since 1.6
+		 */
+		void writeIntAt(final int pos, final int v) {
+			buf[pos] = (byte)(v >>> 24);
+			buf[pos + 1] = (byte)(v >>> 16);
+			buf[pos + 2] = (byte)(v >>> 8);
+			buf[pos + 3] = (byte)v;
+		}
+	
+	}
+
+}
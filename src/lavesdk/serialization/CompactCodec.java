@@ -0,0 +1,1457 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary codec.
+ * <br><br>
+ * In contrast to the Java serialization the codec does not write class descriptors. Each object is stored as a tag byte followed by its
+ * content whereby integers and lengths are written as variable-length integers and each string is written only once (further
+ * occurrences are back-references). Mutable objects like lists or maps that are referenced several times are also written only once
+ * so that shared references are preserved.
+ * <br><br>
+ * The codec supports the wrapper types of the primitive types, {@link String}s, <code>int[]</code>, <code>float[]</code>,
+ * <code>double[]</code>, {@link ArrayList}s, {@link LinkedList}s, {@link HashMap}s, {@link LinkedHashMap}s, {@link HashSet}s and
+ * {@link LinkedHashSet}s natively. Further types can be registered with a {@link TypeHandler} (see {@link #register(Class, TypeHandler)}).
+ * All other objects (including sub classes of the supported types) are stored using the Java serialization, that means with the object
+ * output stream of the owner serializer.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * References between an object that is stored using the Java serialization and an object that is stored natively are not preserved.
+ * <br><br>
+ * Use {@link #snapshot(Object)} to take a copy of mutable objects that can be encoded later for example by a background thread.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final CompactCodec codec = new CompactCodec();
+ * codec.register(Set.class, Set.COMPACT_HANDLER);
+ * codec.register(ObjectMatrix.class, ObjectMatrix.COMPACT_HANDLER);
+ * </pre>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public class CompactCodec implements DataCodec {
+	
+	/** the registered type handlers */
+	private final Map<Class<?>, TypeHandler<?>> handlers;
+	/** the registered type handlers by class name */
+	private final Map<String, TypeHandler<?>> handlersByName;
+	
+	/** the first byte of an encoded object */
+	private static final byte MAGIC = (byte)0xC0;
+	/** the version of the format */
+	private static final byte VERSION = 1;
+	/** the maximum length of the header (magic, version and the length of the content as a variable-length integer) */
+	private static final int MAX_HEADER_LENGTH = 7;
+	
+	/** tag of <code>null</code> */
+	private static final byte TAG_NULL = 0;
+	/** tag of an {@link Integer} */
+	private static final byte TAG_INT = 1;
+	/** tag of a {@link Long} */
+	private static final byte TAG_LONG = 2;
+	/** tag of a {@link Short} */
+	private static final byte TAG_SHORT = 3;
+	/** tag of a {@link Byte} */
+	private static final byte TAG_BYTE = 4;
+	/** tag of a {@link Float} */
+	private static final byte TAG_FLOAT = 5;
+	/** tag of a {@link Double} */
+	private static final byte TAG_DOUBLE = 6;
+	/** tag of {@link Boolean#TRUE} */
+	private static final byte TAG_TRUE = 7;
+	/** tag of {@link Boolean#FALSE} */
+	private static final byte TAG_FALSE = 8;
+	/** tag of a {@link Character} */
+	private static final byte TAG_CHAR = 9;
+	/** tag of a string that occurs the first time */
+	private static final byte TAG_STRING = 10;
+	/** tag of a string that is already written */
+	private static final byte TAG_STRING_REF = 11;
+	/** tag of an object that is already written */
+	private static final byte TAG_REF = 12;
+	/** tag of an {@link ArrayList} */
+	private static final byte TAG_ARRAY_LIST = 13;
+	/** tag of a {@link LinkedList} */
+	private static final byte TAG_LINKED_LIST = 14;
+	/** tag of a {@link HashMap} */
+	private static final byte TAG_HASH_MAP = 15;
+	/** tag of a {@link LinkedHashMap} */
+	private static final byte TAG_LINKED_HASH_MAP = 16;
+	/** tag of a {@link HashSet} */
+	private static final byte TAG_HASH_SET = 17;
+	/** tag of a {@link LinkedHashSet} */
+	private static final byte TAG_LINKED_HASH_SET = 18;
+	/** tag of an <code>int[]</code> */
+	private static final byte TAG_INT_ARRAY = 19;
+	/** tag of a <code>float[]</code> */
+	private static final byte TAG_FLOAT_ARRAY = 20;
+	/** tag of a <code>double[]</code> */
+	private static final byte TAG_DOUBLE_ARRAY = 21;
+	/** tag of an object that is stored with a registered type handler */
+	private static final byte TAG_CUSTOM = 22;
+	/** tag of an object that is stored using the Java serialization */
+	private static final byte TAG_SERIALIZED = 23;
+	
+	/**
+	 * Creates a new codec without registered type handlers.
+	 * 
+	 * @since 1.6
+	 */
+	public CompactCodec() {
+		handlers = new HashMap<Class<?>, TypeHandler<?>>();
+		handlersByName = new HashMap<String, TypeHandler<?>>();
+	}
+	
+	/**
+	 * Registers a type handler.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The handler is only used for objects of exactly the given type and not for objects of sub classes. Register all handlers
+	 * before the codec is used for the first time.
+	 * 
+	 * @param type the type
+	 * @param handler the handler that writes and reads objects of the given type
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if type is null</li>
+	 * 		<li>if handler is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void register(final Class<?> type, final TypeHandler<?> handler) throws IllegalArgumentException {
+		if(type == null || handler == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		handlers.put(type, handler);
+		handlersByName.put(type.getName(), handler);
+	}
+	
+	@Override
+	public byte[] encode(final Object o, final Serializer owner) throws IOException {
+		return encode(o, owner, (owner != null) ? owner.getBufferPool() : null);
+	}
+	
+	@Override
+	public void encode(final Object o, final Serializer owner, final ByteArrayOutputStream out) throws IllegalArgumentException, IOException {
+		if(out == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		// streams of other sources do not allow to write into their buffers
+		if(!(out instanceof BufferPool.PooledStream)) {
+			out.write(encode(o, owner, (BufferPool)null));
+			return;
+		}
+		
+		final BufferPool.PooledStream stream = (BufferPool.PooledStream)out;
+		final int start = stream.size();
+		// the content is written directly into the buffer of the stream behind the space of the largest possible header
+		final Writer w = new Writer(this, owner, stream.getBuffer(), start + MAX_HEADER_LENGTH);
+		
+		try {
+			w.writeObject(o);
+		}
+		finally {
+			stream.setBuffer(w.buffer, start);
+		}
+		
+		// move the content to the end of the actual header (the header of small contents is shorter than the reserved space)
+		final int length = w.pos - start - MAX_HEADER_LENGTH;
+		final int headerLength = getHeaderLength(length);
+		System.arraycopy(w.buffer, start + MAX_HEADER_LENGTH, w.buffer, start + headerLength, length);
+		writeHeader(w.buffer, start, length);
+		stream.setBuffer(w.buffer, start + headerLength + length);
+		
+		if(!w.serialized.isEmpty())
+			writeSerialized(w.serialized, owner, stream);
+	}
+	
+	/**
+	 * Encodes the given object into an array of the exact size.
+	 * 
+	 * @param o the object (can be <code>null</code>)
+	 * @param owner the serializer that freezes the object or <code>null</code>
+	 * @param pool the pool the buffers of the encoding are acquired from or <code>null</code> (nested encodings must not use the pool so that the size hint of the pool is not affected)
+	 * @return the encoding
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the object could not be encoded</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private byte[] encode(final Object o, final Serializer owner, final BufferPool pool) throws IOException {
+		final Writer out = new Writer(this, owner, (pool != null) ? pool.acquire() : new byte[256], 0);
+		ByteArrayOutputStream baos = null;
+		
+		try {
+			out.writeObject(o);
+			
+			// objects that are not supported natively are stored with one object stream behind the content
+			if(!out.serialized.isEmpty()) {
+				baos = new ByteArrayOutputStream();
+				writeSerialized(out.serialized, owner, baos);
+			}
+			
+			// the encoding is copied once from the (reusable) buffer into an array of the exact size that is handed over to the owner
+			final int headerLength = getHeaderLength(out.pos);
+			final byte[] data = new byte[headerLength + out.pos + ((baos != null) ? baos.size() : 0)];
+			writeHeader(data, 0, out.pos);
+			
+			System.arraycopy(out.buffer, 0, data, headerLength, out.pos);
+			if(baos != null)
+				baos.writeTo(new ArrayOutput(data, headerLength + out.pos));
+			
+			return data;
+		}
+		finally {
+			if(pool != null)
+				pool.release(out.buffer, out.pos);
+		}
+	}
+	
+	/**
+	 * Writes the objects that are not supported natively with one object stream (the stream is stored behind the content of an encoding).
+	 * 
+	 * @param serialized the objects
+	 * @param owner the serializer that freezes the objects or <code>null</code>
+	 * @param out the stream
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an object could not be serialized</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static void writeSerialized(final List<Object> serialized, final Serializer owner, final ByteArrayOutputStream out) throws IOException {
+		final ObjectOutputStream oos = (owner != null) ? owner.createObjectOutputStream(out) : new ObjectOutputStream(out);
+		
+		try {
+			oos.writeInt(serialized.size());
+			for(Object so : serialized)
+				oos.writeObject(so);
+		}
+		finally {
+			oos.close();
+		}
+	}
+	
+	/**
+	 * Gets the length of the header of an encoding (magic, version and the length of the content as a variable-length integer).
+	 * 
+	 * @param length the length of the content
+	 * @return the length of the header
+	 * @since 1.6
+	 */
+	private static int getHeaderLength(final int length) {
+		int headerLength = 3;
+		for(int v = length; v >= 0x80; v >>>= 7)
+			headerLength++;
+		
+		return headerLength;
+	}
+	
+	/**
+	 * Writes the header of an encoding.
+	 * 
+	 * @param data the array
+	 * @param pos the position of the header
+	 * @param length the length of the content
+	 * @since 1.6
+	 */
+	private static void writeHeader(final byte[] data, int pos, final int length) {
+		int v = length;
+		
+		data[pos++] = MAGIC;
+		data[pos++] = VERSION;
+		while(v >= 0x80) {
+			data[pos++] = (byte)((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		data[pos] = (byte)v;
+	}
+	
+	@Override
+	public Object decode(final byte[] data, final Serializer owner) throws IOException, ClassNotFoundException {
+		if(data == null)
+			throw new IOException("no data");
+		
+		return decode(data, 0, data.length, owner);
+	}
+	
+	@Override
+	public Object decode(final byte[] data, final int off, final int len, final Serializer owner) throws IOException, ClassNotFoundException {
+		if(data == null || off < 0 || len < 0 || off + len > data.length)
+			throw new IOException("no valid data");
+		
+		final int end = off + len;
+		final Reader in = new Reader(this, owner, data, off, end);
+		if(in.readByte() != MAGIC || in.readByte() != VERSION)
+			throw new StreamCorruptedException("invalid header");
+		
+		final int length = in.readVarInt();
+		final int offset = in.pos;
+		if(length < 0 || length > end - offset)
+			throw new StreamCorruptedException("invalid length");
+		
+		// restore the objects that are stored using the Java serialization first
+		if(offset + length < end) {
+			final ByteArrayInputStream bais = new ByteArrayInputStream(data, offset + length, end - offset - length);
+			final ObjectInputStream ois = (owner != null) ? owner.createObjectInputStream(bais) : new ObjectInputStream(bais);
+			
+			try {
+				final int count = ois.readInt();
+				for(int i = 0; i < count; i++)
+					in.serialized.add(ois.readObject());
+			}
+			finally {
+				ois.close();
+			}
+		}
+		
+		in.limit = offset + length;
+		final Object o = in.readObject();
+		if(in.pos != in.limit)
+			throw new StreamCorruptedException("unexpected data");
+		
+		return o;
+	}
+	
+	/**
+	 * Takes a snapshot of the given object meaning that all mutable objects are copied so that the snapshot can be encoded later
+	 * although the object is modified in the meantime.
+	 * <br><br>
+	 * The snapshot is cheaper than an encoding because immutable objects like {@link Integer}s or {@link String}s are not copied. Shared
+	 * references are preserved.
+	 * 
+	 * @param o the object (can be <code>null</code>)
+	 * @return the snapshot
+	 * @throws UnsupportedOperationException
+	 * <ul>
+	 * 		<li>if the object or an object it references is neither supported natively nor by a registered type handler</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public Object snapshot(final Object o) throws UnsupportedOperationException {
+		return new Copier(this).copy(o);
+	}
+	
+	/**
+	 * Indicates whether the given object is immutable meaning that it is a wrapper type of a primitive type or a {@link String}.
+	 * <br><br>
+	 * Immutable objects do not have to be copied for a snapshot and their encoding can be reused as long as the object is referenced.
+	 * 
+	 * @param o the object
+	 * @return <code>true</code> if the object is <code>null</code> or immutable otherwise <code>false</code>
+	 * @since 1.6
+	 */
+	public static boolean isImmutable(final Object o) {
+		if(o == null)
+			return true;
+		
+		final Class<?> c = o.getClass();
+		return c == Integer.class || c == String.class || c == Float.class || c == Double.class || c == Boolean.class || c == Long.class ||
+				c == Character.class || c == Short.class || c == Byte.class;
+	}
+	
+	/**
+	 * Handler that writes and reads objects of a specific type that is not supported natively by a {@link CompactCodec}.
+	 * 
+	 * @see CompactCodec#register(Class, TypeHandler)
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 * @param <T> the type of the objects
+	 */
+	public interface TypeHandler<T> {
+		
+		/**
+		 * Writes the content of the given object.
+		 * 
+		 * @param out the writer
+		 * @param o the object
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the object could not be written</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public void write(final Writer out, final T o) throws IOException;
+		
+		/**
+		 * Reads an object that is written with {@link #write(Writer, Object)}.
+		 * 
+		 * @param in the reader
+		 * @return the object
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the object could not be read</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public T read(final Reader in) throws IOException;
+		
+		/**
+		 * Copies the given object for a snapshot (see {@link CompactCodec#snapshot(Object)}).
+		 * <br><br>
+		 * <b>Notice</b>:<br>
+		 * The copy is only used to be written with {@link #write(Writer, Object)} meaning that data which is not written must not be copied.
+		 * 
+		 * @param c the copier that must be used to copy the objects that the given object references
+		 * @param o the object
+		 * @return the copy
+		 * @throws UnsupportedOperationException
+		 * <ul>
+		 * 		<li>if a referenced object could not be copied</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public T copy(final Copier c, final T o) throws UnsupportedOperationException;
+	
+	}
+	
+	/**
+	 * Copies the mutable objects for a snapshot.
+	 * 
+	 * @see CompactCodec#snapshot(Object)
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Copier {
+		
+		/** the codec */
+		private final CompactCodec codec;
+		/** the mapping between original object <-> copy */
+		private final Map<Object, Object> copies;
+		
+		/** placeholder of an object that is currently copied */
+		private static final Object PENDING = new Object();
+		
+		/**
+		 * Creates a new copier.
+		 * 
+		 * @param codec the codec
+		 * @since 1.6
+		 */
+		private Copier(final CompactCodec codec) {
+			this.codec = codec;
+			this.copies = new IdentityHashMap<Object, Object>();
+		}
+		
+		/**
+		 * Copies the given object.
+		 * 
+		 * @param o the object or <code>null</code>
+		 * @return the copy or the object itself if it is immutable
+		 * @throws UnsupportedOperationException
+		 * <ul>
+		 * 		<li>if the object is neither supported natively nor by a registered type handler</li>
+		 * 		<li>if the object references itself through an object of a registered type</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public Object copy(final Object o) throws UnsupportedOperationException {
+			if(o == null)
+				return null;
+			
+			final Class<?> c = o.getClass();
+			
+			// immutable objects must not be copied
+			if(isImmutable(o))
+				return o;
+			
+			final Object known = copies.get(o);
+			if(known == PENDING)
+				throw new UnsupportedOperationException("cyclic reference of " + c.getName());
+			else if(known != null)
+				return known;
+			
+			if(c == ArrayList.class)
+				return copyElements((Collection<?>)o, new ArrayList<Object>(((Collection<?>)o).size()));
+			else if(c == HashMap.class)
+				return copyEntries((Map<?, ?>)o, new HashMap<Object, Object>(Reader.capacity(((Map<?, ?>)o).size())));
+			else if(c == LinkedList.class)
+				return copyElements((Collection<?>)o, new LinkedList<Object>());
+			else if(c == LinkedHashMap.class)
+				return copyEntries((Map<?, ?>)o, new LinkedHashMap<Object, Object>(Reader.capacity(((Map<?, ?>)o).size())));
+			else if(c == HashSet.class)
+				return copyElements((Collection<?>)o, new HashSet<Object>(Reader.capacity(((Collection<?>)o).size())));
+			else if(c == LinkedHashSet.class)
+				return copyElements((Collection<?>)o, new LinkedHashSet<Object>(Reader.capacity(((Collection<?>)o).size())));
+			else if(c == int[].class || c == float[].class || c == double[].class) {
+				final Object copy = (c == int[].class) ? ((int[])o).clone() : (c == float[].class) ? ((float[])o).clone() : ((double[])o).clone();
+				copies.put(o, copy);
+				return copy;
+			}
+			
+			@SuppressWarnings("unchecked")
+			final TypeHandler<Object> handler = (TypeHandler<Object>)codec.handlers.get(c);
+			if(handler == null)
+				throw new UnsupportedOperationException(c.getName() + " is not supported");
+			
+			copies.put(o, PENDING);
+			final Object copy = handler.copy(this, o);
+			copies.put(o, copy);
+			
+			return copy;
+		}
+		
+		/**
+		 * Copies the elements of a collection.
+		 * 
+		 * @param src the source collection
+		 * @param dest the destination collection
+		 * @return the destination collection
+		 * @since 1.6
+		 */
+		private Collection<Object> copyElements(final Collection<?> src, final Collection<Object> dest) {
+			copies.put(src, dest);
+			for(Object e : src)
+				dest.add(copy(e));
+			
+			return dest;
+		}
+		
+		/**
+		 * Copies the entries of a map.
+		 * 
+		 * @param src the source map
+		 * @param dest the destination map
+		 * @return the destination map
+		 * @since 1.6
+		 */
+		private Map<Object, Object> copyEntries(final Map<?, ?> src, final Map<Object, Object> dest) {
+			copies.put(src, dest);
+			for(Map.Entry<?, ?> entry : src.entrySet())
+				dest.put(copy(entry.getKey()), copy(entry.getValue()));
+			
+			return dest;
+		}
+	
+	}
+	
+	/**
+	 * Writes the content of an encoded object.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Writer {
+		
+		/** the codec */
+		private final CompactCodec codec;
+		/** the owner of the encoding or <code>null</code> */
+		private final Serializer owner;
+		/** the buffer */
+		private byte[] buffer;
+		/** the number of written bytes */
+		private int pos;
+		/** the indices of the strings that are already written */
+		private final Map<String, Integer> strings;
+		/** the indices of the objects that are already written */
+		private final Map<Object, Integer> refs;
+		/** the objects that are stored using the Java serialization */
+		private final List<Object> serialized;
+		
+		/**
+		 * Creates a new writer.
+		 * 
+		 * @param codec the codec
+		 * @param owner the owner of the encoding or <code>null</code>
+		 * @param buffer the initial buffer
+		 * @param pos the position in the buffer where the writing starts
+		 * @since 1.6
+		 */
+		private Writer(final CompactCodec codec, final Serializer owner, final byte[] buffer, final int pos) {
+			this.codec = codec;
+			this.owner = owner;
+			this.buffer = buffer;
+			this.pos = pos;
+			this.strings = new HashMap<String, Integer>();
+			this.refs = new IdentityHashMap<Object, Integer>();
+			this.serialized = new ArrayList<Object>();
+		}
+		
+		/**
+		 * Writes a byte.
+		 * 
+		 * @param b the byte
+		 * @since 1.6
+		 */
+		public void writeByte(final int b) {
+			ensureCapacity(1);
+			buffer[pos++] = (byte)b;
+		}
+		
+		/**
+		 * Writes a boolean.
+		 * 
+		 * @param b the boolean
+		 * @since 1.6
+		 */
+		public void writeBoolean(final boolean b) {
+			writeByte(b ? 1 : 0);
+		}
+		
+		/**
+		 * Writes an integer as a variable-length integer meaning that small positive and negative values need less bytes.
+		 * 
+		 * @param i the integer
+		 * @since 1.6
+		 */
+		public void writeInt(final int i) {
+			writeVarInt((i << 1) ^ (i >> 31));
+		}
+		
+		/**
+		 * Writes a long as a variable-length integer meaning that small positive and negative values need less bytes.
+		 * 
+		 * @param l the long
+		 * @since 1.6
+		 */
+		public void writeLong(final long l) {
+			long v = (l << 1) ^ (l >> 63);
+			
+			ensureCapacity(10);
+			while((v & ~0x7FL) != 0) {
+				buffer[pos++] = (byte)((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			buffer[pos++] = (byte)v;
+		}
+		
+		/**
+		 * Writes a non-negative integer like a length or a count as a variable-length integer.
+		 * 
+		 * @param i the integer
+		 * @since 1.6
+		 */
+		public void writeVarInt(final int i) {
+			int v = i;
+			
+			ensureCapacity(5);
+			while((v & ~0x7F) != 0) {
+				buffer[pos++] = (byte)((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			buffer[pos++] = (byte)v;
+		}
+		
+		/**
+		 * Writes a float.
+		 * 
+		 * @param f the float
+		 * @since 1.6
+		 */
+		public void writeFloat(final float f) {
+			writeFixed(Float.floatToRawIntBits(f), 4);
+		}
+		
+		/**
+		 * Writes a double.
+		 * 
+		 * @param d the double
+		 * @since 1.6
+		 */
+		public void writeDouble(final double d) {
+			writeFixed(Double.doubleToRawLongBits(d), 8);
+		}
+		
+		/**
+		 * Writes a string whereby a string that is already written is stored as a back-reference.
+		 * 
+		 * @param s the string (not <code>null</code>)
+		 * @since 1.6
+		 */
+		public void writeString(final String s) {
+			final Integer index = strings.get(s);
+			
+			if(index != null) {
+				writeByte(TAG_STRING_REF);
+				writeVarInt(index.intValue());
+				return;
+			}
+			
+			strings.put(s, strings.size());
+			
+			final int length = s.length();
+			writeByte(TAG_STRING);
+			writeVarInt(length);
+			ensureCapacity(length * 3);
+			for(int i = 0; i < length; i++) {
+				final char c = s.charAt(i);
+				if(c < 0x80)
+					buffer[pos++] = (byte)c;
+				else if(c < 0x4000) {
+					buffer[pos++] = (byte)((c & 0x7F) | 0x80);
+					buffer[pos++] = (byte)(c >>> 7);
+				}
+				else {
+					buffer[pos++] = (byte)((c & 0x7F) | 0x80);
+					buffer[pos++] = (byte)(((c >>> 7) & 0x7F) | 0x80);
+					buffer[pos++] = (byte)(c >>> 14);
+				}
+			}
+		}
+		
+		/**
+		 * Encodes the given object independently of this writer meaning with its own string and object references.
+		 * <br><br>
+		 * The encoding can be written with {@link #writeEncoded(byte[])} and read with {@link Reader#readEncoded()}. This allows a type handler
+		 * to cache the encoding of an immutable part of an object and to reuse it in further encodings of the object.
+		 * 
+		 * @param o the object or <code>null</code>
+		 * @return the encoding
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the object is not supported by the codec and not serializable</li>
+		 * 		<li>if a type handler fails</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public byte[] encode(final Object o) throws IOException {
+			// the nested encoding does not use the buffer pool so that it does not affect the size hint of the top-level encodings
+			return codec.encode(o, owner, (BufferPool)null);
+		}
+		
+		/**
+		 * Writes an encoding that is created with {@link #encode(Object)}.
+		 * 
+		 * @param data the encoding
+		 * @since 1.6
+		 */
+		public void writeEncoded(final byte[] data) {
+			writeVarInt(data.length);
+			ensureCapacity(data.length);
+			System.arraycopy(data, 0, buffer, pos, data.length);
+			pos += data.length;
+		}
+		
+		/**
+		 * Writes an object.
+		 * 
+		 * @param o the object or <code>null</code>
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the object is not supported by the codec and not serializable</li>
+		 * 		<li>if a type handler fails</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public void writeObject(final Object o) throws IOException {
+			if(o == null) {
+				writeByte(TAG_NULL);
+				return;
+			}
+			
+			final Class<?> c = o.getClass();
+			
+			// immutable objects
+			if(c == Integer.class) {
+				writeByte(TAG_INT);
+				writeInt(((Integer)o).intValue());
+				return;
+			}
+			else if(c == String.class) {
+				writeString((String)o);
+				return;
+			}
+			else if(c == Float.class) {
+				writeByte(TAG_FLOAT);
+				writeFloat(((Float)o).floatValue());
+				return;
+			}
+			else if(c == Double.class) {
+				writeByte(TAG_DOUBLE);
+				writeDouble(((Double)o).doubleValue());
+				return;
+			}
+			else if(c == Boolean.class) {
+				writeByte(((Boolean)o).booleanValue() ? TAG_TRUE : TAG_FALSE);
+				return;
+			}
+			else if(c == Long.class) {
+				writeByte(TAG_LONG);
+				writeLong(((Long)o).longValue());
+				return;
+			}
+			else if(c == Character.class) {
+				writeByte(TAG_CHAR);
+				writeVarInt(((Character)o).charValue());
+				return;
+			}
+			else if(c == Short.class) {
+				writeByte(TAG_SHORT);
+				writeInt(((Short)o).shortValue());
+				return;
+			}
+			else if(c == Byte.class) {
+				writeByte(TAG_BYTE);
+				writeByte(((Byte)o).byteValue());
+				return;
+			}
+			
+			// mutable objects are written only once
+			final Integer ref = refs.get(o);
+			if(ref != null) {
+				writeByte(TAG_REF);
+				writeVarInt(ref.intValue());
+				return;
+			}
+			refs.put(o, refs.size());
+			
+			if(c == ArrayList.class)
+				writeCollection(TAG_ARRAY_LIST, (Collection<?>)o);
+			else if(c == HashMap.class)
+				writeMap(TAG_HASH_MAP, (Map<?, ?>)o);
+			else if(c == LinkedList.class)
+				writeCollection(TAG_LINKED_LIST, (Collection<?>)o);
+			else if(c == LinkedHashMap.class)
+				writeMap(TAG_LINKED_HASH_MAP, (Map<?, ?>)o);
+			else if(c == HashSet.class)
+				writeCollection(TAG_HASH_SET, (Collection<?>)o);
+			else if(c == LinkedHashSet.class)
+				writeCollection(TAG_LINKED_HASH_SET, (Collection<?>)o);
+			else if(c == int[].class) {
+				final int[] a = (int[])o;
+				writeByte(TAG_INT_ARRAY);
+				writeVarInt(a.length);
+				for(int i : a)
+					writeInt(i);
+			}
+			else if(c == float[].class) {
+				final float[] a = (float[])o;
+				writeByte(TAG_FLOAT_ARRAY);
+				writeVarInt(a.length);
+				for(float f : a)
+					writeFloat(f);
+			}
+			else if(c == double[].class) {
+				final double[] a = (double[])o;
+				writeByte(TAG_DOUBLE_ARRAY);
+				writeVarInt(a.length);
+				for(double d : a)
+					writeDouble(d);
+			}
+			else {
+				@SuppressWarnings("unchecked")
+				final TypeHandler<Object> handler = (TypeHandler<Object>)codec.handlers.get(c);
+				
+				if(handler != null) {
+					writeByte(TAG_CUSTOM);
+					writeString(c.getName());
+					handler.write(this, o);
+				}
+				else if(o instanceof java.io.Serializable) {
+					writeByte(TAG_SERIALIZED);
+					writeVarInt(serialized.size());
+					serialized.add(o);
+				}
+				else
+					throw new NotSerializableException(c.getName());
+			}
+		}
+		
+		/**
+		 * Writes a collection.
+		 * 
+		 * @param tag the tag of the collection
+		 * @param c the collection
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if an element could not be written</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void writeCollection(final byte tag, final Collection<?> c) throws IOException {
+			writeByte(tag);
+			writeVarInt(c.size());
+			for(Object e : c)
+				writeObject(e);
+		}
+		
+		/**
+		 * Writes a map.
+		 * 
+		 * @param tag the tag of the map
+		 * @param m the map
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if a key or a value could not be written</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void writeMap(final byte tag, final Map<?, ?> m) throws IOException {
+			writeByte(tag);
+			writeVarInt(m.size());
+			for(Map.Entry<?, ?> entry : m.entrySet()) {
+				writeObject(entry.getKey());
+				writeObject(entry.getValue());
+			}
+		}
+		
+		/**
+		 * Writes the lowest bytes of the given value.
+		 * 
+		 * @param v the value
+		 * @param bytes the number of bytes
+		 * @since 1.6
+		 */
+		private void writeFixed(final long v, final int bytes) {
+			ensureCapacity(bytes);
+			for(int i = 0; i < bytes; i++)
+				buffer[pos++] = (byte)(v >>> (i << 3));
+		}
+		
+		/**
+		 * Ensures that the buffer can take up the given number of further bytes.
+		 * 
+		 * @param count the number of bytes
+		 * @since 1.6
+		 */
+		private void ensureCapacity(final int count) {
+			if(pos + count > buffer.length)
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, pos + count));
+		}
+	
+	}
+	
+	/**
+	 * Reads the content of an encoded object.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	public static class Reader {
+		
+		/** the codec */
+		private final CompactCodec codec;
+		/** the owner of the encoding or <code>null</code> */
+		private final Serializer owner;
+		/** the data */
+		private final byte[] buffer;
+		/** the position of the next byte */
+		private int pos;
+		/** the end of the data */
+		private int limit;
+		/** the strings that are already read */
+		private final List<String> strings;
+		/** the objects that are already read (an object that is currently read is a placeholder) */
+		private final List<Object> refs;
+		/** the objects that are stored using the Java serialization */
+		private final List<Object> serialized;
+		
+		/** placeholder of an object that is currently read */
+		private static final Object PENDING = new Object();
+		
+		/**
+		 * Creates a new reader.
+		 * 
+		 * @param codec the codec
+		 * @param owner the owner of the encoding or <code>null</code>
+		 * @param buffer the data
+		 * @param offset the position of the first byte
+		 * @param limit the end of the data
+		 * @since 1.6
+		 */
+		private Reader(final CompactCodec codec, final Serializer owner, final byte[] buffer, final int offset, final int limit) {
+			this.codec = codec;
+			this.owner = owner;
+			this.buffer = buffer;
+			this.pos = offset;
+			this.limit = limit;
+			this.strings = new ArrayList<String>();
+			this.refs = new ArrayList<Object>();
+			this.serialized = new ArrayList<Object>();
+		}
+		
+		/**
+		 * Reads a byte.
+		 * 
+		 * @return the byte
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the end of the data is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public byte readByte() throws IOException {
+			if(pos >= limit)
+				throw new StreamCorruptedException("unexpected end of data");
+			
+			return buffer[pos++];
+		}
+		
+		/**
+		 * Reads a boolean.
+		 * 
+		 * @return the boolean
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the end of the data is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public boolean readBoolean() throws IOException {
+			return readByte() != 0;
+		}
+		
+		/**
+		 * Reads an integer that is written with {@link Writer#writeInt(int)}.
+		 * 
+		 * @return the integer
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public int readInt() throws IOException {
+			final int v = readVarInt();
+			return (v >>> 1) ^ -(v & 1);
+		}
+		
+		/**
+		 * Reads a long that is written with {@link Writer#writeLong(long)}.
+		 * 
+		 * @return the long
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public long readLong() throws IOException {
+			long v = 0;
+			
+			for(int shift = 0; shift < 64; shift += 7) {
+				final byte b = readByte();
+				v |= (long)(b & 0x7F) << shift;
+				if(b >= 0)
+					return (v >>> 1) ^ -(v & 1);
+			}
+			
+			throw new StreamCorruptedException("invalid variable-length integer");
+		}
+		
+		/**
+		 * Reads a non-negative integer that is written with {@link Writer#writeVarInt(int)}.
+		 * 
+		 * @return the integer
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public int readVarInt() throws IOException {
+			int v = 0;
+			
+			for(int shift = 0; shift < 32; shift += 7) {
+				final byte b = readByte();
+				v |= (b & 0x7F) << shift;
+				if(b >= 0)
+					return v;
+			}
+			
+			throw new StreamCorruptedException("invalid variable-length integer");
+		}
+		
+		/**
+		 * Reads a float.
+		 * 
+		 * @return the float
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the end of the data is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public float readFloat() throws IOException {
+			return Float.intBitsToFloat((int)readFixed(4));
+		}
+		
+		/**
+		 * Reads a double.
+		 * 
+		 * @return the double
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the end of the data is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public double readDouble() throws IOException {
+			return Double.longBitsToDouble(readFixed(8));
+		}
+		
+		/**
+		 * Reads a string that is written with {@link Writer#writeString(String)}.
+		 * 
+		 * @return the string
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public String readString() throws IOException {
+			return readString(readByte());
+		}
+		
+		/**
+		 * Reads an object that is written with {@link Writer#writeEncoded(byte[])}.
+		 * 
+		 * @return the object or <code>null</code>
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * 		<li>if the class of an object that is stored using the Java serialization could not be found</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public Object readEncoded() throws IOException {
+			final int length = readVarInt();
+			
+			if(length < 0 || length > limit - pos)
+				throw new StreamCorruptedException("invalid length");
+			
+			try {
+				final Object o = codec.decode(buffer, pos, length, owner);
+				pos += length;
+				return o;
+			}
+			catch(ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+		}
+		
+		/**
+		 * Reads an object that is written with {@link Writer#writeObject(Object)}.
+		 * 
+		 * @return the object or <code>null</code>
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * 		<li>if there is no type handler for a custom object</li>
+		 * 		<li>if a type handler fails</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public Object readObject() throws IOException {
+			final byte tag = readByte();
+			
+			switch(tag) {
+				case TAG_NULL:
+					return null;
+				case TAG_INT:
+					return readInt();
+				case TAG_LONG:
+					return readLong();
+				case TAG_SHORT:
+					return (short)readInt();
+				case TAG_BYTE:
+					return readByte();
+				case TAG_FLOAT:
+					return readFloat();
+				case TAG_DOUBLE:
+					return readDouble();
+				case TAG_TRUE:
+					return Boolean.TRUE;
+				case TAG_FALSE:
+					return Boolean.FALSE;
+				case TAG_CHAR:
+					return (char)readVarInt();
+				case TAG_STRING:
+				case TAG_STRING_REF:
+					return readString(tag);
+				case TAG_REF:
+					final int index = readVarInt();
+					if(index >= refs.size() || refs.get(index) == PENDING)
+						throw new StreamCorruptedException("invalid reference");
+					return refs.get(index);
+				case TAG_ARRAY_LIST:
+				case TAG_LINKED_LIST:
+				case TAG_HASH_SET:
+				case TAG_LINKED_HASH_SET:
+					return readCollection(tag);
+				case TAG_HASH_MAP:
+				case TAG_LINKED_HASH_MAP:
+					return readMap(tag);
+				case TAG_INT_ARRAY:
+					final int[] ia = new int[readLength()];
+					refs.add(ia);
+					for(int i = 0; i < ia.length; i++)
+						ia[i] = readInt();
+					return ia;
+				case TAG_FLOAT_ARRAY:
+					final float[] fa = new float[readLength()];
+					refs.add(fa);
+					for(int i = 0; i < fa.length; i++)
+						fa[i] = readFloat();
+					return fa;
+				case TAG_DOUBLE_ARRAY:
+					final double[] da = new double[readLength()];
+					refs.add(da);
+					for(int i = 0; i < da.length; i++)
+						da[i] = readDouble();
+					return da;
+				case TAG_CUSTOM:
+					final String type = readString();
+					final TypeHandler<?> handler = codec.handlersByName.get(type);
+					if(handler == null)
+						throw new StreamCorruptedException("no type handler for " + type);
+					
+					// the object is known after it is read completely so reserve its index
+					final int ref = refs.size();
+					refs.add(PENDING);
+					final Object o = handler.read(this);
+					refs.set(ref, o);
+					return o;
+				case TAG_SERIALIZED:
+					final int sindex = readVarInt();
+					if(sindex >= serialized.size())
+						throw new StreamCorruptedException("invalid reference");
+					final Object so = serialized.get(sindex);
+					refs.add(so);
+					return so;
+				default:
+					throw new StreamCorruptedException("invalid tag " + tag);
+			}
+		}
+		
+		/**
+		 * Reads a string.
+		 * 
+		 * @param tag the tag of the string
+		 * @return the string
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private String readString(final byte tag) throws IOException {
+			if(tag == TAG_STRING_REF) {
+				final int index = readVarInt();
+				if(index >= strings.size())
+					throw new StreamCorruptedException("invalid string reference");
+				return strings.get(index);
+			}
+			else if(tag != TAG_STRING)
+				throw new StreamCorruptedException("string expected");
+			
+			final char[] chars = new char[readLength()];
+			for(int i = 0; i < chars.length; i++) {
+				int c = readByte();
+				if(c < 0) {
+					c &= 0x7F;
+					int b = readByte();
+					c |= (b & 0x7F) << 7;
+					if(b < 0)
+						c |= readByte() << 14;
+				}
+				chars[i] = (char)c;
+			}
+			
+			final String s = new String(chars);
+			strings.add(s);
+			return s;
+		}
+		
+		/**
+		 * Reads a collection.
+		 * 
+		 * @param tag the tag of the collection
+		 * @return the collection
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private Collection<Object> readCollection(final byte tag) throws IOException {
+			final int size = readLength();
+			final Collection<Object> c;
+			
+			switch(tag) {
+				case TAG_ARRAY_LIST:
+					c = new ArrayList<Object>(size);
+					break;
+				case TAG_LINKED_LIST:
+					c = new LinkedList<Object>();
+					break;
+				case TAG_HASH_SET:
+					c = new HashSet<Object>(capacity(size));
+					break;
+				default:
+					c = new LinkedHashSet<Object>(capacity(size));
+					break;
+			}
+			
+			refs.add(c);
+			for(int i = 0; i < size; i++)
+				c.add(readObject());
+			
+			return c;
+		}
+		
+		/**
+		 * Reads a map.
+		 * 
+		 * @param tag the tag of the map
+		 * @return the map
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the data is corrupted</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private Map<Object, Object> readMap(final byte tag) throws IOException {
+			final int size = readLength();
+			final Map<Object, Object> m = (tag == TAG_HASH_MAP) ? new HashMap<Object, Object>(capacity(size)) : new LinkedHashMap<Object, Object>(capacity(size));
+			
+			refs.add(m);
+			for(int i = 0; i < size; i++) {
+				final Object key = readObject();
+				m.put(key, readObject());
+			}
+			
+			return m;
+		}
+		
+		/**
+		 * Reads a length and checks whether it is plausible.
+		 * 
+		 * @return the length
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the length exceeds the remaining data</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private int readLength() throws IOException {
+			final int length = readVarInt();
+			
+			// each element needs at least one byte
+			if(length < 0 || length > limit - pos)
+				throw new StreamCorruptedException("invalid length");
+			
+			return length;
+		}
+		
+		/**
+		 * Reads a value with the given number of bytes.
+		 * 
+		 * @param bytes the number of bytes
+		 * @return the value
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the end of the data is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private long readFixed(final int bytes) throws IOException {
+			if(pos + bytes > limit)
+				throw new StreamCorruptedException("unexpected end of data");
+			
+			long v = 0;
+			for(int i = 0; i < bytes; i++)
+				v |= (long)(buffer[pos++] & 0xFF) << (i << 3);
+			
+			return v;
+		}
+		
+		/**
+		 * Gets the initial capacity of a hash based collection with the given number of elements.
+		 * 
+		 * @param size the number of elements
+		 * @return the capacity
+		 * @since 1.6
+		 */
+		private static int capacity(final int size) {
+			return Math.max(16, (int)(size / 0.75f) + 1);
+		}
+	
+	}
+	
+	/**
+	 * An output stream that writes to a region of a byte array that is large enough to take up the data.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class ArrayOutput extends OutputStream {
+		
+		/** the array */
+		private final byte[] data;
+		/** the position of the next byte */
+		private int pos;
+		
+		/**
+		 * Creates a new output.
+		 * 
+		 * @param data the array
+		 * @param offset the position of the first byte
+		 * @since 1.6
+		 */
+		public ArrayOutput(final byte[] data, final int offset) {
+			this.data = data;
+			this.pos = offset;
+		}
+		
+		@Override
+		public void write(int b) {
+			data[pos++] = (byte)b;
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) {
+			System.arraycopy(b, off, data, pos, len);
+			pos += len;
+		}
+	
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Interface for a codec that converts the data objects of a {@link Serializer} to a byte array and back.
+ * <br><br>
+ * A serializer uses a codec to freeze its data (see {@link Serializer#getCodec()}). The codec must be thread-safe meaning that
+ * a codec instance can be shared by several serializers.
+ * 
+ * @see CompactCodec
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public interface DataCodec {
+	
+	/**
+	 * Encodes the given object.
+	 * 
+	 * @param o the object (can be <code>null</code>)
+	 * @param owner the serializer that freezes the object (its object streams are used for objects that the codec does not support natively) or <code>null</code>
+	 * @return the encoded object
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the object could not be encoded</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public byte[] encode(final Object o, final Serializer owner) throws IOException;
+	
+	/**
+	 * Encodes the given object and appends the encoding to the given stream.
+	 * <br><br>
+	 * The written bytes are equal to the encoding of {@link #encode(Object, Serializer)} but the codec does not need to allocate an array for
+	 * each encoding. This is useful if the encodings of several objects are written one after another. The stream is the top-level buffer
+	 * of the encoding so the codec must not update the size hint of the buffer pool of the owner (see {@link Serializer#getBufferPool()}).
+	 * 
+	 * @param o the object (can be <code>null</code>)
+	 * @param owner the serializer that freezes the object (its object streams are used for objects that the codec does not support natively) or <code>null</code>
+	 * @param out the stream the encoding is appended to
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if out is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the object could not be encoded (the content of the stream is undefined afterwards)</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public void encode(final Object o, final Serializer owner, final ByteArrayOutputStream out) throws IllegalArgumentException, IOException;
+	
+	/**
+	 * Decodes an object that is encoded with {@link #encode(Object, Serializer)}.
+	 * 
+	 * @param data the encoded object
+	 * @param owner the serializer that unfreezes the object (its object streams are used for objects that the codec does not support natively) or <code>null</code>
+	 * @return the decoded object
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data is corrupted or an I/O error occurs</li>
+	 * </ul>
+	 * @throws ClassNotFoundException
+	 * <ul>
+	 * 		<li>if the class of an object could not be found</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public Object decode(final byte[] data, final Serializer owner) throws IOException, ClassNotFoundException;
+	
+	/**
+	 * Decodes an object that is encoded with {@link #encode(Object, Serializer)} and that is stored in a region of the given array.
+	 * <br><br>
+	 * This is useful if the encodings of several objects are stored in one array.
+	 * 
+	 * @param data the array
+	 * @param off the position of the first byte of the encoded object
+	 * @param len the length of the encoded object
+	 * @param owner the serializer that unfreezes the object (its object streams are used for objects that the codec does not support natively) or <code>null</code>
+	 * @return the decoded object
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the region exceeds the array</li>
+	 * 		<li>if the data is corrupted or an I/O error occurs</li>
+	 * </ul>
+	 * @throws ClassNotFoundException
+	 * <ul>
+	 * 		<li>if the class of an object could not be found</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public Object decode(final byte[] data, final int off, final int len, final Serializer owner) throws IOException, ClassNotFoundException;
+
+}
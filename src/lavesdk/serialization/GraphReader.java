@@ -0,0 +1,1008 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.GraphFactory;
+import lavesdk.math.graph.Vertex;
+import lavesdk.math.graph.network.Arc;
+import lavesdk.math.graph.network.Network;
+import lavesdk.math.graph.network.Node;
+import lavesdk.math.graph.network.enums.FlowType;
+
+/**
+ * Imports graphs from text files.
+ * <br><br>
+ * The following formats are supported:
+ * <ul>
+ * 		<li>{@link #readEdgeList(File, Graph, GraphFactory)}: one edge per line as <code>predecessor successor [weight]</code></li>
+ * 		<li>{@link #readDIMACS(File, Graph, GraphFactory)}: the DIMACS formats of shortest path (<code>sp</code>), maximum flow (<code>max</code>) and
+ * 		minimum cost flow (<code>min</code>) problems</li>
+ * 		<li>{@link #readDIMACSNetwork(File, GraphFactory)}: a DIMACS maximum flow problem as a {@link Network}</li>
+ * 		<li>{@link #readGraphML(File, Graph, GraphFactory)}: GraphML files</li>
+ * </ul>
+ * The files are streamed through a fixed-size buffer and the vertices and edges are added to the graph while the file is read so
+ * the memory that is needed apart from the graph itself does not depend on the size of the file. Use {@link GraphWriter} to export
+ * graphs in these formats.
+ * <br><br>
+ * <b>Example</b>:
+ * <pre>
+ * final Graph&lt;Vertex, Edge&gt; graph = new Graph&lt;Vertex, Edge&gt;(Type.DIRECTED);
+ * GraphReader.readDIMACS(new File("USA-road-d.NY.gr"), graph, new DefaultGraphFactory());
+ * </pre>
+ * 
+ * @see GraphWriter
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class GraphReader {
+	
+	private GraphReader() {
+	}
+	
+	/**
+	 * Reads an edge list into a graph.
+	 * <br><br>
+	 * Each line of the file describes an edge by the captions of its predecessor and successor and an optional weight separated by
+	 * spaces or tabs. A line with only one caption describes a vertex without edges. Empty lines and lines starting with <code>#</code> or
+	 * <code>%</code> are ignored. Vertices that do not exist in the graph are created with the given factory.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The edges are created as directed edges that means in an undirected graph they become undirected. Edges that are not allowed in the graph
+	 * (like a second edge between two vertices of a {@link lavesdk.math.graph.SimpleGraph}) are ignored.
+	 * 
+	 * @param file the file
+	 * @param graph the graph the vertices and edges should be added to
+	 * @param factory the factory to create the vertices and edges
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if factory is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void readEdgeList(final File file, final Graph<V, E> graph, final GraphFactory<V, E> factory) throws IllegalArgumentException, IOException {
+		if(file == null || graph == null || factory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextInput in = new TextInput(file);
+		
+		try {
+			do {
+				final String predecessor = in.readToken();
+				
+				// skip empty lines and comments
+				if(predecessor == null || predecessor.charAt(0) == '#' || predecessor.charAt(0) == '%')
+					continue;
+				
+				final V u = vertex(graph, factory, predecessor, in);
+				final String successor = in.readToken();
+				
+				if(successor != null) {
+					final V v = vertex(graph, factory, successor, in);
+					graph.add(in.isEndOfLine() ? factory.createEdge(u, v, true) : factory.createEdge(u, v, true, in.readFloat()));
+				}
+				
+				if(!in.isEndOfLine())
+					throw new StreamCorruptedException("unexpected data in line " + in.getLine());
+			} while(in.nextLine());
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Reads a DIMACS file into a graph.
+	 * <br><br>
+	 * The problem line <code>p &lt;problem&gt; &lt;nodes&gt; &lt;arcs&gt;</code> defines the type of the problem and the nodes are numbered from
+	 * <code>1</code> to <code>nodes</code>. The vertices get the node numbers as their captions and are created with the given factory if the graph does not
+	 * contain them yet. The weight of an edge depends on the problem:
+	 * <ul>
+	 * 		<li><code>sp</code> (shortest path, arc line <code>a &lt;u&gt; &lt;v&gt; &lt;length&gt;</code>): the length of the arc</li>
+	 * 		<li><code>max</code> (maximum flow, arc line <code>a &lt;u&gt; &lt;v&gt; &lt;capacity&gt;</code>): the capacity of the arc</li>
+	 * 		<li><code>min</code> (minimum cost flow, arc line <code>a &lt;u&gt; &lt;v&gt; &lt;lower bound&gt; &lt;capacity&gt; &lt;cost&gt;</code>): the cost of the arc</li>
+	 * </ul>
+	 * Node lines (<code>n ...</code>) like the source and the sink of a flow problem or the supplies of the nodes are ignored, use
+	 * {@link #readDIMACSNetwork(File, GraphFactory)} to read a maximum flow problem as a network.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The edges are created as directed edges that means in an undirected graph they become undirected. Edges that are not allowed in the graph
+	 * (like a second edge between two vertices of a {@link lavesdk.math.graph.SimpleGraph}) are ignored.
+	 * 
+	 * @param file the file
+	 * @param graph the graph the vertices and edges should be added to
+	 * @param factory the factory to create the vertices and edges
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if factory is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data or an unsupported problem</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void readDIMACS(final File file, final Graph<V, E> graph, final GraphFactory<V, E> factory) throws IllegalArgumentException, IOException {
+		if(file == null || graph == null || factory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextInput in = new TextInput(file);
+		final int[] header = new int[4];
+		
+		try {
+			final String problem = readDIMACSHeader(in, header);
+			final List<V> vertices = new ArrayList<V>(header[0]);
+			
+			for(int i = 1; i <= header[0]; i++)
+				vertices.add(vertex(graph, factory, String.valueOf(i), in));
+			
+			readDIMACSArcs(in, problem, graph, factory, vertices);
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Reads a DIMACS maximum flow problem into a new network.
+	 * <br><br>
+	 * The file has to contain the problem line <code>p max &lt;nodes&gt; &lt;arcs&gt;</code>, the node lines <code>n &lt;id&gt; s</code> and
+	 * <code>n &lt;id&gt; t</code> of the source and the sink and the arc lines <code>a &lt;u&gt; &lt;v&gt; &lt;capacity&gt;</code>. The nodes get
+	 * their numbers as captions and the weight of an arc is its capacity.
+	 * 
+	 * @param file the file
+	 * @param factory the factory to create the nodes and arcs
+	 * @return the network with a flow of type {@link FlowType#FLOW}
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if factory is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data or is not a maximum flow problem</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Node, E extends Arc> Network<V, E> readDIMACSNetwork(final File file, final GraphFactory<V, E> factory) throws IllegalArgumentException, IOException {
+		if(file == null || factory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextInput in = new TextInput(file);
+		final int[] header = new int[4];
+		
+		try {
+			final String problem = readDIMACSHeader(in, header);
+			
+			if(!problem.equals("max"))
+				throw new StreamCorruptedException("maximum flow problem expected");
+			else if(header[2] < 1 || header[3] < 1 || header[2] == header[3])
+				throw new StreamCorruptedException("source or sink missing");
+			
+			final List<V> nodes = new ArrayList<V>(header[0]);
+			for(int i = 1; i <= header[0]; i++)
+				nodes.add(factory.createVertex(String.valueOf(i)));
+			
+			// the source and the sink are added by the network itself so they are ignored by add(...)
+			final Network<V, E> network = new Network<V, E>(FlowType.FLOW, nodes.get(header[2] - 1), nodes.get(header[3] - 1));
+			for(V n : nodes)
+				network.add(n);
+			
+			readDIMACSArcs(in, problem, network, factory, nodes);
+			
+			return network;
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Reads a GraphML file into a graph.
+	 * <br><br>
+	 * The file is parsed as a stream of tags without building a document tree. Each <code>node</code> element becomes a vertex and each <code>edge</code> element
+	 * an edge. The caption of a vertex is the id of the node or the value of the node data whose key has the name <code>caption</code>, <code>label</code> or
+	 * <code>name</code>. The weight of an edge is the value of the edge data whose key has the name <code>weight</code>. The direction of an edge is taken from
+	 * its <code>directed</code> attribute or from the <code>edgedefault</code> attribute of the graph. Nested graphs are flattened and hyperedges and ports are
+	 * ignored.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Edges that are not allowed in the graph (like a second edge between two vertices of a {@link lavesdk.math.graph.SimpleGraph}) are ignored.
+	 * 
+	 * @param file the file
+	 * @param graph the graph the vertices and edges should be added to
+	 * @param factory the factory to create the vertices and edges
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if factory is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void readGraphML(final File file, final Graph<V, E> graph, final GraphFactory<V, E> factory) throws IllegalArgumentException, IOException {
+		if(file == null || graph == null || factory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final XMLInput in = new XMLInput(new TextInput(file));
+		// the vertices mapped onto the node ids (only necessary if the captions are not the ids)
+		final Map<String, V> ids = new HashMap<String, V>();
+		final StringBuilder text = new StringBuilder();
+		String weightKey = null;
+		String captionKey = null;
+		String key = null;
+		String dataKey = null;
+		float defaultWeight = 0.0f;
+		boolean defaultDirected = true;
+		boolean inDefault = false;
+		V node = null;
+		V source = null;
+		V target = null;
+		boolean directed = false;
+		float weight = 0.0f;
+		int event;
+		
+		try {
+			while((event = in.next()) != XMLInput.EOF) {
+				if(event == XMLInput.TEXT) {
+					if(dataKey != null || inDefault)
+						text.append(in.getText());
+					continue;
+				}
+				
+				final String name = in.getName();
+				
+				if(event == XMLInput.START) {
+					if(name.equals("key")) {
+						final String id = in.getAttribute("id");
+						final String attrName = in.getAttribute("attr.name");
+						final String domain = in.getAttribute("for");
+						
+						key = null;
+						if(id == null || attrName == null)
+							continue;
+						else if(attrName.equalsIgnoreCase("weight") && (domain == null || domain.equals("edge") || domain.equals("all")))
+							key = weightKey = id;
+						else if((attrName.equalsIgnoreCase("caption") || attrName.equalsIgnoreCase("label") || attrName.equalsIgnoreCase("name")) && (domain == null || domain.equals("node") || domain.equals("all")))
+							captionKey = id;
+					}
+					else if(name.equals("default") && key != null) {
+						inDefault = true;
+						text.setLength(0);
+					}
+					else if(name.equals("graph"))
+						defaultDirected = !"undirected".equals(in.getAttribute("edgedefault"));
+					else if(name.equals("node"))
+						node = (captionKey != null) ? mappedVertex(graph, factory, ids, attribute(in, "id"), in.getInput()) : vertex(graph, factory, attribute(in, "id"), in.getInput());
+					else if(name.equals("edge")) {
+						source = (captionKey != null) ? mappedVertex(graph, factory, ids, attribute(in, "source"), in.getInput()) : vertex(graph, factory, attribute(in, "source"), in.getInput());
+						target = (captionKey != null) ? mappedVertex(graph, factory, ids, attribute(in, "target"), in.getInput()) : vertex(graph, factory, attribute(in, "target"), in.getInput());
+						directed = (in.getAttribute("directed") != null) ? in.getAttribute("directed").equals("true") : defaultDirected;
+						weight = defaultWeight;
+					}
+					else if(name.equals("data") && (node != null || source != null)) {
+						dataKey = in.getAttribute("key");
+						text.setLength(0);
+					}
+					
+					// an empty element is finished immediately
+					if(!in.isEmptyElement())
+						continue;
+				}
+				
+				if(name.equals("key"))
+					key = null;
+				else if(name.equals("default") && inDefault) {
+					if(text.toString().trim().length() > 0)
+						defaultWeight = parseFloat(text.toString().trim(), in.getInput());
+					inDefault = false;
+				}
+				else if(name.equals("node"))
+					node = null;
+				else if(name.equals("edge") && source != null) {
+					graph.add(factory.createEdge(source, target, directed, weight));
+					source = target = null;
+				}
+				else if(name.equals("data") && dataKey != null) {
+					final String value = text.toString().trim();
+					
+					if(value.length() > 0 && source != null && dataKey.equals(weightKey))
+						weight = parseFloat(value, in.getInput());
+					else if(value.length() > 0 && node != null && source == null && dataKey.equals(captionKey))
+						node.setCaption(value);
+					dataKey = null;
+				}
+			}
+		}
+		finally {
+			in.getInput().close();
+		}
+	}
+	
+	/**
+	 * Gets the vertex with the specified caption or creates and adds a new one if the graph does not contain it.
+	 * 
+	 * @param graph the graph
+	 * @param factory the factory
+	 * @param caption the caption
+	 * @param in the input
+	 * @return the vertex
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the vertex could not be added to the graph</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static <V extends Vertex, E extends Edge> V vertex(final Graph<V, E> graph, final GraphFactory<V, E> factory, final String caption, final TextInput in) throws IOException {
+		V v = graph.getVertexByCaption(caption);
+		
+		if(v == null) {
+			v = factory.createVertex(caption);
+			if(!graph.add(v))
+				throw new StreamCorruptedException("vertex " + caption + " could not be added in line " + in.getLine());
+		}
+		
+		return v;
+	}
+	
+	/**
+	 * Gets the vertex with the specified id or creates and adds a new one (with the id as the caption) if the id is not mapped yet.
+	 * 
+	 * @param graph the graph
+	 * @param factory the factory
+	 * @param ids the vertices mapped onto their ids
+	 * @param id the id
+	 * @param in the input
+	 * @return the vertex
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the vertex could not be added to the graph</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static <V extends Vertex, E extends Edge> V mappedVertex(final Graph<V, E> graph, final GraphFactory<V, E> factory, final Map<String, V> ids, final String id, final TextInput in) throws IOException {
+		V v = ids.get(id);
+		
+		if(v == null) {
+			v = vertex(graph, factory, id, in);
+			ids.put(id, v);
+		}
+		
+		return v;
+	}
+	
+	/**
+	 * Reads the problem line and the node lines of a DIMACS file up to the first arc line.
+	 * 
+	 * @param in the input
+	 * @param header the array that gets the number of nodes (index <code>0</code>), the number of arcs (index <code>1</code>), the source (index <code>2</code>) and the sink (index <code>3</code>) or <code>0</code> if there is no source or sink
+	 * @return the problem
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data or an unsupported problem</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static String readDIMACSHeader(final TextInput in, final int[] header) throws IOException {
+		String problem = null;
+		
+		// stop in front of the first arc line
+		while(in.skipSpaces() != 'a') {
+			final int descriptor = descriptor(in);
+			
+			if(descriptor < 0)
+				break;
+			else if(descriptor == 'p') {
+				if(problem != null)
+					throw new StreamCorruptedException("duplicate problem line in line " + in.getLine());
+				
+				problem = in.readToken();
+				header[0] = in.readInt();
+				header[1] = in.readInt();
+				
+				if(problem == null || !(problem.equals("sp") || problem.equals("max") || problem.equals("min")))
+					throw new StreamCorruptedException("unsupported problem in line " + in.getLine());
+				else if(header[0] < 0 || header[1] < 0)
+					throw new StreamCorruptedException("invalid problem line in line " + in.getLine());
+			}
+			else if(descriptor == 'n') {
+				if(problem == null)
+					throw new StreamCorruptedException("problem line expected in line " + in.getLine());
+				
+				final int id = in.readInt();
+				final String type = in.readToken();
+				
+				if(id < 1 || id > header[0])
+					throw new StreamCorruptedException("invalid node in line " + in.getLine());
+				else if("s".equals(type))
+					header[2] = id;
+				else if("t".equals(type))
+					header[3] = id;
+			}
+			else if(descriptor != 'c' && descriptor != '\n')
+				throw new StreamCorruptedException("unknown descriptor in line " + in.getLine());
+			
+			if(!in.nextLine())
+				break;
+		}
+		
+		if(problem == null)
+			throw new StreamCorruptedException("problem line expected");
+		
+		return problem;
+	}
+	
+	/**
+	 * Reads the arc lines of a DIMACS file.
+	 * 
+	 * @param in the input
+	 * @param problem the problem
+	 * @param graph the graph the edges should be added to
+	 * @param factory the factory to create the edges
+	 * @param vertices the vertices of the nodes in the order of the node numbers
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the file contains invalid data</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static <V extends Vertex, E extends Edge> void readDIMACSArcs(final TextInput in, final String problem, final Graph<V, E> graph, final GraphFactory<V, E> factory, final List<V> vertices) throws IOException {
+		final boolean minCostFlow = problem.equals("min");
+		final int n = vertices.size();
+		
+		if(in.peek() < 0)
+			return;
+		
+		do {
+			final int descriptor = descriptor(in);
+			
+			if(descriptor == 'a') {
+				final int u = in.readInt();
+				final int v = in.readInt();
+				float weight = in.readFloat();
+				
+				// a min cost flow arc is described by "lower bound, capacity, cost"
+				if(minCostFlow) {
+					in.readFloat();
+					weight = in.readFloat();
+				}
+				
+				if(u < 1 || u > n || v < 1 || v > n)
+					throw new StreamCorruptedException("invalid arc in line " + in.getLine());
+				
+				graph.add(factory.createEdge(vertices.get(u - 1), vertices.get(v - 1), true, weight));
+			}
+			else if(descriptor == 'p')
+				throw new StreamCorruptedException("duplicate problem line in line " + in.getLine());
+			else if(descriptor != 'c' && descriptor != 'n' && descriptor != '\n' && descriptor >= 0)
+				throw new StreamCorruptedException("unknown descriptor in line " + in.getLine());
+		} while(in.nextLine());
+	}
+	
+	/**
+	 * Reads the descriptor of a DIMACS line.
+	 * 
+	 * @param in the input
+	 * @return the descriptor, <code>\n</code> if the line is empty or <code>-1</code> if the end of the file is reached
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * 		<li>if the descriptor consists of more than one character</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static int descriptor(final TextInput in) throws IOException {
+		final int descriptor = in.skipSpaces();
+		
+		if(descriptor < 0 || descriptor == '\n')
+			return descriptor;
+		
+		in.read();
+		final int next = in.peek();
+		if(next != ' ' && next != '\t' && next != '\r' && next != '\n' && next >= 0 && descriptor != 'c')
+			throw new StreamCorruptedException("unknown descriptor in line " + in.getLine());
+		
+		return descriptor;
+	}
+	
+	/**
+	 * Gets the value of a required attribute.
+	 * 
+	 * @param in the input
+	 * @param name the name of the attribute
+	 * @return the value
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the current element does not have the attribute</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static String attribute(final XMLInput in, final String name) throws IOException {
+		final String value = in.getAttribute(name);
+		
+		if(value == null)
+			throw new StreamCorruptedException("attribute " + name + " expected in line " + in.getInput().getLine());
+		
+		return value;
+	}
+	
+	/**
+	 * Parses a floating point number.
+	 * 
+	 * @param s the string
+	 * @param in the input
+	 * @return the number
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the string is not a number</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static float parseFloat(final String s, final TextInput in) throws IOException {
+		final byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+		return TextInput.parseFloat(bytes, bytes.length, in.getLine());
+	}
+	
+	/**
+	 * Pull parser of the tags and the text of a XML file.
+	 * <br><br>
+	 * Comments, processing instructions and document type declarations are skipped. Entity references are resolved in attribute values and text.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class XMLInput {
+		
+		/** the underlying input */
+		private final TextInput in;
+		/** the attributes of the current start tag */
+		private final Map<String, String> attributes;
+		/** the bytes of the current name, attribute value or text */
+		private byte[] bytes;
+		/** the number of bytes */
+		private int length;
+		/** the name of the current tag */
+		private String name;
+		/** the current text */
+		private String text;
+		/** flag that indicates whether the current start tag is an empty element */
+		private boolean emptyElement;
+		
+		/** the end of the file is reached */
+		public static final int EOF = -1;
+		/** a start tag is read */
+		public static final int START = 1;
+		/** an end tag is read */
+		public static final int END = 2;
+		/** text is read */
+		public static final int TEXT = 3;
+		
+		/**
+		 * Creates a new parser.
+		 * 
+		 * @param in the underlying input
+		 * @since 1.6
+		 */
+		public XMLInput(final TextInput in) {
+			this.in = in;
+			this.attributes = new HashMap<String, String>();
+			this.bytes = new byte[256];
+			this.length = 0;
+		}
+		
+		/**
+		 * Gets the underlying input.
+		 * 
+		 * @return the input
+		 * @since 1.6
+		 */
+		public TextInput getInput() {
+			return in;
+		}
+		
+		/**
+		 * Gets the name of the current tag.
+		 * 
+		 * @return the name
+		 * @since 1.6
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * Gets the value of an attribute of the current start tag.
+		 * 
+		 * @param name the name of the attribute
+		 * @return the value or <code>null</code> if the tag does not have the attribute
+		 * @since 1.6
+		 */
+		public String getAttribute(final String name) {
+			return attributes.get(name);
+		}
+		
+		/**
+		 * Indicates whether the current start tag is an empty element (<code>&lt;name/&gt;</code>).
+		 * 
+		 * @return <code>true</code> if the element is empty otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		public boolean isEmptyElement() {
+			return emptyElement;
+		}
+		
+		/**
+		 * Gets the current text.
+		 * 
+		 * @return the text
+		 * @since 1.6
+		 */
+		public String getText() {
+			return text;
+		}
+		
+		/**
+		 * Reads the next tag or text.
+		 * 
+		 * @return {@link #START}, {@link #END}, {@link #TEXT} or {@link #EOF}
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the file contains invalid data</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		public int next() throws IOException {
+			while(true) {
+				int c = in.peek();
+				
+				if(c < 0)
+					return EOF;
+				else if(c != '<') {
+					length = 0;
+					while(c >= 0 && c != '<') {
+						append(in.read());
+						c = in.peek();
+					}
+					text = decode();
+					return TEXT;
+				}
+				
+				in.read();
+				c = in.peek();
+				
+				if(c == '?')
+					skip("?>");
+				else if(c == '!') {
+					in.read();
+					if(in.peek() == '-')
+						skip("-->");
+					else if(in.peek() == '[') {
+						// CDATA section
+						skip("[CDATA[");
+						length = 0;
+						while(!endsWith("]]>"))
+							append(readChecked());
+						length -= 3;
+						text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+						return TEXT;
+					}
+					else
+						skipDeclaration();
+				}
+				else if(c == '/') {
+					in.read();
+					name = readName();
+					skipWhitespaces();
+					if(readChecked() != '>')
+						throw new StreamCorruptedException("invalid end tag in line " + in.getLine());
+					return END;
+				}
+				else {
+					readStartTag();
+					return START;
+				}
+			}
+		}
+		
+		/**
+		 * Reads the name and the attributes of a start tag.
+		 * 
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the tag is invalid</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void readStartTag() throws IOException {
+			name = readName();
+			attributes.clear();
+			emptyElement = false;
+			
+			while(true) {
+				skipWhitespaces();
+				final int c = in.peek();
+				
+				if(c == '>') {
+					in.read();
+					return;
+				}
+				else if(c == '/') {
+					in.read();
+					if(readChecked() != '>')
+						throw new StreamCorruptedException("invalid start tag in line " + in.getLine());
+					emptyElement = true;
+					return;
+				}
+				
+				final String attrName = readName();
+				
+				skipWhitespaces();
+				if(readChecked() != '=')
+					throw new StreamCorruptedException("invalid attribute in line " + in.getLine());
+				skipWhitespaces();
+				
+				final int quote = readChecked();
+				if(quote != '"' && quote != '\'')
+					throw new StreamCorruptedException("invalid attribute in line " + in.getLine());
+				
+				length = 0;
+				for(int b = readChecked(); b != quote; b = readChecked())
+					append(b);
+				attributes.put(attrName, decode());
+			}
+		}
+		
+		/**
+		 * Reads a name.
+		 * 
+		 * @return the name
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the name is empty</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private String readName() throws IOException {
+			int c = in.peek();
+			
+			length = 0;
+			while(c >= 0 && c != '=' && c != '>' && c != '/' && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+				append(in.read());
+				c = in.peek();
+			}
+			
+			if(length == 0)
+				throw new StreamCorruptedException("name expected in line " + in.getLine());
+			
+			return new String(bytes, 0, length, StandardCharsets.UTF_8);
+		}
+		
+		/**
+		 * Skips whitespaces.
+		 * 
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void skipWhitespaces() throws IOException {
+			int c = in.peek();
+			
+			while(c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+				in.read();
+				c = in.peek();
+			}
+		}
+		
+		/**
+		 * Skips all bytes up to and including the specified terminator.
+		 * 
+		 * @param terminator the terminator
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the end of the file is reached before the terminator</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void skip(final String terminator) throws IOException {
+			final int keep = terminator.length() - 1;
+			
+			length = 0;
+			while(!endsWith(terminator)) {
+				// only the last bytes are necessary to detect the terminator
+				if(length == bytes.length) {
+					System.arraycopy(bytes, length - keep, bytes, 0, keep);
+					length = keep;
+				}
+				append(readChecked());
+			}
+		}
+		
+		/**
+		 * Skips a document type declaration including an internal subset.
+		 * 
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the end of the file is reached before the end of the declaration</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private void skipDeclaration() throws IOException {
+			int depth = 0;
+			int c;
+			
+			while((c = readChecked()) != '>' || depth > 0) {
+				if(c == '[')
+					depth++;
+				else if(c == ']')
+					depth--;
+			}
+		}
+		
+		/**
+		 * Reads the next byte.
+		 * 
+		 * @return the byte
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the end of the file is reached</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private int readChecked() throws IOException {
+			final int c = in.read();
+			
+			if(c < 0)
+				throw new StreamCorruptedException("unexpected end of file");
+			
+			return c;
+		}
+		
+		/**
+		 * Appends a byte to the current bytes.
+		 * 
+		 * @param b the byte
+		 * @since 1.6
+		 */
+		private void append(final int b) {
+			if(length == bytes.length) {
+				final byte[] tmp = new byte[bytes.length * 2];
+				System.arraycopy(bytes, 0, tmp, 0, length);
+				bytes = tmp;
+			}
+			bytes[length++] = (byte)b;
+		}
+		
+		/**
+		 * Indicates whether the current bytes end with the specified ASCII string.
+		 * 
+		 * @param s the string
+		 * @return <code>true</code> if the bytes end with the string otherwise <code>false</code>
+		 * @since 1.6
+		 */
+		private boolean endsWith(final String s) {
+			if(length < s.length())
+				return false;
+			
+			for(int i = 0; i < s.length(); i++)
+				if(bytes[length - s.length() + i] != s.charAt(i))
+					return false;
+			
+			return true;
+		}
+		
+		/**
+		 * Decodes the current bytes as UTF-8 and resolves the entity references.
+		 * 
+		 * @return the decoded string
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if an entity reference is invalid</li>
+		 * </ul>
+		 * @since 1.6
+		 */
+		private String decode() throws IOException {
+			final String s = new String(bytes, 0, length, StandardCharsets.UTF_8);
+			int amp = s.indexOf('&');
+			
+			if(amp < 0)
+				return s;
+			
+			final StringBuilder sb = new StringBuilder(s.length());
+			int start = 0;
+			
+			while(amp >= 0) {
+				final int semicolon = s.indexOf(';', amp);
+				if(semicolon < 0)
+					throw new StreamCorruptedException("invalid entity reference in line " + in.getLine());
+				
+				sb.append(s, start, amp);
+				
+				final String entity = s.substring(amp + 1, semicolon);
+				if(entity.equals("lt"))
+					sb.append('<');
+				else if(entity.equals("gt"))
+					sb.append('>');
+				else if(entity.equals("amp"))
+					sb.append('&');
+				else if(entity.equals("quot"))
+					sb.append('"');
+				else if(entity.equals("apos"))
+					sb.append('\'');
+				else if(entity.startsWith("#")) {
+					try {
+						sb.appendCodePoint(entity.startsWith("#x") ? Integer.parseInt(entity.substring(2), 16) : Integer.parseInt(entity.substring(1)));
+					}
+					catch(IllegalArgumentException e) {
+						throw new StreamCorruptedException("invalid entity reference in line " + in.getLine());
+					}
+				}
+				else
+					throw new StreamCorruptedException("unknown entity reference in line " + in.getLine());
+				
+				start = semicolon + 1;
+				amp = s.indexOf('&', start);
+			}
+			
+			sb.append(s, start, s.length());
+			
+			return sb.toString();
+		}
+	
+	}
+
+}
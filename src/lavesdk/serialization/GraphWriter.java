@@ -0,0 +1,256 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.File;
+import java.io.IOException;
+
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.Vertex;
+import lavesdk.math.graph.enums.Type;
+import lavesdk.math.graph.network.Network;
+
+/**
+ * Exports graphs to text files.
+ * <br><br>
+ * The following formats are supported:
+ * <ul>
+ * 		<li>{@link #writeEdgeList(Graph, File)}: one edge per line as <code>predecessor successor weight</code></li>
+ * 		<li>{@link #writeDIMACS(Graph, File)}: the DIMACS format of a shortest path problem or of a maximum flow problem if the graph is a {@link Network}</li>
+ * 		<li>{@link #writeGraphML(Graph, File)}: GraphML files</li>
+ * </ul>
+ * The files are written through a fixed-size buffer so the memory that is needed does not depend on the size of the graph. Use {@link GraphReader}
+ * to import the files.
+ * 
+ * @see GraphReader
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+public final class GraphWriter {
+	
+	private GraphWriter() {
+	}
+	
+	/**
+	 * Writes a graph as an edge list.
+	 * <br><br>
+	 * Each edge is written in a line as <code>predecessor successor weight</code>. Vertices without edges are written in a line of their own.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The captions of the vertices must not contain spaces or tabs. The direction of the edges is not stored that means the file has to be read
+	 * into a graph of the same type.
+	 * 
+	 * @param graph the graph
+	 * @param file the file
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be written</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void writeEdgeList(final Graph<V, E> graph, final File file) throws IllegalArgumentException, IOException {
+		if(graph == null || file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextOutput out = new TextOutput(file);
+		
+		try {
+			for(int i = 0; i < graph.getOrder(); i++) {
+				final V v = graph.getVertex(i);
+				if(v.getIncomingEdgeCount() == 0 && v.getOutgoingEdgeCount() == 0)
+					out.write(v.getCaption()).write('\n');
+			}
+			
+			for(int i = 0; i < graph.getSize(); i++) {
+				final E e = graph.getEdge(i);
+				out.write(e.getPredecessor().getCaption()).write(' ').write(e.getSuccessor().getCaption()).write(' ').write(e.getWeight()).write('\n');
+			}
+		}
+		finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * Writes a graph in the DIMACS format.
+	 * <br><br>
+	 * The vertices are numbered from <code>1</code> to {@link Graph#getOrder()} in the order of their indices. If the graph is a {@link Network} it is written as
+	 * a maximum flow problem (<code>p max</code>) with the source and the sink as node lines and the weights of the arcs as capacities, otherwise it is written as a
+	 * shortest path problem (<code>p sp</code>) with the weights of the edges as lengths. An undirected edge is written as two arcs.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The DIMACS format does not store the captions of the vertices.
+	 * 
+	 * @param graph the graph
+	 * @param file the file
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be written</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void writeDIMACS(final Graph<V, E> graph, final File file) throws IllegalArgumentException, IOException {
+		if(graph == null || file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextOutput out = new TextOutput(file);
+		int arcs = graph.getSize();
+		
+		for(int i = 0; i < graph.getSize(); i++)
+			if(!graph.getEdge(i).isDirected())
+				arcs++;
+		
+		try {
+			if(graph instanceof Network) {
+				final Network<?, ?> network = (Network<?, ?>)graph;
+				out.write("p max ").write(graph.getOrder()).write(' ').write(arcs).write('\n');
+				out.write("n ").write(network.getSource().getIndex() + 1).write(" s\n");
+				out.write("n ").write(network.getSink().getIndex() + 1).write(" t\n");
+			}
+			else
+				out.write("p sp ").write(graph.getOrder()).write(' ').write(arcs).write('\n');
+			
+			for(int i = 0; i < graph.getSize(); i++) {
+				final E e = graph.getEdge(i);
+				final int u = e.getPredecessor().getIndex() + 1;
+				final int v = e.getSuccessor().getIndex() + 1;
+				
+				out.write("a ").write(u).write(' ').write(v).write(' ').write(e.getWeight()).write('\n');
+				if(!e.isDirected())
+					out.write("a ").write(v).write(' ').write(u).write(' ').write(e.getWeight()).write('\n');
+			}
+		}
+		finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * Writes a graph as a GraphML file.
+	 * <br><br>
+	 * The captions of the vertices are used as the ids of the nodes and the weights of the edges are stored as data with the key <code>weight</code>. The edges
+	 * of a graph of type {@link Type#MIXED} get a <code>directed</code> attribute.
+	 * 
+	 * @param graph the graph
+	 * @param file the file
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if graph is null</li>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be written</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public static <V extends Vertex, E extends Edge> void writeGraphML(final Graph<V, E> graph, final File file) throws IllegalArgumentException, IOException {
+		if(graph == null || file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final TextOutput out = new TextOutput(file);
+		final boolean mixed = graph.getType() == Type.MIXED;
+		
+		try {
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:schemaLocation=\"http://graphml.graphdrawing.org/xmlns http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd\">\n");
+			out.write("\t<key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"float\"/>\n");
+			out.write("\t<graph id=\"G\" edgedefault=\"").write((graph.getType() == Type.UNDIRECTED) ? "undirected" : "directed").write("\">\n");
+			
+			for(int i = 0; i < graph.getOrder(); i++) {
+				out.write("\t\t<node id=\"");
+				writeEscaped(out, graph.getVertex(i).getCaption());
+				out.write("\"/>\n");
+			}
+			
+			for(int i = 0; i < graph.getSize(); i++) {
+				final E e = graph.getEdge(i);
+				
+				out.write("\t\t<edge source=\"");
+				writeEscaped(out, e.getPredecessor().getCaption());
+				out.write("\" target=\"");
+				writeEscaped(out, e.getSuccessor().getCaption());
+				if(mixed)
+					out.write("\" directed=\"").write(e.isDirected() ? "true" : "false");
+				out.write("\"><data key=\"weight\">").write(e.getWeight()).write("</data></edge>\n");
+			}
+			
+			out.write("\t</graph>\n");
+			out.write("</graphml>\n");
+		}
+		finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * Writes a text with escaped XML characters.
+	 * 
+	 * @param out the output
+	 * @param s the text
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be written</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static void writeEscaped(final TextOutput out, final String s) throws IOException {
+		int start = 0;
+		
+		for(int i = 0; i < s.length(); i++) {
+			final String entity;
+			
+			switch(s.charAt(i)) {
+				case '<':
+					entity = "&lt;";
+					break;
+				case '>':
+					entity = "&gt;";
+					break;
+				case '&':
+					entity = "&amp;";
+					break;
+				case '"':
+					entity = "&quot;";
+					break;
+				default:
+					continue;
+			}
+			
+			out.write(s.substring(start, i)).write(entity);
+			start = i + 1;
+		}
+		
+		out.write((start == 0) ? s : s.substring(start));
+	}
+
+}
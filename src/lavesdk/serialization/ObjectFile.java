@@ -19,14 +19,19 @@
 
 package lavesdk.serialization;
 
+import java.awt.Color;
+import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,9 +93,16 @@ import lavesdk.utils.FileUtils;
  * If you have an identifier of a serializer then you can request the related object by calling {@link #getObject(int)}.<br>
  * <u>Example</u>: You use serializer identifiers to connect objects in an object file. If you want to know the object behind a serialize id
  * you can call the method above to get it.
+ * <br><br>
+ * <b>File format</b>:<br>
+ * The serializers are stored in chunks. The file starts with a header (magic number, format version and number of chunks) that is followed by
+ * an offset table with the position and length of each chunk. Each chunk contains a block of serializers encoded with a {@link CompactCodec} meaning
+ * that the predefined types like numbers, strings, collections and colors do not depend on the Java serialization. The offset table and the chunks are read
+ * with positional reads into a reusable buffer and the chunks are decoded one after another. Files of the former format that stores all serializers with a single object stream
+ * are still loaded.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class ObjectFile {
@@ -103,13 +115,33 @@ public class ObjectFile {
 	private final Map<Integer, Object> objects;
 	/** a list that contains the identifiers of all serializers in the insertion order of their objects */
 	private final List<Integer> objectsOrder;
-	/** all serializers that are loaded from a file but not mapped to an object */
-	private final List<Serializer> unallocatedSerializers;
+	/** all serializers that are loaded from a file but not mapped to an object grouped by their names in the order of the file */
+	private final Map<String, Deque<Serializer>> unallocatedSerializers;
 	/** the number of serializers of a specific name in the file */
 	private final HashMap<String, Integer> serializerNameCount;
 	/** the next id of a new serializer */
 	private int nextID;
 	
+	/** the magic number of the chunked file format ("LVOF") */
+	private static final int MAGIC = 0x4C564F46;
+	/** the version of the chunked file format */
+	private static final int VERSION = 1;
+	/** the size of the header (magic, version and number of chunks) */
+	private static final int HEADER_SIZE = 12;
+	/** the size of an entry of the offset table (position and length of a chunk) */
+	private static final int TABLE_ENTRY_SIZE = 12;
+	/** the maximum number of serializers in a chunk */
+	private static final int CHUNK_SIZE = 1024;
+	/** the size of the buffer that is used to write the chunks */
+	private static final int WRITE_BUFFER_SIZE = 65536;
+	/** the codec that encodes the serializers */
+	private static final CompactCodec CODEC = new CompactCodec();
+	
+	static {
+		CODEC.register(Serializer.class, new SerializerHandler());
+		CODEC.register(Color.class, new ColorHandler());
+	}
+	
 	/**
 	 * Creates a new object file.
 	 * 
@@ -143,7 +175,7 @@ public class ObjectFile {
 		serializers = new HashMap<Object, Serializer>();
 		objectsOrder = new ArrayList<Integer>();
 		objects = new HashMap<Integer, Object>();
-		unallocatedSerializers = new ArrayList<Serializer>();
+		unallocatedSerializers = new HashMap<String, Deque<Serializer>>();
 		serializerNameCount = new HashMap<String, Integer>();
 		nextID = 1;
 	}
@@ -158,8 +190,8 @@ public class ObjectFile {
 	 * @since 1.0
 	 */
 	public final void load() throws IOException {
-		final FileInputStream fis = new FileInputStream(filename);
-		final ObjectInputStream ois = new ObjectInputStream(fis);
+		final FileChannel channel = FileChannel.open(new File(filename).toPath(), StandardOpenOption.READ);
+		boolean chunked = false;
 		
 		// clear mapping because new data is stored
 		serializers.clear();
@@ -169,42 +201,28 @@ public class ObjectFile {
 		serializerNameCount.clear();
 		
 		try {
-			int i = 0;
-			Serializer s;
+			final long size = channel.size();
 			
-			// read data from stream
-			@SuppressWarnings("unchecked")
-			final ArrayList<Serializer> list = (ArrayList<Serializer>)ois.readObject();
-			// add all loaded serializers to list of unallocated serializers because now not mapping between
-			// object and serializer is realized
-			for(i = 0; i < list.size(); i++) {
-				s = list.get(i);
-				if(s != null) {
-					unallocatedSerializers.add(s);
-					incSerializerCount(s.getName());
+			if(size >= HEADER_SIZE) {
+				final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				read(channel, header, 0);
+				
+				if(header.getInt(0) == MAGIC) {
+					// the file is not mapped into memory because a mapping outlives the channel and would lock the file
+					// on some platforms so that it cannot be saved afterwards
+					loadChunks(channel, header, size);
+					chunked = true;
 				}
 			}
-
-			// update the next id
-			int maxID = 0;
-			for(i = 0; i < unallocatedSerializers.size(); i++) {
-				s = unallocatedSerializers.get(i);
-				if(s.getID() > maxID)
-					maxID = s.getID();
-			}
-			
-			// the next id must be greater then the maximum identifier of the loaded serializers
-			if(maxID > nextID)
-				nextID = maxID + 1;
-		}
-		catch(ClassNotFoundException | EOFException e) {
-			throw new IOException("File contains invalid data!");
 		}
 		finally {
 			// release system resources
-			ois.close();
-			fis.close();
+			channel.close();
 		}
+		
+		// the file is stored in the former format
+		if(!chunked)
+			loadObjectStream();
 	}
 	
 	/**
@@ -217,35 +235,64 @@ public class ObjectFile {
 	 * @since 1.0
 	 */
 	public final void save() throws IOException {
+		final int count = (objectsOrder.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		
 		// create file if it does not exist
 		final File file = FileUtils.createFilePath(filename);
 		
-		final FileOutputStream fos = new FileOutputStream(file);
-		final ObjectOutputStream oos = new ObjectOutputStream(fos);
-		final ArrayList<Serializer> data = new ArrayList<Serializer>(serializers.values().size());
+		final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		final ByteBuffer table = ByteBuffer.allocate(HEADER_SIZE + count * TABLE_ENTRY_SIZE);
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+		final ArrayList<Serializer> block = new ArrayList<Serializer>(Math.min(CHUNK_SIZE, objectsOrder.size()));
+		long pos = table.capacity();
 		Serializer s;
+		byte[] chunk;
 		
 		try {
-			// add all serializers to the data array in their insertion order
-			for(Integer id : objectsOrder) {
-				s = serializers.get(objects.get(id));
-				if(s != null)
-					data.add(s);
-				else
+			table.putInt(MAGIC);
+			table.putInt(VERSION);
+			table.putInt(count);
+			
+			// write all serializers in their insertion order as chunks behind the offset table
+			for(int i = 0; i < objectsOrder.size(); i++) {
+				s = serializers.get(objects.get(objectsOrder.get(i)));
+				if(s == null)
 					throw new IOException("Because of inconsistency the object file cannot be saved (illegal serializer (null))!");
+				
+				block.add(s);
+				if(block.size() < CHUNK_SIZE && i < objectsOrder.size() - 1)
+					continue;
+				
+				chunk = CODEC.encode(block, null);
+				block.clear();
+				table.putLong(pos);
+				table.putInt(chunk.length);
+				
+				if(chunk.length > buffer.remaining()) {
+					flush(channel, buffer, pos - buffer.position());
+					
+					// large chunks are written directly
+					if(chunk.length > buffer.capacity())
+						write(channel, ByteBuffer.wrap(chunk), pos);
+					else
+						buffer.put(chunk);
+				}
+				else
+					buffer.put(chunk);
+				
+				pos += chunk.length;
 			}
 			
-			// write data to stream
-			oos.writeObject(data);
-			oos.flush();
-		}
-		catch(IOException e) {
-			throw e;
+			flush(channel, buffer, pos - buffer.position());
+			
+			// finally write the header and the offset table at the beginning of the file
+			table.flip();
+			write(channel, table, 0);
+			channel.force(false);
 		}
 		finally {
 			// release system resources
-			oos.close();
-			fos.close();
+			channel.close();
 		}
 	}
 	
@@ -325,16 +372,10 @@ public class ObjectFile {
 		if(s == null) {
 			boolean incSerializerCount = false;
 			
-			// find an unallocated serializer with the given type
-			for(int i = 0; i < unallocatedSerializers.size(); i++) {
-				Serializer serializer = unallocatedSerializers.get(i);
-				if(serializer.getName().equals(serializerName)) {
-					s = serializer;
-					// remove the serializer because now he is allocated
-					unallocatedSerializers.remove(i);
-					break;
-				}
-			}
+			// find an unallocated serializer with the given type (the serializer is removed because now he is allocated)
+			final Deque<Serializer> unallocated = unallocatedSerializers.get(serializerName);
+			if(unallocated != null)
+				s = unallocated.poll();
 			
 			// if no serializer is found then create a new one for the object 
 			if(s == null) {
@@ -403,4 +444,249 @@ public class ObjectFile {
 		
 		serializerNameCount.put(serializerName, i);
 	}
+	
+	/**
+	 * Loads the serializers from a file in the chunked format.
+	 * 
+	 * @param channel the channel of the file
+	 * @param header the header of the file
+	 * @param size the size of the file
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file contains invalid data</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private void loadChunks(final FileChannel channel, final ByteBuffer header, final long size) throws IOException {
+		if(header.getInt(4) != VERSION)
+			throw new IOException("File version is not supported!");
+		
+		final int count = header.getInt(8);
+		if(count < 0 || HEADER_SIZE + (long)count * TABLE_ENTRY_SIZE > size)
+			throw new IOException("File contains invalid data!");
+		
+		final ByteBuffer table = ByteBuffer.allocate(count * TABLE_ENTRY_SIZE);
+		read(channel, table, HEADER_SIZE);
+		
+		byte[] chunk = new byte[256];
+		long offset;
+		int length;
+		List<?> block;
+		
+		try {
+			for(int i = 0; i < count; i++) {
+				offset = table.getLong(i * TABLE_ENTRY_SIZE);
+				length = table.getInt(i * TABLE_ENTRY_SIZE + 8);
+				if(offset < 0 || length < 0 || offset + length > size)
+					throw new IOException("File contains invalid data!");
+				
+				// read the chunk into a reusable buffer and decode the serializer
+				if(chunk.length < length)
+					chunk = new byte[Math.max(length, chunk.length << 1)];
+				read(channel, ByteBuffer.wrap(chunk, 0, length), offset);
+				
+				block = (List<?>)CODEC.decode(chunk, 0, length, null);
+				for(Object o : block) {
+					if(!(o instanceof Serializer))
+						throw new IOException("File contains invalid data!");
+					addUnallocatedSerializer((Serializer)o);
+				}
+			}
+		}
+		catch(ClassNotFoundException | ClassCastException e) {
+			throw new IOException("File contains invalid data!");
+		}
+	}
+	
+	/**
+	 * Loads the serializers from a file in the former format that stores all serializers with a single object stream.
+	 * 
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file contains invalid data</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private void loadObjectStream() throws IOException {
+		final FileInputStream fis = new FileInputStream(filename);
+		final ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(fis));
+		
+		try {
+			// read data from stream
+			@SuppressWarnings("unchecked")
+			final ArrayList<Serializer> list = (ArrayList<Serializer>)ois.readObject();
+			// add all loaded serializers to list of unallocated serializers because now not mapping between
+			// object and serializer is realized
+			for(Serializer s : list)
+				if(s != null)
+					addUnallocatedSerializer(s);
+		}
+		catch(ClassNotFoundException | EOFException e) {
+			throw new IOException("File contains invalid data!");
+		}
+		finally {
+			// release system resources
+			ois.close();
+			fis.close();
+		}
+	}
+	
+	/**
+	 * Adds a serializer that is loaded from a file but not mapped to an object.
+	 * 
+	 * @param s the serializer
+	 * @since 1.6
+	 */
+	private void addUnallocatedSerializer(final Serializer s) {
+		Deque<Serializer> unallocated = unallocatedSerializers.get(s.getName());
+		if(unallocated == null) {
+			unallocated = new ArrayDeque<Serializer>();
+			unallocatedSerializers.put(s.getName(), unallocated);
+		}
+		
+		unallocated.add(s);
+		incSerializerCount(s.getName());
+		
+		// the next id must be greater then the maximum identifier of the loaded serializers
+		if(s.getID() >= nextID)
+			nextID = s.getID() + 1;
+	}
+	
+	/**
+	 * Writes the content of the buffer to the channel and clears the buffer.
+	 * 
+	 * @param channel the channel
+	 * @param buffer the buffer
+	 * @param pos the position in the file of the first byte of the buffer
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static void flush(final FileChannel channel, final ByteBuffer buffer, final long pos) throws IOException {
+		buffer.flip();
+		write(channel, buffer, pos);
+		buffer.clear();
+	}
+	
+	/**
+	 * Writes the remaining bytes of the buffer to the channel.
+	 * 
+	 * @param channel the channel
+	 * @param buffer the buffer
+	 * @param pos the position in the file of the first byte
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static void write(final FileChannel channel, final ByteBuffer buffer, long pos) throws IOException {
+		while(buffer.hasRemaining())
+			pos += channel.write(buffer, pos);
+	}
+	
+	/**
+	 * Reads bytes from the channel until the buffer is full.
+	 * 
+	 * @param channel the channel
+	 * @param buffer the buffer
+	 * @param pos the position in the file of the first byte
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * 		<li>if the end of the file is reached before the buffer is full</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private static void read(final FileChannel channel, final ByteBuffer buffer, long pos) throws IOException {
+		int n;
+		while(buffer.hasRemaining()) {
+			n = channel.read(buffer, pos);
+			if(n < 0)
+				throw new IOException("File contains invalid data!");
+			pos += n;
+		}
+	}
+	
+	/**
+	 * Handler to store serializers with a {@link CompactCodec}.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class SerializerHandler implements CompactCodec.TypeHandler<Serializer> {
+		
+		@Override
+		public void write(CompactCodec.Writer out, Serializer s) throws IOException {
+			out.writeVarInt(s.getID());
+			out.writeString(s.getName());
+			s.resolveData();
+			out.writeVarInt(s.data.size());
+			for(Map.Entry<String, Object> entry : s.data.entrySet()) {
+				out.writeString(entry.getKey());
+				out.writeObject(entry.getValue());
+			}
+		}
+		
+		@Override
+		public Serializer read(CompactCodec.Reader in) throws IOException {
+			final Serializer s;
+			
+			try {
+				s = new Serializer(in.readVarInt(), in.readString());
+			}
+			catch(IllegalArgumentException e) {
+				throw new IOException("invalid serializer");
+			}
+			
+			final int size = in.readVarInt();
+			for(int i = 0; i < size; i++)
+				s.data.put(in.readString(), in.readObject());
+			
+			return s;
+		}
+		
+		@Override
+		public Serializer copy(CompactCodec.Copier c, Serializer s) {
+			final Serializer copy = new Serializer(s.getID(), s.getName());
+			
+			s.resolveData();
+			for(Map.Entry<String, Object> entry : s.data.entrySet())
+				copy.data.put(entry.getKey(), c.copy(entry.getValue()));
+			
+			return copy;
+		}
+	
+	}
+	
+	/**
+	 * Handler to store colors with a {@link CompactCodec}.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class ColorHandler implements CompactCodec.TypeHandler<Color> {
+		
+		@Override
+		public void write(CompactCodec.Writer out, Color c) throws IOException {
+			out.writeInt(c.getRGB());
+		}
+		
+		@Override
+		public Color read(CompactCodec.Reader in) throws IOException {
+			return new Color(in.readInt(), true);
+		}
+		
+		@Override
+		public Color copy(CompactCodec.Copier c, Color color) {
+			// colors are immutable
+			return color;
+		}
+	
+	}
+
 }
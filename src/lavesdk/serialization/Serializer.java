@@ -21,10 +21,13 @@ package lavesdk.serialization;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -41,9 +44,14 @@ import java.util.Set;
  * <b>Attention</b>:<br>
  * If you add mutable objects to the serializer ({@link #addObject(String, Serializable)}/{@link #addCollection(String, Collection)}/...) please
  * ensure that these objects are not changed until the serializer is saved persistent such as with an {@link ObjectFile}.
+ * <br><br>
+ * <b>Lazy unfreezing</b>:<br>
+ * The data can be frozen in a keyed format in which each data object is encoded separately (see {@link #freezeKeyedData(StringBuilder)}).
+ * {@link #unfreezeKeyedData(byte[], StringBuilder)} only reads the keys of the data and a data object is decoded when it is requested the
+ * first time so that the restoration of a serializer only costs the data objects that are actually used.
  * 
  * @author jdornseifer
- * @version 1.1
+ * @version 1.3
  * @since 1.0
  */
 public class Serializer implements Serializable {
@@ -56,6 +64,8 @@ public class Serializer implements Serializable {
 	private final String name;
 	/** the data */
 	protected final HashMap<String, Object> data;
+	/** the frozen data objects that are not yet decoded (see {@link #unfreezeKeyedData(byte[], StringBuilder)}) or <code>null</code> */
+	private transient Map<String, FrozenEntry> frozenEntries;
 	
 	/**
 	 * Creates a new serializer.
@@ -238,7 +248,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	public final String getString(final String key, final String defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		if(o != null)
 			return o.toString();
 		else
@@ -470,7 +480,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	public final <E> Collection<E> getCollection(final String key, final Collection<E> defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -522,7 +532,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	public final <E> List<E> getList(final String key, final List<E> defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -574,7 +584,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	public final <T> T[] getArray(final String key, final T[] defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o == null)
 			return defValue;
@@ -616,8 +626,11 @@ public class Serializer implements Serializable {
 	public boolean equals(final Serializer s) {
 		if(s == null)
 			return false;
-		else
-			return data.equals(s.data);
+		
+		resolveData();
+		s.resolveData();
+		
+		return data.equals(s.data);
 	}
 	
 	/**
@@ -640,11 +653,16 @@ public class Serializer implements Serializable {
 		final Set<String> keySet = data.keySet();
 		final Iterator<String> it = keySet.iterator();
 		
-		final String[] keys = new String[keySet.size()];
+		final String[] keys = new String[keySet.size() + ((frozenEntries != null) ? frozenEntries.size() : 0)];
 		int i = 0;
 		while(it.hasNext())
 			keys[i++] = it.next();
 		
+		// the keys of the data objects that are not yet decoded
+		if(frozenEntries != null)
+			for(String key : frozenEntries.keySet())
+				keys[i++] = key;
+		
 		return keys;
 	}
 	
@@ -661,7 +679,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	protected void checkKey(final String key) throws IllegalArgumentException {
-		if(key == null || (!areKeysOverrideable() && data.containsKey(key)))
+		if(key == null || (!areKeysOverrideable() && (data.containsKey(key) || (frozenEntries != null && frozenEntries.containsKey(key)))))
 			throw new IllegalArgumentException("No valid key!");
 	}
 	
@@ -681,6 +699,9 @@ public class Serializer implements Serializable {
 	protected final <T> T addData(final String key, final T d) {
 		checkKey(key);
 		
+		if(frozenEntries != null)
+			frozenEntries.remove(key);
+		
 		data.put(key, d);
 		return d;
 	}
@@ -707,7 +728,7 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	protected final <T> T getData(final String key, final Class<T> c, final T defValue) {
-		final Object o = data.get(key);
+		final Object o = getData(key);
 		
 		if(o != null && c.isAssignableFrom(o.getClass()))
 			return c.cast(o);
@@ -722,9 +743,70 @@ public class Serializer implements Serializable {
 	 * @since 1.1
 	 */
 	protected final void removeData(final String key) {
+		if(frozenEntries != null)
+			frozenEntries.remove(key);
+		
 		data.remove(key);
 	}
 	
+	/**
+	 * Gets the data object of a specific data key.
+	 * <br><br>
+	 * If the data is unfrozen lazily (see {@link #unfreezeKeyedData(byte[], StringBuilder)}) the data object is decoded on the first
+	 * request. Subclasses should use this method instead of accessing {@link #data} directly.
+	 * 
+	 * @param key the data key
+	 * @return the data object or <code>null</code> if the serializer does not contain a data object with the given key (or if it could not be decoded)
+	 * @since 1.6
+	 */
+	protected final Object getData(final String key) {
+		if(frozenEntries != null) {
+			final FrozenEntry entry = frozenEntries.remove(key);
+			
+			if(entry != null) {
+				try {
+					final Object o = decodeEntry(entry);
+					data.put(key, o);
+					return o;
+				}
+				catch(IOException | ClassNotFoundException | ClassCastException e) {
+					entryUnfreezeFailed(key, e);
+					return null;
+				}
+			}
+		}
+		
+		return data.get(key);
+	}
+	
+	/**
+	 * Decodes all data objects that are not yet decoded after the data is unfrozen lazily so that {@link #data} contains the complete data.
+	 * 
+	 * @see #unfreezeKeyedData(byte[], StringBuilder)
+	 * @since 1.6
+	 */
+	protected final void resolveData() {
+		if(frozenEntries == null)
+			return;
+		
+		for(String key : frozenEntries.keySet().toArray(new String[frozenEntries.size()]))
+			getData(key);
+		
+		frozenEntries = null;
+	}
+	
+	/**
+	 * Is invoked if a data object that is unfrozen lazily could not be decoded on its first request.
+	 * <br><br>
+	 * Override this method to report the error. The data object is treated as if it does not exist.
+	 * 
+	 * @param key the data key
+	 * @param e the exception that occurred
+	 * @since 1.6
+	 */
+	protected void entryUnfreezeFailed(final String key, final Exception e) {
+	}
+	
 	/**
 	 * Freezes the current data of the serializer.
 	 * <br><br>
@@ -757,12 +839,28 @@ public class Serializer implements Serializable {
 	 * @since 1.0
 	 */
 	protected byte[] freezeData(final StringBuilder errorMsg) {
-		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		resolveData();
+		
+		final DataCodec codec = getCodec();
+		if(codec != null) {
+			try {
+				return codec.encode(data, this);
+			}
+			catch (IOException e) {
+				if(errorMsg != null)
+					errorMsg.append(e.toString());
+				return null;
+			}
+		}
+		
+		final BufferPool pool = getBufferPool();
+		final ByteArrayOutputStream baos = (pool != null) ? pool.openStream() : new ByteArrayOutputStream();
 		ObjectOutputStream oos = null;
 		
 		try {
 			oos = createObjectOutputStream(baos);
 			oos.writeObject(data);
+			oos.flush();
 			
 			return baos.toByteArray();
 		}
@@ -774,9 +872,38 @@ public class Serializer implements Serializable {
 		finally {
 			if(oos != null) try { oos.close(); } catch(IOException e) {}
 			if(baos != null) try { baos.close(); } catch(IOException e) {}
+			if(pool != null) pool.release(baos);
 		}
 	}
 	
+	/**
+	 * Gets the codec that is used to freeze the data of the serializer.
+	 * <br><br>
+	 * Override this method if the data should not be frozen using the Java serialization. The codec uses {@link #createObjectOutputStream(ByteArrayOutputStream)}
+	 * and {@link #createObjectInputStream(ByteArrayInputStream)} for objects that it does not support natively.
+	 * 
+	 * @see CompactCodec
+	 * @return the codec or <code>null</code> if the data should be frozen using the Java serialization (<i>default</i>)
+	 * @since 1.6
+	 */
+	protected DataCodec getCodec() {
+		return null;
+	}
+	
+	/**
+	 * Gets the pool of the buffers that are used to freeze the data of the serializer.
+	 * <br><br>
+	 * Override this method if many serializers of similar size are frozen so that the buffers can be reused instead of
+	 * growing a new buffer for each freezing.
+	 * 
+	 * @see BufferPool
+	 * @return the pool or <code>null</code> if a new buffer should be used for each freezing (<i>default</i>)
+	 * @since 1.6
+	 */
+	protected BufferPool getBufferPool() {
+		return null;
+	}
+	
 	/**
 	 * Creates the object output stream that is used to freeze the data of the serializer.
 	 * <br><br>
@@ -831,6 +958,24 @@ public class Serializer implements Serializable {
 		if(data == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
+		final DataCodec codec = getCodec();
+		if(codec != null) {
+			try {
+				@SuppressWarnings("unchecked")
+				final Map<String, Object> dataMap = (Map<String, Object>)codec.decode(data, this);
+				
+				frozenEntries = null;
+				this.data.clear();
+				this.data.putAll(dataMap);
+				return true;
+			}
+			catch (IOException | ClassNotFoundException | ClassCastException e) {
+				if(errorMsg != null)
+					errorMsg.append(e.toString());
+				return false;
+			}
+		}
+		
 		final ByteArrayInputStream bais = new ByteArrayInputStream(data);
 		ObjectInputStream ois = null;
 		
@@ -841,6 +986,7 @@ public class Serializer implements Serializable {
 			final Map<String, Object> dataMap = (Map<String, Object>)ois.readObject();
 			
 			// we need to copy the serialized data so remove the old stuff
+			frozenEntries = null;
 			this.data.clear();
 			
 			final Iterator<String> it = dataMap.keySet().iterator();
@@ -865,6 +1011,306 @@ public class Serializer implements Serializable {
 		}
 	}
 	
+	/**
+	 * Freezes the current data of the serializer entry by entry meaning that each data object is serialized separately.
+	 * <br><br>
+	 * In contrast to {@link #freezeData(StringBuilder)} the frozen entries can be compared with the entries of another freezing so
+	 * that only the modified entries must be stored (see {@link #unfreezeEntries(Map, StringBuilder)}).
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * References between different entries are not preserved because each entry is serialized on its own.
+	 * 
+	 * @param errorMsg a string that contains a possible error message after the method failed or <code>null</code>
+	 * @return the mapping of data key <-> serialized data object or <code>null</code> if the data could not be frozen
+	 * @since 1.6
+	 */
+	protected Map<String, byte[]> freezeEntries(final StringBuilder errorMsg) {
+		resolveData();
+		
+		final Map<String, byte[]> entries = new HashMap<String, byte[]>(Math.max(16, data.size() * 2));
+		final DataCodec codec = getCodec();
+		final BufferPool pool = getBufferPool();
+		// all entries are encoded into one buffer (the pool is updated with the largest entry when the buffer is released)
+		final ByteArrayOutputStream baos = BufferPool.openStream(pool);
+		ObjectOutputStream oos = null;
+		
+		try {
+			for(Map.Entry<String, Object> entry : data.entrySet()) {
+				baos.reset();
+				
+				if(codec != null) {
+					codec.encode(entry.getValue(), this, baos);
+					entries.put(entry.getKey(), baos.toByteArray());
+					continue;
+				}
+				
+				oos = createObjectOutputStream(baos);
+				oos.writeObject(entry.getValue());
+				oos.close();
+				oos = null;
+				
+				entries.put(entry.getKey(), baos.toByteArray());
+			}
+			
+			return entries;
+		}
+		catch (IOException e) {
+			if(errorMsg != null)
+				errorMsg.append(e.toString());
+			return null;
+		}
+		finally {
+			if(oos != null) try { oos.close(); } catch(IOException e) {}
+			if(pool != null) pool.release(baos);
+		}
+	}
+	
+	/**
+	 * Unfreezes the data of the serializer from entries that are frozen with {@link #freezeEntries(StringBuilder)}.
+	 * 
+	 * @see #freezeEntries(StringBuilder)
+	 * @param entries the mapping of data key <-> serialized data object
+	 * @param errorMsg a string that contains a possible error message after the method failed or <code>null</code>
+	 * @return <code>true</code> if the data could be restored otherwise <code>false</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if entries is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	protected boolean unfreezeEntries(final Map<String, byte[]> entries, final StringBuilder errorMsg) throws IllegalArgumentException {
+		if(entries == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Map<String, Object> dataMap = new HashMap<String, Object>(Math.max(16, entries.size() * 2));
+		final DataCodec codec = getCodec();
+		ObjectInputStream ois = null;
+		
+		try {
+			for(Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				if(codec != null) {
+					dataMap.put(entry.getKey(), codec.decode(entry.getValue(), this));
+					continue;
+				}
+				
+				ois = createObjectInputStream(new ByteArrayInputStream(entry.getValue()));
+				dataMap.put(entry.getKey(), ois.readObject());
+				ois.close();
+				ois = null;
+			}
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException e) {
+			if(errorMsg != null)
+				errorMsg.append(e.toString());
+			return false;
+		}
+		finally {
+			if(ois != null) try { ois.close(); } catch(IOException e) {}
+		}
+		
+		// replace the data only if all entries could be restored
+		frozenEntries = null;
+		this.data.clear();
+		this.data.putAll(dataMap);
+		
+		return true;
+	}
+	
+	/**
+	 * Freezes the current data of the serializer in a keyed format meaning that each data object is encoded separately.
+	 * <br><br>
+	 * In contrast to {@link #freezeData(StringBuilder)} the data can be unfrozen lazily with {@link #unfreezeKeyedData(byte[], StringBuilder)} so
+	 * that only the data objects that are requested are decoded.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * References between different entries are not preserved because each entry is encoded on its own.
+	 * 
+	 * @param errorMsg a string that contains a possible error message after the method failed or <code>null</code>
+	 * @return the byte array that contains the current serializer data or <code>null</code> if the data could not be frozen
+	 * @since 1.6
+	 */
+	protected byte[] freezeKeyedData(final StringBuilder errorMsg) {
+		resolveData();
+		
+		try {
+			return encodeKeyedData(data);
+		}
+		catch (IOException e) {
+			if(errorMsg != null)
+				errorMsg.append(e.toString());
+			return null;
+		}
+	}
+	
+	/**
+	 * Encodes the given data objects in the keyed format of {@link #freezeKeyedData(StringBuilder)}.
+	 * <br><br>
+	 * This is useful to freeze a snapshot of the data of the serializer.
+	 * 
+	 * @param dataMap the mapping of data key <-> data object
+	 * @return the byte array that contains the data
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if a data object could not be encoded</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	protected final byte[] encodeKeyedData(final Map<String, ?> dataMap) throws IOException {
+		final DataCodec codec = getCodec();
+		final BufferPool pool = getBufferPool();
+		final BufferPool.PooledStream baos = BufferPool.openStream(pool);
+		final ByteArrayOutputStream entry = (codec == null) ? new ByteArrayOutputStream() : null;
+		final DataOutputStream dos = new DataOutputStream(baos);
+		
+		try {
+			dos.writeInt(dataMap.size());
+			for(Map.Entry<String, ?> e : dataMap.entrySet()) {
+				dos.writeUTF(e.getKey());
+				
+				if(codec != null) {
+					// the entries are encoded directly into the buffer and the length of an entry is filled in afterwards so that the
+					// data is only copied once into the array of the exact size at the end
+					final int lengthPos = baos.size();
+					dos.writeInt(0);
+					codec.encode(e.getValue(), this, baos);
+					baos.writeIntAt(lengthPos, baos.size() - lengthPos - 4);
+					continue;
+				}
+				
+				entry.reset();
+				final ObjectOutputStream oos = createObjectOutputStream(entry);
+				oos.writeObject(e.getValue());
+				oos.close();
+				
+				dos.writeInt(entry.size());
+				entry.writeTo(dos);
+			}
+			dos.flush();
+			
+			return baos.toByteArray();
+		}
+		finally {
+			if(pool != null) pool.release(baos);
+		}
+	}
+	
+	/**
+	 * Unfreezes the data of the serializer lazily from data that is frozen with {@link #freezeKeyedData(StringBuilder)}.
+	 * <br><br>
+	 * Only the keys of the data are read immediately. A data object is decoded when it is requested the first time (see {@link #getData(String)}) so
+	 * the restoration only costs the data objects that are actually used. The given array must not be modified afterwards.
+	 * 
+	 * @see #freezeKeyedData(StringBuilder)
+	 * @param data the byte array that contains the data that should be restored
+	 * @param errorMsg a string that contains a possible error message after the method failed or <code>null</code>
+	 * @return <code>true</code> if the keys could be read otherwise <code>false</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if data is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	protected boolean unfreezeKeyedData(final byte[] data, final StringBuilder errorMsg) throws IllegalArgumentException {
+		if(data == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final ByteArrayInputStream bais = new ByteArrayInputStream(data);
+		final DataInputStream dis = new DataInputStream(bais);
+		
+		try {
+			final int size = dis.readInt();
+			final Map<String, FrozenEntry> entries = new HashMap<String, FrozenEntry>(Math.max(16, size * 2));
+			
+			for(int i = 0; i < size; i++) {
+				final String key = dis.readUTF();
+				final int length = dis.readInt();
+				final int offset = data.length - bais.available();
+				
+				if(length < 0 || length > bais.available())
+					throw new StreamCorruptedException("invalid length");
+				
+				entries.put(key, new FrozenEntry(data, offset, length));
+				dis.skipBytes(length);
+			}
+			
+			// replace the data only if all keys could be read
+			this.data.clear();
+			frozenEntries = entries;
+			
+			return true;
+		}
+		catch (IOException e) {
+			if(errorMsg != null)
+				errorMsg.append(e.toString());
+			return false;
+		}
+	}
+	
+	/**
+	 * Splits data that is frozen with {@link #freezeKeyedData(StringBuilder)} into its entries without decoding the data objects.
+	 * 
+	 * @param data the byte array that contains the frozen data
+	 * @return the mapping of data key <-> serialized data object like {@link #freezeEntries(StringBuilder)} returns it
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if data is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data is corrupted</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	protected static Map<String, byte[]> splitKeyedData(final byte[] data) throws IllegalArgumentException, IOException {
+		if(data == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final ByteArrayInputStream bais = new ByteArrayInputStream(data);
+		final DataInputStream dis = new DataInputStream(bais);
+		final int size = dis.readInt();
+		final Map<String, byte[]> entries = new HashMap<String, byte[]>(Math.max(16, size * 2));
+		
+		for(int i = 0; i < size; i++) {
+			final String key = dis.readUTF();
+			final int length = dis.readInt();
+			
+			if(length < 0 || length > bais.available())
+				throw new StreamCorruptedException("invalid length");
+			
+			final byte[] value = new byte[length];
+			dis.readFully(value);
+			entries.put(key, value);
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Unfreezes the data of the serializer lazily from entries that are frozen with {@link #freezeEntries(StringBuilder)}.
+	 * <br><br>
+	 * In contrast to {@link #unfreezeEntries(Map, StringBuilder)} an entry is decoded when it is requested the first time (see {@link #getData(String)}).
+	 * The byte arrays of the entries must not be modified afterwards.
+	 * 
+	 * @see #freezeEntries(StringBuilder)
+	 * @param entries the mapping of data key <-> serialized data object
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if entries is null</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	protected void unfreezeEntriesLazily(final Map<String, byte[]> entries) throws IllegalArgumentException {
+		if(entries == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Map<String, FrozenEntry> frozen = new HashMap<String, FrozenEntry>(Math.max(16, entries.size() * 2));
+		for(Map.Entry<String, byte[]> entry : entries.entrySet())
+			frozen.put(entry.getKey(), new FrozenEntry(entry.getValue(), 0, entry.getValue().length));
+		
+		this.data.clear();
+		frozenEntries = frozen;
+	}
+	
 	/**
 	 * Creates the object input stream that is used to unfreeze the data of the serializer.
 	 * <br><br>
@@ -881,5 +1327,82 @@ public class Serializer implements Serializable {
 	protected ObjectInputStream createObjectInputStream(final ByteArrayInputStream bais) throws IOException {
 		return new ObjectInputStream(bais);
 	}
+	
+	/**
+	 * Decodes a frozen data object.
+	 * 
+	 * @param entry the frozen data object
+	 * @return the data object
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data is corrupted or an I/O error occurs</li>
+	 * </ul>
+	 * @throws ClassNotFoundException
+	 * <ul>
+	 * 		<li>if the class of an object could not be found</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private Object decodeEntry(final FrozenEntry entry) throws IOException, ClassNotFoundException {
+		final DataCodec codec = getCodec();
+		
+		if(codec != null)
+			return codec.decode(entry.data, entry.offset, entry.length, this);
+		
+		final ObjectInputStream ois = createObjectInputStream(new ByteArrayInputStream(entry.data, entry.offset, entry.length));
+		try {
+			return ois.readObject();
+		}
+		finally {
+			ois.close();
+		}
+	}
+	
+	/**
+	 * Decodes the data objects that are not yet decoded before the serializer is serialized using the Java serialization.
+	 * 
+	 * @param out the output stream
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		resolveData();
+		out.defaultWriteObject();
+	}
+	
+	/**
+	 * A data object that is frozen in a region of a byte array.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.6
+	 */
+	private static class FrozenEntry {
+		
+		/** the array */
+		public final byte[] data;
+		/** the position of the first byte of the data object */
+		public final int offset;
+		/** the length of the data object */
+		public final int length;
+		
+		/**
+		 * Creates a new frozen data object.
+		 * 
+		 * @param data the array
+		 * @param offset the position of the first byte of the data object
+		 * @param length the length of the data object
+		 * @since 1.6
+		 */
+		public FrozenEntry(final byte[] data, final int offset, final int length) {
+			this.data = data;
+			this.offset = offset;
+			this.length = length;
+		}
+	
+	}
 
 }
@@ -0,0 +1,355 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered input of a text file that is read through a {@link FileChannel}.
+ * <br><br>
+ * The input is read byte by byte from a fixed-size buffer so that the memory usage does not depend on the size of the file. Tokens
+ * and numbers are parsed directly from the buffer and text is decoded as UTF-8.
+ * 
+ * @see GraphReader
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+final class TextInput implements Closeable {
+	
+	/** the channel of the file */
+	private final FileChannel channel;
+	/** the buffer of the input */
+	private final byte[] data;
+	/** the buffer wrapping the data */
+	private final ByteBuffer buffer;
+	/** the number of valid bytes in the buffer */
+	private int limit;
+	/** the position of the next byte in the buffer */
+	private int pos;
+	/** the bytes of the current token */
+	private byte[] token;
+	/** the length of the current token */
+	private int tokenLength;
+	/** the current line number */
+	private int line;
+	
+	/** the size of the buffer */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * Opens a text file.
+	 * 
+	 * @param file the file
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be opened</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextInput(final File file) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		data = new byte[BUFFER_SIZE];
+		buffer = ByteBuffer.wrap(data);
+		limit = 0;
+		pos = 0;
+		token = new byte[64];
+		tokenLength = 0;
+		line = 1;
+	}
+	
+	/**
+	 * Gets the current line number.
+	 * 
+	 * @return the number of the line the next byte belongs to
+	 * @since 1.6
+	 */
+	public int getLine() {
+		return line;
+	}
+	
+	/**
+	 * Reads the next byte.
+	 * 
+	 * @return the next byte or <code>-1</code> if the end of the file is reached
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int read() throws IOException {
+		if(pos >= limit && !fill())
+			return -1;
+		
+		final int b = data[pos++] & 0xFF;
+		if(b == '\n')
+			line++;
+		
+		return b;
+	}
+	
+	/**
+	 * Gets the next byte without consuming it.
+	 * 
+	 * @return the next byte or <code>-1</code> if the end of the file is reached
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int peek() throws IOException {
+		if(pos >= limit && !fill())
+			return -1;
+		
+		return data[pos] & 0xFF;
+	}
+	
+	/**
+	 * Skips spaces and tabs (but not the end of the line).
+	 * 
+	 * @return the next byte that is not a space or <code>-1</code> if the end of the file is reached
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int skipSpaces() throws IOException {
+		int b = peek();
+		
+		while(b == ' ' || b == '\t' || b == '\r') {
+			pos++;
+			b = peek();
+		}
+		
+		return b;
+	}
+	
+	/**
+	 * Indicates whether the end of the current line is reached meaning that there are no more tokens in the current line.
+	 * 
+	 * @return <code>true</code> if the rest of the line is empty otherwise <code>false</code>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public boolean isEndOfLine() throws IOException {
+		final int b = skipSpaces();
+		return b == '\n' || b < 0;
+	}
+	
+	/**
+	 * Skips the rest of the current line.
+	 * 
+	 * @return <code>true</code> if there is another line otherwise <code>false</code>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public boolean nextLine() throws IOException {
+		int b;
+		
+		do {
+			b = read();
+		} while(b >= 0 && b != '\n');
+		
+		return b >= 0 && peek() >= 0;
+	}
+	
+	/**
+	 * Reads the next token of the current line. A token is delimited by spaces, tabs or the end of the line.
+	 * 
+	 * @return the token or <code>null</code> if there are no more tokens in the current line
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public String readToken() throws IOException {
+		return readTokenBytes() ? new String(token, 0, tokenLength, StandardCharsets.UTF_8) : null;
+	}
+	
+	/**
+	 * Reads the next token of the current line as an integer.
+	 * 
+	 * @return the integer
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if there is no token or the token is not an integer</li>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public int readInt() throws IOException {
+		if(!readTokenBytes())
+			throw new StreamCorruptedException("number expected in line " + line);
+		
+		final boolean negative = token[0] == '-';
+		int i = (negative || token[0] == '+') ? 1 : 0;
+		long value = 0;
+		
+		if(i >= tokenLength)
+			throw new StreamCorruptedException("invalid number in line " + line);
+		
+		for(; i < tokenLength; i++) {
+			final int digit = token[i] - '0';
+			if(digit < 0 || digit > 9)
+				throw new StreamCorruptedException("invalid number in line " + line);
+			value = value * 10 + digit;
+			if(value > Integer.MAX_VALUE + 1L)
+				throw new StreamCorruptedException("invalid number in line " + line);
+		}
+		
+		value = negative ? -value : value;
+		if(value > Integer.MAX_VALUE)
+			throw new StreamCorruptedException("invalid number in line " + line);
+		
+		return (int)value;
+	}
+	
+	/**
+	 * Reads the next token of the current line as a floating point number.
+	 * 
+	 * @return the number
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if there is no token or the token is not a number</li>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public float readFloat() throws IOException {
+		if(!readTokenBytes())
+			throw new StreamCorruptedException("number expected in line " + line);
+		
+		return parseFloat(token, tokenLength, line);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Parses a floating point number. Integral numbers with up to 18 digits are parsed directly, other numbers
+	 * with {@link Float#parseFloat(String)}.
+	 * 
+	 * @param bytes the bytes of the number
+	 * @param length the number of bytes
+	 * @param line the line of the number that is used in the error message
+	 * @return the number
+	 * @throws StreamCorruptedException
+	 * <ul>
+	 * 		<li>if the bytes do not represent a number</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	static float parseFloat(final byte[] bytes, final int length, final int line) throws StreamCorruptedException {
+		final boolean negative = length > 0 && bytes[0] == '-';
+		int i = (negative || (length > 0 && bytes[0] == '+')) ? 1 : 0;
+		
+		if(i < length && length - i <= 18) {
+			long value = 0;
+			for(; i < length; i++) {
+				final int digit = bytes[i] - '0';
+				if(digit < 0 || digit > 9)
+					break;
+				value = value * 10 + digit;
+			}
+			
+			if(i == length)
+				return negative ? -value : value;
+		}
+		
+		try {
+			return Float.parseFloat(new String(bytes, 0, length, StandardCharsets.US_ASCII));
+		}
+		catch(NumberFormatException e) {
+			throw new StreamCorruptedException("invalid number in line " + line);
+		}
+	}
+	
+	/**
+	 * Reads the bytes of the next token of the current line into {@link #token}.
+	 * 
+	 * @return <code>true</code> if a token could be read or <code>false</code> if there are no more tokens in the current line
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private boolean readTokenBytes() throws IOException {
+		int b = skipSpaces();
+		
+		tokenLength = 0;
+		while(b >= 0 && b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+			if(tokenLength == token.length) {
+				final byte[] tmp = new byte[token.length * 2];
+				System.arraycopy(token, 0, tmp, 0, tokenLength);
+				token = tmp;
+			}
+			token[tokenLength++] = (byte)b;
+			pos++;
+			b = peek();
+		}
+		
+		return tokenLength > 0;
+	}
+	
+	/**
+	 * Refills the buffer with the next bytes of the file.
+	 * 
+	 * @return <code>true</code> if there are bytes available otherwise <code>false</code> if the end of the file is reached
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private boolean fill() throws IOException {
+		int n;
+		
+		buffer.clear();
+		do {
+			n = channel.read(buffer);
+		} while(n == 0);
+		
+		pos = 0;
+		limit = (n > 0) ? n : 0;
+		
+		return limit > 0;
+	}
+
+}
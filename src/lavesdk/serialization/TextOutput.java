@@ -0,0 +1,205 @@
+/**
+ * This is part of the LAVESDK - Logistics Algorithms Visualization and Education Software Development Kit.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package lavesdk.serialization;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered output of a text file that is written through a {@link FileChannel}.
+ * <br><br>
+ * The text is encoded as UTF-8 into a fixed-size buffer that is written to the file each time it is full. Numbers are
+ * formatted without creating temporary strings if possible.
+ * 
+ * @see GraphWriter
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.6
+ */
+final class TextOutput implements Closeable {
+	
+	/** the channel of the file */
+	private final FileChannel channel;
+	/** the buffer of the output */
+	private final ByteBuffer buffer;
+	/** the digits of a number */
+	private final byte[] digits;
+	
+	/** the size of the buffer */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * Creates a text file or truncates an existing one.
+	 * 
+	 * @param file the file
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be created</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextOutput(final File file) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		digits = new byte[20];
+	}
+	
+	/**
+	 * Writes a character.
+	 * 
+	 * @param c the character (only ASCII characters are written as they are, use {@link #write(String)} for other characters)
+	 * @return this output
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextOutput write(final char c) throws IOException {
+		if(!buffer.hasRemaining())
+			flush();
+		buffer.put((byte)c);
+		
+		return this;
+	}
+	
+	/**
+	 * Writes a text.
+	 * 
+	 * @param s the text
+	 * @return this output
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextOutput write(final String s) throws IOException {
+		for(int i = 0; i < s.length(); i++) {
+			final int c = s.charAt(i);
+			
+			if(buffer.remaining() < 4)
+				flush();
+			
+			if(c < 0x80)
+				buffer.put((byte)c);
+			else if(c < 0x800) {
+				buffer.put((byte)(0xC0 | (c >> 6)));
+				buffer.put((byte)(0x80 | (c & 0x3F)));
+			}
+			else if(Character.isHighSurrogate((char)c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				final int cp = Character.toCodePoint((char)c, s.charAt(++i));
+				buffer.put((byte)(0xF0 | (cp >> 18)));
+				buffer.put((byte)(0x80 | ((cp >> 12) & 0x3F)));
+				buffer.put((byte)(0x80 | ((cp >> 6) & 0x3F)));
+				buffer.put((byte)(0x80 | (cp & 0x3F)));
+			}
+			else {
+				buffer.put((byte)(0xE0 | (c >> 12)));
+				buffer.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+				buffer.put((byte)(0x80 | (c & 0x3F)));
+			}
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Writes an integer.
+	 * 
+	 * @param value the integer
+	 * @return this output
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextOutput write(final long value) throws IOException {
+		if(value == Long.MIN_VALUE)
+			return write(Long.toString(value));
+		
+		long v = Math.abs(value);
+		int n = 0;
+		
+		do {
+			digits[n++] = (byte)('0' + (v % 10));
+			v /= 10;
+		} while(v > 0);
+		
+		if(buffer.remaining() < n + 1)
+			flush();
+		if(value < 0)
+			buffer.put((byte)'-');
+		while(n > 0)
+			buffer.put(digits[--n]);
+		
+		return this;
+	}
+	
+	/**
+	 * Writes a floating point number. Integral numbers are written without a fractional part.
+	 * 
+	 * @param value the number
+	 * @return this output
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	public TextOutput write(final float value) throws IOException {
+		if(value == (long)value && Math.abs(value) < 1e18f)
+			return write((long)value);
+		else
+			return write(Float.toString(value));
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		}
+		finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Writes the content of the buffer to the file and clears the buffer.
+	 * 
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if an I/O error occurs</li>
+	 * </ul>
+	 * @since 1.6
+	 */
+	private void flush() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+}